@@ -36,8 +36,28 @@ tasks.jar {
     enabled = false
 }
 
+// PlanetBatch uses the incubating Vector API when the module is present, and falls back to scalar code otherwise
+tasks.withType<JavaCompile> {
+    options.compilerArgs.addAll(listOf("--add-modules", "jdk.incubator.vector"))
+}
+
 tasks.test {
     useJUnitPlatform()
+    jvmArgs("--add-modules", "jdk.incubator.vector")
+}
+
+// Precomputed 1900-2100 ephemeris for historical snapshots; point app.ephemeris.file / EPHEMERIS_FILE at the output.
+// Override the destination with -PephemerisFile=/path/to/ephemeris.bin
+tasks.register<JavaExec>("generateEphemeris") {
+    group = "application"
+    description = "Generates the memory-mapped ephemeris file used by computeForDate"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("org.iHarwood.MoonPhaseModule.EphemerisFileGenerator")
+    jvmArgs("--add-modules", "jdk.incubator.vector")
+    args(
+        (project.findProperty("ephemerisFile") as String?)
+            ?: layout.buildDirectory.file("ephemeris/ephemeris-1900-2100.bin").get().asFile.path
+    )
 }
 
 tasks.named<org.springframework.boot.gradle.tasks.run.BootRun>("bootRun") {
@@ -45,7 +65,8 @@ tasks.named<org.springframework.boot.gradle.tasks.run.BootRun>("bootRun") {
         "--enable-native-access=ALL-UNNAMED",
         "--add-opens", "java.base/java.lang=ALL-UNNAMED",
         "--add-opens", "java.base/java.util=ALL-UNNAMED",
-        "-XX:+EnableDynamicAgentLoading"
+        "-XX:+EnableDynamicAgentLoading",
+        "--add-modules", "jdk.incubator.vector"
     )
 }
 
@@ -9,6 +9,8 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
 public final class APIPost {
     public enum IconType {
@@ -46,6 +48,8 @@ public final class APIPost {
     private final String effect;
     private final String icon;
     private String url;
+    private List<Map<String, Object>> draw;
+    private Integer textOffset;
 
     private static final Gson GSON = new Gson();
 
@@ -78,8 +82,20 @@ public final class APIPost {
      * @throws IOException if an I/O error occurs
      */
     public int sendPost() throws IOException, InterruptedException {
+        return sendPost(HTTP_CLIENT);
+    }
+
+    /**
+     * Sends the POST request through {@code client}, e.g. one kept per device so its
+     * connections are reused and its stalls stay its own.
+     *
+     * @return the HTTP response code
+     * @throws IOException if an I/O error occurs
+     */
+    public int sendPost(HttpClient client) throws IOException, InterruptedException {
         // Create the JSON request body using Gson
-        String jsonBody = GSON.toJson(new APIPostData(this.name, this.text, this.save, this.effect, this.icon));
+        String jsonBody = GSON.toJson(new APIPostData(this.name, this.text, this.save, this.effect, this.icon,
+                this.draw, this.textOffset));
 
         URI targetUri = resolveUri(this.url);
 
@@ -90,7 +106,7 @@ public final class APIPost {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
                 .build();
 
-        HttpResponse<String> response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
         return response.statusCode();
     }
 
@@ -126,7 +142,8 @@ public final class APIPost {
     /**
          * Inner class to represent the JSON structure for Gson serialization.
          */
-        private record APIPostData(String name, String text, String save, String effect, String icon) {
+        private record APIPostData(String name, String text, String save, String effect, String icon,
+                                   List<Map<String, Object>> draw, Integer textOffset) {
     }
 
     // Getters and setters
@@ -153,4 +170,14 @@ public final class APIPost {
     public void setUrl(String url) {
         this.url = url;
     }
+
+    /** Awtrix "draw" instructions shown with the text; null sends none. */
+    public void setDraw(List<Map<String, Object>> draw) {
+        this.draw = draw;
+    }
+
+    /** Pixels the text is shifted right, e.g. past a drawn icon; null leaves it where Awtrix puts it. */
+    public void setTextOffset(Integer textOffset) {
+        this.textOffset = textOffset;
+    }
 }
@@ -1,6 +1,7 @@
 package org.iHarwood;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -31,6 +32,13 @@ public record AstronomicalSnapshot(
         double voyager1HelioDistanceAu,
         double voyager2HelioDistanceAu,
 
+        // Earth distances in AU for the bodies whose distance above is heliocentric
+        double mercuryEarthDistanceAu,
+        double venusEarthDistanceAu,
+        double uranusEarthDistanceAu,
+        double neptuneEarthDistanceAu,
+        double plutoEarthDistanceAu,
+
         // Moon distance in km
         double moonDistanceKm,
 
@@ -81,6 +89,14 @@ public record AstronomicalSnapshot(
         String sunriseTime,
         String sunsetTime,
 
+        // Twilight boundaries (UTC "HH:mm", or "All Night" / "None" when not crossed)
+        String civilDawnTime,
+        String civilDuskTime,
+        String nauticalDawnTime,
+        String nauticalDuskTime,
+        String astronomicalDawnTime,
+        String astronomicalDuskTime,
+
         // Aurora geomagnetic activity (NOAA Kp index 0–9, -1 if unavailable)
         double auroraKpIndex,
 
@@ -91,6 +107,9 @@ public record AstronomicalSnapshot(
         int totalPeopleInSpace,
         Map<String, Integer> craftOccupancy,
 
+        // Fields a live cycle published without because their source failed or timed out
+        List<String> missingFields,
+
         // Metadata
         String lastUpdated
 ) {
@@ -119,6 +138,11 @@ public record AstronomicalSnapshot(
         private double plutoDistanceAu;
         private double voyager1HelioDistanceAu;
         private double voyager2HelioDistanceAu;
+        private double mercuryEarthDistanceAu;
+        private double venusEarthDistanceAu;
+        private double uranusEarthDistanceAu;
+        private double neptuneEarthDistanceAu;
+        private double plutoEarthDistanceAu;
         private double moonDistanceKm;
         private double voyager1DistanceAu;
         private double voyager2DistanceAu;
@@ -151,10 +175,17 @@ public record AstronomicalSnapshot(
         private long daysUntilAphelion;
         private String sunriseTime;
         private String sunsetTime;
+        private String civilDawnTime;
+        private String civilDuskTime;
+        private String nauticalDawnTime;
+        private String nauticalDuskTime;
+        private String astronomicalDawnTime;
+        private String astronomicalDuskTime;
         private double auroraKpIndex = -1.0;
         private int issCrew = -1;
         private int totalPeopleInSpace = -1;
         private Map<String, Integer> craftOccupancy = Collections.emptyMap();
+        private List<String> missingFields = Collections.emptyList();
         private String lastUpdated;
 
         private Builder() {}
@@ -176,6 +207,11 @@ public record AstronomicalSnapshot(
         public Builder plutoDistanceAu(double v)            { this.plutoDistanceAu = v; return this; }
         public Builder voyager1HelioDistanceAu(double v)    { this.voyager1HelioDistanceAu = v; return this; }
         public Builder voyager2HelioDistanceAu(double v)    { this.voyager2HelioDistanceAu = v; return this; }
+        public Builder mercuryEarthDistanceAu(double v)    { this.mercuryEarthDistanceAu = v; return this; }
+        public Builder venusEarthDistanceAu(double v)      { this.venusEarthDistanceAu = v; return this; }
+        public Builder uranusEarthDistanceAu(double v)     { this.uranusEarthDistanceAu = v; return this; }
+        public Builder neptuneEarthDistanceAu(double v)    { this.neptuneEarthDistanceAu = v; return this; }
+        public Builder plutoEarthDistanceAu(double v)      { this.plutoEarthDistanceAu = v; return this; }
         public Builder moonDistanceKm(double v)             { this.moonDistanceKm = v; return this; }
         public Builder voyager1DistanceAu(double v)      { this.voyager1DistanceAu = v; return this; }
         public Builder voyager2DistanceAu(double v)      { this.voyager2DistanceAu = v; return this; }
@@ -208,10 +244,17 @@ public record AstronomicalSnapshot(
         public Builder daysUntilAphelion(long v)         { this.daysUntilAphelion = v; return this; }
         public Builder sunriseTime(String v)            { this.sunriseTime = v; return this; }
         public Builder sunsetTime(String v)             { this.sunsetTime = v; return this; }
+        public Builder civilDawnTime(String v)          { this.civilDawnTime = v; return this; }
+        public Builder civilDuskTime(String v)          { this.civilDuskTime = v; return this; }
+        public Builder nauticalDawnTime(String v)       { this.nauticalDawnTime = v; return this; }
+        public Builder nauticalDuskTime(String v)       { this.nauticalDuskTime = v; return this; }
+        public Builder astronomicalDawnTime(String v)   { this.astronomicalDawnTime = v; return this; }
+        public Builder astronomicalDuskTime(String v)   { this.astronomicalDuskTime = v; return this; }
         public Builder auroraKpIndex(double v)          { this.auroraKpIndex = v; return this; }
         public Builder issCrew(int v)                   { this.issCrew = v; return this; }
         public Builder totalPeopleInSpace(int v)        { this.totalPeopleInSpace = v; return this; }
         public Builder craftOccupancy(Map<String, Integer> v) { this.craftOccupancy = v != null ? v : Collections.emptyMap(); return this; }
+        public Builder missingFields(List<String> v)    { this.missingFields = v != null ? List.copyOf(v) : Collections.emptyList(); return this; }
         public Builder lastUpdated(String v)             { this.lastUpdated = v; return this; }
 
         public AstronomicalSnapshot build() {
@@ -222,6 +265,8 @@ public record AstronomicalSnapshot(
                     marsDistanceAu, jupiterDistanceAu, saturnDistanceAu,
                     uranusDistanceAu, neptuneDistanceAu, plutoDistanceAu,
                     voyager1HelioDistanceAu, voyager2HelioDistanceAu,
+                    mercuryEarthDistanceAu, venusEarthDistanceAu,
+                    uranusEarthDistanceAu, neptuneEarthDistanceAu, plutoEarthDistanceAu,
                     moonDistanceKm,
                     voyager1DistanceAu, voyager2DistanceAu, newHorizonsDistanceAu, jamesWebbDistanceKm,
                     earthSpeedKmPerSec, earthSpeedKmPerHour,
@@ -234,8 +279,12 @@ public record AstronomicalSnapshot(
                     starlinkSatelliteCount, kuiperSatelliteCount, totalSatellitesInOrbit,
                      daysUntilSummerSolstice, daysUntilWinterSolstice,
                      daysUntilPerihelion, daysUntilAphelion,
-                     sunriseTime, sunsetTime, auroraKpIndex, issCrew,
+                     sunriseTime, sunsetTime,
+                     civilDawnTime, civilDuskTime, nauticalDawnTime, nauticalDuskTime,
+                     astronomicalDawnTime, astronomicalDuskTime,
+                     auroraKpIndex, issCrew,
                      totalPeopleInSpace, craftOccupancy,
+                     missingFields,
                      lastUpdated
              );
         }
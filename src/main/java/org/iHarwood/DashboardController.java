@@ -1,5 +1,12 @@
 package org.iHarwood;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.iHarwood.MoonPhaseModule.Almanac;
+import org.iHarwood.MoonPhaseModule.LunarPhaseEvents;
+import org.iHarwood.MoonPhaseModule.MoonCalendar;
+import org.iHarwood.MoonPhaseModule.SolarGrid;
+import org.iHarwood.integration.awtrix.AwtrixPusher;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -8,10 +15,15 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -20,6 +32,7 @@ import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_OCTET_STREAM_VALUE;
 import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
 
 /**
@@ -30,19 +43,24 @@ import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
 @ConditionalOnWebApplication
 public class DashboardController {
 
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
     private final AstronomicalDataService dataService;
     private final Optional<HistoryService> historyService;
     private final Main main;
+    private final AwtrixPusher awtrixPusher;
 
     /** Guards against concurrent manual refresh calls. */
     private final AtomicBoolean refreshRunning = new AtomicBoolean(false);
 
     public DashboardController(AstronomicalDataService dataService,
                                Optional<HistoryService> historyService,
-                               Main main) {
+                               Main main,
+                               AwtrixPusher awtrixPusher) {
         this.dataService = dataService;
         this.historyService = historyService;
         this.main = main;
+        this.awtrixPusher = awtrixPusher;
     }
 
     @GetMapping("/")
@@ -86,6 +104,112 @@ public class DashboardController {
         return dataService.subscribe();
     }
 
+    /**
+     * Principal moon phases (new, first quarter, full, last quarter) in [from, to).
+     * Bounds are ISO-8601 instants or dates (midnight UTC). Events are written to the
+     * response as they are read from the lunation index, so windows of decades never
+     * build a list in memory. Only 1900-2100 is tabulated; the rest of a window is empty.
+     */
+    @GetMapping(value = "/api/moon/events", produces = APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<StreamingResponseBody> moonEvents(
+            @RequestParam String from,
+            @RequestParam String to) {
+        Instant start;
+        Instant end;
+        try {
+            start = parseInstant(from);
+            end = parseInstant(to);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (end.isBefore(start)) {
+            return ResponseEntity.badRequest().build();
+        }
+        // Clamped before the 200 goes out: nothing lies outside the table, and instants
+        // past the epoch-millisecond range would otherwise fail mid-stream
+        Instant windowStart = clampToMoonTable(start);
+        Instant windowEnd = clampToMoonTable(end);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = JSON_FACTORY.createGenerator(out)) {
+                json.writeStartArray();
+                LunarPhaseEvents.forEachBetween(windowStart, windowEnd, (kind, epochMillis) -> {
+                    json.writeStartObject();
+                    json.writeStringField("phase", kind.name());
+                    json.writeStringField("instant", Instant.ofEpochMilli(epochMillis).toString());
+                    json.writeNumberField("epochMillis", epochMillis);
+                    json.writeEndObject();
+                });
+                json.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok(body);
+    }
+
+    /**
+     * Daily moon calendar (phase, illumination, age) for a year, or one month of it when
+     * {@code month} (1-12) is given. Days are columns of primitive arrays with the phase
+     * names and icons listed once. Finished months are cached, so repeat calls are copies.
+     */
+    @GetMapping(value = "/api/moon/calendar", produces = APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<MoonCalendar.Days> moonCalendar(
+            @RequestParam int year,
+            @RequestParam(defaultValue = "0") int month) {
+        if (year < MoonCalendar.FIRST_YEAR || year > MoonCalendar.LAST_YEAR || month < 0 || month > 12) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(month == 0 ? MoonCalendar.year(year) : MoonCalendar.month(YearMonth.of(year, month)));
+    }
+
+    /**
+     * Whole-Earth grid of day length, sunrise and sunset for {@code date} (default today,
+     * UTC) at {@code step} degrees, in the little-endian binary form documented on
+     * {@link SolarGrid}. At 1 degree that is 65,160 cells, about 780 KB; recent grids are
+     * cached, so redrawing the terminator only costs the copy to the socket.
+     */
+    @GetMapping(value = "/api/sun/grid", produces = APPLICATION_OCTET_STREAM_VALUE)
+    @ResponseBody
+    public ResponseEntity<StreamingResponseBody> sunGrid(
+            @RequestParam(required = false) String date,
+            @RequestParam(defaultValue = "1") double step) {
+        SolarGrid grid;
+        try {
+            LocalDate day = date == null ? LocalDate.now(ZoneOffset.UTC) : LocalDate.parse(date.trim());
+            grid = SolarGrid.forDate(day, step);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = grid::writeTo;
+        return ResponseEntity.ok()
+                .contentLength(grid.binaryLength())
+                .body(body);
+    }
+
+    /**
+     * Daily almanac for the configured location over the current and next year: day
+     * length, sun times, noon moon phase and the days-until counters, as columns indexed
+     * by day from {@code start}. Built once per year, so this is a copy of its arrays.
+     */
+    @GetMapping(value = "/api/almanac", produces = APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<Almanac.Columns> almanac() {
+        return ResponseEntity.ok(main.almanac().columns());
+    }
+
+    /** An ISO-8601 instant, or a date taken as midnight UTC. */
+    /** {@code instant} moved into [first event, just after the last event] of the lunation table. */
+    private static Instant clampToMoonTable(Instant instant) {
+        Instant first = LunarPhaseEvents.firstInstant();
+        Instant afterLast = LunarPhaseEvents.lastInstant().plusMillis(1);
+        return instant.isBefore(first) ? first : instant.isAfter(afterLast) ? afterLast : instant;
+    }
+
+    private static Instant parseInstant(String value) {
+        String v = value.trim();
+        return v.indexOf('T') >= 0 ? Instant.parse(v) : LocalDate.parse(v).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
     /**
      * Health endpoint — reports status of each subsystem.
      * Useful for container-level liveness checks and operator troubleshooting.
@@ -100,6 +224,7 @@ public class DashboardController {
         components.put("snapshot", dataAvailable ? "UP" : "WAITING");
         components.put("history",  historyService.isPresent() ? "UP" : "DISABLED");
         components.put("refreshRunning", refreshRunning.get());
+        components.put("awtrix", awtrixPusher.getDeviceStats());
 
         Map<String, Object> body = new LinkedHashMap<>();
         body.put("status", dataAvailable ? "UP" : "STARTING");
@@ -61,6 +61,11 @@ public class HistoryService {
             Map.entry("plutoDistanceAu",          SnapshotDocument::getPlutoDistanceAu),
             Map.entry("voyager1HelioDistanceAu",  SnapshotDocument::getVoyager1HelioDistanceAu),
             Map.entry("voyager2HelioDistanceAu",  SnapshotDocument::getVoyager2HelioDistanceAu),
+            Map.entry("mercuryEarthDistanceAu",   SnapshotDocument::getMercuryEarthDistanceAu),
+            Map.entry("venusEarthDistanceAu",     SnapshotDocument::getVenusEarthDistanceAu),
+            Map.entry("uranusEarthDistanceAu",    SnapshotDocument::getUranusEarthDistanceAu),
+            Map.entry("neptuneEarthDistanceAu",   SnapshotDocument::getNeptuneEarthDistanceAu),
+            Map.entry("plutoEarthDistanceAu",     SnapshotDocument::getPlutoEarthDistanceAu),
             Map.entry("voyager1DistanceAu",       SnapshotDocument::getVoyager1DistanceAu),
             Map.entry("voyager2DistanceAu",       SnapshotDocument::getVoyager2DistanceAu),
             Map.entry("newHorizonsDistanceAu",    SnapshotDocument::getNewHorizonsDistanceAu),
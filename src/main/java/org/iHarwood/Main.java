@@ -1,6 +1,7 @@
 package org.iHarwood;
 
 import jakarta.annotation.PostConstruct;
+import org.iHarwood.MoonPhaseModule.Almanac;
 import org.iHarwood.calculation.CalculationOrchestrator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,4 +42,8 @@ public class Main {
     public AstronomicalSnapshot calculateSnapshotForDate(ZonedDateTime target) {
         return orchestrator.computeForDate(target);
     }
+
+    public Almanac almanac() {
+        return orchestrator.almanac();
+    }
 }
@@ -0,0 +1,222 @@
+package org.iHarwood.MoonPhaseModule;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Every date-granular metric of a snapshot for a run of days at one location, in
+ * primitive-array columns: day length, the sunrise/sunset and twilight strings, the
+ * noon-UTC moon phase and the days-until counters for the solstices and apsides.
+ *
+ * Each column is filled in one pass over the days ({@link SolarDay#eventsFor}, which
+ * gives the day length with the sun times, {@link MoonPhase#phasesAt}, and counters that
+ * only look up the next event when the previous one is passed), so a lookup afterwards
+ * is array indexing. An almanac never
+ * changes once built; the orchestrator keeps one for the current and next year and
+ * replaces it when the year or the location changes.
+ */
+public final class Almanac {
+
+    /** Sun events kept as strings: {@link SolarDay#ASTRONOMICAL_DAWN} to {@link SolarDay#ASTRONOMICAL_DUSK}. */
+    public static final int SOLAR_EVENTS = SolarDay.ASTRONOMICAL_DUSK + 1;
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final List<String> PHASE_NAMES = MoonPhase.phaseNames();
+    private static final List<String> PHASE_ICONS = MoonPhase.phaseIcons();
+
+    /** A copy of the columns, one value per day from {@code start}, as served by the API. */
+    public record Columns(String start, double latitude, double longitude,
+                          List<String> phaseNames, List<String> phaseIcons,
+                          double[] daylightHours,
+                          String[] astronomicalDawn, String[] nauticalDawn, String[] civilDawn,
+                          String[] sunrise, String[] solarNoon, String[] sunset,
+                          String[] civilDusk, String[] nauticalDusk, String[] astronomicalDusk,
+                          int[] moonPhase, int[] moonIlluminationPercent, int[] moonAgeDays,
+                          int[] daysUntilFullMoon,
+                          int[] daysUntilSummerSolstice, int[] daysUntilWinterSolstice,
+                          int[] daysUntilPerihelion, int[] daysUntilAphelion) {}
+
+    private final LocalDate start;
+    private final int days;
+    private final double latitude;
+    private final double longitude;
+
+    private final double[] daylightHours;
+    private final String[] solarTimes;
+    private final int[] moonPhase;
+    private final int[] moonIllumination;
+    private final int[] moonAge;
+    private final int[] daysUntilFullMoon;
+    private final int[] daysUntilSummerSolstice;
+    private final int[] daysUntilWinterSolstice;
+    private final int[] daysUntilPerihelion;
+    private final int[] daysUntilAphelion;
+
+    private Almanac(LocalDate start, int days, double latitude, double longitude) {
+        if (days <= 0) {
+            throw new IllegalArgumentException("Almanac needs at least one day: " + days);
+        }
+        this.start = start;
+        this.days = days;
+        this.latitude = latitude;
+        this.longitude = longitude;
+
+        double[] sun = new double[SolarDay.STRIDE * days];
+        SolarDay.eventsFor(start, days, latitude, longitude, sun);
+        daylightHours = new double[days];
+        solarTimes = new String[SOLAR_EVENTS * days];
+        for (int d = 0; d < days; d++) {
+            daylightHours[d] = sun[SolarDay.STRIDE * d + SolarDay.DAYLIGHT] / 60.0;
+            for (int e = 0; e < SOLAR_EVENTS; e++) {
+                solarTimes[SOLAR_EVENTS * d + e] = SunriseSunset.format(sun, SolarDay.STRIDE * d, e);
+            }
+        }
+
+        moonPhase = new int[days];
+        moonIllumination = new int[days];
+        moonAge = new int[days];
+        daysUntilFullMoon = new int[days];
+        fillMoon();
+
+        daysUntilSummerSolstice = countdown(from -> EquinoxCalculator.nextDate(EquinoxCalculator.Season.SUMMER_SOLSTICE, from));
+        daysUntilWinterSolstice = countdown(from -> EquinoxCalculator.nextDate(EquinoxCalculator.Season.WINTER_SOLSTICE, from));
+        daysUntilPerihelion = countdown(PerihelionAphelion::nextPerihelion);
+        daysUntilAphelion = countdown(PerihelionAphelion::nextAphelion);
+    }
+
+    /** Almanac for {@code years} whole calendar years from {@code firstYear}. */
+    public static Almanac forYears(int firstYear, int years, double latitudeDeg, double longitudeDeg) {
+        LocalDate start = LocalDate.of(firstYear, 1, 1);
+        int days = (int) (start.plusYears(years).toEpochDay() - start.toEpochDay());
+        return new Almanac(start, days, latitudeDeg, longitudeDeg);
+    }
+
+    /** Almanac for {@code days} days from {@code start}. */
+    public static Almanac forDays(LocalDate start, int days, double latitudeDeg, double longitudeDeg) {
+        return new Almanac(start, days, latitudeDeg, longitudeDeg);
+    }
+
+    // Moon phase at noon UTC, as MoonPhase.fromDate gives it
+    private void fillMoon() {
+        long noon = start.atTime(12, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+        double[] fractions = new double[days];
+        double[] ages = new double[days];
+        MoonPhase.phasesAt(noon, MILLIS_PER_DAY, days, fractions, ages);
+        LunarPhaseEvents.Event full = null;
+        for (int d = 0; d < days; d++) {
+            long t = noon + d * MILLIS_PER_DAY;
+            if (full == null || full.instant().toEpochMilli() <= t) {
+                full = LunarPhaseEvents.next(Instant.ofEpochMilli(t), LunarPhaseEvents.Kind.FULL_MOON);
+            }
+            double untilFull = full != null
+                    ? (double) (full.instant().toEpochMilli() - t) / MILLIS_PER_DAY
+                    : MoonPhase.fromPhaseFraction(fractions[d]).getDaysUntilFullMoonExact();
+            moonPhase[d] = MoonPhase.phaseIndex(fractions[d]);
+            moonIllumination[d] = MoonPhase.illuminationPercent(fractions[d]);
+            moonAge[d] = (int) Math.round(ages[d]);
+            daysUntilFullMoon[d] = (int) Math.round(untilFull);
+        }
+    }
+
+    /** Days from each date to the next event dated after it; {@code next} is only called when the last one passes. */
+    private int[] countdown(UnaryOperator<LocalDate> next) {
+        int[] out = new int[days];
+        long first = start.toEpochDay();
+        long event = next.apply(start).toEpochDay();
+        for (int d = 0; d < days; d++) {
+            if (first + d >= event) {
+                event = next.apply(start.plusDays(d)).toEpochDay();
+            }
+            out[d] = (int) (event - first - d);
+        }
+        return out;
+    }
+
+    public LocalDate start() { return start; }
+    public int days() { return days; }
+    public double latitude() { return latitude; }
+    public double longitude() { return longitude; }
+
+    /** True if this almanac was built for exactly this location. */
+    public boolean isFor(double latitudeDeg, double longitudeDeg) {
+        return latitude == latitudeDeg && longitude == longitudeDeg;
+    }
+
+    /** Day index of {@code date}, or -1 if the almanac does not cover it. */
+    public int indexOf(LocalDate date) {
+        long d = date.toEpochDay() - start.toEpochDay();
+        return d >= 0 && d < days ? (int) d : -1;
+    }
+
+    /** Hours the Sun is above the horizon, refraction included: {@link SolarDay#DAYLIGHT} / 60. */
+    public double daylightHours(int day) { return daylightHours[day]; }
+
+    /**
+     * Shortest and longest day length (hours) in calendar year {@code year}, from the
+     * daylight column.
+     *
+     * @throws IllegalArgumentException if the almanac does not cover the whole year
+     */
+    public double[] minMaxDaylightHours(int year) {
+        int first = indexOf(LocalDate.of(year, 1, 1));
+        int last = indexOf(LocalDate.of(year, 12, 31));
+        if (first < 0 || last < 0) {
+            throw new IllegalArgumentException("Almanac from " + start + " for " + days + " days does not cover " + year);
+        }
+        double min = daylightHours[first];
+        double max = min;
+        for (int d = first + 1; d <= last; d++) {
+            min = Math.min(min, daylightHours[d]);
+            max = Math.max(max, daylightHours[d]);
+        }
+        return new double[]{min, max};
+    }
+
+    /**
+     * Sun event {@code event} of day {@code day} formatted by {@link SunriseSunset#format}.
+     *
+     * @param event a {@link SolarDay} offset below {@link #SOLAR_EVENTS}, e.g. {@link SolarDay#SUNRISE}
+     */
+    public String solarTime(int day, int event) {
+        if (event < 0 || event >= SOLAR_EVENTS) {
+            throw new IllegalArgumentException("Not a sun event offset: " + event);
+        }
+        return solarTimes[SOLAR_EVENTS * day + event];
+    }
+
+    public String moonPhaseName(int day) { return PHASE_NAMES.get(moonPhase[day]); }
+    public String moonPhaseIcon(int day) { return PHASE_ICONS.get(moonPhase[day]); }
+    public String[] moonAscii(int day) { return MoonPhase.ascii(moonPhase[day]); }
+    public int moonIlluminationPercent(int day) { return moonIllumination[day]; }
+    public int moonAgeDays(int day) { return moonAge[day]; }
+    public int daysUntilFullMoon(int day) { return daysUntilFullMoon[day]; }
+    public int daysUntilSummerSolstice(int day) { return daysUntilSummerSolstice[day]; }
+    public int daysUntilWinterSolstice(int day) { return daysUntilWinterSolstice[day]; }
+    public int daysUntilPerihelion(int day) { return daysUntilPerihelion[day]; }
+    public int daysUntilAphelion(int day) { return daysUntilAphelion[day]; }
+
+    /** Copies every column for serialisation. */
+    public Columns columns() {
+        return new Columns(start.toString(), latitude, longitude, PHASE_NAMES, PHASE_ICONS,
+                daylightHours.clone(),
+                solarColumn(SolarDay.ASTRONOMICAL_DAWN), solarColumn(SolarDay.NAUTICAL_DAWN),
+                solarColumn(SolarDay.CIVIL_DAWN), solarColumn(SolarDay.SUNRISE),
+                solarColumn(SolarDay.SOLAR_NOON), solarColumn(SolarDay.SUNSET),
+                solarColumn(SolarDay.CIVIL_DUSK), solarColumn(SolarDay.NAUTICAL_DUSK),
+                solarColumn(SolarDay.ASTRONOMICAL_DUSK),
+                moonPhase.clone(), moonIllumination.clone(), moonAge.clone(), daysUntilFullMoon.clone(),
+                daysUntilSummerSolstice.clone(), daysUntilWinterSolstice.clone(),
+                daysUntilPerihelion.clone(), daysUntilAphelion.clone());
+    }
+
+    private String[] solarColumn(int event) {
+        String[] out = new String[days];
+        for (int d = 0; d < days; d++) {
+            out[d] = solarTimes[SOLAR_EVENTS * d + event];
+        }
+        return out;
+    }
+}
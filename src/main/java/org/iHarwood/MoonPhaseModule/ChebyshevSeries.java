@@ -0,0 +1,144 @@
+package org.iHarwood.MoonPhaseModule;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Piecewise Chebyshev approximation of a smooth function of time, in the style of the
+ * JPL DE ephemeris files: the covered span is cut into fixed-length segments and each
+ * segment stores the coefficients of a low-degree Chebyshev polynomial.
+ *
+ * Fitting samples the source function at the Chebyshev nodes of every segment (so it
+ * costs {@code degree + 1} source evaluations per segment). Evaluation is a segment
+ * lookup plus a Clenshaw recurrence: a handful of multiply-adds and no trig.
+ *
+ * The tables are fitted in memory on first use rather than loaded from a generated
+ * resource. All of them together (Sun, Moon and both tables for every planet) take about
+ * 6.1 MB of heap and about a second to fit, once per process: two thirds of it the Moon,
+ * most of the rest the Kepler solves behind the planet tables.
+ * A resource would not save the heap, since a jar entry cannot be mapped, and it would
+ * have to be regenerated whenever a model constant changes. The memory-mapped
+ * {@link EphemerisFile} is the off-heap store, for historical snapshots.
+ *
+ * Instances are immutable and safe to share between threads.
+ */
+final class ChebyshevSeries {
+
+    /** Start of the default table span: 1900-01-01T00:00Z in days since J2000.0. */
+    static final double TABLE_START_DAY = -36_524.5;
+
+    /** End of the default table span (exclusive): 2101-01-01T00:00Z in days since J2000.0. */
+    static final double TABLE_END_DAY = 36_890.5;
+
+    private final double startDay;
+    private final double endDay;
+    private final double segmentDays;
+    private final double invSegmentDays;
+    private final int coefficientsPerSegment;
+    private final int segmentCount;
+    private final double[] coefficients;
+
+    private ChebyshevSeries(double startDay, double segmentDays, int coefficientsPerSegment,
+                            int segmentCount, double[] coefficients) {
+        this.startDay = startDay;
+        this.segmentDays = segmentDays;
+        this.invSegmentDays = 1.0 / segmentDays;
+        this.coefficientsPerSegment = coefficientsPerSegment;
+        this.segmentCount = segmentCount;
+        this.endDay = startDay + segmentCount * segmentDays;
+        this.coefficients = coefficients;
+    }
+
+    /**
+     * Fits {@code f} over {@code [startDay, endDay)} with segments of {@code segmentDays}
+     * and polynomials of the given degree. The last segment is extended past
+     * {@code endDay} if the span is not a whole number of segments.
+     */
+    static ChebyshevSeries fit(DoubleUnaryOperator f, double startDay, double endDay,
+                               double segmentDays, int degree) {
+        if (!(endDay > startDay) || !(segmentDays > 0.0) || degree < 0) {
+            throw new IllegalArgumentException("Invalid Chebyshev fit parameters: span ["
+                    + startDay + ", " + endDay + "), segment " + segmentDays + ", degree " + degree);
+        }
+        int n = degree + 1;
+        int segments = (int) Math.ceil((endDay - startDay) / segmentDays);
+
+        // Node positions on [-1, 1] and the cosine basis at those nodes, shared by every segment
+        double[] nodes = new double[n];
+        double[][] basis = new double[n][n];
+        for (int k = 0; k < n; k++) {
+            double theta = Math.PI * (k + 0.5) / n;
+            nodes[k] = Math.cos(theta);
+            for (int j = 0; j < n; j++) {
+                basis[j][k] = Math.cos(j * theta);
+            }
+        }
+
+        double[] coefficients = new double[segments * n];
+        double[] samples = new double[n];
+        double halfSegment = segmentDays * 0.5;
+        for (int s = 0; s < segments; s++) {
+            double mid = startDay + s * segmentDays + halfSegment;
+            for (int k = 0; k < n; k++) {
+                samples[k] = f.applyAsDouble(mid + nodes[k] * halfSegment);
+            }
+            int base = s * n;
+            for (int j = 0; j < n; j++) {
+                double sum = 0.0;
+                for (int k = 0; k < n; k++) {
+                    sum += samples[k] * basis[j][k];
+                }
+                coefficients[base + j] = 2.0 * sum / n;
+            }
+            // Store c0 already halved so evaluation needs no special case
+            coefficients[base] *= 0.5;
+        }
+        return new ChebyshevSeries(startDay, segmentDays, n, segments, coefficients);
+    }
+
+    /** True if {@code daysSinceJ2000} falls inside the fitted span. */
+    boolean covers(double daysSinceJ2000) {
+        return daysSinceJ2000 >= startDay && daysSinceJ2000 < endDay;
+    }
+
+    /**
+     * Value of the fitted function at {@code daysSinceJ2000}. The caller must check
+     * {@link #covers(double)} first; outside the span the result is undefined.
+     */
+    double value(double daysSinceJ2000) {
+        double offset = (daysSinceJ2000 - startDay) * invSegmentDays;
+        int segment = (int) offset;
+        if (segment >= segmentCount) {
+            segment = segmentCount - 1;
+        }
+        double x = 2.0 * (offset - segment) - 1.0;
+        double twoX = 2.0 * x;
+
+        int base = segment * coefficientsPerSegment;
+        double b1 = 0.0;
+        double b2 = 0.0;
+        for (int j = base + coefficientsPerSegment - 1; j > base; j--) {
+            // Only the fma depends on the previous step; (c - b2) is ready a step early
+            double t = Math.fma(twoX, b1, coefficients[j] - b2);
+            b2 = b1;
+            b1 = t;
+        }
+        return Math.fma(x, b1, coefficients[base] - b2);
+    }
+
+    double startDay() {
+        return startDay;
+    }
+
+    double endDay() {
+        return endDay;
+    }
+
+    double segmentDays() {
+        return segmentDays;
+    }
+
+    /** Heap used by the coefficient array, in bytes. */
+    long sizeInBytes() {
+        return (long) coefficients.length * Double.BYTES;
+    }
+}
@@ -1,5 +1,6 @@
 package org.iHarwood.MoonPhaseModule;
 
+import java.time.Instant;
 import java.time.ZonedDateTime;
 
 /**
@@ -9,10 +10,35 @@ import java.time.ZonedDateTime;
 public final class DateUtils {
     private DateUtils() {}
 
+    /** Julian Date of the J2000.0 epoch. */
+    public static final double JULIAN_DATE_J2000 = 2451545.0;
+
+    // J2000.0 as a Unix timestamp (2000-01-01T12:00:00Z); UTC is used as a stand-in for TT
+    private static final long J2000_EPOCH_SECOND = 946_728_000L;
+    private static final long J2000_EPOCH_MILLI  = J2000_EPOCH_SECOND * 1000L;
+    private static final double SECONDS_PER_DAY  = 86_400.0;
+    private static final double MILLIS_PER_DAY   = 86_400_000.0;
+    private static final double NANOS_PER_DAY    = 86_400e9;
+
     // Earth orbital elements at J2000.0 — shared by SunDistance and MarsDistance
     public static final double EARTH_MEAN_ANOMALY_J2000_DEG  = 357.529;
     public static final double EARTH_MEAN_MOTION_DEG_PER_DAY = 0.98560028;
 
+    /**
+     * Earth's mean anomaly (degrees, not normalised) at the given number of days since J2000.0.
+     */
+    public static double earthMeanAnomalyDeg(double daysSinceJ2000) {
+        return EARTH_MEAN_ANOMALY_J2000_DEG + EARTH_MEAN_MOTION_DEG_PER_DAY * daysSinceJ2000;
+    }
+
+    /**
+     * Instant at the given number of days since J2000.0 (inverse of {@link #daysSinceJ2000(Instant)}).
+     */
+    public static Instant instantAt(double daysSinceJ2000) {
+        long millis = Math.round(daysSinceJ2000 * MILLIS_PER_DAY);
+        return Instant.ofEpochMilli(J2000_EPOCH_MILLI + millis);
+    }
+
     /**
      * Normalise an angle in degrees to [0, 360).
      */
@@ -53,6 +79,102 @@ public final class DateUtils {
         return jd - 2451545.0;
     }
 
+    /**
+     * Days since J2000.0 for an instant, keeping sub-second precision.
+     * Plain arithmetic on the epoch second and nanos: no calendar decomposition.
+     */
+    public static double daysSinceJ2000(Instant instant) {
+        return (instant.getEpochSecond() - J2000_EPOCH_SECOND) / SECONDS_PER_DAY
+                + instant.getNano() / NANOS_PER_DAY;
+    }
+
+    /**
+     * Days since J2000.0 for a Unix timestamp in milliseconds.
+     */
+    public static double daysSinceJ2000(long epochMillis) {
+        return (epochMillis - J2000_EPOCH_MILLI) / MILLIS_PER_DAY;
+    }
+
+    /**
+     * Days since J2000.0 for a precomputed Julian Date.
+     */
+    public static double daysSinceJ2000FromJulianDate(double julianDate) {
+        return julianDate - JULIAN_DATE_J2000;
+    }
+
+    /**
+     * Julian Date (fractional) for an instant.
+     */
+    public static double julianDate(Instant instant) {
+        return daysSinceJ2000(instant) + JULIAN_DATE_J2000;
+    }
+
+    /**
+     * Delta T = TT - UT in seconds for a decimal year, from the Espenak-Meeus polynomials
+     * (NASA Five Millennium Canon). Good to a few seconds over 1800-2025, to minutes
+     * back to 500; later years are extrapolated, and years outside -500..2150 use the
+     * long-term parabola.
+     */
+    public static double deltaTSeconds(double year) {
+        if (year < -500.0 || year >= 2150.0) {
+            double u = (year - 1820.0) / 100.0;
+            return -20.0 + 32.0 * u * u;
+        }
+        if (year < 500.0) {
+            double u = year / 100.0;
+            return 10583.6 + u * (-1014.41 + u * (33.78311 + u * (-5.952053
+                    + u * (-0.1798452 + u * (0.022174192 + u * 0.0090316521)))));
+        }
+        if (year < 1600.0) {
+            double u = (year - 1000.0) / 100.0;
+            return 1574.2 + u * (-556.01 + u * (71.23472 + u * (0.319781
+                    + u * (-0.8503463 + u * (-0.005050998 + u * 0.0083572073)))));
+        }
+        if (year < 1700.0) {
+            double t = year - 1600.0;
+            return 120.0 + t * (-0.9808 + t * (-0.01532 + t / 7129.0));
+        }
+        if (year < 1800.0) {
+            double t = year - 1700.0;
+            return 8.83 + t * (0.1603 + t * (-0.0059285 + t * (0.00013336 - t / 1_174_000.0)));
+        }
+        if (year < 1860.0) {
+            double t = year - 1800.0;
+            return 13.72 + t * (-0.332447 + t * (0.0068612 + t * (0.0041116 + t * (-0.00037436
+                    + t * (0.0000121272 + t * (-0.0000001699 + t * 0.000000000875))))));
+        }
+        if (year < 1900.0) {
+            double t = year - 1860.0;
+            return 7.62 + t * (0.5737 + t * (-0.251754 + t * (0.01680668 + t * (-0.0004473624 + t / 233_174.0))));
+        }
+        if (year < 1920.0) {
+            double t = year - 1900.0;
+            return -2.79 + t * (1.494119 + t * (-0.0598939 + t * (0.0061966 - 0.000197 * t)));
+        }
+        if (year < 1941.0) {
+            double t = year - 1920.0;
+            return 21.20 + t * (0.84493 + t * (-0.076100 + 0.0020936 * t));
+        }
+        if (year < 1961.0) {
+            double t = year - 1950.0;
+            return 29.07 + t * (0.407 + t * (-1.0 / 233.0 + t / 2547.0));
+        }
+        if (year < 1986.0) {
+            double t = year - 1975.0;
+            return 45.45 + t * (1.067 + t * (-1.0 / 260.0 - t / 718.0));
+        }
+        if (year < 2005.0) {
+            double t = year - 2000.0;
+            return 63.86 + t * (0.3345 + t * (-0.060374 + t * (0.0017275 + t * (0.000651814 + 0.00002373599 * t))));
+        }
+        if (year < 2050.0) {
+            double t = year - 2000.0;
+            return 62.92 + t * (0.32217 + 0.005589 * t);
+        }
+        double u = (year - 1820.0) / 100.0;
+        return -20.0 + 32.0 * u * u - 0.5628 * (2150.0 - year);
+    }
+
     /**
      * Convert local date (day, month, year) to Julian Day Number.
      * Uses Fliegel-Van Flandern algorithm with Gregorian/Julian calendar cutoff.
@@ -69,5 +191,28 @@ public final class DateUtils {
             return (int)(day + (153 * m + 2) / 5 + 365L * y + y / 4 - 32083);
         }
     }
-}
 
+    /**
+     * Returns {min, max} over the first {@code count} entries of {@code values}.
+     */
+    public static double[] minMax(double[] values, int count) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            double v = values[i];
+            if (v < min) min = v;
+            if (v > max) max = v;
+        }
+        return new double[]{min, max};
+    }
+
+    /**
+     * Validates that a caller-supplied batch output buffer can hold {@code count} samples.
+     */
+    static void checkBatchLength(int count, double[] out) {
+        if (count < 0 || out.length < count) {
+            throw new IllegalArgumentException(
+                    "Output buffer too small: need " + count + " samples, got " + out.length);
+        }
+    }
+}
@@ -1,62 +1,57 @@
 package org.iHarwood.MoonPhaseModule;
 
 import java.time.LocalDate;
-import java.time.Year;
-
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Day length in hours, from the {@link SolarDay} sunrise and sunset (refraction and the
+ * Sun's semi-diameter included), so it agrees with the sun times, the almanac and the
+ * solar grid. Only a latitude is given, so the day is taken at Greenwich; moving east or
+ * west changes it by well under a minute.
+ */
 public final class DayLight {
 
-    private static final double AXIAL_TILT_DEG = 23.44;
-
     private DayLight() {}
 
+    private record YearAt(int year, double latitudeDeg) {}
+
+    private static final Map<YearAt, double[]> MIN_MAX_BY_YEAR = new ConcurrentHashMap<>();
+
     /**
-     * Compute day length in hours for given date and latitude (degrees)
-     * using solar declination approximation.
+     * Hours the Sun is above the horizon on {@code date} at the given latitude (degrees):
+     * 0 in polar night, 24 under the midnight sun.
      */
     public static double dayLengthHours(LocalDate date, double latitudeDeg) {
-        int n = date.getDayOfYear();
-        double lat = Math.toRadians(latitudeDeg);
-        double daysInYear = Year.of(date.getYear()).length();
-        double decl = Math.toRadians(AXIAL_TILT_DEG) * Math.sin(2.0 * Math.PI * (284 + n) / daysInYear);
-        double x = -Math.tan(lat) * Math.tan(decl);
-        if (x >= 1.0) return 0.0;   // polar night
-        if (x <= -1.0) return 24.0; // polar day
-        double hourAngle = Math.acos(x);
-        return (24.0 / Math.PI) * hourAngle;
+        double[] out = new double[SolarDay.STRIDE];
+        SolarDay.eventsAt(date, latitudeDeg, 0.0, out, 0);
+        return out[SolarDay.DAYLIGHT] / 60.0;
     }
 
-    /**
-     * Calculate min/max daylight hours analytically for given latitude.
-     * Min/max occur near winter/summer solstices.
-     */
+    /** Min/max day length (hours) at the given latitude over the current UTC year. */
     public static double[] minMaxDayLengthHoursNow(double latitudeDeg) {
-        double lat = Math.toRadians(latitudeDeg);
-
-        double absLat = Math.abs(latitudeDeg);
-        if (absLat >= 66.5) {
-            return new double[]{0.0, 24.0};
-        }
-
-        double maxDecl = Math.toRadians(AXIAL_TILT_DEG);
-        double minDecl = Math.toRadians(-AXIAL_TILT_DEG);
-
-        double maxLen = calculateDayLengthFromDeclination(lat, maxDecl);
-        double minLen = calculateDayLengthFromDeclination(lat, minDecl);
-
-        if (maxLen < minLen) {
-            double tmp = maxLen;
-            maxLen = minLen;
-            minLen = tmp;
-        }
+        return minMaxDayLengthHours(ZonedDateTime.now(ZoneOffset.UTC).getYear(), latitudeDeg);
+    }
 
-        return new double[]{minLen, maxLen};
+    /**
+     * Shortest and longest day (hours) at the given latitude in calendar year
+     * {@code year}, from one {@link SolarDay#eventsForYear} pass. Memoised per year and
+     * latitude.
+     */
+    public static double[] minMaxDayLengthHours(int year, double latitudeDeg) {
+        return MIN_MAX_BY_YEAR.computeIfAbsent(new YearAt(year, latitudeDeg), DayLight::computeMinMax).clone();
     }
 
-    private static double calculateDayLengthFromDeclination(double latRad, double declRad) {
-        double x = -Math.tan(latRad) * Math.tan(declRad);
-        if (x >= 1.0) return 0.0;
-        if (x <= -1.0) return 24.0;
-        double hourAngle = Math.acos(x);
-        return (24.0 / Math.PI) * hourAngle;
+    private static double[] computeMinMax(YearAt key) {
+        double[] sun = SolarDay.eventsForYear(key.year(), key.latitudeDeg(), 0.0);
+        double min = Double.MAX_VALUE;
+        double max = 0.0;
+        for (int i = SolarDay.DAYLIGHT; i < sun.length; i += SolarDay.STRIDE) {
+            min = Math.min(min, sun[i]);
+            max = Math.max(max, sun[i]);
+        }
+        return new double[]{min / 60.0, max / 60.0};
     }
 }
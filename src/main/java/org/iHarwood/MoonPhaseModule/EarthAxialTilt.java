@@ -1,6 +1,6 @@
 package org.iHarwood.MoonPhaseModule;
 
-import java.time.ZoneOffset;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 
 /**
@@ -21,11 +21,26 @@ public final class EarthAxialTilt {
     private static final double DAYS_PER_CENTURY = 36525.0;
 
     public static double tiltDegrees(ZonedDateTime zdt) {
-        double T = DateUtils.daysSinceJ2000(zdt) / DAYS_PER_CENTURY;
+        return tiltDegreesAt(DateUtils.daysSinceJ2000(zdt));
+    }
+
+    public static double tiltDegrees(Instant instant) {
+        return tiltDegreesAt(DateUtils.daysSinceJ2000(instant));
+    }
+
+    /**
+     * Obliquity (degrees) at the given number of days since J2000.0.
+     */
+    public static double tiltDegreesAt(double daysSinceJ2000) {
+        double T = daysSinceJ2000 / DAYS_PER_CENTURY;
         return OBLIQUITY_J2000_DEG - OBLIQUITY_RATE_DEG_PER_CENTURY * T;
     }
 
+    public static double tiltDegrees(EphemerisContext ctx) {
+        return tiltDegreesAt(ctx.daysSinceJ2000());
+    }
+
     public static double tiltDegreesNow() {
-        return tiltDegrees(ZonedDateTime.now(ZoneOffset.UTC));
+        return tiltDegrees(Instant.now());
     }
 }
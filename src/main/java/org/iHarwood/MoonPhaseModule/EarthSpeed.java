@@ -1,6 +1,6 @@
 package org.iHarwood.MoonPhaseModule;
 
-import java.time.ZoneOffset;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 
 /**
@@ -20,11 +20,36 @@ public final class EarthSpeed {
     private static final double KM_PER_AU = 149_597_870.7;
 
     public static double speedKmPerSecNow() {
-        return speedKmPerSec(ZonedDateTime.now(ZoneOffset.UTC));
+        return speedKmPerSec(Instant.now());
     }
 
     public static double speedKmPerSec(ZonedDateTime zdt) {
-        double rAu = SunDistance.distanceAU(zdt);
+        return speedKmPerSecAt(DateUtils.daysSinceJ2000(zdt));
+    }
+
+    public static double speedKmPerSec(Instant instant) {
+        return speedKmPerSecAt(DateUtils.daysSinceJ2000(instant));
+    }
+
+    /**
+     * Orbital speed (km/s) at the given number of days since J2000.0.
+     */
+    public static double speedKmPerSecAt(double daysSinceJ2000) {
+        return speedKmPerSecForRadius(SunDistance.distanceAUAt(daysSinceJ2000));
+    }
+
+    /**
+     * Orbital speed (km/s) using the Sun-Earth distance already held by the context.
+     */
+    public static double speedKmPerSec(EphemerisContext ctx) {
+        return speedKmPerSecForRadius(ctx.earthRadiusAU());
+    }
+
+    public static double speedKmPerHour(EphemerisContext ctx) {
+        return speedKmPerSec(ctx) * 3600.0;
+    }
+
+    private static double speedKmPerSecForRadius(double rAu) {
         double rKm = rAu * KM_PER_AU;
         return Math.sqrt(GM_SUN * (2.0 / rKm - 1.0 / A_EARTH_KM));
     }
@@ -33,8 +58,12 @@ public final class EarthSpeed {
         return speedKmPerSec(zdt) * 3600.0;
     }
 
+    public static double speedKmPerHour(Instant instant) {
+        return speedKmPerSec(instant) * 3600.0;
+    }
+
     public static double speedKmPerHourNow() {
-        return speedKmPerHour(ZonedDateTime.now(ZoneOffset.UTC));
+        return speedKmPerHour(Instant.now());
     }
 
     public static double speedMphNow() {
@@ -0,0 +1,98 @@
+package org.iHarwood.MoonPhaseModule;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+
+/**
+ * Immutable per-instant snapshot of the quantities every calculator shares.
+ *
+ * Built once per calculation cycle: reads the clock once, converts to days since
+ * J2000.0 once and looks up Earth's orbit and each {@link Planets} orbit once (from
+ * the Chebyshev tables inside 1900-2100, otherwise from the orbital model). The
+ * context-taking overloads on SunDistance, PlanetDistance, EarthSpeed etc. read from
+ * here instead of recomputing Earth's radius for every body.
+ */
+public final class EphemerisContext {
+
+    private final Instant instant;
+    private final double daysSinceJ2000;
+    private final double earthMeanAnomalyDeg;
+    private final double earthRadiusAU;
+    private final double[] planetMeanAnomalyDeg;
+    private final double[] planetRadiusAU;
+    private final double[] planetDistanceFromEarthAU;
+
+    private EphemerisContext(Instant instant) {
+        this.instant = instant;
+        this.daysSinceJ2000 = DateUtils.daysSinceJ2000(instant);
+        this.earthMeanAnomalyDeg = DateUtils.earthMeanAnomalyDeg(daysSinceJ2000);
+        this.earthRadiusAU = SunDistance.distanceAUTabulated(daysSinceJ2000);
+
+        int n = Planets.ALL.size();
+        this.planetMeanAnomalyDeg = new double[n];
+        this.planetRadiusAU = new double[n];
+        this.planetDistanceFromEarthAU = new double[n];
+        boolean tabulated = daysSinceJ2000 >= ChebyshevSeries.TABLE_START_DAY
+                && daysSinceJ2000 < ChebyshevSeries.TABLE_END_DAY;
+        if (!tabulated) {
+            // Outside the Chebyshev tables: one pass over all bodies with Earth solved once
+            PlanetBatch.ALL.distancesAt(daysSinceJ2000, planetRadiusAU, planetDistanceFromEarthAU);
+        }
+        for (int i = 0; i < n; i++) {
+            PlanetDistance p = Planets.ALL.get(i);
+            planetMeanAnomalyDeg[i] = p.meanAnomalyDeg(daysSinceJ2000);
+            if (tabulated) {
+                planetRadiusAU[i] = p.heliocentricDistanceAUTabulated(daysSinceJ2000);
+                planetDistanceFromEarthAU[i] = p.distanceAUTabulated(daysSinceJ2000);
+            }
+        }
+    }
+
+    public static EphemerisContext of(Instant instant) {
+        return new EphemerisContext(instant);
+    }
+
+    public static EphemerisContext of(ZonedDateTime zdt) {
+        return new EphemerisContext(zdt.toInstant());
+    }
+
+    public static EphemerisContext now() {
+        return new EphemerisContext(Instant.now());
+    }
+
+    public Instant instant() {
+        return instant;
+    }
+
+    public double daysSinceJ2000() {
+        return daysSinceJ2000;
+    }
+
+    /** Earth's mean anomaly in degrees (not normalised). */
+    public double earthMeanAnomalyDeg() {
+        return earthMeanAnomalyDeg;
+    }
+
+    /** Sun-Earth distance in AU. */
+    public double earthRadiusAU() {
+        return earthRadiusAU;
+    }
+
+    /** Mean anomaly (degrees, not normalised) of the given body. */
+    public double meanAnomalyDeg(PlanetDistance planet) {
+        int i = Planets.indexOf(planet);
+        return i >= 0 ? planetMeanAnomalyDeg[i] : planet.meanAnomalyDeg(daysSinceJ2000);
+    }
+
+    /** Heliocentric distance (AU) of the given body. */
+    public double heliocentricDistanceAU(PlanetDistance planet) {
+        int i = Planets.indexOf(planet);
+        return i >= 0 ? planetRadiusAU[i] : planet.heliocentricDistanceAUTabulated(daysSinceJ2000);
+    }
+
+    /** Earth-body distance (AU) of the given body. */
+    public double distanceFromEarthAU(PlanetDistance planet) {
+        int i = Planets.indexOf(planet);
+        return i >= 0 ? planetDistanceFromEarthAU[i] : planet.distanceAUTabulated(daysSinceJ2000);
+    }
+}
@@ -0,0 +1,318 @@
+package org.iHarwood.MoonPhaseModule;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Precomputed, memory-mapped table of every time-only quantity in a snapshot.
+ *
+ * File layout (little-endian):
+ * <pre>
+ *   header  64 bytes: magic "MPEPHEM1", int version, int fieldCount, long recordCount,
+ *                     double startDay, double stepDays, zero padding
+ *   records recordCount x fieldCount doubles, in {@link Field} order
+ * </pre>
+ * Day values are days since J2000.0. The file is mapped read-only, so every process
+ * using it shares the same pages from the OS page cache and opening it costs nothing
+ * beyond validating the header. Lookups interpolate the four nearest records with a
+ * cubic Lagrange polynomial.
+ *
+ * Written by {@link EphemerisFileGenerator}; see {@link #write(Path, double, double, int)}.
+ */
+public final class EphemerisFile {
+
+    /**
+     * Quantities stored per record, in file column order. The planet blocks follow
+     * {@link Planets#ALL} order.
+     */
+    public enum Field {
+        SUN_DISTANCE_AU,
+        EARTH_SPEED_KM_PER_SEC,
+        EARTH_AXIAL_TILT_DEG,
+        MOON_DISTANCE_KM,
+        MERCURY_HELIOCENTRIC_AU,
+        VENUS_HELIOCENTRIC_AU,
+        MARS_HELIOCENTRIC_AU,
+        JUPITER_HELIOCENTRIC_AU,
+        SATURN_HELIOCENTRIC_AU,
+        URANUS_HELIOCENTRIC_AU,
+        NEPTUNE_HELIOCENTRIC_AU,
+        PLUTO_HELIOCENTRIC_AU,
+        MERCURY_FROM_EARTH_AU,
+        VENUS_FROM_EARTH_AU,
+        MARS_FROM_EARTH_AU,
+        JUPITER_FROM_EARTH_AU,
+        SATURN_FROM_EARTH_AU,
+        URANUS_FROM_EARTH_AU,
+        NEPTUNE_FROM_EARTH_AU,
+        PLUTO_FROM_EARTH_AU,
+        VOYAGER1_HELIOCENTRIC_AU,
+        VOYAGER2_HELIOCENTRIC_AU,
+        VOYAGER1_FROM_EARTH_AU,
+        VOYAGER2_FROM_EARTH_AU,
+        NEW_HORIZONS_FROM_EARTH_AU,
+        JAMES_WEBB_DISTANCE_KM;
+
+        static final int COUNT = values().length;
+    }
+
+    private static final byte[] MAGIC = "MPEPHEM1".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 3;
+    private static final int HEADER_BYTES = 64;
+
+    private final Path path;
+    private final DoubleBuffer records;
+    private final long recordCount;
+    private final double startDay;
+    private final double stepDays;
+    private final double invStepDays;
+    private final double lastDay;
+
+    private EphemerisFile(Path path, DoubleBuffer records, long recordCount, double startDay, double stepDays) {
+        this.path = path;
+        this.records = records;
+        this.recordCount = recordCount;
+        this.startDay = startDay;
+        this.stepDays = stepDays;
+        this.invStepDays = 1.0 / stepDays;
+        this.lastDay = startDay + (recordCount - 1) * stepDays;
+    }
+
+    /**
+     * Maps an ephemeris file read-only.
+     *
+     * @throws IOException if the file cannot be read or is not a valid ephemeris file
+     *                     for this version of the {@link Field} layout
+     */
+    public static EphemerisFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                throw new IOException("Ephemeris file too short: " + path);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+
+            byte[] magic = new byte[MAGIC.length];
+            mapped.get(0, magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("Not an ephemeris file: " + path);
+            }
+            int version = mapped.getInt(8);
+            int fieldCount = mapped.getInt(12);
+            long recordCount = mapped.getLong(16);
+            double startDay = mapped.getDouble(24);
+            double stepDays = mapped.getDouble(32);
+            if (version != VERSION || fieldCount != Field.COUNT) {
+                throw new IOException("Unsupported ephemeris file " + path + ": version " + version
+                        + ", " + fieldCount + " fields (expected version " + VERSION + ", " + Field.COUNT + " fields)");
+            }
+            if (recordCount < 4 || !(stepDays > 0.0)
+                    || size != HEADER_BYTES + recordCount * Field.COUNT * (long) Double.BYTES) {
+                throw new IOException("Corrupt ephemeris file " + path + ": " + recordCount
+                        + " records of " + stepDays + " days in " + size + " bytes");
+            }
+            DoubleBuffer records = mapped.slice(HEADER_BYTES, (int) (size - HEADER_BYTES))
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asDoubleBuffer();
+            return new EphemerisFile(path, records, recordCount, startDay, stepDays);
+        }
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public Instant firstInstant() {
+        return DateUtils.instantAt(startDay);
+    }
+
+    public Instant lastInstant() {
+        return DateUtils.instantAt(lastDay);
+    }
+
+    /** True if the file has records on both sides of the given instant. */
+    public boolean covers(Instant instant) {
+        return coversDay(DateUtils.daysSinceJ2000(instant));
+    }
+
+    boolean coversDay(double daysSinceJ2000) {
+        return daysSinceJ2000 >= startDay && daysSinceJ2000 <= lastDay;
+    }
+
+    /**
+     * All fields interpolated at the given instant, or {@code null} if it lies outside
+     * the file (callers then fall back to live computation).
+     */
+    public Sample sample(Instant instant) {
+        double d = DateUtils.daysSinceJ2000(instant);
+        if (!coversDay(d)) {
+            return null;
+        }
+        double[] values = new double[Field.COUNT];
+        interpolate(d, values);
+        return new Sample(values);
+    }
+
+    /**
+     * A single field interpolated at the given instant, or {@code NaN} outside the file.
+     */
+    public double value(Field field, Instant instant) {
+        double d = DateUtils.daysSinceJ2000(instant);
+        if (!coversDay(d)) {
+            return Double.NaN;
+        }
+        double[] w = new double[4];
+        int first = weights(d, w);
+        int column = field.ordinal();
+        double sum = 0.0;
+        for (int k = 0; k < 4; k++) {
+            sum += w[k] * records.get((first + k) * Field.COUNT + column);
+        }
+        return sum;
+    }
+
+    private void interpolate(double d, double[] out) {
+        double[] w = new double[4];
+        int first = weights(d, w);
+        int base = first * Field.COUNT;
+        for (int f = 0; f < Field.COUNT; f++) {
+            out[f] = w[0] * records.get(base + f)
+                    + w[1] * records.get(base + Field.COUNT + f)
+                    + w[2] * records.get(base + 2 * Field.COUNT + f)
+                    + w[3] * records.get(base + 3 * Field.COUNT + f);
+        }
+    }
+
+    /**
+     * Cubic Lagrange weights for the four records around {@code d}; returns the index of
+     * the first. The window is shifted inwards at either end of the file.
+     */
+    private int weights(double d, double[] w) {
+        double u = (d - startDay) * invStepDays;
+        long first = (long) Math.floor(u) - 1;
+        if (first < 0) {
+            first = 0;
+        } else if (first > recordCount - 4) {
+            first = recordCount - 4;
+        }
+        // Position relative to the window's nodes at 0, 1, 2, 3
+        double t = u - first;
+        double t0 = t;
+        double t1 = t - 1.0;
+        double t2 = t - 2.0;
+        double t3 = t - 3.0;
+        w[0] = -t1 * t2 * t3 / 6.0;
+        w[1] = t0 * t2 * t3 / 2.0;
+        w[2] = -t0 * t1 * t3 / 2.0;
+        w[3] = t0 * t1 * t2 / 6.0;
+        return (int) first;
+    }
+
+    /**
+     * Computes every field live at the given instant, exactly as the generator does.
+     */
+    public static Sample compute(Instant instant) {
+        EphemerisContext ctx = EphemerisContext.of(instant);
+        double[] v = new double[Field.COUNT];
+        v[Field.SUN_DISTANCE_AU.ordinal()] = SunDistance.distanceAU(ctx);
+        v[Field.EARTH_SPEED_KM_PER_SEC.ordinal()] = EarthSpeed.speedKmPerSec(ctx);
+        v[Field.EARTH_AXIAL_TILT_DEG.ordinal()] = EarthAxialTilt.tiltDegrees(ctx);
+        v[Field.MOON_DISTANCE_KM.ordinal()] = MoonDistance.distanceKm(ctx);
+        for (int i = 0; i < Planets.ALL.size(); i++) {
+            PlanetDistance p = Planets.ALL.get(i);
+            v[Field.MERCURY_HELIOCENTRIC_AU.ordinal() + i] = p.heliocentricDistanceAU(ctx);
+            v[Field.MERCURY_FROM_EARTH_AU.ordinal() + i] = p.distanceAU(ctx);
+        }
+        v[Field.VOYAGER1_HELIOCENTRIC_AU.ordinal()] = VoyagerDistance.heliocentricDistanceV1AU(ctx);
+        v[Field.VOYAGER2_HELIOCENTRIC_AU.ordinal()] = VoyagerDistance.heliocentricDistanceV2AU(ctx);
+        v[Field.VOYAGER1_FROM_EARTH_AU.ordinal()] = VoyagerDistance.distanceFromEarthV1AU(ctx);
+        v[Field.VOYAGER2_FROM_EARTH_AU.ordinal()] = VoyagerDistance.distanceFromEarthV2AU(ctx);
+        v[Field.NEW_HORIZONS_FROM_EARTH_AU.ordinal()] = NewHorizonsDistance.distanceFromEarthAU(ctx);
+        v[Field.JAMES_WEBB_DISTANCE_KM.ordinal()] = JamesWebbDistance.distanceKmAt(ctx);
+        return new Sample(v);
+    }
+
+    /**
+     * Writes {@code recordCount} records starting at {@code startDay} (days since J2000.0),
+     * {@code stepDays} apart, computed live with {@link #compute(Instant)}.
+     */
+    public static void write(Path path, double startDay, double stepDays, int recordCount) throws IOException {
+        if (recordCount < 4 || !(stepDays > 0.0)) {
+            throw new IllegalArgumentException("Need at least 4 records and a positive step, got "
+                    + recordCount + " records of " + stepDays + " days");
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.put(MAGIC).putInt(VERSION).putInt(Field.COUNT).putLong(recordCount)
+                    .putDouble(startDay).putDouble(stepDays);
+            header.clear();
+            writeFully(channel, header);
+
+            ByteBuffer row = ByteBuffer.allocate(Field.COUNT * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < recordCount; i++) {
+                Sample s = compute(DateUtils.instantAt(startDay + i * stepDays));
+                row.clear();
+                for (double v : s.values) {
+                    row.putDouble(v);
+                }
+                row.flip();
+                writeFully(channel, row);
+            }
+        }
+        // Readers that already mapped the old file keep their pages; new readers see the new one
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /** One interpolated (or live) record. */
+    public static final class Sample {
+        private final double[] values;
+
+        private Sample(double[] values) {
+            this.values = values;
+        }
+
+        public double get(Field field) {
+            return values[field.ordinal()];
+        }
+
+        public double heliocentricDistanceAU(PlanetDistance planet) {
+            return values[Field.MERCURY_HELIOCENTRIC_AU.ordinal() + planetIndex(planet)];
+        }
+
+        public double distanceFromEarthAU(PlanetDistance planet) {
+            return values[Field.MERCURY_FROM_EARTH_AU.ordinal() + planetIndex(planet)];
+        }
+
+        private static int planetIndex(PlanetDistance planet) {
+            int i = Planets.indexOf(planet);
+            if (i < 0) {
+                throw new IllegalArgumentException("Not a tabulated planet: " + planet.getName());
+            }
+            return i;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.iHarwood.MoonPhaseModule;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Writes the precomputed ephemeris file read by {@link EphemerisFile}.
+ *
+ * Usage: {@code EphemerisFileGenerator <output-file> [firstYear lastYear [stepHours]]}
+ * (defaults: 1900 2100, daily records). Run via {@code ./gradlew generateEphemeris}.
+ */
+public final class EphemerisFileGenerator {
+    private EphemerisFileGenerator() {}
+
+    private static final int DEFAULT_FIRST_YEAR = 1900;
+    private static final int DEFAULT_LAST_YEAR = 2100;
+    private static final double DEFAULT_STEP_HOURS = 24.0;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1 && args.length != 3 && args.length != 4) {
+            System.err.println("Usage: EphemerisFileGenerator <output-file> [firstYear lastYear [stepHours]]");
+            System.exit(2);
+        }
+        Path out = Path.of(args[0]);
+        int firstYear = args.length >= 3 ? Integer.parseInt(args[1]) : DEFAULT_FIRST_YEAR;
+        int lastYear = args.length >= 3 ? Integer.parseInt(args[2]) : DEFAULT_LAST_YEAR;
+        double stepHours = args.length == 4 ? Double.parseDouble(args[3]) : DEFAULT_STEP_HOURS;
+        if (lastYear < firstYear || !(stepHours > 0.0)) {
+            throw new IllegalArgumentException("Invalid range " + firstYear + "-" + lastYear + " / step " + stepHours + " h");
+        }
+
+        double startDay = DateUtils.daysSinceJ2000(ZonedDateTime.of(firstYear, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+        double endDay = DateUtils.daysSinceJ2000(ZonedDateTime.of(lastYear + 1, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+        double stepDays = stepHours / 24.0;
+        // One extra record past the end so the last day of lastYear interpolates inside the file
+        int records = (int) Math.ceil((endDay - startDay) / stepDays) + 1;
+
+        long t0 = System.nanoTime();
+        EphemerisFile.write(out, startDay, stepDays, records);
+        System.out.printf("Wrote %,d records (%d-%d, every %.1f h) to %s: %,d bytes in %.1f s%n",
+                records, firstYear, lastYear, stepHours, out, Files.size(out), (System.nanoTime() - t0) / 1e9);
+    }
+}
@@ -1,32 +1,102 @@
 package org.iHarwood.MoonPhaseModule;
 
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.Month;
 import java.time.temporal.ChronoUnit;
 
 /**
- * Utility to compute the next astronomical event dates (approximate fixed-date values).
+ * Utility to compute the next equinox and solstice dates.
  *
  * Notes:
- * - Uses common average dates (approximate):
- *   Vernal Equinox: March 20
- *   Autumnal Equinox: September 22
- *   Summer Solstice: June 21
- *   Winter Solstice: December 21
+ * - Instants come from the series of Meeus, Astronomical Algorithms ch. 27 (tables 27.B
+ *   and 27.C), good to about a minute, converted from TT to UT with Delta T.
+ * - The instants for {@link #FIRST_YEAR}..{@link #LAST_YEAR} are tabulated once when the
+ *   class is first used, so each "next" lookup is an index calculation; other years are
+ *   evaluated from the series.
+ * - Dates are the UTC calendar date of the instant.
  * - Each "next" method returns the next occurrence strictly after the supplied date.
  */
 public final class EquinoxCalculator {
 
     private EquinoxCalculator() {}
 
+    public static final int FIRST_YEAR = 1000;
+    public static final int LAST_YEAR = 3000;
+
+    /** The four seasonal points, named for the northern hemisphere, in calendar order. */
+    public enum Season { VERNAL_EQUINOX, SUMMER_SOLSTICE, AUTUMNAL_EQUINOX, WINTER_SOLSTICE }
+
+    // Table 27.B: mean JDE0 as a polynomial in Y = (year - 2000) / 1000, per season
+    private static final double[][] MEAN_JDE = {
+            {2451623.80984, 365242.37404, 0.05169, -0.00411, -0.00057},
+            {2451716.56767, 365241.62603, 0.00325, 0.00888, -0.00030},
+            {2451810.21715, 365242.01767, -0.11575, 0.00337, 0.00078},
+            {2451900.05952, 365242.74049, -0.06223, -0.00823, 0.00032},
+    };
+
+    // Table 27.C: periodic terms {A, B (deg), C (deg per Julian century)}
+    private static final double[][] PERIODIC_TERMS = {
+            {485, 324.96, 1934.136}, {203, 337.23, 32964.467}, {199, 342.08, 20.186},
+            {182, 27.85, 445267.112}, {156, 73.14, 45036.886}, {136, 171.52, 22518.443},
+            {77, 222.54, 65928.934}, {74, 296.72, 3034.906}, {70, 243.58, 9037.513},
+            {58, 119.81, 33718.147}, {52, 297.17, 150.678}, {50, 21.02, 2281.226},
+            {45, 247.54, 29929.562}, {44, 325.15, 31555.956}, {29, 60.93, 4443.417},
+            {18, 155.12, 67555.328}, {17, 288.79, 4562.452}, {16, 198.04, 62894.029},
+            {14, 199.76, 31436.921}, {12, 95.39, 14577.848}, {12, 287.11, 31931.756},
+            {12, 320.81, 34777.259}, {9, 227.73, 1222.114}, {8, 15.45, 16859.074},
+    };
+
+    /** Lazily built tables, one per season, indexed by year. */
+    private static final class Tables {
+        private Tables() {}
+
+        static final EventTable[] SEASONS = new EventTable[Season.values().length];
+        static {
+            for (Season season : Season.values()) {
+                SEASONS[season.ordinal()] = new EventTable(FIRST_YEAR, LAST_YEAR,
+                        year -> EventTable.utMillis(julianEphemerisDay(year, season)));
+            }
+        }
+    }
+
+    /** Instant of {@code season} in {@code year}. */
+    public static Instant instantOf(int year, Season season) {
+        return Instant.ofEpochMilli(Tables.SEASONS[season.ordinal()].millis(year));
+    }
+
+    /** The first {@code season} strictly after {@code from}. */
+    public static Instant next(Season season, Instant from) {
+        EventTable table = Tables.SEASONS[season.ordinal()];
+        return Instant.ofEpochMilli(table.millis(table.firstAfter(from.toEpochMilli())));
+    }
+
+    /** UTC date of the first {@code season} dated after {@code from}. */
+    public static LocalDate nextDate(Season season, LocalDate from) {
+        return Tables.SEASONS[season.ordinal()].nextDateAfter(from);
+    }
+
+    /** Meeus ch. 27: the instant (Julian Ephemeris Day, TT) of {@code season} in {@code year}. */
+    static double julianEphemerisDay(int year, Season season) {
+        double[] c = MEAN_JDE[season.ordinal()];
+        double y = (year - 2000) / 1000.0;
+        double jde0 = c[0] + y * (c[1] + y * (c[2] + y * (c[3] + y * c[4])));
+        double t = (jde0 - DateUtils.JULIAN_DATE_J2000) / 36525.0;
+        double w = Math.toRadians(35999.373 * t - 2.47);
+        double deltaLambda = 1.0 + 0.0334 * Math.cos(w) + 0.0007 * Math.cos(2.0 * w);
+        double s = 0.0;
+        for (double[] term : PERIODIC_TERMS) {
+            s += term[0] * Math.cos(Math.toRadians(term[1] + term[2] * t));
+        }
+        return jde0 + 0.00001 * s / deltaLambda;
+    }
+
     // --- Vernal (March) Equinox ---
     public static LocalDate nextVernalEquinox() {
         return nextVernalEquinox(LocalDate.now());
     }
 
     public static LocalDate nextVernalEquinox(LocalDate from) {
-        LocalDate candidate = LocalDate.of(from.getYear(), Month.MARCH, 20);
-        return from.isBefore(candidate) ? candidate : candidate.plusYears(1);
+        return nextDate(Season.VERNAL_EQUINOX, from);
     }
 
     // --- Autumnal (September) Equinox ---
@@ -35,28 +105,25 @@ public final class EquinoxCalculator {
     }
 
     public static LocalDate nextAutumnalEquinox(LocalDate from) {
-        LocalDate candidate = LocalDate.of(from.getYear(), Month.SEPTEMBER, 22);
-        return from.isBefore(candidate) ? candidate : candidate.plusYears(1);
+        return nextDate(Season.AUTUMNAL_EQUINOX, from);
     }
 
-    // --- Summer Solstice (approximate) ---
+    // --- Summer Solstice ---
     public static LocalDate nextSummerSolstice() {
         return nextSummerSolstice(LocalDate.now());
     }
 
     public static LocalDate nextSummerSolstice(LocalDate from) {
-        LocalDate candidate = LocalDate.of(from.getYear(), Month.JUNE, 21);
-        return from.isBefore(candidate) ? candidate : candidate.plusYears(1);
+        return nextDate(Season.SUMMER_SOLSTICE, from);
     }
 
-    // --- Winter Solstice (approximate) ---
+    // --- Winter Solstice ---
     public static LocalDate nextWinterSolstice() {
         return nextWinterSolstice(LocalDate.now());
     }
 
     public static LocalDate nextWinterSolstice(LocalDate from) {
-        LocalDate candidate = LocalDate.of(from.getYear(), Month.DECEMBER, 21);
-        return from.isBefore(candidate) ? candidate : candidate.plusYears(1);
+        return nextDate(Season.WINTER_SOLSTICE, from);
     }
 
     // --- Days Until Methods ---
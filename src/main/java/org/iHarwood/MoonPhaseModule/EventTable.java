@@ -0,0 +1,74 @@
+package org.iHarwood.MoonPhaseModule;
+
+import java.time.LocalDate;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Sorted instants of one yearly event (an equinox, perihelion, ...), numbered by an
+ * integer index {@code n}, built once from a series that gives the UT epoch millisecond
+ * of event {@code n}.
+ *
+ * The events are nearly evenly spaced, so the first event after a moment is found by
+ * dividing by the mean period and stepping at most a place or two: constant time with
+ * no search. Indices outside the table are evaluated from the series on demand.
+ */
+final class EventTable {
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final double UNIX_EPOCH_JD = 2440587.5;
+
+    private final IntToLongFunction series;
+    private final int first;
+    private final long[] millis;
+    private final double periodMillis;
+
+    /** Tabulates events {@code first} to {@code last} inclusive. */
+    EventTable(int first, int last, IntToLongFunction series) {
+        this.series = series;
+        this.first = first;
+        this.millis = new long[last - first + 1];
+        for (int i = 0; i < millis.length; i++) {
+            millis[i] = series.applyAsLong(first + i);
+        }
+        this.periodMillis = (double) (millis[millis.length - 1] - millis[0]) / (millis.length - 1);
+    }
+
+    /** UT epoch millisecond of event {@code n}. */
+    long millis(int n) {
+        int i = n - first;
+        return i >= 0 && i < millis.length ? millis[i] : series.applyAsLong(n);
+    }
+
+    /** Index of the first event strictly after {@code epochMillis}. */
+    int firstAfter(long epochMillis) {
+        int n = first + (int) Math.floor((epochMillis - millis[0]) / periodMillis);
+        while (millis(n) > epochMillis) {
+            n--;
+        }
+        while (millis(n) <= epochMillis) {
+            n++;
+        }
+        return n;
+    }
+
+    /** UTC date of the first event dated after {@code date}. */
+    LocalDate nextDateAfter(LocalDate date) {
+        long endOfDay = (date.toEpochDay() + 1) * MILLIS_PER_DAY - 1;
+        return dateOf(firstAfter(endOfDay));
+    }
+
+    /** UTC date of event {@code n}. */
+    LocalDate dateOf(int n) {
+        return LocalDate.ofEpochDay(Math.floorDiv(millis(n), MILLIS_PER_DAY));
+    }
+
+    /**
+     * UT epoch millisecond of a Julian Ephemeris Day (Terrestrial Time), with Delta T
+     * for the year it falls in.
+     */
+    static long utMillis(double julianEphemerisDay) {
+        double year = 2000.0 + (julianEphemerisDay - DateUtils.JULIAN_DATE_J2000) / 365.25;
+        double jd = julianEphemerisDay - DateUtils.deltaTSeconds(year) / 86_400.0;
+        return Math.round((jd - UNIX_EPOCH_JD) * MILLIS_PER_DAY);
+    }
+}
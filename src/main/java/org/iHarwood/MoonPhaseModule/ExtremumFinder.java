@@ -0,0 +1,65 @@
+package org.iHarwood.MoonPhaseModule;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Locates the minimum and maximum of a smooth function of time over a window.
+ *
+ * Instead of sampling every day, the derivative (central difference) is sampled on a
+ * coarse grid; each sign change brackets a stationary point which is then refined by
+ * bisection. The extremes are taken over those stationary points and the window ends.
+ * The grid step must be shorter than half the spacing between neighbouring extrema.
+ */
+final class ExtremumFinder {
+    private ExtremumFinder() {}
+
+    private static final double DERIVATIVE_STEP_DAYS = 1e-3;
+    private static final double TOLERANCE_DAYS = 1e-4;
+    private static final int MAX_BISECTIONS = 60;
+
+    /**
+     * Returns {min, max} of {@code f} over [startDay, endDay].
+     */
+    static double[] minMax(DoubleUnaryOperator f, double startDay, double endDay, double gridStepDays) {
+        double vStart = f.applyAsDouble(startDay);
+        double vEnd = f.applyAsDouble(endDay);
+        double min = Math.min(vStart, vEnd);
+        double max = Math.max(vStart, vEnd);
+
+        double prevDay = startDay;
+        double prevSlope = slope(f, prevDay);
+        while (prevDay < endDay) {
+            double day = Math.min(prevDay + gridStepDays, endDay);
+            double s = slope(f, day);
+            if (prevSlope == 0.0 || Math.signum(s) != Math.signum(prevSlope)) {
+                double v = f.applyAsDouble(refineRoot(f, prevDay, prevSlope, day));
+                if (v < min) min = v;
+                if (v > max) max = v;
+            }
+            prevDay = day;
+            prevSlope = s;
+        }
+        return new double[]{min, max};
+    }
+
+    /** Central-difference derivative of {@code f} at {@code day}, per day. */
+    static double slope(DoubleUnaryOperator f, double day) {
+        return (f.applyAsDouble(day + DERIVATIVE_STEP_DAYS) - f.applyAsDouble(day - DERIVATIVE_STEP_DAYS))
+                / (2.0 * DERIVATIVE_STEP_DAYS);
+    }
+
+    /** Bisection on the derivative inside a bracket [lo, hi] whose slopes differ in sign. */
+    static double refineRoot(DoubleUnaryOperator f, double lo, double loSlope, double hi) {
+        for (int i = 0; i < MAX_BISECTIONS && hi - lo > TOLERANCE_DAYS; i++) {
+            double mid = 0.5 * (lo + hi);
+            double midSlope = slope(f, mid);
+            if (Math.signum(midSlope) == Math.signum(loSlope)) {
+                lo = mid;
+                loSlope = midSlope;
+            } else {
+                hi = mid;
+            }
+        }
+        return 0.5 * (lo + hi);
+    }
+}
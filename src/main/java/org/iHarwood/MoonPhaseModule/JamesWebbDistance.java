@@ -1,6 +1,6 @@
 package org.iHarwood.MoonPhaseModule;
 
-import java.time.Duration;
+import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 
@@ -31,10 +31,10 @@ public final class JamesWebbDistance {
     /** Reference epoch: JWST L2 insertion. */
     private static final ZonedDateTime EPOCH =
             ZonedDateTime.of(2022, 1, 24, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final long EPOCH_SECOND = EPOCH.toEpochSecond();
 
-    private static double distanceKm(ZonedDateTime zdt) {
-        double daysSince = Duration.between(EPOCH, zdt.withZoneSameInstant(ZoneOffset.UTC))
-                                   .toSeconds() / 86_400.0;
+    private static double distanceKm(Instant instant) {
+        double daysSince = (instant.getEpochSecond() - EPOCH_SECOND) / 86_400.0;
         double phase = (2.0 * Math.PI * daysSince) / HALO_PERIOD_DAYS;
         return L2_MEAN_KM + HALO_AMPLITUDE_KM * Math.sin(phase);
     }
@@ -43,14 +43,28 @@ public final class JamesWebbDistance {
      * Returns the approximate distance of JWST from Earth at the given time, in km.
      */
     public static double distanceKmAt(ZonedDateTime zdt) {
-        return distanceKm(zdt);
+        return distanceKm(zdt.toInstant());
+    }
+
+    /**
+     * Returns the approximate distance of JWST from Earth at the given instant, in km.
+     */
+    public static double distanceKmAt(Instant instant) {
+        return distanceKm(instant);
+    }
+
+    /**
+     * Returns the approximate distance of JWST from Earth at the context's instant, in km.
+     */
+    public static double distanceKmAt(EphemerisContext ctx) {
+        return distanceKm(ctx.instant());
     }
 
     /**
      * Returns the approximate distance of JWST from Earth right now, in km.
      */
     public static double distanceKmNow() {
-        return distanceKm(ZonedDateTime.now(ZoneOffset.UTC));
+        return distanceKm(Instant.now());
     }
 }
 
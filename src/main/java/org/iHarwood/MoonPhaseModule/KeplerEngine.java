@@ -0,0 +1,311 @@
+package org.iHarwood.MoonPhaseModule;
+
+import java.util.List;
+
+/**
+ * Keplerian orbit engine for a set of {@link PlanetDistance} bodies: solves Kepler's
+ * equation M = E - e sin(E) for the eccentric anomaly and turns it into a heliocentric
+ * position vector in the J2000 ecliptic frame, including the orbit's inclination and
+ * ascending node. Distances from Earth come from subtracting Earth's position vector.
+ * This is the model behind {@link PlanetDistance}'s {@code ...At(double)} methods, its
+ * Chebyshev tables and {@link PlanetBatch}.
+ *
+ * Everything that depends only on the elements is computed once per body: the Gaussian
+ * vectors P (towards perihelion) and Q (90 degrees ahead in the orbit plane) from sin/cos
+ * of the inclination, node and argument of perihelion, the semi-minor axis b, and the
+ * number of Newton iterations. A position is then r = a (cos E - e) P + b sin E Q.
+ *
+ * Kepler's equation is solved by Newton's method for a fixed number of iterations chosen
+ * from the eccentricity, with no convergence test: from E = M + e sin M, two iterations
+ * reach rounding below e = 0.06 and three below 0.35 (Earth, Venus and the
+ * giant planets need two; Mercury, Mars and Pluto three). Nothing is allocated: results
+ * go into caller-owned arrays, and Earth's position is kept in locals.
+ *
+ * Earth follows {@link SunDistance}: its distance from the Sun is exactly
+ * {@link SunDistance#distanceAUAt(double)}, and its direction is the true anomaly of an
+ * orbit of the same eccentricity, so the engine and the rest of the module never disagree
+ * about where Earth is.
+ */
+public final class KeplerEngine {
+
+    /** Engine over {@link Planets#ALL}, in the same order. */
+    public static final KeplerEngine ALL = new KeplerEngine(Planets.ALL);
+
+    private static final double DEG_TO_RAD = Math.PI / 180.0;
+    private static final double TWO_PI = 2.0 * Math.PI;
+
+    /** From this eccentricity Newton starts from Danby's E = M + 0.85 e sign(M), which cannot overshoot. */
+    static final double HIGH_ECCENTRICITY = 0.8;
+    static final double DANBY_FACTOR = 0.85;
+
+    static final double EARTH_ECCENTRICITY = SunDistance.EARTH_ORBIT_ECCENTRICITY;
+    static final double EARTH_AXIS_RATIO = Math.sqrt(1.0 - EARTH_ECCENTRICITY * EARTH_ECCENTRICITY);
+    static final int EARTH_ITERATIONS = iterationsFor(EARTH_ECCENTRICITY);
+    static final double COS_W_EARTH = Math.cos(PlanetDistance.W_EARTH_DEG * DEG_TO_RAD);
+    static final double SIN_W_EARTH = Math.sin(PlanetDistance.W_EARTH_DEG * DEG_TO_RAD);
+
+    // Element arrays, shared with PlanetBatchVector; never written after construction
+    private final PlanetDistance[] bodies;
+    final double[] semiMajorAxisAu;
+    final double[] semiMinorAxisAu;
+    final double[] eccentricity;
+    final int[] iterations;
+    final double[] meanAnomalyJ2000Rad;
+    final double[] meanMotionRadPerDay;
+    /** Gaussian vector components. */
+    final double[] px, py, pz;
+    final double[] qx, qy, qz;
+
+    public KeplerEngine(List<PlanetDistance> planets) {
+        int n = planets.size();
+        bodies = planets.toArray(new PlanetDistance[0]);
+        semiMajorAxisAu = new double[n];
+        semiMinorAxisAu = new double[n];
+        eccentricity = new double[n];
+        iterations = new int[n];
+        meanAnomalyJ2000Rad = new double[n];
+        meanMotionRadPerDay = new double[n];
+        px = new double[n];
+        py = new double[n];
+        pz = new double[n];
+        qx = new double[n];
+        qy = new double[n];
+        qz = new double[n];
+        for (int i = 0; i < n; i++) {
+            PlanetDistance body = bodies[i];
+            double e = body.eccentricity();
+            semiMajorAxisAu[i] = body.semiMajorAxisAu();
+            semiMinorAxisAu[i] = body.semiMajorAxisAu() * Math.sqrt(1.0 - e * e);
+            eccentricity[i] = e;
+            iterations[i] = iterationsFor(e);
+            meanAnomalyJ2000Rad[i] = body.meanAnomalyJ2000Deg() * DEG_TO_RAD;
+            meanMotionRadPerDay[i] = body.meanMotionDegPerDay() * DEG_TO_RAD;
+
+            // Argument of perihelion measured from the ascending node
+            double node = body.longitudeOfAscendingNodeDeg() * DEG_TO_RAD;
+            double peri = (body.longitudeOfPerihelionDeg() - body.longitudeOfAscendingNodeDeg()) * DEG_TO_RAD;
+            double incl = body.inclinationDeg() * DEG_TO_RAD;
+            double cosO = Math.cos(node), sinO = Math.sin(node);
+            double cosW = Math.cos(peri), sinW = Math.sin(peri);
+            double cosI = Math.cos(incl), sinI = Math.sin(incl);
+            px[i] = cosW * cosO - sinW * sinO * cosI;
+            py[i] = cosW * sinO + sinW * cosO * cosI;
+            pz[i] = sinW * sinI;
+            qx[i] = -sinW * cosO - cosW * sinO * cosI;
+            qy[i] = -sinW * sinO + cosW * cosO * cosI;
+            qz[i] = cosW * sinI;
+        }
+    }
+
+    public int size() {
+        return bodies.length;
+    }
+
+    public PlanetDistance body(int index) {
+        return bodies[index];
+    }
+
+    /**
+     * Heliocentric ecliptic position (AU) of one body: writes x, y, z to
+     * {@code xyzOut[offset..offset + 3)}.
+     */
+    public void positionAt(int body, double daysSinceJ2000, double[] xyzOut, int offset) {
+        checkPositionRoom(xyzOut, offset);
+        double e = eccentricity[body];
+        double ecc = eccentricAnomaly(meanAnomaly(body, daysSinceJ2000), e, iterations[body]);
+        double xo = semiMajorAxisAu[body] * (Math.cos(ecc) - e);
+        double yo = semiMinorAxisAu[body] * Math.sin(ecc);
+        xyzOut[offset] = xo * px[body] + yo * qx[body];
+        xyzOut[offset + 1] = xo * py[body] + yo * qy[body];
+        xyzOut[offset + 2] = xo * pz[body] + yo * qz[body];
+    }
+
+    /**
+     * Heliocentric ecliptic positions (AU) of every body: body {@code i} goes to
+     * {@code xyzOut[3i..3i + 3)}.
+     */
+    public void positionsAt(double daysSinceJ2000, double[] xyzOut) {
+        DateUtils.checkBatchLength(3 * bodies.length, xyzOut);
+        for (int i = 0; i < bodies.length; i++) {
+            positionAt(i, daysSinceJ2000, xyzOut, 3 * i);
+        }
+    }
+
+    /**
+     * Earth's heliocentric ecliptic position (AU): writes x, y, z to
+     * {@code xyzOut[offset..offset + 3)}. The z component is always zero, and the length
+     * is {@link SunDistance#distanceAUAt(double)}.
+     */
+    public static void earthPositionAt(double daysSinceJ2000, double[] xyzOut, int offset) {
+        checkPositionRoom(xyzOut, offset);
+        double m = earthMeanAnomaly(daysSinceJ2000);
+        double ecc = eccentricAnomaly(m, EARTH_ECCENTRICITY, EARTH_ITERATIONS);
+        double cosE = Math.cos(ecc);
+        double scale = earthScale(m, cosE);
+        double xo = (cosE - EARTH_ECCENTRICITY) * scale;
+        double yo = EARTH_AXIS_RATIO * Math.sin(ecc) * scale;
+        xyzOut[offset] = xo * COS_W_EARTH - yo * SIN_W_EARTH;
+        xyzOut[offset + 1] = xo * SIN_W_EARTH + yo * COS_W_EARTH;
+        xyzOut[offset + 2] = 0.0;
+    }
+
+    /** Heliocentric distance (AU) of one body, r = a (1 - e cos E). */
+    public double heliocentricDistanceAt(int body, double daysSinceJ2000) {
+        double e = eccentricity[body];
+        double ecc = eccentricAnomaly(meanAnomaly(body, daysSinceJ2000), e, iterations[body]);
+        return semiMajorAxisAu[body] * (1.0 - e * Math.cos(ecc));
+    }
+
+    /** Earth-body distance (AU) of one body, from the difference of the position vectors. */
+    public double distanceFromEarthAt(int body, double daysSinceJ2000) {
+        double m = earthMeanAnomaly(daysSinceJ2000);
+        double ecc = eccentricAnomaly(m, EARTH_ECCENTRICITY, EARTH_ITERATIONS);
+        double cosE = Math.cos(ecc);
+        double scale = earthScale(m, cosE);
+        double xo = (cosE - EARTH_ECCENTRICITY) * scale;
+        double yo = EARTH_AXIS_RATIO * Math.sin(ecc) * scale;
+        double xEarth = xo * COS_W_EARTH - yo * SIN_W_EARTH;
+        double yEarth = xo * SIN_W_EARTH + yo * COS_W_EARTH;
+        return distanceFromEarth(body, daysSinceJ2000, xEarth, yEarth, null, 0);
+    }
+
+    /**
+     * Every body at one instant: fills {@code heliocentricOut[i]} and {@code fromEarthOut[i]}
+     * (AU) for body {@code i}, with Earth placed once. Either array may be {@code null} if
+     * not needed.
+     */
+    public void distancesAt(double daysSinceJ2000, double[] heliocentricOut, double[] fromEarthOut) {
+        distancesAt(daysSinceJ2000, heliocentricOut, fromEarthOut, null);
+    }
+
+    /** As {@link #distancesAt(double, double[], double[])}, on {@code vector}'s kernel when it is not null. */
+    void distancesAt(double daysSinceJ2000, double[] heliocentricOut, double[] fromEarthOut, PlanetBatchVector vector) {
+        int n = bodies.length;
+        if (heliocentricOut != null) {
+            DateUtils.checkBatchLength(n, heliocentricOut);
+        }
+        if (fromEarthOut != null) {
+            DateUtils.checkBatchLength(n, fromEarthOut);
+        }
+        double m = earthMeanAnomaly(daysSinceJ2000);
+        double ecc = eccentricAnomaly(m, EARTH_ECCENTRICITY, EARTH_ITERATIONS);
+        double cosE = Math.cos(ecc);
+        double scale = earthScale(m, cosE);
+        double xo = (cosE - EARTH_ECCENTRICITY) * scale;
+        double yo = EARTH_AXIS_RATIO * Math.sin(ecc) * scale;
+        double xEarth = xo * COS_W_EARTH - yo * SIN_W_EARTH;
+        double yEarth = xo * SIN_W_EARTH + yo * COS_W_EARTH;
+        if (vector != null) {
+            vector.distancesAt(daysSinceJ2000, xEarth, yEarth, heliocentricOut, fromEarthOut);
+            return;
+        }
+        for (int i = 0; i < n; i++) {
+            if (fromEarthOut != null) {
+                fromEarthOut[i] = distanceFromEarth(i, daysSinceJ2000, xEarth, yEarth, heliocentricOut, i);
+            } else if (heliocentricOut != null) {
+                heliocentricOut[i] = heliocentricDistanceAt(i, daysSinceJ2000);
+            }
+        }
+    }
+
+    /**
+     * One body across evenly spaced instants {@code startDay + k * stepDays}: fills
+     * {@code heliocentricOut[k]} and {@code fromEarthOut[k]} (AU). Either array may be
+     * {@code null} if not needed.
+     */
+    public void distancesAt(int body, double startDay, double stepDays, int count,
+                            double[] heliocentricOut, double[] fromEarthOut) {
+        if (heliocentricOut != null) {
+            DateUtils.checkBatchLength(count, heliocentricOut);
+        }
+        if (fromEarthOut != null) {
+            DateUtils.checkBatchLength(count, fromEarthOut);
+        }
+        for (int k = 0; k < count; k++) {
+            double d = startDay + k * stepDays;
+            if (fromEarthOut == null) {
+                heliocentricOut[k] = heliocentricDistanceAt(body, d);
+            } else {
+                double m = earthMeanAnomaly(d);
+                double ecc = eccentricAnomaly(m, EARTH_ECCENTRICITY, EARTH_ITERATIONS);
+                double cosE = Math.cos(ecc);
+                double scale = earthScale(m, cosE);
+                double xo = (cosE - EARTH_ECCENTRICITY) * scale;
+                double yo = EARTH_AXIS_RATIO * Math.sin(ecc) * scale;
+                double xEarth = xo * COS_W_EARTH - yo * SIN_W_EARTH;
+                double yEarth = xo * SIN_W_EARTH + yo * COS_W_EARTH;
+                fromEarthOut[k] = distanceFromEarth(body, d, xEarth, yEarth, heliocentricOut, k);
+            }
+        }
+    }
+
+    /**
+     * Distance from Earth (AU) of one body, Earth at (xEarth, yEarth, 0). Also writes the
+     * heliocentric distance to {@code heliocentricOut[index]} when that array is not null.
+     */
+    private double distanceFromEarth(int body, double daysSinceJ2000, double xEarth, double yEarth,
+                                     double[] heliocentricOut, int index) {
+        double a = semiMajorAxisAu[body];
+        double e = eccentricity[body];
+        double ecc = eccentricAnomaly(meanAnomaly(body, daysSinceJ2000), e, iterations[body]);
+        double cosE = Math.cos(ecc);
+        if (heliocentricOut != null) {
+            heliocentricOut[index] = a * (1.0 - e * cosE);
+        }
+        double xo = a * (cosE - e);
+        double yo = semiMinorAxisAu[body] * Math.sin(ecc);
+        double dx = xo * px[body] + yo * qx[body] - xEarth;
+        double dy = xo * py[body] + yo * qy[body] - yEarth;
+        double dz = xo * pz[body] + yo * qz[body];
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    /** Mean anomaly (radians, in [-pi, pi)) of one body. */
+    private double meanAnomaly(int body, double daysSinceJ2000) {
+        return reduced(meanAnomalyJ2000Rad[body] + meanMotionRadPerDay[body] * daysSinceJ2000);
+    }
+
+    /** Earth's mean anomaly (radians, in [-pi, pi)). */
+    private static double earthMeanAnomaly(double daysSinceJ2000) {
+        return reduced(DateUtils.earthMeanAnomalyDeg(daysSinceJ2000) * DEG_TO_RAD);
+    }
+
+    /**
+     * Factor taking Earth's orbit-plane vector a (cos E - e, sqrt(1 - e^2) sin E), of length
+     * 1 - e cos E, to SunDistance's radius at mean anomaly {@code m}.
+     */
+    private static double earthScale(double m, double cosE) {
+        return SunDistance.radiusForCosMeanAnomalyAU(Math.cos(m)) / (1.0 - EARTH_ECCENTRICITY * cosE);
+    }
+
+    /** The angle in [-pi, pi). */
+    private static double reduced(double radians) {
+        return radians - TWO_PI * Math.floor(radians / TWO_PI + 0.5);
+    }
+
+    /** Solves E - e sin(E) = m (radians, m in [-pi, pi)) with a fixed number of Newton iterations. */
+    private static double eccentricAnomaly(double m, double e, int iterations) {
+        double ecc = e < HIGH_ECCENTRICITY ? m + e * Math.sin(m) : m + DANBY_FACTOR * e * Math.signum(m);
+        for (int k = 0; k < iterations; k++) {
+            ecc -= (ecc - e * Math.sin(ecc) - m) / (1.0 - e * Math.cos(ecc));
+        }
+        return ecc;
+    }
+
+    /** Newton iterations needed to reach rounding from the starting guess (checked up to e = 0.999). */
+    private static int iterationsFor(double e) {
+        if (e < 0.06) return 2;
+        if (e < 0.35) return 3;
+        if (e < 0.65) return 4;
+        if (e < HIGH_ECCENTRICITY) return 5;
+        if (e < 0.9) return 6;
+        if (e < 0.97) return 8;
+        return 12;
+    }
+
+    private static void checkPositionRoom(double[] xyzOut, int offset) {
+        if (offset < 0 || xyzOut.length - offset < 3) {
+            throw new IllegalArgumentException("Output array has no room for a position at offset " + offset);
+        }
+    }
+}
@@ -15,6 +15,11 @@ import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 /**
  * Fetches live Low Earth Orbit and human spaceflight data.
@@ -23,7 +28,11 @@ import java.util.Set;
  *  - Altitudes + counts: https://tle.ivanstanojevic.me/api/tle/
  *  - People in space:    https://corquaid.github.io/international-space-station-APIs/JSON/people-in-space.json
  *
- * All fetches are batched and cached for {@value #CACHE_TTL_MS} ms (6 hours).
+ * All seven requests are sent at once with {@link HttpClient#sendAsync} over one shared
+ * HTTP/2 client, and the results cached for {@value #CACHE_TTL_MS} ms (6 hours). Once the
+ * cache is stale it is still served immediately while a single background refresh runs,
+ * so callers never wait on the network after the first fetch. A source that fails keeps
+ * its last good value, and the refresh is retried sooner.
  */
 public final class LeoDataFetcher {
 
@@ -48,8 +57,11 @@ public final class LeoDataFetcher {
     // ── Cache ─────────────────────────────────────────────────────────────────
 
     static final long CACHE_TTL_MS = 6L * 60 * 60 * 1000;
+    /** A refresh in which some source failed is retried after this long rather than the full TTL. */
+    static final long RETRY_AFTER_FAILURE_MS = 15L * 60 * 1000;
 
-    private record LeoCache(
+    /** One refresh's values; -1 (or unavailable people) marks a source that has never answered. */
+    record LeoCache(
             double issAltitudeKm,
             double tiangongAltitudeKm,
             double hubbleAltitudeKm,
@@ -57,34 +69,133 @@ public final class LeoDataFetcher {
             int kuiperCount,
             int totalSatelliteCount,
             PeopleInSpace people,
-            long fetchedAtMs) {}
+            long fetchedAtMs,
+            long refreshAtMs) {
+
+        static LeoCache unavailable(long nowMs) {
+            return new LeoCache(-1, -1, -1, -1, -1, -1, PeopleInSpace.unavailable(), nowMs, nowMs);
+        }
+
+        /** True if every source gave a value. */
+        boolean complete() {
+            return issAltitudeKm >= 0 && tiangongAltitudeKm >= 0 && hubbleAltitudeKm >= 0
+                    && starlinkCount >= 0 && kuiperCount >= 0 && totalSatelliteCount >= 0
+                    && people.total() >= 0;
+        }
+    }
 
     private static volatile LeoCache cache = null;
+    /** The refresh in flight, if any; at most one runs at a time. */
+    private static final AtomicReference<CompletableFuture<LeoCache>> refreshing = new AtomicReference<>();
 
-    static synchronized void resetCache() { cache = null; }
+    /** Where a refresh gets its values; tests replace it with a stub. */
+    static volatile Supplier<CompletableFuture<LeoCache>> source = LeoDataFetcher::fetchAll;
 
-    private static synchronized LeoCache getOrFetch() {
+    static void resetCache() {
+        cache = null;
+        refreshing.set(null);
+    }
+
+    /**
+     * The cached data. A stale entry is returned at once and a single background refresh
+     * is started; only the very first call, with nothing cached yet, waits for the fetch.
+     */
+    private static LeoCache getOrFetch() {
         LeoCache c = cache;
-        if (c != null && (System.currentTimeMillis() - c.fetchedAtMs()) < CACHE_TTL_MS) {
-            logger.debug("LEO data served from cache (age {}s)",
-                    (System.currentTimeMillis() - c.fetchedAtMs()) / 1000);
+        long now = System.currentTimeMillis();
+        if (c != null && now < c.refreshAtMs()) {
+            logger.debug("LEO data served from cache (age {}s)", (now - c.fetchedAtMs()) / 1000);
             return c;
         }
+        CompletableFuture<LeoCache> refresh = refresh();
+        if (c != null) {
+            logger.debug("LEO data served stale (age {}s) while refreshing", (now - c.fetchedAtMs()) / 1000);
+            return c;
+        }
+        try {
+            return refresh.get();
+        } catch (InterruptedException e) {
+            // Abandoned at a cycle deadline: the refresh carries on and fills the cache
+            Thread.currentThread().interrupt();
+            return LeoCache.unavailable(now);
+        } catch (ExecutionException e) {
+            logger.warn("LEO data refresh failed: {}", e.getCause().getMessage());
+            return LeoCache.unavailable(now);
+        }
+    }
+
+    /** The refresh in flight, or a new one from {@link #source}. */
+    private static CompletableFuture<LeoCache> refresh() {
+        CompletableFuture<LeoCache> running = refreshing.get();
+        if (running != null) {
+            return running;
+        }
+        CompletableFuture<LeoCache> started = new CompletableFuture<>();
+        if (!refreshing.compareAndSet(null, started)) {
+            return refreshing.get();
+        }
+        CompletableFuture<LeoCache> fetched;
+        try {
+            fetched = source.get();
+        } catch (RuntimeException e) {
+            fetched = CompletableFuture.failedFuture(e);
+        }
+        fetched.thenApply(fresh -> keepLastGood(cache, fresh))
+                .whenComplete((fresh, error) -> {
+                    if (fresh != null) {
+                        cache = fresh;
+                    }
+                    // Unless resetCache() has already let a newer refresh start
+                    refreshing.compareAndSet(started, null);
+                    if (fresh != null) {
+                        started.complete(fresh);
+                    } else {
+                        started.completeExceptionally(error);
+                    }
+                });
+        return started;
+    }
+
+    /** Requests every source at once; a source that fails gives -1 (or unavailable people). */
+    private static CompletableFuture<LeoCache> fetchAll() {
         logger.info("Fetching fresh LEO data...");
-        int starlink = fetchConstellationCount("STARLINK", "Starlink");
-        int kuiper   = fetchConstellationCount("KUIPER", "Kuiper");
-        int total    = fetchAllSatellitesFromApi();
-        LeoCache fresh = new LeoCache(
-                fetchAltitudeKm(ISS_NORAD, "ISS"),
-                fetchAltitudeKm(TIANGONG_NORAD, "Tiangong"),
-                fetchAltitudeKm(HUBBLE_NORAD, "Hubble"),
-                starlink, kuiper,
-                total,
-                fetchPeopleInSpaceData(),
-                System.currentTimeMillis()
-        );
-        cache = fresh;
-        return fresh;
+        CompletableFuture<Double> iss      = fetchAltitudeKm(ISS_NORAD, "ISS");
+        CompletableFuture<Double> tiangong = fetchAltitudeKm(TIANGONG_NORAD, "Tiangong");
+        CompletableFuture<Double> hubble   = fetchAltitudeKm(HUBBLE_NORAD, "Hubble");
+        CompletableFuture<Integer> starlink = fetchConstellationCount("STARLINK", "Starlink");
+        CompletableFuture<Integer> kuiper   = fetchConstellationCount("KUIPER", "Kuiper");
+        CompletableFuture<Integer> total    = fetchAllSatellitesFromApi();
+        CompletableFuture<PeopleInSpace> people = fetchPeopleInSpaceData();
+        return CompletableFuture.allOf(iss, tiangong, hubble, starlink, kuiper, total, people)
+                .thenApply(ignored -> new LeoCache(
+                        iss.join(), tiangong.join(), hubble.join(),
+                        starlink.join(), kuiper.join(), total.join(),
+                        people.join(),
+                        System.currentTimeMillis(), 0));
+    }
+
+    /**
+     * {@code fresh}, with each value whose source failed (-1) replaced by the last good
+     * one from {@code previous}, if there is one. It is due for refresh after the full
+     * TTL if every source answered, otherwise after {@link #RETRY_AFTER_FAILURE_MS}.
+     */
+    static LeoCache keepLastGood(LeoCache previous, LeoCache fresh) {
+        long refreshAt = fresh.fetchedAtMs() + (fresh.complete() ? CACHE_TTL_MS : RETRY_AFTER_FAILURE_MS);
+        if (!fresh.complete()) {
+            logger.warn("Some LEO sources failed - keeping their last good values, retrying in {} min",
+                    RETRY_AFTER_FAILURE_MS / 60_000);
+        }
+        LeoCache last = previous != null ? previous : fresh;
+        return new LeoCache(
+                fresh.issAltitudeKm() >= 0 ? fresh.issAltitudeKm() : last.issAltitudeKm(),
+                fresh.tiangongAltitudeKm() >= 0 ? fresh.tiangongAltitudeKm() : last.tiangongAltitudeKm(),
+                fresh.hubbleAltitudeKm() >= 0 ? fresh.hubbleAltitudeKm() : last.hubbleAltitudeKm(),
+                fresh.starlinkCount() >= 0 ? fresh.starlinkCount() : last.starlinkCount(),
+                fresh.kuiperCount() >= 0 ? fresh.kuiperCount() : last.kuiperCount(),
+                fresh.totalSatelliteCount() >= 0 ? fresh.totalSatelliteCount() : last.totalSatelliteCount(),
+                fresh.people().total() >= 0 ? fresh.people() : last.people(),
+                fresh.fetchedAtMs(),
+                refreshAt);
     }
 
     // ── Public API ────────────────────────────────────────────────────────────
@@ -123,9 +234,12 @@ public final class LeoDataFetcher {
 
     // ── Private helpers ───────────────────────────────────────────────────────
 
-    private static double fetchAltitudeKm(int noradId, String name) {
+    private static CompletableFuture<Double> fetchAltitudeKm(int noradId, String name) {
+        return fetch(String.format(TLE_API_URL, noradId), 15).thenApply(json -> parseAltitudeKm(json, name));
+    }
+
+    private static double parseAltitudeKm(String json, String name) {
         try {
-            String json = fetch(String.format(TLE_API_URL, noradId), 15);
             if (json == null) return -1;
             JsonNode root = OBJECT_MAPPER.readTree(json);
             String line2 = root.path("line2").asText(null);
@@ -143,9 +257,12 @@ public final class LeoDataFetcher {
         }
     }
 
-    private static int fetchConstellationCount(String term, String label) {
+    private static CompletableFuture<Integer> fetchConstellationCount(String term, String label) {
+        return fetch(String.format(GROUP_API_URL, term), 15).thenApply(json -> parseConstellationCount(json, label));
+    }
+
+    private static int parseConstellationCount(String json, String label) {
         try {
-            String json = fetch(String.format(GROUP_API_URL, term), 15);
             if (json == null) return -1;
             int n = OBJECT_MAPPER.readTree(json).path("totalItems").asInt(-1);
             if (n >= 0) logger.info("{} count: {}", label, n);
@@ -160,9 +277,12 @@ public final class LeoDataFetcher {
      * Fetches the total number of catalogued objects from the TLE API (no search filter).
      * This is the real "total satellites in orbit" count, not just starlink + kuiper.
      */
-    private static int fetchAllSatellitesFromApi() {
+    private static CompletableFuture<Integer> fetchAllSatellitesFromApi() {
+        return fetch(TOTAL_COUNT_URL, 15).thenApply(LeoDataFetcher::parseTotalCount);
+    }
+
+    private static int parseTotalCount(String json) {
         try {
-            String json = fetch(TOTAL_COUNT_URL, 15);
             if (json == null) return -1;
             int n = OBJECT_MAPPER.readTree(json).path("totalItems").asInt(-1);
             if (n >= 0) logger.info("Total catalogued objects in orbit: {}", n);
@@ -178,9 +298,12 @@ public final class LeoDataFetcher {
      * ISS-docked craft (where any crew member has "iss": true) get a " ★" suffix.
      * Result is sorted largest-crew-first.
      */
-    private static PeopleInSpace fetchPeopleInSpaceData() {
+    private static CompletableFuture<PeopleInSpace> fetchPeopleInSpaceData() {
+        return fetch(CREW_API_URL, 10).thenApply(LeoDataFetcher::parsePeopleInSpace);
+    }
+
+    private static PeopleInSpace parsePeopleInSpace(String json) {
         try {
-            String json = fetch(CREW_API_URL, 10);
             if (json == null) return PeopleInSpace.unavailable();
 
             JsonNode root = OBJECT_MAPPER.readTree(json);
@@ -224,22 +347,32 @@ public final class LeoDataFetcher {
     }
 
 
-    private static String fetch(String url, int timeoutSeconds) {
+    /** The body of a GET of {@code url}, or null (logged) if it fails or is not 2xx. */
+    private static CompletableFuture<String> fetch(String url, int timeoutSeconds) {
+        HttpRequest req;
         try {
-            HttpRequest req = HttpRequest.newBuilder()
+            req = HttpRequest.newBuilder()
                     .uri(URI.create(url))
                     .timeout(Duration.ofSeconds(timeoutSeconds))
                     .header("User-Agent", "MoonPhaseAI/1.0")
                     .header("Accept", "application/json")
                     .GET()
                     .build();
-            HttpResponse<String> res = HTTP_CLIENT.send(req, HttpResponse.BodyHandlers.ofString());
-            if (res.statusCode() >= 200 && res.statusCode() < 300) return res.body();
-            logger.warn("HTTP {} from {}", res.statusCode(), url);
-            return null;
-        } catch (Exception e) {
+        } catch (IllegalArgumentException e) {
             logger.warn("HTTP request failed for {}: {}", url, e.getMessage());
-            return null;
+            return CompletableFuture.completedFuture(null);
         }
+        return HTTP_CLIENT.sendAsync(req, HttpResponse.BodyHandlers.ofString())
+                .handle((res, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        logger.warn("HTTP request failed for {}: {}", url, cause.getMessage());
+                        return null;
+                    }
+                    if (res.statusCode() >= 200 && res.statusCode() < 300) return res.body();
+                    logger.warn("HTTP {} from {}", res.statusCode(), url);
+                    return null;
+                });
     }
 }
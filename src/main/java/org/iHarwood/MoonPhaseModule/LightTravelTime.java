@@ -41,6 +41,24 @@ public final class LightTravelTime {
         return String.format("%dh %dm", hours, mins);
     }
 
+    // --- Per-instant methods using a shared EphemerisContext ---
+
+    public static String sunToEarth(EphemerisContext ctx) {
+        return formatTravelTime(SunDistance.distanceAU(ctx));
+    }
+
+    public static String sunToPlanet(EphemerisContext ctx, PlanetDistance planet) {
+        return formatTravelTime(planet.heliocentricDistanceAU(ctx));
+    }
+
+    public static String sunToVoyager1(EphemerisContext ctx) {
+        return formatTravelTime(VoyagerDistance.heliocentricDistanceV1AU(ctx));
+    }
+
+    public static String sunToVoyager2(EphemerisContext ctx) {
+        return formatTravelTime(VoyagerDistance.heliocentricDistanceV2AU(ctx));
+    }
+
     // --- Convenience methods using the Planets registry ---
 
     public static String sunToEarthNow() {
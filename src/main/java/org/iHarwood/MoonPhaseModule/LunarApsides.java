@@ -0,0 +1,231 @@
+package org.iHarwood.MoonPhaseModule;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Lunar perigees and apogees: exact instants and distances, cached per anomalistic month.
+ *
+ * Month k spans [P0 + (k - 1/4) P, P0 + (k + 3/4) P), where P is the anomalistic month and
+ * P0 the mean perigee of Meeus (50.1) for k = 0. The true apsides stray from their mean
+ * instants by under three days, so each month holds its perigee near the start and its
+ * apogee half a month later. A month's apsides are found by sampling the slope of
+ * {@link MoonDistance} on a one-day grid and bisecting every sign change.
+ *
+ * Months already found are kept in one sorted index of primitive arrays covering a
+ * contiguous run of months. Queries binary-search it, so "next perigee" and "current
+ * range" cost O(log n) once the months involved have been found; a query outside the
+ * index extends it (copy-on-write, so readers never lock).
+ */
+public final class LunarApsides {
+    private LunarApsides() {}
+
+    public enum Kind { PERIGEE, APOGEE }
+
+    /** One perigee or apogee. */
+    public record Apsis(Kind kind, Instant instant, double distanceKm) {}
+
+    /** A perigee closer than this is reported as a supermoon perigee. */
+    public static final double SUPERMOON_DISTANCE_KM = 360_000.0;
+
+    static final double ANOMALISTIC_MONTH_DAYS = 27.55454989;
+    // Meeus (50.1) mean perigee for k = 0, JDE 2451534.6698, in days since J2000.0
+    private static final double MEAN_PERIGEE_DAY = -10.3302;
+    private static final int GRID_STEPS_PER_MONTH = 28;
+    // Longest stretch searched for a supermoon perigee (they recur at least every ~14 months)
+    private static final int SUPERMOON_SEARCH_MONTHS = 40;
+    // Apsis instants are rounded to the millisecond; an apsis this close to a query
+    // instant counts as being at it, so next(apsis.instant()) moves on
+    private static final double SAME_INSTANT_DAYS = 1.0 / 86_400_000.0;
+
+    private static final DoubleUnaryOperator DISTANCE_KM = MoonDistance::distanceKmTabulated;
+    private static final Object EXTEND_LOCK = new Object();
+    private static volatile Index index = new Index(0, 0, new double[0], new double[0], new boolean[0]);
+
+    /** The first perigee or apogee strictly after {@code from}. */
+    public static Apsis next(Instant from) {
+        double day = DateUtils.daysSinceJ2000(from);
+        Index idx = covering(monthOf(day), monthOf(day) + 1);
+        return idx.apsis(idx.firstAfter(day));
+    }
+
+    /** The last perigee or apogee at or before {@code from}. */
+    public static Apsis previous(Instant from) {
+        double day = DateUtils.daysSinceJ2000(from);
+        Index idx = covering(monthOf(day) - 1, monthOf(day));
+        return idx.apsis(idx.firstAfter(day) - 1);
+    }
+
+    public static Apsis nextPerigee(Instant from) {
+        return nextOfKind(from, Kind.PERIGEE);
+    }
+
+    public static Apsis nextApogee(Instant from) {
+        return nextOfKind(from, Kind.APOGEE);
+    }
+
+    /**
+     * The first perigee after {@code from} closer than {@link #SUPERMOON_DISTANCE_KM}, or
+     * null if there is none within the search window (a few years).
+     */
+    public static Apsis nextSupermoonPerigee(Instant from) {
+        double day = DateUtils.daysSinceJ2000(from);
+        long month = monthOf(day);
+        Index idx = covering(month, month + SUPERMOON_SEARCH_MONTHS);
+        for (int i = idx.firstAfter(day); i < idx.count(); i++) {
+            if (idx.perigee[i] && idx.distancesKm[i] < SUPERMOON_DISTANCE_KM) {
+                return idx.apsis(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * {min, max} Moon distance (km) over the current half of the anomalistic month: the
+     * distances of the apsides either side of {@code at}.
+     */
+    public static double[] currentRangeKm(Instant at) {
+        double day = DateUtils.daysSinceJ2000(at);
+        long month = monthOf(day);
+        Index idx = covering(month - 1, month + 1);
+        int i = idx.firstAfter(day);
+        double before = idx.distancesKm[i - 1];
+        double after = idx.distancesKm[i];
+        return new double[]{Math.min(before, after), Math.max(before, after)};
+    }
+
+    private static Apsis nextOfKind(Instant from, Kind kind) {
+        double day = DateUtils.daysSinceJ2000(from);
+        Index idx = covering(monthOf(day), monthOf(day) + 1);
+        boolean perigee = kind == Kind.PERIGEE;
+        int i = idx.firstAfter(day);
+        while (idx.perigee[i] != perigee) {
+            i++;
+        }
+        return idx.apsis(i);
+    }
+
+    private static long monthOf(double day) {
+        return (long) Math.floor((day - MEAN_PERIGEE_DAY) / ANOMALISTIC_MONTH_DAYS + 0.25);
+    }
+
+    private static double monthStartDay(long month) {
+        return MEAN_PERIGEE_DAY + (month - 0.25) * ANOMALISTIC_MONTH_DAYS;
+    }
+
+    /** The index, extended first if it does not yet cover months {@code from..to}. */
+    private static Index covering(long from, long to) {
+        Index idx = index;
+        if (idx.covers(from, to)) {
+            return idx;
+        }
+        synchronized (EXTEND_LOCK) {
+            idx = index;
+            if (!idx.covers(from, to)) {
+                idx = idx.extendedTo(from, to);
+                index = idx;
+            }
+            return idx;
+        }
+    }
+
+    /** Immutable sorted apsides of months [firstMonth, endMonth). */
+    private static final class Index {
+        final long firstMonth;
+        final long endMonth;
+        final double[] days;
+        final double[] distancesKm;
+        final boolean[] perigee;
+
+        Index(long firstMonth, long endMonth, double[] days, double[] distancesKm, boolean[] perigee) {
+            this.firstMonth = firstMonth;
+            this.endMonth = endMonth;
+            this.days = days;
+            this.distancesKm = distancesKm;
+            this.perigee = perigee;
+        }
+
+        int count() {
+            return days.length;
+        }
+
+        boolean covers(long from, long to) {
+            return firstMonth < endMonth && from >= firstMonth && to < endMonth;
+        }
+
+        /** Position of the first apsis after {@code day} (by more than a millisecond). */
+        int firstAfter(double day) {
+            int i = Arrays.binarySearch(days, day + SAME_INSTANT_DAYS);
+            return i >= 0 ? i + 1 : -i - 1;
+        }
+
+        Apsis apsis(int i) {
+            return new Apsis(perigee[i] ? Kind.PERIGEE : Kind.APOGEE, DateUtils.instantAt(days[i]), distancesKm[i]);
+        }
+
+        /** A new index covering the union of this one and months {@code from..to}. */
+        Index extendedTo(long from, long to) {
+            long first = firstMonth < endMonth ? Math.min(firstMonth, from) : from;
+            long end = firstMonth < endMonth ? Math.max(endMonth, to + 1) : to + 1;
+            Found found = new Found();
+            for (long m = first; m < end; m++) {
+                if (m >= firstMonth && m < endMonth) {
+                    if (m == firstMonth) {
+                        found.addAll(this);
+                    }
+                } else {
+                    found.addMonth(m);
+                }
+            }
+            return new Index(first, end, Arrays.copyOf(found.days, found.count),
+                    Arrays.copyOf(found.distancesKm, found.count), Arrays.copyOf(found.perigee, found.count));
+        }
+    }
+
+    /** Growable buffer of apsides, filled in day order. */
+    private static final class Found {
+        double[] days = new double[16];
+        double[] distancesKm = new double[16];
+        boolean[] perigee = new boolean[16];
+        int count;
+
+        void add(double day, double km, boolean isPerigee) {
+            if (count == days.length) {
+                days = Arrays.copyOf(days, 2 * count);
+                distancesKm = Arrays.copyOf(distancesKm, 2 * count);
+                perigee = Arrays.copyOf(perigee, 2 * count);
+            }
+            days[count] = day;
+            distancesKm[count] = km;
+            perigee[count] = isPerigee;
+            count++;
+        }
+
+        void addAll(Index idx) {
+            for (int i = 0; i < idx.count(); i++) {
+                add(idx.days[i], idx.distancesKm[i], idx.perigee[i]);
+            }
+        }
+
+        /** Locates the stationary points of the distance inside one anomalistic month. */
+        void addMonth(long month) {
+            double start = monthStartDay(month);
+            double end = monthStartDay(month + 1);
+            double step = (end - start) / GRID_STEPS_PER_MONTH;
+            double prevDay = start;
+            double prevSlope = ExtremumFinder.slope(DISTANCE_KM, prevDay);
+            for (int k = 1; k <= GRID_STEPS_PER_MONTH; k++) {
+                double day = k == GRID_STEPS_PER_MONTH ? end : start + k * step;
+                double slope = ExtremumFinder.slope(DISTANCE_KM, day);
+                if (prevSlope < 0.0 != slope < 0.0) {
+                    double root = ExtremumFinder.refineRoot(DISTANCE_KM, prevDay, prevSlope, day);
+                    // Falling then rising is a minimum: perigee
+                    add(root, DISTANCE_KM.applyAsDouble(root), prevSlope < 0.0);
+                }
+                prevDay = day;
+                prevSlope = slope;
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.iHarwood.MoonPhaseModule;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Principal lunar phase instants (new moon, first quarter, full moon, last quarter)
+ * for 1900-2100, read from {@link LunationIndex}.
+ *
+ * The index is built once when the class first loads, which happens on the first
+ * scheduled update at startup. After that every query is a binary search. Range
+ * queries hand each event to a visitor as a primitive epoch-millisecond value, so
+ * callers can stream decades of events without building an intermediate list.
+ */
+public final class LunarPhaseEvents {
+    private LunarPhaseEvents() {}
+
+    /** Declared in cycle order, so {@code ordinal()} is the quarter of the cycle. */
+    public enum Kind { NEW_MOON, FIRST_QUARTER, FULL_MOON, LAST_QUARTER }
+
+    /** One principal phase. */
+    public record Event(Kind kind, Instant instant) {}
+
+    /** Receives events in time order; may throw I/O errors so it can write straight to a response. */
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(Kind kind, long epochMillis) throws IOException;
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+
+    /** Instant of the first tabulated event (the last new moon of 1899). */
+    public static Instant firstInstant() {
+        return Instant.ofEpochMilli(LunationIndex.eventMillis(0));
+    }
+
+    /** Instant of the last tabulated event (the first new moon of 2101). */
+    public static Instant lastInstant() {
+        return Instant.ofEpochMilli(LunationIndex.eventMillis(LunationIndex.count() - 1));
+    }
+
+    /**
+     * Visits every event in [{@code from}, {@code to}) in time order and returns how many
+     * were visited. Parts of the window outside the table yield nothing.
+     *
+     * @throws IllegalArgumentException if {@code to} is before {@code from}
+     */
+    public static int forEachBetween(Instant from, Instant to, Visitor visitor) throws IOException {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Window ends before it starts: " + from + " .. " + to);
+        }
+        int first = LunationIndex.ceilingIndex(epochMillis(from));
+        int end = LunationIndex.ceilingIndex(epochMillis(to));
+        for (int i = first; i < end; i++) {
+            visitor.visit(KINDS[LunationIndex.phaseOf(i)], LunationIndex.eventMillis(i));
+        }
+        return end - first;
+    }
+
+    /** The first event strictly after {@code from}, or null past the end of the table. */
+    public static Event next(Instant from) {
+        int i = LunationIndex.floorIndex(epochMillis(from)) + 1;
+        return i < LunationIndex.count() ? event(i) : null;
+    }
+
+    /** The first event of {@code kind} strictly after {@code from}, or null past the end of the table. */
+    public static Event next(Instant from, Kind kind) {
+        int i = LunationIndex.floorIndex(epochMillis(from)) + 1;
+        i += Math.floorMod(kind.ordinal() - LunationIndex.phaseOf(i), LunationIndex.PHASES_PER_LUNATION);
+        return i < LunationIndex.count() ? event(i) : null;
+    }
+
+    /** Epoch milliseconds, saturated for instants too far out to fit: they are beyond the table either way. */
+    private static long epochMillis(Instant instant) {
+        try {
+            return instant.toEpochMilli();
+        } catch (ArithmeticException e) {
+            return instant.isBefore(Instant.EPOCH) ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    private static Event event(int i) {
+        return new Event(KINDS[LunationIndex.phaseOf(i)], Instant.ofEpochMilli(LunationIndex.eventMillis(i)));
+    }
+}
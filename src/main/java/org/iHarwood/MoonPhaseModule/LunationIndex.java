@@ -0,0 +1,245 @@
+package org.iHarwood.MoonPhaseModule;
+
+import java.util.Arrays;
+
+/**
+ * Sorted table of the true principal phase instants (new moon, first quarter, full moon,
+ * last quarter) for 1900-2100.
+ *
+ * Instants come from Meeus, "Astronomical Algorithms" (2nd ed.), chapter 49: the mean
+ * phase plus the periodic and planetary corrections, good to well under a minute,
+ * then converted from TT to UTC with {@link DateUtils#deltaTSeconds(double)}. The
+ * table is built once when the class loads (about 10,000 events, a few milliseconds)
+ * and stored as epoch milliseconds, four per lunation starting with a new moon, so
+ * position {@code i} holds phase {@code i & 3}. Lookups are a binary search with no trig.
+ */
+final class LunationIndex {
+    private LunationIndex() {}
+
+    static final double SYNODIC_MONTH_DAYS = 29.530588861;
+    // Meeus (49.1) mean new moon for k = 0 (2000 January 6)
+    static final double MEAN_NEW_MOON_JDE = 2451550.09766;
+
+    private static final double UNIX_EPOCH_JD = 2440587.5;
+    private static final double MILLIS_PER_DAY = 86_400_000.0;
+
+    // Multiples of M, M', F and Omega for each periodic term; the first E_TERMS carry E^|m|
+    private static final int[] ARGUMENTS = {
+            0, 1, 0, 0,
+            1, 0, 0, 0,
+            0, 2, 0, 0,
+            0, 0, 2, 0,
+           -1, 1, 0, 0,
+            1, 1, 0, 0,
+            2, 0, 0, 0,
+            0, 1, -2, 0,
+            0, 1, 2, 0,
+            1, 2, 0, 0,
+            0, 3, 0, 0,
+            1, 0, 2, 0,
+            1, 0, -2, 0,
+           -1, 2, 0, 0,
+            0, 0, 0, 1,
+            2, 1, 0, 0,
+            0, 2, -2, 0,
+            3, 0, 0, 0,
+            1, 1, -2, 0,
+            0, 2, 2, 0,
+            1, 1, 2, 0,
+           -1, 1, 2, 0,
+           -1, 1, -2, 0,
+            1, 3, 0, 0,
+            0, 4, 0, 0,
+    };
+
+    private static final int E_TERMS = 14;
+
+    // Coefficients (days) of the terms above for new moons and for full moons
+    private static final double[] NEW_MOON_TERMS = {
+            -0.40720, 0.17241, 0.01608, 0.01039, 0.00739, -0.00514, 0.00208, -0.00111, -0.00057,
+            0.00056, -0.00042, 0.00042, 0.00038, -0.00024, -0.00017, -0.00007, 0.00004, 0.00004,
+            0.00003, 0.00003, -0.00003, 0.00003, -0.00002, -0.00002, 0.00002,
+    };
+    private static final double[] FULL_MOON_TERMS = {
+            -0.40614, 0.17302, 0.01614, 0.01043, 0.00734, -0.00515, 0.00209, -0.00111, -0.00057,
+            0.00056, -0.00042, 0.00042, 0.00038, -0.00024, -0.00017, -0.00007, 0.00004, 0.00004,
+            0.00003, 0.00003, -0.00003, 0.00003, -0.00002, -0.00002, 0.00002,
+    };
+
+    // Planetary arguments A1..A14: constant and rate per lunation (degrees), and amplitude (days)
+    private static final double[] PLANETARY_TERMS = {
+            299.77, 0.107408, 0.000325,
+            251.88, 0.016321, 0.000165,
+            251.83, 26.651886, 0.000164,
+            349.42, 36.412478, 0.000126,
+            84.66, 18.206239, 0.000110,
+            141.74, 53.303771, 0.000062,
+            207.14, 2.453732, 0.000060,
+            154.84, 7.306860, 0.000056,
+            34.52, 27.261239, 0.000047,
+            207.19, 0.121824, 0.000042,
+            291.34, 1.844379, 0.000040,
+            161.72, 24.198154, 0.000037,
+            239.56, 25.513099, 0.000035,
+            331.55, 3.592518, 0.000023,
+    };
+
+    // Quarter-phase terms: multiples of M, M', F and Omega; the first QUARTER_E_TERMS carry E^|m|
+    private static final int[] QUARTER_ARGUMENTS = {
+            0, 1, 0, 0,
+            1, 0, 0, 0,
+            1, 1, 0, 0,
+            0, 2, 0, 0,
+            0, 0, 2, 0,
+           -1, 1, 0, 0,
+            2, 0, 0, 0,
+            0, 1, -2, 0,
+            0, 1, 2, 0,
+            0, 3, 0, 0,
+           -1, 2, 0, 0,
+            1, 0, 2, 0,
+            1, 0, -2, 0,
+            2, 1, 0, 0,
+            1, 2, 0, 0,
+            0, 0, 0, 1,
+           -1, 1, -2, 0,
+            0, 2, 2, 0,
+            1, 1, 2, 0,
+           -2, 1, 0, 0,
+            1, 1, -2, 0,
+            3, 0, 0, 0,
+            0, 2, -2, 0,
+           -1, 1, 2, 0,
+            1, 3, 0, 0,
+    };
+
+    private static final int QUARTER_E_TERMS = 15;
+
+    // Coefficients (days) of the quarter terms; the W correction is added for first quarters, subtracted for last
+    private static final double[] QUARTER_TERMS = {
+            -0.62801, 0.17172, -0.01183, 0.00862, 0.00804, 0.00454, 0.00204, -0.00180, -0.00070,
+            -0.00040, -0.00034, 0.00032, 0.00032, -0.00028, 0.00027, -0.00017, -0.00005, 0.00004,
+            -0.00004, 0.00004, 0.00003, 0.00003, 0.00002, 0.00002, -0.00002,
+    };
+
+    static final int NEW_MOON = 0;
+    static final int FIRST_QUARTER = 1;
+    static final int FULL_MOON = 2;
+    static final int LAST_QUARTER = 3;
+    static final int PHASES_PER_LUNATION = 4;
+
+    /** Principal phases in order, starting with a new moon, as epoch milliseconds. */
+    private static final long[] EVENT_MILLIS = build(1900, 2101);
+
+    static int count() {
+        return EVENT_MILLIS.length;
+    }
+
+    /**
+     * True if the new moon before {@code epochMillis} and the full moon after the next
+     * one are both tabulated, which is what {@link MoonPhase#fromInstant} needs.
+     */
+    static boolean covers(long epochMillis) {
+        return epochMillis >= EVENT_MILLIS[0] && epochMillis < EVENT_MILLIS[EVENT_MILLIS.length - 7];
+    }
+
+    /** Position of the last event at or before {@code epochMillis}, or -1 if there is none. */
+    static int floorIndex(long epochMillis) {
+        int i = Arrays.binarySearch(EVENT_MILLIS, epochMillis);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    /** Position of the first event at or after {@code epochMillis}, or {@link #count()} if there is none. */
+    static int ceilingIndex(long epochMillis) {
+        int i = Arrays.binarySearch(EVENT_MILLIS, epochMillis);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    static long eventMillis(int index) {
+        return EVENT_MILLIS[index];
+    }
+
+    /** {@link #NEW_MOON}, {@link #FIRST_QUARTER}, {@link #FULL_MOON} or {@link #LAST_QUARTER}. */
+    static int phaseOf(int index) {
+        return index & 3;
+    }
+
+    /**
+     * Julian Ephemeris Day of the phase with lunation number {@code k} counted from the
+     * 2000 January 6 new moon: integer k for a new moon, k + 0.25 for the first quarter,
+     * k + 0.5 for the full moon and k + 0.75 for the last quarter.
+     */
+    static double phaseJde(double k) {
+        double t = k / 1236.85;
+        double t2 = t * t;
+        double t3 = t2 * t;
+        double t4 = t3 * t;
+        double jde = MEAN_NEW_MOON_JDE + SYNODIC_MONTH_DAYS * k
+                + 0.00015437 * t2 - 0.000000150 * t3 + 0.00000000073 * t4;
+
+        double e = 1.0 - 0.002516 * t - 0.0000074 * t2;
+        double m = Math.toRadians(2.5534 + 29.10535670 * k - 0.0000014 * t2 - 0.00000011 * t3);
+        double mp = Math.toRadians(201.5643 + 385.81693528 * k + 0.0107582 * t2 + 0.00001238 * t3
+                - 0.000000058 * t4);
+        double f = Math.toRadians(160.7108 + 390.67050284 * k - 0.0016118 * t2 - 0.00000227 * t3
+                + 0.000000011 * t4);
+        double omega = Math.toRadians(124.7746 - 1.56375588 * k + 0.0020672 * t2 + 0.00000215 * t3);
+
+        int phase = (int) Math.round(4.0 * (k - Math.floor(k))) & 3;
+        if (phase == NEW_MOON || phase == FULL_MOON) {
+            double[] coefficients = phase == NEW_MOON ? NEW_MOON_TERMS : FULL_MOON_TERMS;
+            jde += periodic(ARGUMENTS, coefficients, E_TERMS, m, mp, f, omega, e);
+        } else {
+            jde += periodic(QUARTER_ARGUMENTS, QUARTER_TERMS, QUARTER_E_TERMS, m, mp, f, omega, e);
+            double w = 0.00306 - 0.00038 * e * Math.cos(m) + 0.00026 * Math.cos(mp)
+                    - 0.00002 * Math.cos(mp - m) + 0.00002 * Math.cos(mp + m) + 0.00002 * Math.cos(2 * f);
+            jde += phase == FIRST_QUARTER ? w : -w;
+        }
+        for (int j = 0; j < PLANETARY_TERMS.length; j += 3) {
+            double a = PLANETARY_TERMS[j] + PLANETARY_TERMS[j + 1] * k;
+            if (j == 0) {
+                a -= 0.009173 * t2;
+            }
+            jde += PLANETARY_TERMS[j + 2] * Math.sin(Math.toRadians(a));
+        }
+        return jde;
+    }
+
+    private static double periodic(int[] arguments, double[] coefficients, int eTerms,
+                                   double m, double mp, double f, double omega, double e) {
+        double sum = 0.0;
+        for (int i = 0; i < coefficients.length; i++) {
+            int j = 4 * i;
+            double argument = arguments[j] * m + arguments[j + 1] * mp + arguments[j + 2] * f + arguments[j + 3] * omega;
+            double amplitude = coefficients[i];
+            for (int p = i < eTerms ? Math.abs(arguments[j]) : 0; p > 0; p--) {
+                amplitude *= e;
+            }
+            sum += amplitude * Math.sin(argument);
+        }
+        return sum;
+    }
+
+    /** UTC epoch milliseconds of the phase with lunation number {@code k}. */
+    static long phaseMillis(double k) {
+        double jde = phaseJde(k);
+        double year = 2000.0 + (jde - DateUtils.JULIAN_DATE_J2000) / 365.25;
+        double jd = jde - DateUtils.deltaTSeconds(year) / 86_400.0;
+        return Math.round((jd - UNIX_EPOCH_JD) * MILLIS_PER_DAY);
+    }
+
+    /** Events from the last new moon before {@code firstYear} to the first one after {@code endYear} starts. */
+    private static long[] build(int firstYear, int endYear) {
+        long firstK = (long) Math.floor((julianDayOfYear(firstYear) - MEAN_NEW_MOON_JDE) / SYNODIC_MONTH_DAYS) - 1;
+        long lastK = (long) Math.ceil((julianDayOfYear(endYear) - MEAN_NEW_MOON_JDE) / SYNODIC_MONTH_DAYS) + 1;
+        long[] millis = new long[(int) (PHASES_PER_LUNATION * (lastK - firstK) + 1)];
+        for (int i = 0; i < millis.length; i++) {
+            millis[i] = phaseMillis(firstK + 0.25 * i);
+        }
+        return millis;
+    }
+
+    private static double julianDayOfYear(int year) {
+        return DateUtils.dateToJulianDayNumber(1, 1, year) - 0.5;
+    }
+}
@@ -0,0 +1,117 @@
+package org.iHarwood.MoonPhaseModule;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Daily moon calendars for whole months and years, evaluated at noon UTC like
+ * {@link MoonPhase#fromDate(LocalDate)}.
+ *
+ * A year is computed in one pass of {@link MoonPhase#phasesAt} over primitive arrays,
+ * then split into months. A month never changes once computed, so each one is cached
+ * for the life of the process. The calendar covers the lunation index span, 1900-2100,
+ * which bounds the cache at about 2,400 months.
+ */
+public final class MoonCalendar {
+    private MoonCalendar() {}
+
+    public static final int FIRST_YEAR = 1900;
+    public static final int LAST_YEAR = 2100;
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final List<String> PHASE_NAMES = MoonPhase.phaseNames();
+    private static final List<String> PHASE_ICONS = MoonPhase.phaseIcons();
+
+    /**
+     * One value per day from {@code start}, in columns. {@code phase} indexes
+     * {@code phaseNames} and {@code phaseIcons}; {@code ageDays} is rounded to 0.01 day.
+     */
+    public record Days(String start, List<String> phaseNames, List<String> phaseIcons,
+                       int[] phase, int[] illuminationPercent, double[] ageDays) {}
+
+    private record Month(int[] phase, int[] illuminationPercent, double[] ageDays) {}
+
+    private static final Map<YearMonth, Month> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Calendar for one month.
+     *
+     * @throws IllegalArgumentException outside {@link #FIRST_YEAR}..{@link #LAST_YEAR}
+     */
+    public static Days month(YearMonth month) {
+        checkYear(month.getYear());
+        Month m = CACHE.get(month);
+        if (m == null) {
+            computeYear(month.getYear());
+            m = CACHE.get(month);
+        }
+        return new Days(month.atDay(1).toString(), PHASE_NAMES, PHASE_ICONS,
+                m.phase().clone(), m.illuminationPercent().clone(), m.ageDays().clone());
+    }
+
+    /**
+     * Calendar for a whole year.
+     *
+     * @throws IllegalArgumentException outside {@link #FIRST_YEAR}..{@link #LAST_YEAR}
+     */
+    public static Days year(int year) {
+        checkYear(year);
+        int days = LocalDate.of(year, 1, 1).lengthOfYear();
+        int[] phase = new int[days];
+        int[] illumination = new int[days];
+        double[] ages = new double[days];
+        int offset = 0;
+        for (int monthValue = 1; monthValue <= 12; monthValue++) {
+            YearMonth month = YearMonth.of(year, monthValue);
+            Month m = CACHE.get(month);
+            if (m == null) {
+                computeYear(year);
+                m = CACHE.get(month);
+            }
+            int n = m.phase().length;
+            System.arraycopy(m.phase(), 0, phase, offset, n);
+            System.arraycopy(m.illuminationPercent(), 0, illumination, offset, n);
+            System.arraycopy(m.ageDays(), 0, ages, offset, n);
+            offset += n;
+        }
+        return new Days(year + "-01-01", PHASE_NAMES, PHASE_ICONS, phase, illumination, ages);
+    }
+
+    private static void checkYear(int year) {
+        if (year < FIRST_YEAR || year > LAST_YEAR) {
+            throw new IllegalArgumentException(
+                    "Year " + year + " outside " + FIRST_YEAR + ".." + LAST_YEAR);
+        }
+    }
+
+    /** Evaluates every day of {@code year} in one batch and caches its months. */
+    private static void computeYear(int year) {
+        LocalDate first = LocalDate.of(year, 1, 1);
+        int days = first.lengthOfYear();
+        long noon = first.atTime(12, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+        double[] fractions = new double[days];
+        double[] ages = new double[days];
+        MoonPhase.phasesAt(noon, MILLIS_PER_DAY, days, fractions, ages);
+
+        int offset = 0;
+        for (int monthValue = 1; monthValue <= 12; monthValue++) {
+            YearMonth month = YearMonth.of(year, monthValue);
+            int n = month.lengthOfMonth();
+            int[] phase = new int[n];
+            int[] illumination = new int[n];
+            double[] roundedAges = new double[n];
+            for (int i = 0; i < n; i++) {
+                double fraction = fractions[offset + i];
+                phase[i] = MoonPhase.phaseIndex(fraction);
+                illumination[i] = MoonPhase.illuminationPercent(fraction);
+                roundedAges[i] = Math.round(ages[offset + i] * 100.0) / 100.0;
+            }
+            CACHE.putIfAbsent(month, new Month(phase, illumination, roundedAges));
+            offset += n;
+        }
+    }
+}
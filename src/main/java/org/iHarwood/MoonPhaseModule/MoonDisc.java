@@ -0,0 +1,88 @@
+package org.iHarwood.MoonPhaseModule;
+
+import java.time.Instant;
+
+/**
+ * How the Moon's disc looks from a place on Earth: the illuminated fraction, the phase
+ * angle and the position angle of the bright limb (Meeus chapter 48).
+ *
+ * {@code brightLimbAngleDeg} is Meeus' chi: the direction of the Sun from the centre of
+ * the disc, measured from the disc's celestial north point towards east.
+ * {@code zenithLimbAngleDeg} is the same direction measured from the point nearest the
+ * observer's zenith (chi less the parallactic angle), i.e. how the lit side is tilted in
+ * the observer's sky: 90 is lit on the left, 270 lit on the right.
+ *
+ * The Moon comes from the FAST tier of {@link MoonPosition} and the Sun from the
+ * low-precision series of Meeus chapter 25; the angles are good to a fraction of a
+ * degree, far finer than an 8x8 pixel disc can show.
+ */
+public record MoonDisc(double illuminatedFraction, double phaseAngleDeg,
+                       double brightLimbAngleDeg, double zenithLimbAngleDeg) {
+
+    private static final double KM_PER_AU = 149_597_870.7;
+    private static final double DAYS_PER_CENTURY = 36_525.0;
+
+    public static MoonDisc at(Instant instant, double latitudeDeg, double longitudeDeg) {
+        return at(DateUtils.daysSinceJ2000(instant), latitudeDeg, longitudeDeg);
+    }
+
+    public static MoonDisc at(EphemerisContext ctx, double latitudeDeg, double longitudeDeg) {
+        return at(ctx.daysSinceJ2000(), latitudeDeg, longitudeDeg);
+    }
+
+    /**
+     * The disc at the given number of days since J2000.0, seen from latitude and
+     * longitude (degrees, east positive).
+     */
+    public static MoonDisc at(double daysSinceJ2000, double latitudeDeg, double longitudeDeg) {
+        double obliquity = Math.toRadians(EarthAxialTilt.tiltDegreesAt(daysSinceJ2000));
+        double sinEps = Math.sin(obliquity);
+        double cosEps = Math.cos(obliquity);
+
+        // Sun: ecliptic latitude taken as zero
+        double sunLon = Math.toRadians(sunApparentLongitudeDeg(daysSinceJ2000 / DAYS_PER_CENTURY));
+        double sunRa = Math.atan2(cosEps * Math.sin(sunLon), Math.cos(sunLon));
+        double sunDec = Math.asin(sinEps * Math.sin(sunLon));
+        double sunKm = SunDistance.distanceAUAt(daysSinceJ2000) * KM_PER_AU;
+
+        double[] moon = new double[3];
+        MoonPosition.positionAt(daysSinceJ2000, MoonPosition.Precision.FAST, moon, 0);
+        double lon = Math.toRadians(moon[MoonPosition.LONGITUDE]);
+        double lat = Math.toRadians(moon[MoonPosition.LATITUDE]);
+        double ra = Math.atan2(Math.sin(lon) * cosEps - Math.tan(lat) * sinEps, Math.cos(lon));
+        double dec = Math.asin(Math.sin(lat) * cosEps + Math.cos(lat) * sinEps * Math.sin(lon));
+
+        // Elongation (48.2) and phase angle (48.3)
+        double cosDeltaRa = Math.cos(sunRa - ra);
+        double cosElongation = Math.sin(sunDec) * Math.sin(dec) + Math.cos(sunDec) * Math.cos(dec) * cosDeltaRa;
+        double elongation = Math.acos(Math.max(-1.0, Math.min(1.0, cosElongation)));
+        double phaseAngle = Math.atan2(sunKm * Math.sin(elongation),
+                moon[MoonPosition.DISTANCE] - sunKm * Math.cos(elongation));
+
+        // Position angle of the bright limb (48.5)
+        double chi = Math.atan2(Math.cos(sunDec) * Math.sin(sunRa - ra),
+                Math.sin(sunDec) * Math.cos(dec) - Math.cos(sunDec) * Math.sin(dec) * cosDeltaRa);
+
+        // Parallactic angle (14.1) from the local hour angle
+        double siderealDeg = 280.46061837 + 360.98564736629 * daysSinceJ2000 + longitudeDeg;
+        double hourAngle = Math.toRadians(siderealDeg) - ra;
+        double phi = Math.toRadians(latitudeDeg);
+        double parallactic = Math.atan2(Math.sin(hourAngle),
+                Math.tan(phi) * Math.cos(dec) - Math.sin(dec) * Math.cos(hourAngle));
+
+        return new MoonDisc((1 + Math.cos(phaseAngle)) / 2, Math.toDegrees(phaseAngle),
+                DateUtils.normalizeAngle(Math.toDegrees(chi)),
+                DateUtils.normalizeAngle(Math.toDegrees(chi - parallactic)));
+    }
+
+    /** The Sun's apparent longitude (degrees) at {@code t} Julian centuries from J2000.0 (Meeus 25). */
+    private static double sunApparentLongitudeDeg(double t) {
+        double l0 = 280.46646 + t * (36000.76983 + t * 0.0003032);
+        double m = Math.toRadians(357.52911 + t * (35999.05029 - 0.0001537 * t));
+        double center = Math.sin(m) * (1.914602 - t * (0.004817 + 0.000014 * t))
+                + Math.sin(2 * m) * (0.019993 - 0.000101 * t)
+                + Math.sin(3 * m) * 0.000289;
+        double omega = Math.toRadians(125.04 - 1934.136 * t);
+        return l0 + center - 0.00569 - 0.00478 * Math.sin(omega);
+    }
+}
@@ -1,35 +1,84 @@
 package org.iHarwood.MoonPhaseModule;
 
-import java.time.ZoneOffset;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 
 /**
- * Approximate Moon distance from Earth in kilometres.
+ * Moon distance from Earth in kilometres.
  *
  * The Moon's orbit is elliptical with:
  *   Mean distance:  384,400 km
  *   Perigee:       ~356,500 km (closest)
  *   Apogee:        ~406,700 km (farthest)
  *
- * Uses a simplified model based on the Moon's mean anomaly to approximate
- * the distance variation over its ~27.3-day orbital period.
+ * Distances come from the PRECISE tier of {@link MoonPosition} (Meeus chapter 47),
+ * which also carries the solar perturbations (evection, variation) that make
+ * perigee and apogee distances change from one month to the next.
+ *
+ * Date-based lookups inside 1900-2100 are served from a Chebyshev table fitted to
+ * {@link #distanceKmAt(double)}.
  */
 public final class MoonDistance {
     private MoonDistance() {}
 
-    private static final double MEAN_DISTANCE_KM = 384_400.0;
-    private static final double DISTANCE_AMPLITUDE_KM = 21_000.0;
-    private static final double M0_MOON_DEG = 134.9634;
-    private static final double N_MOON_DEG_PER_DAY = 13.0649929509;
-
     public static double distanceKm(ZonedDateTime zdt) {
-        double d = DateUtils.daysSinceJ2000(zdt);
-        double mDeg = DateUtils.normalizeAngle(M0_MOON_DEG + N_MOON_DEG_PER_DAY * d);
-        return MEAN_DISTANCE_KM - DISTANCE_AMPLITUDE_KM * Math.cos(Math.toRadians(mDeg));
+        return distanceKmTabulated(DateUtils.daysSinceJ2000(zdt));
+    }
+
+    public static double distanceKm(Instant instant) {
+        return distanceKmTabulated(DateUtils.daysSinceJ2000(instant));
+    }
+
+    public static double distanceKm(EphemerisContext ctx) {
+        return distanceKmTabulated(ctx.daysSinceJ2000());
+    }
+
+    /** Earth-Moon distance from the Chebyshev table, falling back to the model outside its span. */
+    static double distanceKmTabulated(double daysSinceJ2000) {
+        ChebyshevSeries table = Table.SERIES;
+        return table.covers(daysSinceJ2000) ? table.value(daysSinceJ2000) : distanceKmAt(daysSinceJ2000);
+    }
+
+    /** Lazily fitted table; 4-day segments of degree 12 keep the fit error under a millimetre. */
+    static final class Table {
+        private Table() {}
+
+        static final ChebyshevSeries SERIES = ChebyshevSeries.fit(MoonDistance::distanceKmAt,
+                ChebyshevSeries.TABLE_START_DAY, ChebyshevSeries.TABLE_END_DAY, 4.0, 12);
+    }
+
+    /**
+     * Earth-Moon distance (km) at the given number of days since J2000.0.
+     */
+    public static double distanceKmAt(double daysSinceJ2000) {
+        return MoonPosition.distanceKmAt(daysSinceJ2000, MoonPosition.Precision.PRECISE);
+    }
+
+    /**
+     * Batch form: fills {@code out[i]} with the distance at {@code daysSinceJ2000[i]}.
+     */
+    public static void distancesKm(double[] daysSinceJ2000, double[] out) {
+        DateUtils.checkBatchLength(daysSinceJ2000.length, out);
+        for (int i = 0; i < daysSinceJ2000.length; i++) {
+            out[i] = distanceKmAt(daysSinceJ2000[i]);
+        }
+    }
+
+    /**
+     * Batch form: fills {@code out[0..count)} with the distance at
+     * {@code startDay + i * stepDays} (days since J2000.0).
+     */
+    public static void distancesKm(double startDay, double stepDays, int count, double[] out) {
+        DateUtils.checkBatchLength(count, out);
+        double[] positions = new double[3 * count];
+        MoonPosition.positionsAt(startDay, stepDays, count, MoonPosition.Precision.PRECISE, positions);
+        for (int i = 0; i < count; i++) {
+            out[i] = positions[3 * i + MoonPosition.DISTANCE];
+        }
     }
 
     public static double distanceKmNow() {
-        return distanceKm(ZonedDateTime.now(ZoneOffset.UTC));
+        return distanceKm(Instant.now());
     }
 
     public static double distanceMilesNow() {
@@ -37,19 +86,11 @@ public final class MoonDistance {
     }
 
     /**
-     * Get min/max Moon distance over the current lunar cycle (roughly 30 days).
+     * Get min/max Moon distance for the current stretch of the anomalistic month: the
+     * perigee and apogee either side of now (see {@link LunarApsides#currentRangeKm}).
      */
     public static double[] minMaxDistanceKmNow() {
-        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
-        ZonedDateTime start = now.withHour(0).withMinute(0).withSecond(0).withNano(0);
-        double min = Double.POSITIVE_INFINITY;
-        double max = Double.NEGATIVE_INFINITY;
-        for (int i = 0; i < 30; i++) {
-            double d = distanceKm(start.plusDays(i));
-            if (d < min) min = d;
-            if (d > max) max = d;
-        }
-        return new double[]{min, max};
+        return LunarApsides.currentRangeKm(Instant.now());
     }
 
     public static String formatDistanceKm(double km) {
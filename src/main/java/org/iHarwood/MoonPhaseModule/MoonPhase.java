@@ -1,62 +1,152 @@
 package org.iHarwood.MoonPhaseModule;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Moon phase at an instant. The phase fraction runs from 0 at new moon through 0.5 at
+ * full moon back to 1.
+ *
+ * Inside 1900-2100 phases come from {@link LunationIndex}, the table of true principal
+ * phase instants: age and days until full moon are exact to the minute, and the
+ * fraction is interpolated linearly between the surrounding quarter phases.
+ * Outside that span the mean synodic month from the 2000 January 6 mean new moon is
+ * used.
+ */
 public final class MoonPhase {
-    private static final double SYNODIC_MONTH = 29.53059;
+    private static final double SYNODIC_MONTH = LunationIndex.SYNODIC_MONTH_DAYS;
     private static final double TWO_PI = 2 * Math.PI;
-    // Known new moon: January 2, 2026 (JDN 2461043)
-    // Verified against astronomical data and https://moonphases.co.uk/
-    private static final int KNOWN_NEW_MOON_JDN = 2461043;
+    private static final double MEAN_NEW_MOON_JD = LunationIndex.MEAN_NEW_MOON_JDE;
+    private static final double MILLIS_PER_DAY = 86_400_000.0;
 
     // https://moonphases.co.uk/moon-phases
     private static final List<String[]> PHASES = Arrays.asList(
-            new String[] { "       _..._     ", "     .:::::::.   ", "    :::::::::::  ", "    :::::::::::  ", "    `:::::::::'  ", "      `':::''    " }, // Full
-            new String[] { "       _..._     ", "     .::::. `.   ", "    :::::::.  :  ", "    ::::::::  :  ", "    `::::::' .'  ", "      `'::'-'    " }, // Waning gibbous
-            new String[] { "       _..._     ", "     .::::  `.   ", "    ::::::    :  ", "    ::::::    :  ", "    `:::::   .'  ", "      `'::.-'    " }, // Last quarter
-            new String[] { "       _..._     ", "     .::'   `.   ", "    :::       :  ", "    :::       :  ", "    `::.     .'  ", "      `':..-'    " }, // Waning crescent
             new String[] { "       _..._     ", "     .'     `.   ", "    :         :  ", "    :         :  ", "    `.       .'  ", "      `-...-'    " }, // New
             new String[] { "       _..._     ", "     .'   `::.   ", "    :       :::  ", "    :       :::  ", "    `.     .::'  ", "      `-..:''    " }, // Waxing crescent
             new String[] { "       _..._     ", "     .'  ::::.   ", "    :    ::::::  ", "    :    ::::::  ", "    `.   :::::'  ", "      `-.::''    " }, // First quarter
-            new String[] { "       _..._     ", "     .' .::::.   ", "    :  ::::::::  ", "    :  ::::::::  ", "    `. '::::::'  ", "      `-.::''    " }  // Waxing gibbous
-
+            new String[] { "       _..._     ", "     .' .::::.   ", "    :  ::::::::  ", "    :  ::::::::  ", "    `. '::::::'  ", "      `-.::''    " }, // Waxing gibbous
+            new String[] { "       _..._     ", "     .:::::::.   ", "    :::::::::::  ", "    :::::::::::  ", "    `:::::::::'  ", "      `':::''    " }, // Full
+            new String[] { "       _..._     ", "     .::::. `.   ", "    :::::::.  :  ", "    ::::::::  :  ", "    `::::::' .'  ", "      `'::'-'    " }, // Waning gibbous
+            new String[] { "       _..._     ", "     .::::  `.   ", "    ::::::    :  ", "    ::::::    :  ", "    `:::::   .'  ", "      `'::.-'    " }, // Last quarter
+            new String[] { "       _..._     ", "     .::'   `.   ", "    :::       :  ", "    :::       :  ", "    `::.     .'  ", "      `':..-'    " }  // Waning crescent
     );
     private static final String[] PHASE_ICON_NAME = {
-            "FullMoon", "wangmoon", "lqmoon", "wcmoon",
-            "nwmoon", "wancrebmoon", "fqmoon", "wgmoon"
+            "nwmoon", "wancrebmoon", "fqmoon", "wgmoon",
+            "FullMoon", "wangmoon", "lqmoon", "wcmoon"
     };
     private static final String[] NAMES = {
-            "Full Moon", "Waning Gibbous", "Last Quarter", "Waning Crescent",
-            "New Moon", "Waxing Crescent", "First Quarter", "Waxing Gibbous"
+            "New Moon", "Waxing Crescent", "First Quarter", "Waxing Gibbous",
+            "Full Moon", "Waning Gibbous", "Last Quarter", "Waning Crescent"
     };
 
     private final double phaseFraction; // [0,1)
     private final double ageDays;
+    private final double daysUntilFullMoon;
 
-    private MoonPhase(double phaseFraction, double ageDays) {
+    private MoonPhase(double phaseFraction, double ageDays, double daysUntilFullMoon) {
         this.phaseFraction = phaseFraction;
         this.ageDays = ageDays;
+        this.daysUntilFullMoon = daysUntilFullMoon;
     }
 
+    /**
+     * Moon phase for a calendar date, evaluated at noon UTC.
+     */
     public static MoonPhase fromDate(LocalDate date) {
-        int jdn = DateUtils.dateToJulianDayNumber(date.getDayOfMonth(), date.getMonthValue(), date.getYear());
+        return fromInstant(date.atTime(12, 0).toInstant(ZoneOffset.UTC));
+    }
 
-        // Calculate days since known new moon
-        double daysSinceNewMoon = jdn - KNOWN_NEW_MOON_JDN;
+    /**
+     * Moon phase at an instant: a binary search in the principal-phase table inside
+     * 1900-2100, the mean synodic month outside it.
+     */
+    public static MoonPhase fromInstant(Instant instant) {
+        long t = instant.toEpochMilli();
+        if (!LunationIndex.covers(t)) {
+            return fromPhaseFraction(phaseFractionAt(DateUtils.julianDate(instant)));
+        }
+        int i = LunationIndex.floorIndex(t);
+        int phase = LunationIndex.phaseOf(i);
+        double fraction = indexedFraction(i, t);
+
+        long newMoon = LunationIndex.eventMillis(i - phase);
+        int fullMoonIndex = i - phase + LunationIndex.FULL_MOON;
+        long fullMoon = LunationIndex.eventMillis(phase < LunationIndex.FULL_MOON
+                ? fullMoonIndex : fullMoonIndex + LunationIndex.PHASES_PER_LUNATION);
+        return new MoonPhase(fraction, (t - newMoon) / MILLIS_PER_DAY, (fullMoon - t) / MILLIS_PER_DAY);
+    }
 
-        // Calculate current position in the synodic cycle
-        double phaseFraction = (daysSinceNewMoon % SYNODIC_MONTH) / SYNODIC_MONTH;
-        if (phaseFraction < 0) {
-            phaseFraction += 1.0;
+    /**
+     * Phase fraction and age (days) at {@code count} instants {@code stepMillis} apart,
+     * written to {@code fractionsOut} and {@code agesOut}. Walks the lunation index forward
+     * once instead of searching it per sample; samples outside it use the mean model.
+     */
+    public static void phasesAt(long startMillis, long stepMillis, int count, double[] fractionsOut, double[] agesOut) {
+        if (stepMillis <= 0) {
+            throw new IllegalArgumentException("Step must be positive: " + stepMillis + " ms");
+        }
+        DateUtils.checkBatchLength(count, fractionsOut);
+        DateUtils.checkBatchLength(count, agesOut);
+        int i = -1;
+        for (int n = 0; n < count; n++) {
+            long t = startMillis + n * stepMillis;
+            if (!LunationIndex.covers(t)) {
+                double fraction = phaseFractionAt(DateUtils.daysSinceJ2000(t) + DateUtils.JULIAN_DATE_J2000);
+                fractionsOut[n] = fraction;
+                agesOut[n] = fraction * SYNODIC_MONTH;
+                i = -1;
+                continue;
+            }
+            if (i < 0) {
+                i = LunationIndex.floorIndex(t);
+            }
+            while (LunationIndex.eventMillis(i + 1) <= t) {
+                i++;
+            }
+            fractionsOut[n] = indexedFraction(i, t);
+            agesOut[n] = (t - LunationIndex.eventMillis(i - LunationIndex.phaseOf(i))) / MILLIS_PER_DAY;
         }
+    }
+
+    // Interpolates within the quarter of the cycle between event i and the next one
+    private static double indexedFraction(int i, long t) {
+        long previous = LunationIndex.eventMillis(i);
+        long next = LunationIndex.eventMillis(i + 1);
+        return (LunationIndex.phaseOf(i) + (double) (t - previous) / (next - previous)) / LunationIndex.PHASES_PER_LUNATION;
+    }
+
+    /**
+     * Position in the mean synodic cycle [0,1) at the given Julian Date (0 = mean new moon).
+     */
+    public static double phaseFractionAt(double julianDate) {
+        double lunations = lunationsAt(julianDate);
+        return lunations - Math.floor(lunations);
+    }
+
+    /**
+     * Unwrapped mean phase: synodic months elapsed since the 2000 January 6 mean new moon
+     * at the given Julian Date. Linear in time, so it can be tabulated and interpolated exactly.
+     */
+    public static double lunationsAt(double julianDate) {
+        return (julianDate - MEAN_NEW_MOON_JD) / SYNODIC_MONTH;
+    }
+
+    /**
+     * Creates a MoonPhase from a position in the mean synodic cycle; values outside [0,1)
+     * (e.g. an unwrapped lunation count) are wrapped.
+     */
+    public static MoonPhase fromPhaseFraction(double phaseFraction) {
+        double fraction = phaseFraction - Math.floor(phaseFraction);
 
         // Calculate age in days (0-29.53)
-        double ageDays = phaseFraction * SYNODIC_MONTH;
+        double ageDays = fraction * SYNODIC_MONTH;
+        double daysUntilFull = (fraction < 0.5 ? 0.5 - fraction : 1.5 - fraction) * SYNODIC_MONTH;
 
-        return new MoonPhase(phaseFraction, ageDays);
+        return new MoonPhase(fraction, ageDays, daysUntilFull);
     }
 
     /**
@@ -69,9 +159,7 @@ public final class MoonPhase {
     public static Optional<MoonPhase> fromPhaseName(String phaseName) {
         for (int i = 0; i < NAMES.length; i++) {
             if (NAMES[i].equalsIgnoreCase(phaseName.trim())) {
-                double phaseFraction = (i / 8.0);
-                double ageDays = phaseFraction * SYNODIC_MONTH;
-                return Optional.of(new MoonPhase(phaseFraction, ageDays));
+                return Optional.of(fromPhaseFraction(i / 8.0));
             }
         }
         return Optional.empty();
@@ -81,21 +169,35 @@ public final class MoonPhase {
      * Returns the percentage of the moon's disc that is illuminated (0-100).
      */
     public int getIlluminationPercent() {
-        return (int) Math.round((1 - Math.cos(TWO_PI * phaseFraction)) / 2 * 100);
+        return illuminationPercent(phaseFraction);
     }
 
     /**
-     * Returns the number of days until the next full moon (0 = today is full moon).
+     * Returns the number of days until the next full moon, rounded (0 = full moon within half a day).
      */
     public int getDaysUntilFullMoon() {
-        double fraction = ((0.5 - phaseFraction + 1.0) % 1.0);
-        return (int) Math.round(fraction * SYNODIC_MONTH);
+        return (int) Math.round(daysUntilFullMoon);
+    }
+
+    /** Days (fractional) until the next full moon. */
+    public double getDaysUntilFullMoonExact() {
+        return daysUntilFullMoon;
     }
 
     public int getAgeDays() {
         return (int) Math.round(ageDays);
     }
 
+    /** Days (fractional) since the last new moon. */
+    public double getAgeDaysExact() {
+        return ageDays;
+    }
+
+    /** Position in the cycle [0,1): 0 new moon, 0.5 full moon. */
+    public double getPhaseFraction() {
+        return phaseFraction;
+    }
+
     public String getPhaseName() {
         return NAMES[phaseIndex()];
     }
@@ -105,11 +207,35 @@ public final class MoonPhase {
     }
 
     public String[] getAscii() {
-        return PHASES.get(phaseIndex());
+        return ascii(phaseIndex());
     }
 
     private int phaseIndex() {
-        int idx = (int) Math.floor((phaseFraction + 0.0625) * 8.0);
-        return Math.min(Math.max(idx, 0), 7);
+        return phaseIndex(phaseFraction);
+    }
+
+    /** Index (0 New Moon .. 7 Waning Crescent) of the named phase containing {@code phaseFraction}. */
+    static int phaseIndex(double phaseFraction) {
+        // Each name is centred on its eighth of the cycle; the last half-eighth wraps to New Moon
+        return (int) Math.floor((phaseFraction + 0.0625) * 8.0) & 7;
+    }
+
+    static int illuminationPercent(double phaseFraction) {
+        return (int) Math.round((1 - Math.cos(TWO_PI * phaseFraction)) / 2 * 100);
+    }
+
+    /** Phase names in {@link #phaseIndex(double)} order. */
+    static List<String> phaseNames() {
+        return List.of(NAMES);
+    }
+
+    /** ASCII art of the phase with index {@code phaseIndex}, as {@link #getAscii()} returns it. */
+    static String[] ascii(int phaseIndex) {
+        return PHASES.get(phaseIndex);
+    }
+
+    /** Awtrix icon names in {@link #phaseIndex(double)} order. */
+    static List<String> phaseIcons() {
+        return List.of(PHASE_ICON_NAME);
     }
 }
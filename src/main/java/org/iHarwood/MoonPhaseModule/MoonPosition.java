@@ -0,0 +1,350 @@
+package org.iHarwood.MoonPhaseModule;
+
+/**
+ * Geocentric ecliptic position of the Moon from the truncated ELP-2000/82 series in
+ * Meeus, "Astronomical Algorithms" (2nd ed.), chapter 47.
+ *
+ * One evaluation yields ecliptic longitude and latitude (degrees, mean equinox of date)
+ * and the Earth-Moon centre distance (km). The periodic terms are static int arrays in
+ * Meeus' units (1e-6 degree, 1e-3 km), sorted by decreasing amplitude so that each
+ * {@link Precision} tier is a prefix of the tables:
+ *   FAST    - 20 longitude/distance and 14 latitude terms, for the live dashboard
+ *             (within about 0.05 deg and 150 km of PRECISE over 1900-2100)
+ *   PRECISE - all 60 + 60 terms plus the additive corrections, about 10" in longitude
+ *             and 4" in latitude, for the history charts
+ *
+ * Only eight trig calls are made per evaluation (PRECISE adds six for the additive
+ * terms): the sin/cos of every multiple of D, M, M' and F that a term uses are built
+ * by angle addition, and each term's argument is the product of those unit vectors.
+ * The factor E^|m| on terms in M is folded into the multiples of M.
+ *
+ * Days since J2000.0 are taken as TT, as elsewhere in this package.
+ */
+public final class MoonPosition {
+    private MoonPosition() {}
+
+    /** Number of periodic terms evaluated from each table. */
+    public enum Precision {
+        FAST(20, 14, false),
+        PRECISE(60, 60, true);
+
+        private final int longitudeTerms;
+        private final int latitudeTerms;
+        private final boolean additiveTerms;
+
+        Precision(int longitudeTerms, int latitudeTerms, boolean additiveTerms) {
+            this.longitudeTerms = longitudeTerms;
+            this.latitudeTerms = latitudeTerms;
+            this.additiveTerms = additiveTerms;
+        }
+    }
+
+    /** Offset of the ecliptic longitude (degrees, [0, 360)) in a position triple. */
+    public static final int LONGITUDE = 0;
+    /** Offset of the ecliptic latitude (degrees) in a position triple. */
+    public static final int LATITUDE = 1;
+    /** Offset of the Earth-Moon distance (km) in a position triple. */
+    public static final int DISTANCE = 2;
+
+    private static final double DAYS_PER_CENTURY = 36_525.0;
+    private static final double MEAN_DISTANCE_KM = 385_000.56;
+
+    // Table 47.A: multiples of D, M, M', F, then sigma-l (1e-6 deg, sine) and sigma-r (1e-3 km, cosine)
+    private static final int LR_STRIDE = 6;
+    private static final int[] LONGITUDE_DISTANCE_TERMS = {
+             0,  0,  1,  0,   6288774,  -20905355,
+             2,  0, -1,  0,   1274027,   -3699111,
+             2,  0,  0,  0,    658314,   -2955968,
+             0,  0,  2,  0,    213618,    -569925,
+             0,  1,  0,  0,   -185116,      48888,
+             0,  0,  0,  2,   -114332,      -3149,
+             2,  0, -2,  0,     58793,     246158,
+             2, -1, -1,  0,     57066,    -152138,
+             2,  0,  1,  0,     53322,    -170733,
+             2, -1,  0,  0,     45758,    -204586,
+             0,  1, -1,  0,    -40923,    -129620,
+             1,  0,  0,  0,    -34720,     108743,
+             0,  1,  1,  0,    -30383,     104755,
+             2,  0,  0, -2,     15327,      10321,
+             0,  0,  1,  2,    -12528,          0,
+             0,  0,  1, -2,     10980,      79661,
+             4,  0, -1,  0,     10675,     -34782,
+             0,  0,  3,  0,     10034,     -23210,
+             4,  0, -2,  0,      8548,     -21636,
+             2,  1, -1,  0,     -7888,      24208,
+             2,  1,  0,  0,     -6766,      30824,
+             1,  0, -1,  0,     -5163,      -8379,
+             1,  1,  0,  0,      4987,     -16675,
+             2, -1,  1,  0,      4036,     -12831,
+             2,  0,  2,  0,      3994,     -10445,
+             4,  0,  0,  0,      3861,     -11650,
+             2,  0, -3,  0,      3665,      14403,
+             0,  1, -2,  0,     -2689,      -7003,
+             2,  0, -1,  2,     -2602,          0,
+             2, -1, -2,  0,      2390,      10056,
+             1,  0,  1,  0,     -2348,       6322,
+             2, -2,  0,  0,      2236,      -9884,
+             0,  1,  2,  0,     -2120,       5751,
+             0,  2,  0,  0,     -2069,          0,
+             2, -2, -1,  0,      2048,      -4950,
+             2,  0,  1, -2,     -1773,       4130,
+             2,  0,  0,  2,     -1595,          0,
+             2,  0, -1, -2,         0,       8752,
+             4, -1, -1,  0,      1215,      -3958,
+             0,  0,  2,  2,     -1110,          0,
+             3,  0, -1,  0,      -892,       3258,
+             2,  1,  1,  0,      -810,       2616,
+             4, -1, -2,  0,       759,      -1897,
+             0,  2, -1,  0,      -713,      -2117,
+             2,  2, -1,  0,      -700,       2354,
+             2,  1, -2,  0,       691,          0,
+             0,  0,  2, -2,      -381,      -4421,
+             2, -1,  0, -2,       596,          0,
+             4,  0,  1,  0,       549,      -1423,
+             0,  0,  4,  0,       537,      -1117,
+             4, -1,  0,  0,       520,      -1571,
+             1,  0, -2,  0,      -487,      -1739,
+             2,  1,  0, -2,      -399,          0,
+             1,  1,  1,  0,       351,          0,
+             3,  0, -2,  0,      -340,          0,
+             4,  0, -3,  0,       330,          0,
+             2, -1,  2,  0,       327,          0,
+             0,  2,  1,  0,      -323,       1165,
+             1,  1, -1,  0,       299,          0,
+             2,  0,  3,  0,       294,          0,
+    };
+
+    // Table 47.B: multiples of D, M, M', F, then sigma-b (1e-6 deg, sine)
+    private static final int B_STRIDE = 5;
+    private static final int[] LATITUDE_TERMS = {
+             0,  0,  0,  1,  5128122,
+             0,  0,  1,  1,   280602,
+             0,  0,  1, -1,   277693,
+             2,  0,  0, -1,   173237,
+             2,  0, -1,  1,    55413,
+             2,  0, -1, -1,    46271,
+             2,  0,  0,  1,    32573,
+             0,  0,  2,  1,    17198,
+             2,  0,  1, -1,     9266,
+             0,  0,  2, -1,     8822,
+             2, -1,  0, -1,     8216,
+             2,  0, -2, -1,     4324,
+             2,  0,  1,  1,     4200,
+             2,  1,  0, -1,    -3359,
+             2, -1, -1,  1,     2463,
+             2, -1,  0,  1,     2211,
+             2, -1, -1, -1,     2065,
+             0,  1, -1, -1,    -1870,
+             4,  0, -1, -1,     1828,
+             0,  1,  0,  1,    -1794,
+             0,  0,  0,  3,    -1749,
+             0,  1, -1,  1,    -1565,
+             1,  0,  0,  1,    -1491,
+             0,  1,  1,  1,    -1475,
+             0,  1,  1, -1,    -1410,
+             0,  1,  0, -1,    -1344,
+             1,  0,  0, -1,    -1335,
+             0,  0,  3,  1,     1107,
+             4,  0,  0, -1,     1021,
+             4,  0, -1,  1,      833,
+             0,  0,  1, -3,      777,
+             4,  0, -2,  1,      671,
+             2,  0,  0, -3,      607,
+             2,  0,  2, -1,      596,
+             2, -1,  1, -1,      491,
+             2,  0, -2,  1,     -451,
+             0,  0,  3, -1,      439,
+             2,  0,  2,  1,      422,
+             2,  0, -3, -1,      421,
+             2,  1, -1,  1,     -366,
+             2,  1,  0,  1,     -351,
+             4,  0,  0,  1,      331,
+             2, -1,  1,  1,      315,
+             2, -2,  0, -1,      302,
+             0,  0,  1,  3,     -283,
+             2,  1,  1, -1,     -229,
+             1,  1,  0, -1,      223,
+             1,  1,  0,  1,      223,
+             0,  1, -2, -1,     -220,
+             2,  1, -1, -1,     -220,
+             1,  0,  1,  1,     -185,
+             2, -1, -2, -1,      181,
+             0,  1,  2,  1,     -177,
+             4,  0, -2, -1,      176,
+             4, -1, -1, -1,      166,
+             1,  0,  1, -1,     -164,
+             4,  0,  1, -1,      132,
+             1,  0, -1, -1,     -119,
+             4, -1,  0, -1,      115,
+             2, -2,  0,  1,      107,
+    };
+
+    // Work buffer layout: cos/sin of k*D, k*M (scaled by E^|k|), k*M' and k*F for
+    // k = -MAX_MULTIPLE..MAX_MULTIPLE, stored at <argument centre> + k
+    private static final int MAX_MULTIPLE = 4;
+    private static final int D_CENTRE = MAX_MULTIPLE;
+    private static final int M_CENTRE = D_CENTRE + 2 * MAX_MULTIPLE + 1;
+    private static final int MP_CENTRE = M_CENTRE + 2 * MAX_MULTIPLE + 1;
+    private static final int F_CENTRE = MP_CENTRE + 2 * MAX_MULTIPLE + 1;
+    private static final int WORK_SIZE = F_CENTRE + MAX_MULTIPLE + 1;
+
+    /**
+     * Writes longitude, latitude and distance to {@code out[offset + LONGITUDE]},
+     * {@code out[offset + LATITUDE]} and {@code out[offset + DISTANCE]}.
+     */
+    public static void positionAt(double daysSinceJ2000, Precision precision, double[] out, int offset) {
+        if (offset < 0 || out.length - offset < 3) {
+            throw new IllegalArgumentException(
+                    "Output buffer too small: need 3 values at offset " + offset + ", got " + out.length);
+        }
+        evaluate(daysSinceJ2000, precision, new double[WORK_SIZE], new double[WORK_SIZE], out, offset);
+    }
+
+    /**
+     * Batch form: fills {@code out[3i .. 3i + 3)} with the position at
+     * {@code startDay + i * stepDays} (days since J2000.0), reusing one set of work
+     * buffers for the whole range.
+     */
+    public static void positionsAt(double startDay, double stepDays, int count, Precision precision, double[] out) {
+        if (count < 0 || out.length / 3 < count) {
+            throw new IllegalArgumentException(
+                    "Output buffer too small: need " + 3L * count + " values, got " + out.length);
+        }
+        double[] cos = new double[WORK_SIZE];
+        double[] sin = new double[WORK_SIZE];
+        for (int i = 0; i < count; i++) {
+            evaluate(startDay + i * stepDays, precision, cos, sin, out, 3 * i);
+        }
+    }
+
+    /** Ecliptic longitude (degrees, [0, 360)) at the given number of days since J2000.0. */
+    public static double longitudeDegAt(double daysSinceJ2000, Precision precision) {
+        double[] position = new double[3];
+        positionAt(daysSinceJ2000, precision, position, 0);
+        return position[LONGITUDE];
+    }
+
+    /** Ecliptic latitude (degrees) at the given number of days since J2000.0. */
+    public static double latitudeDegAt(double daysSinceJ2000, Precision precision) {
+        double[] position = new double[3];
+        positionAt(daysSinceJ2000, precision, position, 0);
+        return position[LATITUDE];
+    }
+
+    /** Earth-Moon distance (km) at the given number of days since J2000.0. */
+    public static double distanceKmAt(double daysSinceJ2000, Precision precision) {
+        double[] position = new double[3];
+        positionAt(daysSinceJ2000, precision, position, 0);
+        return position[DISTANCE];
+    }
+
+    private static void evaluate(double daysSinceJ2000, Precision precision,
+                                 double[] cos, double[] sin, double[] out, int offset) {
+        double t = daysSinceJ2000 / DAYS_PER_CENTURY;
+        double t2 = t * t;
+        double t3 = t2 * t;
+        double t4 = t3 * t;
+
+        // Fundamental arguments (Meeus 47.1-47.5) and the eccentricity factor (47.6)
+        double meanLongitude = 218.3164477 + 481267.88123421 * t - 0.0015786 * t2
+                + t3 / 538_841.0 - t4 / 65_194_000.0;
+        double elongation = 297.8501921 + 445267.1114034 * t - 0.0018819 * t2
+                + t3 / 545_868.0 - t4 / 113_065_000.0;
+        double sunAnomaly = 357.5291092 + 35999.0502909 * t - 0.0001536 * t2 + t3 / 24_490_000.0;
+        double moonAnomaly = 134.9633964 + 477198.8675055 * t + 0.0087414 * t2
+                + t3 / 69_699.0 - t4 / 14_712_000.0;
+        double latitudeArgument = 93.2720950 + 483202.0175233 * t - 0.0036539 * t2
+                - t3 / 3_526_000.0 + t4 / 863_310_000.0;
+        double e = 1.0 - 0.002516 * t - 0.0000074 * t2;
+
+        fillMultiples(elongation, 1.0, D_CENTRE, cos, sin);
+        fillMultiples(sunAnomaly, e, M_CENTRE, cos, sin);
+        fillMultiples(moonAnomaly, 1.0, MP_CENTRE, cos, sin);
+        fillMultiples(latitudeArgument, 1.0, F_CENTRE, cos, sin);
+
+        int[] terms = LONGITUDE_DISTANCE_TERMS;
+        double sumL = 0.0;
+        double sumR = 0.0;
+        for (int j = 0, end = precision.longitudeTerms * LR_STRIDE; j < end; j += LR_STRIDE) {
+            int d = D_CENTRE + terms[j];
+            int m = M_CENTRE + terms[j + 1];
+            int mp = MP_CENTRE + terms[j + 2];
+            int f = F_CENTRE + terms[j + 3];
+            // Unit vector of the argument as the product of the four multiples
+            double c = cos[d] * cos[m] - sin[d] * sin[m];
+            double s = sin[d] * cos[m] + cos[d] * sin[m];
+            double c2 = c * cos[mp] - s * sin[mp];
+            double s2 = s * cos[mp] + c * sin[mp];
+            sumL += terms[j + 4] * (s2 * cos[f] + c2 * sin[f]);
+            sumR += terms[j + 5] * (c2 * cos[f] - s2 * sin[f]);
+        }
+
+        terms = LATITUDE_TERMS;
+        double sumB = 0.0;
+        for (int j = 0, end = precision.latitudeTerms * B_STRIDE; j < end; j += B_STRIDE) {
+            int d = D_CENTRE + terms[j];
+            int m = M_CENTRE + terms[j + 1];
+            int mp = MP_CENTRE + terms[j + 2];
+            int f = F_CENTRE + terms[j + 3];
+            double c = cos[d] * cos[m] - sin[d] * sin[m];
+            double s = sin[d] * cos[m] + cos[d] * sin[m];
+            double c2 = c * cos[mp] - s * sin[mp];
+            double s2 = s * cos[mp] + c * sin[mp];
+            sumB += terms[j + 4] * (s2 * cos[f] + c2 * sin[f]);
+        }
+
+        if (precision.additiveTerms) {
+            // Venus (A1), Jupiter (A2) and Earth-flattening terms; those involving F and M'
+            // are expanded so only A1, A2, A3 and L' need trig
+            double a1 = radians(119.75 + 131.849 * t);
+            double a2 = radians(53.09 + 479264.290 * t);
+            double a3 = radians(313.45 + 481266.484 * t);
+            double l = radians(meanLongitude);
+            double sinL = Math.sin(l);
+            double cosL = Math.cos(l);
+            double sinA1 = Math.sin(a1);
+            double sinF = sin[F_CENTRE + 1];
+            double cosF = cos[F_CENTRE + 1];
+            double sinMp = sin[MP_CENTRE + 1];
+            double cosMp = cos[MP_CENTRE + 1];
+            sumL += 3958.0 * sinA1 + 1962.0 * (sinL * cosF - cosL * sinF) + 318.0 * Math.sin(a2);
+            sumB += -2235.0 * sinL + 382.0 * Math.sin(a3)
+                    + 350.0 * sinA1 * cosF                        // 175 sin(A1 - F) + 175 sin(A1 + F)
+                    + 12.0 * sinL * cosMp - 242.0 * cosL * sinMp; // 127 sin(L' - M') - 115 sin(L' + M')
+        }
+
+        out[offset + LONGITUDE] = DateUtils.normalizeAngle(meanLongitude + sumL * 1e-6);
+        out[offset + LATITUDE] = sumB * 1e-6;
+        out[offset + DISTANCE] = MEAN_DISTANCE_KM + sumR * 1e-3;
+    }
+
+    /**
+     * Stores scale^|k| * (cos, sin)(k * angleDeg) at {@code centre + k} for every
+     * k in [-MAX_MULTIPLE, MAX_MULTIPLE]; negative multiples are the conjugates.
+     */
+    private static void fillMultiples(double angleDeg, double scale, int centre, double[] cos, double[] sin) {
+        double x = radians(angleDeg);
+        double c1 = Math.cos(x);
+        double s1 = Math.sin(x);
+        double c = 1.0;
+        double s = 0.0;
+        double factor = 1.0;
+        cos[centre] = 1.0;
+        sin[centre] = 0.0;
+        for (int k = 1; k <= MAX_MULTIPLE; k++) {
+            double next = c * c1 - s * s1;
+            s = s * c1 + c * s1;
+            c = next;
+            factor *= scale;
+            cos[centre + k] = factor * c;
+            sin[centre + k] = factor * s;
+            cos[centre - k] = factor * c;
+            sin[centre - k] = -factor * s;
+        }
+    }
+
+    /** Degrees to radians after reducing to [0, 360); floor is far cheaper than the double remainder. */
+    private static double radians(double deg) {
+        return Math.toRadians(deg - 360.0 * Math.floor(deg / 360.0));
+    }
+}
@@ -1,6 +1,6 @@
 package org.iHarwood.MoonPhaseModule;
 
-import java.time.Duration;
+import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 
@@ -17,6 +17,7 @@ public final class NewHorizonsDistance {
     private static final double SECONDS_PER_DAY = 86_400.0;
 
     private static final ZonedDateTime EPOCH = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final long EPOCH_SECOND = EPOCH.toEpochSecond();
 
     private static final double NH_REF_AU = 58.0;
     private static final double NH_SPEED_KM_S = 13.8;
@@ -25,24 +26,40 @@ public final class NewHorizonsDistance {
         return (kmPerSec * SECONDS_PER_DAY) / KM_PER_AU;
     }
 
-    private static double daysSinceEpoch(ZonedDateTime zdt) {
-        return Duration.between(EPOCH, zdt.withZoneSameInstant(ZoneOffset.UTC)).toSeconds() / SECONDS_PER_DAY;
+    private static double daysSinceEpoch(Instant instant) {
+        return (instant.getEpochSecond() - EPOCH_SECOND) / SECONDS_PER_DAY;
     }
 
     public static double heliocentricDistanceAU(ZonedDateTime zdt) {
-        return NH_REF_AU + auPerDay(NH_SPEED_KM_S) * daysSinceEpoch(zdt);
+        return heliocentricDistanceAU(zdt.toInstant());
+    }
+
+    public static double heliocentricDistanceAU(Instant instant) {
+        return NH_REF_AU + auPerDay(NH_SPEED_KM_S) * daysSinceEpoch(instant);
+    }
+
+    public static double heliocentricDistanceAU(EphemerisContext ctx) {
+        return heliocentricDistanceAU(ctx.instant());
     }
 
     public static double distanceFromEarthAU(ZonedDateTime zdt) {
-        return Math.max(0.0, Math.abs(heliocentricDistanceAU(zdt) - 1.0));
+        return distanceFromEarthAU(zdt.toInstant());
+    }
+
+    public static double distanceFromEarthAU(Instant instant) {
+        return Math.max(0.0, Math.abs(heliocentricDistanceAU(instant) - 1.0));
+    }
+
+    public static double distanceFromEarthAU(EphemerisContext ctx) {
+        return distanceFromEarthAU(ctx.instant());
     }
 
     public static double heliocentricDistanceAUNow() {
-        return heliocentricDistanceAU(ZonedDateTime.now(ZoneOffset.UTC));
+        return heliocentricDistanceAU(Instant.now());
     }
 
     public static double distanceFromEarthAUNow() {
-        return distanceFromEarthAU(ZonedDateTime.now(ZoneOffset.UTC));
+        return distanceFromEarthAU(Instant.now());
     }
 
     public static double speedKmPerSec() {
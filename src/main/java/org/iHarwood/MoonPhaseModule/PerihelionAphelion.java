@@ -1,15 +1,17 @@
 package org.iHarwood.MoonPhaseModule;
 
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.Month;
 import java.time.temporal.ChronoUnit;
 
 /**
  * Calculates days until Earth's next perihelion (closest to Sun) and aphelion (farthest).
  *
- * Approximate dates:
- *   Perihelion:  ~January 3 each year
- *   Aphelion:    ~July 4 each year
+ * Instants come from Meeus, Astronomical Algorithms ch. 38: the Earth-Moon barycentre's
+ * mean apsides plus the terms that move the Earth's own apsides by up to about two days
+ * as the Moon swings it around the barycentre (which is why the dates wander between
+ * January 2 and 5, and July 3 and 7). The apsides for 1000-3000 are tabulated once when
+ * the class is first used; dates are the UTC calendar date of the instant.
  *
  * At perihelion  Earth is ~0.983 AU from the Sun (~147.1 million km).
  * At aphelion    Earth is ~1.017 AU from the Sun (~152.1 million km).
@@ -17,11 +19,39 @@ import java.time.temporal.ChronoUnit;
 public final class PerihelionAphelion {
     private PerihelionAphelion() {}
 
-    // Approximate fixed calendar dates
-    private static final int PERIHELION_MONTH = 1;
-    private static final int PERIHELION_DAY = 3;
-    private static final int APHELION_MONTH = 7;
-    private static final int APHELION_DAY = 4;
+    // Apsis numbers k (k = 0 is the 2000 January perihelion) covering 1000-3000
+    private static final int FIRST_K = -1001;
+    private static final int LAST_K = 1001;
+
+    /** Lazily built tables indexed by k; aphelion k follows perihelion k. */
+    private static final class Tables {
+        private Tables() {}
+
+        static final EventTable PERIHELION = new EventTable(FIRST_K, LAST_K,
+                k -> EventTable.utMillis(julianEphemerisDay(k, false)));
+        static final EventTable APHELION = new EventTable(FIRST_K, LAST_K,
+                k -> EventTable.utMillis(julianEphemerisDay(k, true)));
+    }
+
+    /**
+     * Meeus ch. 38: the instant (Julian Ephemeris Day, TT) of Earth's perihelion number
+     * {@code k}, or of the aphelion half an orbit later.
+     */
+    static double julianEphemerisDay(int k, boolean aphelion) {
+        double kk = aphelion ? k + 0.5 : k;
+        double jde = 2451547.507 + kk * (365.2596358 + kk * 0.0000000156);
+        double a1 = Math.toRadians(328.41 + 132.788585 * kk);
+        double a2 = Math.toRadians(316.13 + 584.903153 * kk);
+        double a3 = Math.toRadians(346.20 + 450.380738 * kk);
+        double a4 = Math.toRadians(136.95 + 659.306737 * kk);
+        double a5 = Math.toRadians(249.52 + 329.653368 * kk);
+        if (aphelion) {
+            return jde - 1.352 * Math.sin(a1) + 0.061 * Math.sin(a2) + 0.062 * Math.sin(a3)
+                    + 0.029 * Math.sin(a4) + 0.031 * Math.sin(a5);
+        }
+        return jde + 1.278 * Math.sin(a1) - 0.055 * Math.sin(a2) - 0.091 * Math.sin(a3)
+                - 0.056 * Math.sin(a4) - 0.045 * Math.sin(a5);
+    }
 
     // --- Perihelion ---
     public static LocalDate nextPerihelion() {
@@ -29,8 +59,13 @@ public final class PerihelionAphelion {
     }
 
     public static LocalDate nextPerihelion(LocalDate from) {
-        LocalDate candidate = LocalDate.of(from.getYear(), Month.of(PERIHELION_MONTH), PERIHELION_DAY);
-        return from.isBefore(candidate) ? candidate : candidate.plusYears(1);
+        return Tables.PERIHELION.nextDateAfter(from);
+    }
+
+    /** The first perihelion strictly after {@code from}. */
+    public static Instant nextPerihelion(Instant from) {
+        EventTable table = Tables.PERIHELION;
+        return Instant.ofEpochMilli(table.millis(table.firstAfter(from.toEpochMilli())));
     }
 
     public static long daysUntilPerihelion() {
@@ -47,8 +82,13 @@ public final class PerihelionAphelion {
     }
 
     public static LocalDate nextAphelion(LocalDate from) {
-        LocalDate candidate = LocalDate.of(from.getYear(), Month.of(APHELION_MONTH), APHELION_DAY);
-        return from.isBefore(candidate) ? candidate : candidate.plusYears(1);
+        return Tables.APHELION.nextDateAfter(from);
+    }
+
+    /** The first aphelion strictly after {@code from}. */
+    public static Instant nextAphelion(Instant from) {
+        EventTable table = Tables.APHELION;
+        return Instant.ofEpochMilli(table.millis(table.firstAfter(from.toEpochMilli())));
     }
 
     public static long daysUntilAphelion() {
@@ -59,4 +99,3 @@ public final class PerihelionAphelion {
         return ChronoUnit.DAYS.between(from, nextAphelion(from));
     }
 }
-
@@ -0,0 +1,81 @@
+package org.iHarwood.MoonPhaseModule;
+
+import java.util.List;
+
+/**
+ * Evaluates a set of {@link PlanetDistance} orbits in one pass, on the {@link KeplerEngine}
+ * model: every body at one instant with Earth solved once, or one body across an evenly
+ * spaced range of instants. Results match {@link PlanetDistance#heliocentricDistanceAUAt(double)}
+ * and {@link PlanetDistance#distanceAUAt(double)} to rounding.
+ *
+ * When the JVM runs with {@code --add-modules jdk.incubator.vector} and the CPU has at
+ * least four double lanes, both kernels run on {@link PlanetBatchVector} instead of the
+ * engine's scalar loops. Without the module, or on narrower vectors where the lanewise
+ * SIN/COS lose to Math.sin/cos, the engine's scalar kernels are used.
+ */
+public final class PlanetBatch {
+
+    /** Whether the Vector API kernels are in use; set before {@link #ALL} is built. */
+    static final boolean VECTORIZED = vectorApiAvailable();
+
+    /** Batch over {@link Planets#ALL}, in the same order. */
+    public static final PlanetBatch ALL = new PlanetBatch(Planets.ALL);
+
+    private final KeplerEngine engine;
+    private final PlanetBatchVector vector;
+
+    public PlanetBatch(List<PlanetDistance> planets) {
+        this(planets, VECTORIZED);
+    }
+
+    /** As {@link #PlanetBatch(List)}, choosing the kernels; {@code vectorized} needs {@link #VECTORIZED}. */
+    PlanetBatch(List<PlanetDistance> planets, boolean vectorized) {
+        if (vectorized && !VECTORIZED) {
+            throw new IllegalArgumentException("Vector API kernels are not available in this JVM");
+        }
+        engine = new KeplerEngine(planets);
+        vector = vectorized ? new PlanetBatchVector(engine) : null;
+    }
+
+    public int size() {
+        return engine.size();
+    }
+
+    public PlanetDistance body(int index) {
+        return engine.body(index);
+    }
+
+    /**
+     * Every body at one instant: fills {@code heliocentricOut[i]} and {@code fromEarthOut[i]}
+     * (AU) for body {@code i}. Either array may be {@code null} if not needed.
+     */
+    public void distancesAt(double daysSinceJ2000, double[] heliocentricOut, double[] fromEarthOut) {
+        engine.distancesAt(daysSinceJ2000, heliocentricOut, fromEarthOut, vector);
+    }
+
+    /**
+     * One body across evenly spaced instants {@code startDay + k * stepDays}: fills
+     * {@code heliocentricOut[k]} and {@code fromEarthOut[k]} (AU). Either array may be
+     * {@code null} if not needed.
+     */
+    public void distancesAt(int body, double startDay, double stepDays, int count,
+                            double[] heliocentricOut, double[] fromEarthOut) {
+        if (vector == null) {
+            engine.distancesAt(body, startDay, stepDays, count, heliocentricOut, fromEarthOut);
+            return;
+        }
+        if (heliocentricOut != null) {
+            DateUtils.checkBatchLength(count, heliocentricOut);
+        }
+        if (fromEarthOut != null) {
+            DateUtils.checkBatchLength(count, fromEarthOut);
+        }
+        vector.distancesAt(body, startDay, stepDays, count, heliocentricOut, fromEarthOut);
+    }
+
+    private static boolean vectorApiAvailable() {
+        // PlanetBatchVector must not be touched unless the module is there: it would fail to link
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+                && PlanetBatchVector.lanes() >= 4;
+    }
+}
@@ -0,0 +1,178 @@
+package org.iHarwood.MoonPhaseModule;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link PlanetBatch} kernels on the incubating Vector API, for the same Kepler model as
+ * {@link KeplerEngine}. Across bodies the lanes are bodies: all eight planets fit one
+ * 512-bit vector, and every lane runs the largest Newton iteration count among them
+ * (extra iterations leave a converged solution unchanged). Across a range the lanes are
+ * instants, and Earth is solved lanewise too. Tails are handled with lane masks.
+ *
+ * The vector code is written out in place rather than in helper methods: the range loops
+ * are large enough that C2 stops inlining ordinary methods, and a vector passed to a
+ * method that is not inlined gets boxed. There is no lanewise floor, and conversions
+ * through long are not intrinsified everywhere, so angles are reduced by adding and
+ * removing 1.5 * 2^52, which rounds to the nearest whole revolution.
+ *
+ * Only loaded when the jdk.incubator.vector module is present, see {@link PlanetBatch}.
+ */
+final class PlanetBatchVector {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private static final double TWO_PI = 2.0 * Math.PI;
+    /** 1.5 * 2^52: x + BIAS - BIAS is x rounded to a whole number. */
+    private static final double ROUNDING_BIAS = 0x1.8p52;
+    private static final double EARTH_MEAN_ANOMALY_J2000_REV = DateUtils.EARTH_MEAN_ANOMALY_J2000_DEG / 360.0;
+    private static final double EARTH_MEAN_MOTION_REV_PER_DAY = DateUtils.EARTH_MEAN_MOTION_DEG_PER_DAY / 360.0;
+    private static final double EARTH_ECCENTRICITY = KeplerEngine.EARTH_ECCENTRICITY;
+
+    private final KeplerEngine engine;
+    private final double[] meanAnomalyJ2000Rev;
+    private final double[] meanMotionRevPerDay;
+    private final int maxIterations;
+    private final boolean anyHighEccentricity;
+
+    /** Reads the engine's element arrays; they are never written after construction. */
+    PlanetBatchVector(KeplerEngine engine) {
+        this.engine = engine;
+        int n = engine.size();
+        meanAnomalyJ2000Rev = new double[n];
+        meanMotionRevPerDay = new double[n];
+        int iterations = 0;
+        boolean high = false;
+        for (int i = 0; i < n; i++) {
+            meanAnomalyJ2000Rev[i] = engine.meanAnomalyJ2000Rad[i] / TWO_PI;
+            meanMotionRevPerDay[i] = engine.meanMotionRadPerDay[i] / TWO_PI;
+            iterations = Math.max(iterations, engine.iterations[i]);
+            high |= engine.eccentricity[i] >= KeplerEngine.HIGH_ECCENTRICITY;
+        }
+        maxIterations = iterations;
+        anyHighEccentricity = high;
+    }
+
+    /** Doubles per vector on this CPU. */
+    static int lanes() {
+        return SPECIES.length();
+    }
+
+    /** Every body at one instant, Earth at (xEarth, yEarth, 0). */
+    void distancesAt(double daysSinceJ2000, double xEarth, double yEarth,
+                     double[] heliocentricOut, double[] fromEarthOut) {
+        int n = engine.size();
+        for (int i = 0; i < n; i += SPECIES.length()) {
+            VectorMask<Double> inRange = SPECIES.indexInRange(i, n);
+            DoubleVector e = DoubleVector.fromArray(SPECIES, engine.eccentricity, i, inRange);
+            DoubleVector a = DoubleVector.fromArray(SPECIES, engine.semiMajorAxisAu, i, inRange);
+            DoubleVector rev = DoubleVector.fromArray(SPECIES, meanMotionRevPerDay, i, inRange)
+                    .mul(daysSinceJ2000).add(DoubleVector.fromArray(SPECIES, meanAnomalyJ2000Rev, i, inRange));
+            DoubleVector m = rev.sub(rev.add(ROUNDING_BIAS).sub(ROUNDING_BIAS)).mul(TWO_PI);
+            DoubleVector ecc = e.mul(m.lanewise(VectorOperators.SIN)).add(m);
+            if (anyHighEccentricity) {
+                // Danby's start, E = M + 0.85 e sign(M)
+                DoubleVector step = e.mul(KeplerEngine.DANBY_FACTOR);
+                DoubleVector danby = DoubleVector.zero(SPECIES).blend(step, m.compare(VectorOperators.GT, 0.0))
+                        .blend(step.neg(), m.compare(VectorOperators.LT, 0.0)).add(m);
+                ecc = ecc.blend(danby, e.compare(VectorOperators.GE, KeplerEngine.HIGH_ECCENTRICITY));
+            }
+            for (int k = 0; k < maxIterations; k++) {
+                DoubleVector f = ecc.sub(e.mul(ecc.lanewise(VectorOperators.SIN))).sub(m);
+                ecc = ecc.sub(f.div(e.mul(ecc.lanewise(VectorOperators.COS)).neg().add(1.0)));
+            }
+            DoubleVector cosE = ecc.lanewise(VectorOperators.COS);
+            if (heliocentricOut != null) {
+                e.mul(cosE).neg().add(1.0).mul(a).intoArray(heliocentricOut, i, inRange);
+            }
+            if (fromEarthOut != null) {
+                DoubleVector xo = cosE.sub(e).mul(a);
+                DoubleVector yo = ecc.lanewise(VectorOperators.SIN)
+                        .mul(DoubleVector.fromArray(SPECIES, engine.semiMinorAxisAu, i, inRange));
+                DoubleVector dx = xo.mul(DoubleVector.fromArray(SPECIES, engine.px, i, inRange))
+                        .add(yo.mul(DoubleVector.fromArray(SPECIES, engine.qx, i, inRange))).sub(xEarth);
+                DoubleVector dy = xo.mul(DoubleVector.fromArray(SPECIES, engine.py, i, inRange))
+                        .add(yo.mul(DoubleVector.fromArray(SPECIES, engine.qy, i, inRange))).sub(yEarth);
+                DoubleVector dz = xo.mul(DoubleVector.fromArray(SPECIES, engine.pz, i, inRange))
+                        .add(yo.mul(DoubleVector.fromArray(SPECIES, engine.qz, i, inRange)));
+                dx.mul(dx).add(dy.mul(dy)).add(dz.mul(dz)).sqrt().intoArray(fromEarthOut, i, inRange);
+            }
+        }
+    }
+
+    /** One body across evenly spaced instants, one instant per lane; output lengths are checked by the caller. */
+    void distancesAt(int body, double startDay, double stepDays, int count,
+                     double[] heliocentricOut, double[] fromEarthOut) {
+        int lanes = SPECIES.length();
+        double a = engine.semiMajorAxisAu[body];
+        double b = engine.semiMinorAxisAu[body];
+        double e = engine.eccentricity[body];
+        int iterations = engine.iterations[body];
+        boolean danby = e >= KeplerEngine.HIGH_ECCENTRICITY;
+        double px = engine.px[body], py = engine.py[body], pz = engine.pz[body];
+        double qx = engine.qx[body], qy = engine.qy[body], qz = engine.qz[body];
+        DoubleVector laneOffsets = DoubleVector.zero(SPECIES).addIndex(1).mul(stepDays);
+        for (int k = 0; k < count; k += lanes) {
+            DoubleVector d = laneOffsets.add(startDay + k * stepDays);
+            DoubleVector rev = d.mul(meanMotionRevPerDay[body]).add(meanAnomalyJ2000Rev[body]);
+            DoubleVector m = rev.sub(rev.add(ROUNDING_BIAS).sub(ROUNDING_BIAS)).mul(TWO_PI);
+            DoubleVector ecc;
+            if (danby) {
+                double step = KeplerEngine.DANBY_FACTOR * e;
+                ecc = DoubleVector.zero(SPECIES).blend(step, m.compare(VectorOperators.GT, 0.0))
+                        .blend(-step, m.compare(VectorOperators.LT, 0.0)).add(m);
+            } else {
+                ecc = m.lanewise(VectorOperators.SIN).mul(e).add(m);
+            }
+            for (int j = 0; j < iterations; j++) {
+                DoubleVector f = ecc.sub(ecc.lanewise(VectorOperators.SIN).mul(e)).sub(m);
+                ecc = ecc.sub(f.div(ecc.lanewise(VectorOperators.COS).mul(-e).add(1.0)));
+            }
+            DoubleVector cosE = ecc.lanewise(VectorOperators.COS);
+            VectorMask<Double> tail = k + lanes <= count ? null : SPECIES.indexInRange(k, count);
+            if (heliocentricOut != null) {
+                DoubleVector r = cosE.mul(-a * e).add(a);
+                if (tail == null) {
+                    r.intoArray(heliocentricOut, k);
+                } else {
+                    r.intoArray(heliocentricOut, k, tail);
+                }
+            }
+            if (fromEarthOut != null) {
+                DoubleVector xo = cosE.sub(e).mul(a);
+                DoubleVector yo = ecc.lanewise(VectorOperators.SIN).mul(b);
+
+                // Earth, as KeplerEngine.earthPositionAt
+                DoubleVector revEarth = d.mul(EARTH_MEAN_MOTION_REV_PER_DAY).add(EARTH_MEAN_ANOMALY_J2000_REV);
+                DoubleVector mEarth = revEarth.sub(revEarth.add(ROUNDING_BIAS).sub(ROUNDING_BIAS)).mul(TWO_PI);
+                DoubleVector eccEarth = mEarth.lanewise(VectorOperators.SIN).mul(EARTH_ECCENTRICITY).add(mEarth);
+                for (int j = 0; j < KeplerEngine.EARTH_ITERATIONS; j++) {
+                    DoubleVector f = eccEarth.sub(eccEarth.lanewise(VectorOperators.SIN).mul(EARTH_ECCENTRICITY)).sub(mEarth);
+                    eccEarth = eccEarth.sub(f.div(eccEarth.lanewise(VectorOperators.COS).mul(-EARTH_ECCENTRICITY).add(1.0)));
+                }
+                DoubleVector cosEe = eccEarth.lanewise(VectorOperators.COS);
+                DoubleVector cosMe = mEarth.lanewise(VectorOperators.COS);
+                // SunDistance.radiusForCosMeanAnomalyAU in Horner form, over the orbit-plane length 1 - e cos E
+                DoubleVector scale = cosMe.mul(-2.0 * SunDistance.EARTH_ORBIT_CORRECTION).sub(SunDistance.EARTH_ORBIT_ECCENTRICITY)
+                        .mul(cosMe).add(SunDistance.EARTH_ORBIT_MEAN_AU + SunDistance.EARTH_ORBIT_CORRECTION)
+                        .div(cosEe.mul(-EARTH_ECCENTRICITY).add(1.0));
+                DoubleVector xoEarth = cosEe.sub(EARTH_ECCENTRICITY).mul(scale);
+                DoubleVector yoEarth = eccEarth.lanewise(VectorOperators.SIN).mul(scale).mul(KeplerEngine.EARTH_AXIS_RATIO);
+                DoubleVector xEarth = xoEarth.mul(KeplerEngine.COS_W_EARTH).sub(yoEarth.mul(KeplerEngine.SIN_W_EARTH));
+                DoubleVector yEarth = xoEarth.mul(KeplerEngine.SIN_W_EARTH).add(yoEarth.mul(KeplerEngine.COS_W_EARTH));
+
+                DoubleVector dx = xo.mul(px).add(yo.mul(qx)).sub(xEarth);
+                DoubleVector dy = xo.mul(py).add(yo.mul(qy)).sub(yEarth);
+                DoubleVector dz = xo.mul(pz).add(yo.mul(qz));
+                DoubleVector distance = dx.mul(dx).add(dy.mul(dy)).add(dz.mul(dz)).sqrt();
+                if (tail == null) {
+                    distance.intoArray(fromEarthOut, k);
+                } else {
+                    distance.intoArray(fromEarthOut, k, tail);
+                }
+            }
+        }
+    }
+}
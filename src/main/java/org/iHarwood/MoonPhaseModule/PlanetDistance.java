@@ -1,21 +1,33 @@
 package org.iHarwood.MoonPhaseModule;
 
+import java.time.Instant;
 import java.time.Year;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Generic orbital distance calculator for any planet (or dwarf planet).
  *
- * Uses mean-anomaly-based orbital mechanics:
- *   - Heliocentric radius: r = a * (1 - e * cos(M))
- *   - Earth-planet distance via law of cosines in the ecliptic plane
+ * Uses Keplerian orbits (see {@link KeplerEngine}):
+ *   - Heliocentric radius: r = a * (1 - e * cos(E)), E from Kepler's equation
+ *   - Earth-planet distance as the length of the difference of the 3-D position vectors
+ *
+ * Date-based lookups inside 1900-2100 are served from piecewise Chebyshev tables
+ * fitted lazily to the same model (see {@link ChebyshevSeries}); the {@code ...At(double)}
+ * methods always evaluate the orbital model directly.
  *
  * This is an approximation for display purposes only.
  */
 public final class PlanetDistance {
 
-    private static final double W_EARTH_DEG = 102.93735;
+    /** Earth's longitude of perihelion (degrees). */
+    static final double W_EARTH_DEG = 102.93735;
+
+    /** Derivative sampling step for min/max search; well under half Mercury's ~116-day synodic period. */
+    private static final double MIN_MAX_GRID_STEP_DAYS = 10.0;
 
     private final String name;
     private final double semiMajorAxisAu;
@@ -23,9 +35,31 @@ public final class PlanetDistance {
     private final double meanAnomalyJ2000Deg;
     private final double meanMotionDegPerDay;
     private final double longitudeOfPerihelionDeg;
+    private final double inclinationDeg;
+    private final double longitudeOfAscendingNodeDeg;
+
+    /** Chebyshev degree for the distance tables; with the segment lengths below the fit error is below 1e-10 AU. */
+    private static final int CHEBYSHEV_DEGREE = 10;
 
     /**
-     * Creates a planet distance calculator with the given orbital elements.
+     * Segments per shortest period in the tabulated curve. The distance from Earth needs
+     * finer segments: it bends sharply around close approach.
+     */
+    private static final double HELIOCENTRIC_SEGMENTS_PER_PERIOD = 8.0;
+    private static final double DISTANCE_SEGMENTS_PER_PERIOD = 16.0;
+
+    /** Clamp for the segment length, so extreme custom orbits still give a sane table. */
+    private static final double MIN_SEGMENT_DAYS = 0.5;
+    private static final double MAX_SEGMENT_DAYS = 366.0;
+
+    private final Map<Integer, double[]> minMaxByYear = new ConcurrentHashMap<>();
+
+    private volatile ChebyshevSeries heliocentricTable;
+    private volatile ChebyshevSeries distanceTable;
+    private volatile KeplerEngine orbit;
+
+    /**
+     * Creates a planet distance calculator for an orbit in the ecliptic plane.
      *
      * @param name                     human-readable name (e.g. "Mars")
      * @param semiMajorAxisAu          semi-major axis in AU
@@ -37,67 +71,193 @@ public final class PlanetDistance {
     public PlanetDistance(String name, double semiMajorAxisAu, double eccentricity,
                           double meanAnomalyJ2000Deg, double meanMotionDegPerDay,
                           double longitudeOfPerihelionDeg) {
+        this(name, semiMajorAxisAu, eccentricity, meanAnomalyJ2000Deg, meanMotionDegPerDay,
+                longitudeOfPerihelionDeg, 0.0, 0.0);
+    }
+
+    /**
+     * Creates a planet distance calculator with the given orbital elements.
+     *
+     * @param name                        human-readable name (e.g. "Mars")
+     * @param semiMajorAxisAu             semi-major axis in AU
+     * @param eccentricity                orbital eccentricity, in [0, 1)
+     * @param meanAnomalyJ2000Deg         mean anomaly at J2000 epoch (degrees)
+     * @param meanMotionDegPerDay         mean motion (degrees per day)
+     * @param longitudeOfPerihelionDeg    longitude of perihelion (degrees)
+     * @param inclinationDeg              inclination to the ecliptic (degrees)
+     * @param longitudeOfAscendingNodeDeg longitude of the ascending node (degrees)
+     */
+    public PlanetDistance(String name, double semiMajorAxisAu, double eccentricity,
+                          double meanAnomalyJ2000Deg, double meanMotionDegPerDay,
+                          double longitudeOfPerihelionDeg, double inclinationDeg,
+                          double longitudeOfAscendingNodeDeg) {
+        if (!(eccentricity >= 0.0 && eccentricity < 1.0)) {
+            throw new IllegalArgumentException("Eccentricity must be in [0, 1): " + eccentricity);
+        }
         this.name = name;
         this.semiMajorAxisAu = semiMajorAxisAu;
         this.eccentricity = eccentricity;
         this.meanAnomalyJ2000Deg = meanAnomalyJ2000Deg;
         this.meanMotionDegPerDay = meanMotionDegPerDay;
         this.longitudeOfPerihelionDeg = longitudeOfPerihelionDeg;
+        this.inclinationDeg = inclinationDeg;
+        this.longitudeOfAscendingNodeDeg = longitudeOfAscendingNodeDeg;
     }
 
     public String getName() {
         return name;
     }
 
+    double semiMajorAxisAu() {
+        return semiMajorAxisAu;
+    }
+
+    double eccentricity() {
+        return eccentricity;
+    }
+
+    double meanAnomalyJ2000Deg() {
+        return meanAnomalyJ2000Deg;
+    }
+
+    double meanMotionDegPerDay() {
+        return meanMotionDegPerDay;
+    }
+
+    double longitudeOfPerihelionDeg() {
+        return longitudeOfPerihelionDeg;
+    }
+
+    double inclinationDeg() {
+        return inclinationDeg;
+    }
+
+    double longitudeOfAscendingNodeDeg() {
+        return longitudeOfAscendingNodeDeg;
+    }
+
     /**
      * Heliocentric distance (AU) at the given moment.
      */
     public double heliocentricDistanceAU(ZonedDateTime zdt) {
-        double d = DateUtils.daysSinceJ2000(zdt);
-        double mDeg = DateUtils.normalizeAngle(meanAnomalyJ2000Deg + meanMotionDegPerDay * d);
-        return semiMajorAxisAu * (1.0 - eccentricity * Math.cos(Math.toRadians(mDeg)));
+        return heliocentricDistanceAUTabulated(DateUtils.daysSinceJ2000(zdt));
+    }
+
+    /**
+     * Heliocentric distance (AU) at the given instant.
+     */
+    public double heliocentricDistanceAU(Instant instant) {
+        return heliocentricDistanceAUTabulated(DateUtils.daysSinceJ2000(instant));
+    }
+
+    /** Heliocentric distance from the Chebyshev table, falling back to the model outside its span. */
+    double heliocentricDistanceAUTabulated(double d) {
+        ChebyshevSeries table = heliocentricTable();
+        return table.covers(d) ? table.value(d) : heliocentricDistanceAUAt(d);
+    }
+
+    /**
+     * Heliocentric distance (AU) at the given number of days since J2000.0.
+     */
+    public double heliocentricDistanceAUAt(double daysSinceJ2000) {
+        return orbit().heliocentricDistanceAt(0, daysSinceJ2000);
+    }
+
+    /**
+     * Heliocentric distance (AU) taken from a shared per-instant context.
+     */
+    public double heliocentricDistanceAU(EphemerisContext ctx) {
+        return ctx.heliocentricDistanceAU(this);
+    }
+
+    /** Mean anomaly (degrees, not normalised) at the given number of days since J2000.0. */
+    double meanAnomalyDeg(double daysSinceJ2000) {
+        return meanAnomalyJ2000Deg + meanMotionDegPerDay * daysSinceJ2000;
     }
 
     /**
      * Heliocentric distance (AU) right now (UTC).
      */
     public double heliocentricDistanceAUNow() {
-        return heliocentricDistanceAU(ZonedDateTime.now(ZoneOffset.UTC));
+        return heliocentricDistanceAU(Instant.now());
     }
 
     /**
-     * Distance from Earth (AU) at the given moment using law of cosines.
+     * Distance from Earth (AU) at the given moment.
      */
     public double distanceAU(ZonedDateTime zdt) {
-        double d = DateUtils.daysSinceJ2000(zdt);
+        return distanceAUTabulated(DateUtils.daysSinceJ2000(zdt));
+    }
+
+    /**
+     * Distance from Earth (AU) at the given instant.
+     */
+    public double distanceAU(Instant instant) {
+        return distanceAUTabulated(DateUtils.daysSinceJ2000(instant));
+    }
+
+    /** Distance from Earth from the Chebyshev table, falling back to the model outside its span. */
+    double distanceAUTabulated(double d) {
+        ChebyshevSeries table = distanceTable();
+        return table.covers(d) ? table.value(d) : distanceAUAt(d);
+    }
 
-        // Earth's heliocentric radius (AU)
-        double rEarth = SunDistance.distanceAU(zdt);
+    /**
+     * Distance from Earth (AU) at the given number of days since J2000.0.
+     */
+    public double distanceAUAt(double d) {
+        return orbit().distanceFromEarthAt(0, d);
+    }
 
-        // Earth's mean anomaly and longitude
-        double mEarthDeg = DateUtils.normalizeAngle(
-                DateUtils.EARTH_MEAN_ANOMALY_J2000_DEG + DateUtils.EARTH_MEAN_MOTION_DEG_PER_DAY * d);
-        double longEarthDeg = mEarthDeg + W_EARTH_DEG;
+    /**
+     * Distance from Earth (AU) taken from a shared per-instant context.
+     */
+    public double distanceAU(EphemerisContext ctx) {
+        return ctx.distanceFromEarthAU(this);
+    }
 
-        // Planet mean anomaly and approximate radius
-        double mPlanetDeg = DateUtils.normalizeAngle(meanAnomalyJ2000Deg + meanMotionDegPerDay * d);
-        double rPlanet = semiMajorAxisAu * (1.0 - eccentricity * Math.cos(Math.toRadians(mPlanetDeg)));
-        double longPlanetDeg = mPlanetDeg + longitudeOfPerihelionDeg;
+    /**
+     * Batch form: fills {@code out[i]} with the distance from Earth at {@code daysSinceJ2000[i]}.
+     * No objects are allocated per sample.
+     */
+    public void distancesAU(double[] daysSinceJ2000, double[] out) {
+        DateUtils.checkBatchLength(daysSinceJ2000.length, out);
+        for (int i = 0; i < daysSinceJ2000.length; i++) {
+            out[i] = distanceAUAt(daysSinceJ2000[i]);
+        }
+    }
 
-        double longEarthRad = Math.toRadians(longEarthDeg);
-        double longPlanetRad = Math.toRadians(longPlanetDeg);
+    /**
+     * Batch form: fills {@code out[0..count)} with the distance from Earth at
+     * {@code startDay + i * stepDays} (days since J2000.0). Registered planets use the
+     * {@link PlanetBatch} range kernel.
+     */
+    public void distancesAU(double startDay, double stepDays, int count, double[] out) {
+        int index = Planets.indexOf(this);
+        if (index >= 0) {
+            PlanetBatch.ALL.distancesAt(index, startDay, stepDays, count, null, out);
+        } else {
+            orbit().distancesAt(0, startDay, stepDays, count, null, out);
+        }
+    }
 
-        // Distance using law of cosines in the ecliptic plane
-        double delta = Math.abs(longPlanetRad - longEarthRad);
-        return Math.sqrt(rEarth * rEarth + rPlanet * rPlanet
-                - 2.0 * rEarth * rPlanet * Math.cos(delta));
+    /**
+     * Batch form of {@link #heliocentricDistanceAUAt(double)} over an evenly spaced range.
+     */
+    public void heliocentricDistancesAU(double startDay, double stepDays, int count, double[] out) {
+        int index = Planets.indexOf(this);
+        if (index >= 0) {
+            PlanetBatch.ALL.distancesAt(index, startDay, stepDays, count, out, null);
+        } else {
+            orbit().distancesAt(0, startDay, stepDays, count, out, null);
+        }
     }
 
     /**
      * Distance from Earth (AU) right now (UTC).
      */
     public double distanceAUNow() {
-        return distanceAU(ZonedDateTime.now(ZoneOffset.UTC));
+        return distanceAU(Instant.now());
     }
 
     /**
@@ -108,18 +268,74 @@ public final class PlanetDistance {
     }
 
     /**
-     * Min/max distance from Earth (AU) over the year containing the given date.
+     * Min/max distance from Earth (AU) over the calendar year containing the given date.
+     * Found by a bracketed root search on the distance derivative and memoised per year.
      */
     public double[] minMaxDistanceAU(ZonedDateTime zdt) {
-        ZonedDateTime start = zdt.withHour(0).withMinute(0).withSecond(0).withNano(0);
-        int daysInYear = Year.of(start.getYear()).length();
-        double min = Double.POSITIVE_INFINITY;
-        double max = Double.NEGATIVE_INFINITY;
-        for (int i = 0; i < daysInYear; i++) {
-            double d = distanceAU(start.plusDays(i));
-            if (d < min) min = d;
-            if (d > max) max = d;
+        int year = zdt.withZoneSameInstant(ZoneOffset.UTC).getYear();
+        return minMaxByYear.computeIfAbsent(year, this::computeMinMaxForYear).clone();
+    }
+
+    private double[] computeMinMaxForYear(int year) {
+        double startDay = DateUtils.daysSinceJ2000(ZonedDateTime.of(year, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+        double endDay = startDay + Year.of(year).length();
+        return ExtremumFinder.minMax(this::distanceAUAt, startDay, endDay, MIN_MAX_GRID_STEP_DAYS);
+    }
+
+    ChebyshevSeries heliocentricTable() {
+        ChebyshevSeries table = heliocentricTable;
+        if (table == null) {
+            synchronized (this) {
+                table = heliocentricTable;
+                if (table == null) {
+                    table = ChebyshevSeries.fit(this::heliocentricDistanceAUAt,
+                            ChebyshevSeries.TABLE_START_DAY, ChebyshevSeries.TABLE_END_DAY,
+                            segmentDaysFor(orbitalPeriodDays() / HELIOCENTRIC_SEGMENTS_PER_PERIOD), CHEBYSHEV_DEGREE);
+                    heliocentricTable = table;
+                }
+            }
+        }
+        return table;
+    }
+
+    ChebyshevSeries distanceTable() {
+        ChebyshevSeries table = distanceTable;
+        if (table == null) {
+            synchronized (this) {
+                table = distanceTable;
+                if (table == null) {
+                    // Earth's own motion puts a yearly term in the curve as well as the synodic one
+                    double synodicDays = 360.0 / Math.abs(meanMotionDegPerDay - DateUtils.EARTH_MEAN_MOTION_DEG_PER_DAY);
+                    double shortestPeriod = Math.min(orbitalPeriodDays(), Math.min(synodicDays, 360.0 / DateUtils.EARTH_MEAN_MOTION_DEG_PER_DAY));
+                    table = ChebyshevSeries.fit(this::distanceAUAt,
+                            ChebyshevSeries.TABLE_START_DAY, ChebyshevSeries.TABLE_END_DAY,
+                            segmentDaysFor(shortestPeriod / DISTANCE_SEGMENTS_PER_PERIOD), CHEBYSHEV_DEGREE);
+                    distanceTable = table;
+                }
+            }
         }
-        return new double[]{min, max};
+        return table;
+    }
+
+    /**
+     * Single-body engine behind the {@code ...At(double)} methods. Built on first use rather
+     * than in the constructor: {@link KeplerEngine#ALL} reads {@link Planets#ALL}, which is
+     * itself being built from this constructor. Racing threads build equal engines.
+     */
+    private KeplerEngine orbit() {
+        KeplerEngine engine = orbit;
+        if (engine == null) {
+            engine = new KeplerEngine(List.of(this));
+            orbit = engine;
+        }
+        return engine;
+    }
+
+    private double orbitalPeriodDays() {
+        return 360.0 / Math.abs(meanMotionDegPerDay);
+    }
+
+    private static double segmentDaysFor(double idealDays) {
+        return Math.max(MIN_SEGMENT_DAYS, Math.min(MAX_SEGMENT_DAYS, idealDays));
     }
 }
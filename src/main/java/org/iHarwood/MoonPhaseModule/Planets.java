@@ -1,34 +1,61 @@
 package org.iHarwood.MoonPhaseModule;
 
+import java.util.List;
+
 /**
  * Registry of all planetary orbital calculators.
  * Replaces the individual MercuryDistance, VenusDistance, MarsDistance, etc. classes
  * with a single parameterised {@link PlanetDistance} per body.
+ *
+ * Elements are J2000 mean elements; inclination and longitude of the ascending node are
+ * from the JPL approximate planetary positions table (Standish).
  */
 public final class Planets {
     private Planets() {}
 
     public static final PlanetDistance MERCURY = new PlanetDistance(
-            "Mercury", 0.38709927, 0.20563593, 174.7947670, 4.09233445, 29.12427);
+            "Mercury", 0.38709927, 0.20563593, 174.7947670, 4.09233445, 77.45779628,
+            7.00497902, 48.33076593);
 
     public static final PlanetDistance VENUS = new PlanetDistance(
-            "Venus", 0.72333566, 0.00677672, 50.37663, 1.60213034, 54.85229);
+            "Venus", 0.72333566, 0.00677672, 50.37663, 1.60213034, 131.60246718,
+            3.39467605, 76.67984255);
 
     public static final PlanetDistance MARS = new PlanetDistance(
-            "Mars", 1.523679, 0.0934, 19.3870, 0.5240207766, 336.04084);
+            "Mars", 1.523679, 0.0934, 19.3870, 0.5240207766, 336.04084,
+            1.84969142, 49.55953891);
 
     public static final PlanetDistance JUPITER = new PlanetDistance(
-            "Jupiter", 5.2026, 0.0489, 20.0202, 0.0831294, 14.75385);
+            "Jupiter", 5.2026, 0.0489, 20.0202, 0.0831294, 14.75385,
+            1.30439695, 100.47390909);
 
     public static final PlanetDistance SATURN = new PlanetDistance(
-            "Saturn", 9.5549, 0.0557, 317.0207, 0.0334442, 92.43194);
+            "Saturn", 9.5549, 0.0557, 317.0207, 0.0334442, 92.43194,
+            2.48599187, 113.66242448);
 
     public static final PlanetDistance URANUS = new PlanetDistance(
-            "Uranus", 19.18916464, 0.04716771, 142.238599, 0.01176904, 96.93735);
+            "Uranus", 19.18916464, 0.04716771, 142.238599, 0.01176904, 170.95427630,
+            0.77263783, 74.01692503);
 
     public static final PlanetDistance NEPTUNE = new PlanetDistance(
-            "Neptune", 30.06992276, 0.00858587, 256.228347, 0.00598103, 276.33630);
+            "Neptune", 30.06992276, 0.00858587, 256.228347, 0.00598103, 44.96476227,
+            1.77004347, 131.78422574);
 
     public static final PlanetDistance PLUTO = new PlanetDistance(
-            "Pluto", 39.48211675, 0.24882730, 14.53, 0.003975, 224.0);
+            "Pluto", 39.48211675, 0.24882730, 14.53, 0.003975, 224.0,
+            17.14001206, 110.30393684);
+
+    /** All bodies, ordered by distance from the Sun. */
+    public static final List<PlanetDistance> ALL = List.of(
+            MERCURY, VENUS, MARS, JUPITER, SATURN, URANUS, NEPTUNE, PLUTO);
+
+    /**
+     * Position of the given body in {@link #ALL}, or -1 if it is not a registered body.
+     */
+    public static int indexOf(PlanetDistance planet) {
+        for (int i = 0; i < ALL.size(); i++) {
+            if (ALL.get(i) == planet) return i;
+        }
+        return -1;
+    }
 }
@@ -0,0 +1,299 @@
+package org.iHarwood.MoonPhaseModule;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Sunrise, sunset and the civil, nautical and astronomical twilight boundaries for one
+ * day and place, from the NOAA solar position algorithm (the Meeus-based equations
+ * behind the NOAA Solar Calculator).
+ *
+ * One evaluation yields every boundary. The Sun's declination and equation of time are
+ * computed at solar noon and half a day either side, and a quadratic through those
+ * three points stands in for them anywhere in the day (error well under a second).
+ * Each boundary then starts from noon and is refined against the interpolated Sun
+ * until it moves by less than a second, so the eight crossings cost a few square roots
+ * and arc-cosines each instead of a full solar position per iteration.
+ *
+ * Results are minutes after 00:00 UTC of the date (they can fall outside 0..1440 far
+ * from Greenwich) or Instants; formatting is left to the caller. Accuracy is about a
+ * minute below the polar circles, limited by refraction.
+ */
+public final class SolarDay {
+    private SolarDay() {}
+
+    /** Offsets of each value within a {@link #STRIDE}-long result, in time order. */
+    public static final int ASTRONOMICAL_DAWN = 0;
+    public static final int NAUTICAL_DAWN = 1;
+    public static final int CIVIL_DAWN = 2;
+    public static final int SUNRISE = 3;
+    public static final int SOLAR_NOON = 4;
+    public static final int SUNSET = 5;
+    public static final int CIVIL_DUSK = 6;
+    public static final int NAUTICAL_DUSK = 7;
+    public static final int ASTRONOMICAL_DUSK = 8;
+    /** Minutes the Sun spends above the horizon: 0 in polar night, 1440 under the midnight sun. */
+    public static final int DAYLIGHT = 9;
+    /** Geometric altitude (degrees) of the Sun's centre at upper and lower culmination. */
+    public static final int NOON_ALTITUDE = 10;
+    public static final int MIDNIGHT_ALTITUDE = 11;
+    public static final int STRIDE = 12;
+
+    /** One day's events; a boundary is null when the Sun does not cross it that day. */
+    public record Times(Instant astronomicalDawn, Instant nauticalDawn, Instant civilDawn, Instant sunrise,
+                        Instant solarNoon,
+                        Instant sunset, Instant civilDusk, Instant nauticalDusk, Instant astronomicalDusk,
+                        double daylightMinutes) {}
+
+    // Zenith distance of the Sun's centre at each dawn boundary; dusk mirrors it at
+    // SOLAR_NOON + (SOLAR_NOON - dawn). Sunrise is 90 deg plus 34' refraction and 16' semi-diameter.
+    private static final double[] DAWN_ZENITH_DEG = {108.0, 102.0, 96.0, 90.833};
+    private static final double[] COS_DAWN_ZENITH = new double[DAWN_ZENITH_DEG.length];
+    static {
+        for (int i = 0; i < DAWN_ZENITH_DEG.length; i++) {
+            COS_DAWN_ZENITH[i] = Math.cos(Math.toRadians(DAWN_ZENITH_DEG[i]));
+        }
+    }
+
+    private static final double MINUTES_PER_DAY = 1440.0;
+    private static final double HALF_DAY_MINUTES = 720.0;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final double UNIX_EPOCH_JD = 2440587.5;
+    private static final double CONVERGED_MINUTES = 1.0 / 60.0;
+    private static final int MAX_ITERATIONS = 8;
+
+    // Work buffer: declination and equation of time at three nodes, then the quadratic
+    // coefficients {value at centre, first, second} of each
+    private static final int BEFORE = 0;
+    private static final int CENTRE = 2;
+    private static final int AFTER = 4;
+    private static final int DECLINATION_FIT = 0;
+    private static final int EQUATION_OF_TIME_FIT = 3;
+    static final int WORK_SIZE = 6;
+
+    /**
+     * Every boundary, solar noon, daylight and the culmination altitudes of {@code date}
+     * (times in minutes after 00:00 UTC), written to {@code out[offset..offset+STRIDE-1]}.
+     * A boundary the Sun does not cross that day is NaN.
+     *
+     * @param longitudeDeg degrees east (negative = west)
+     */
+    public static void eventsAt(LocalDate date, double latitudeDeg, double longitudeDeg, double[] out, int offset) {
+        fill(julianDayAtMidnight(date), latitudeDeg, longitudeDeg, out, offset, new double[WORK_SIZE]);
+    }
+
+    /**
+     * {@link #eventsAt} for {@code days} consecutive dates from {@code start}, in one loop:
+     * day {@code i} occupies {@code out[STRIDE*i ..]}.
+     */
+    public static void eventsFor(LocalDate start, int days, double latitudeDeg, double longitudeDeg, double[] out) {
+        DateUtils.checkBatchLength(STRIDE * days, out);
+        double jd = julianDayAtMidnight(start);
+        double[] work = new double[WORK_SIZE];
+        for (int i = 0; i < days; i++) {
+            fill(jd + i, latitudeDeg, longitudeDeg, out, STRIDE * i, work);
+        }
+    }
+
+    /** {@link #eventsAt} for a whole calendar year; returns {@code STRIDE} values per day. */
+    public static double[] eventsForYear(int year, double latitudeDeg, double longitudeDeg) {
+        LocalDate start = LocalDate.of(year, 1, 1);
+        int days = start.lengthOfYear();
+        double[] out = new double[STRIDE * days];
+        eventsFor(start, days, latitudeDeg, longitudeDeg, out);
+        return out;
+    }
+
+    /** The events of {@code date} as Instants. */
+    public static Times timesAt(LocalDate date, double latitudeDeg, double longitudeDeg) {
+        double[] out = new double[STRIDE];
+        eventsAt(date, latitudeDeg, longitudeDeg, out, 0);
+        return new Times(instantAt(date, out[ASTRONOMICAL_DAWN]), instantAt(date, out[NAUTICAL_DAWN]),
+                instantAt(date, out[CIVIL_DAWN]), instantAt(date, out[SUNRISE]),
+                instantAt(date, out[SOLAR_NOON]),
+                instantAt(date, out[SUNSET]), instantAt(date, out[CIVIL_DUSK]),
+                instantAt(date, out[NAUTICAL_DUSK]), instantAt(date, out[ASTRONOMICAL_DUSK]),
+                out[DAYLIGHT]);
+    }
+
+    /** Instant {@code minutes} after 00:00 UTC of {@code date}, or null for NaN. */
+    public static Instant instantAt(LocalDate date, double minutes) {
+        if (Double.isNaN(minutes)) {
+            return null;
+        }
+        return Instant.ofEpochMilli(date.toEpochDay() * MILLIS_PER_DAY + Math.round(minutes * 60_000.0));
+    }
+
+    /**
+     * Altitude (degrees) of the Sun's centre at boundary {@code event}: -18, -12, -6 or
+     * -0.833 for the dawn/dusk pairs.
+     */
+    static double boundaryAltitudeDeg(int event) {
+        int dawn = event < SOLAR_NOON ? event : 2 * SOLAR_NOON - event;
+        return 90.0 - DAWN_ZENITH_DEG[dawn];
+    }
+
+    static void fill(double jdMidnight, double latitudeDeg, double longitudeDeg,
+                     double[] out, int offset, double[] work) {
+        double centre = fitSun(jdMidnight, longitudeDeg, work);
+        double noon = noonAt(longitudeDeg, centre, work);
+        double noonDecl = Math.toDegrees(interpolate(work, DECLINATION_FIT, (noon - centre) / HALF_DAY_MINUTES));
+        out[offset + SOLAR_NOON] = noon;
+        out[offset + NOON_ALTITUDE] = 90.0 - Math.abs(latitudeDeg - noonDecl);
+        out[offset + MIDNIGHT_ALTITUDE] = Math.abs(latitudeDeg + noonDecl) - 90.0;
+
+        double lat = Math.toRadians(latitudeDeg);
+        double sinLat = Math.sin(lat);
+        double cosLat = Math.cos(lat);
+        double rise = 0.0;
+        double set = 0.0;
+        for (int dawn = 0; dawn < DAWN_ZENITH_DEG.length; dawn++) {
+            int dusk = 2 * SOLAR_NOON - dawn;
+            double cosZenith = COS_DAWN_ZENITH[dawn];
+            rise = crossing(sinLat, cosLat, longitudeDeg, cosZenith, noon, centre, -1.0, work);
+            set = crossing(sinLat, cosLat, longitudeDeg, cosZenith, noon, centre, 1.0, work);
+            out[offset + dawn] = Double.isInfinite(rise) ? Double.NaN : rise;
+            out[offset + dusk] = Double.isInfinite(set) ? Double.NaN : set;
+        }
+        // The last pair is sunrise/sunset. An absent crossing is taken as half a day from
+        // noon (always up) or at noon (never up)
+        double from = rise == Double.POSITIVE_INFINITY ? noon - HALF_DAY_MINUTES : rise == Double.NEGATIVE_INFINITY ? noon : rise;
+        double to = set == Double.POSITIVE_INFINITY ? noon + HALF_DAY_MINUTES : set == Double.NEGATIVE_INFINITY ? noon : set;
+        out[offset + DAYLIGHT] = to - from;
+    }
+
+    /**
+     * Sunrise, sunset (minutes after 00:00 UTC, NaN if absent) and hours of daylight at one
+     * longitude for the latitudes whose sines and cosines are given. Row {@code i} goes to
+     * element {@code offset + i * stride} of each array. The Sun is fitted once for the
+     * whole column, and each crossing starts from the previous row's, so a cell costs only
+     * a couple of iterations of its two crossings.
+     */
+    static void fillColumn(double jdMidnight, double longitudeDeg, double[] sinLat, double[] cosLat,
+                           float[] sunrise, float[] sunset, float[] daylightHours, int offset, int stride,
+                           double[] work) {
+        double centre = fitSun(jdMidnight, longitudeDeg, work);
+        double noon = noonAt(longitudeDeg, centre, work);
+        double cosZenith = COS_DAWN_ZENITH[SUNRISE];
+        double lastRise = noon;
+        double lastSet = noon;
+        for (int i = 0, cell = offset; i < sinLat.length; i++, cell += stride) {
+            double rise = crossing(sinLat[i], cosLat[i], longitudeDeg, cosZenith, lastRise, centre, -1.0, work);
+            double set = crossing(sinLat[i], cosLat[i], longitudeDeg, cosZenith, lastSet, centre, 1.0, work);
+            // Absent crossings count as in fill: half a day from noon, or noon itself
+            double from = rise == Double.POSITIVE_INFINITY ? noon - HALF_DAY_MINUTES : rise == Double.NEGATIVE_INFINITY ? noon : rise;
+            double to = set == Double.POSITIVE_INFINITY ? noon + HALF_DAY_MINUTES : set == Double.NEGATIVE_INFINITY ? noon : set;
+            sunrise[cell] = Double.isInfinite(rise) ? Float.NaN : (float) rise;
+            sunset[cell] = Double.isInfinite(set) ? Float.NaN : (float) set;
+            daylightHours[cell] = (float) ((to - from) / 60.0);
+            lastRise = Double.isInfinite(rise) ? noon : rise;
+            lastSet = Double.isInfinite(set) ? noon : set;
+        }
+    }
+
+    /**
+     * Fits the Sun's declination and equation of time for the day at {@code longitudeDeg}
+     * into {@code work} and returns the centre of the fit (minutes after 00:00 UTC).
+     */
+    private static double fitSun(double jdMidnight, double longitudeDeg, double[] work) {
+        // Centre the fit on an estimate of solar noon
+        double centre = HALF_DAY_MINUTES - 4.0 * longitudeDeg;
+        sunAt(jdMidnight + centre / MINUTES_PER_DAY, work, CENTRE);
+        centre = HALF_DAY_MINUTES - 4.0 * longitudeDeg - work[CENTRE + 1];
+        sunAt(jdMidnight + centre / MINUTES_PER_DAY, work, CENTRE);
+        sunAt(jdMidnight + (centre - HALF_DAY_MINUTES) / MINUTES_PER_DAY, work, BEFORE);
+        sunAt(jdMidnight + (centre + HALF_DAY_MINUTES) / MINUTES_PER_DAY, work, AFTER);
+        fitQuadratics(work);
+        return centre;
+    }
+
+    /** Solar noon (minutes after 00:00 UTC) read off a fit made by {@link #fitSun}. */
+    private static double noonAt(double longitudeDeg, double centre, double[] work) {
+        double noon = HALF_DAY_MINUTES - 4.0 * longitudeDeg - work[EQUATION_OF_TIME_FIT];
+        return HALF_DAY_MINUTES - 4.0 * longitudeDeg - interpolate(work, EQUATION_OF_TIME_FIT, (noon - centre) / HALF_DAY_MINUTES);
+    }
+
+    /**
+     * Minutes after midnight UTC at which the Sun's centre crosses the zenith distance
+     * before ({@code side} -1) or after ({@code side} +1) noon, iterating from
+     * {@code start}. Positive infinity if it stays closer to the zenith all day, negative
+     * infinity if it never gets that close.
+     */
+    private static double crossing(double sinLat, double cosLat, double longitudeDeg, double cosZenith,
+                                   double start, double centre, double side, double[] work) {
+        double t = start;
+        for (int k = 0; k < MAX_ITERATIONS; k++) {
+            double x = (t - centre) / HALF_DAY_MINUTES;
+            double decl = interpolate(work, DECLINATION_FIT, x);
+            double cosH = (cosZenith - sinLat * Math.sin(decl)) / (cosLat * Math.cos(decl));
+            if (cosH > 1.0) {
+                return Double.NEGATIVE_INFINITY;
+            }
+            if (cosH < -1.0) {
+                return Double.POSITIVE_INFINITY;
+            }
+            double hourAngleDeg = Math.toDegrees(Math.acos(cosH));
+            double next = HALF_DAY_MINUTES - 4.0 * (longitudeDeg - side * hourAngleDeg)
+                    - interpolate(work, EQUATION_OF_TIME_FIT, x);
+            boolean converged = Math.abs(next - t) < CONVERGED_MINUTES;
+            t = next;
+            if (converged) {
+                break;
+            }
+        }
+        return t;
+    }
+
+    /** Replaces the node values in {@code work} with quadratic coefficients in x = (t - centre) / half day. */
+    private static void fitQuadratics(double[] work) {
+        double d0 = work[CENTRE];
+        double dMinus = work[BEFORE];
+        double dPlus = work[AFTER];
+        double e0 = work[CENTRE + 1];
+        double eMinus = work[BEFORE + 1];
+        double ePlus = work[AFTER + 1];
+        work[DECLINATION_FIT] = d0;
+        work[DECLINATION_FIT + 1] = 0.5 * (dPlus - dMinus);
+        work[DECLINATION_FIT + 2] = 0.5 * (dPlus + dMinus) - d0;
+        work[EQUATION_OF_TIME_FIT] = e0;
+        work[EQUATION_OF_TIME_FIT + 1] = 0.5 * (ePlus - eMinus);
+        work[EQUATION_OF_TIME_FIT + 2] = 0.5 * (ePlus + eMinus) - e0;
+    }
+
+    private static double interpolate(double[] work, int fit, double x) {
+        return work[fit] + x * (work[fit + 1] + x * work[fit + 2]);
+    }
+
+    /**
+     * Declination (radians) and equation of time (minutes) of the Sun at Julian Date
+     * {@code jd}, written to {@code sun[node]} and {@code sun[node + 1]}.
+     */
+    private static void sunAt(double jd, double[] sun, int node) {
+        double t = (jd - DateUtils.JULIAN_DATE_J2000) / 36525.0;
+        double l0 = 280.46646 + t * (36000.76983 + t * 0.0003032);
+        l0 = Math.toRadians(l0 - 360.0 * Math.floor(l0 / 360.0));
+        double m = Math.toRadians(357.52911 + t * (35999.05029 - 0.0001537 * t));
+        double e = 0.016708634 - t * (0.000042037 + 0.0000001267 * t);
+
+        double sinM = Math.sin(m);
+        double center = sinM * (1.914602 - t * (0.004817 + 0.000014 * t))
+                + Math.sin(2 * m) * (0.019993 - 0.000101 * t)
+                + Math.sin(3 * m) * 0.000289;
+        double omega = Math.toRadians(125.04 - 1934.136 * t);
+        double apparentLongitude = l0 + Math.toRadians(center - 0.00569 - 0.00478 * Math.sin(omega));
+
+        double meanObliquity = 23.0 + (26.0 + (21.448 - t * (46.815 + t * (0.00059 - t * 0.001813))) / 60.0) / 60.0;
+        double obliquity = Math.toRadians(meanObliquity + 0.00256 * Math.cos(omega));
+        sun[node] = Math.asin(Math.sin(obliquity) * Math.sin(apparentLongitude));
+
+        double y = Math.tan(obliquity / 2);
+        y *= y;
+        double eot = y * Math.sin(2 * l0) - 2 * e * sinM + 4 * e * y * sinM * Math.cos(2 * l0)
+                - 0.5 * y * y * Math.sin(4 * l0) - 1.25 * e * e * Math.sin(2 * m);
+        sun[node + 1] = 4.0 * Math.toDegrees(eot);
+    }
+
+    private static double julianDayAtMidnight(LocalDate date) {
+        return date.toEpochDay() + UNIX_EPOCH_JD;
+    }
+}
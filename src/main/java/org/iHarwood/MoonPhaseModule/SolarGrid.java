@@ -0,0 +1,247 @@
+package org.iHarwood.MoonPhaseModule;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serial;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Sunrise, sunset and day length over a whole-Earth latitude/longitude grid for one
+ * date, for drawing the day/night terminator and a daylight heatmap.
+ *
+ * Grid points run from latitude 90 down to -90 inclusive and from longitude -180
+ * eastwards in steps of {@code stepDeg}; at 1 degree that is 181 x 360 = 65,160 cells.
+ * Each longitude column shares one fit of the Sun ({@link SolarDay}), and the columns
+ * are split across the common fork-join pool, each task writing its own cells of three
+ * preallocated float arrays. A finished grid never changes, so the most recent ones are
+ * kept in an LRU cache keyed by date and step and bounded by bytes rather than entries:
+ * a 0.25 degree grid is about 12.5 MB, a 1 degree one about 780 KB.
+ *
+ * Binary form (little-endian), as served to the dashboard:
+ * <pre>
+ *   header  32 bytes: magic "MPGRID01", int version, int rows, int cols, float stepDeg,
+ *                     long epochDay of the date
+ *   planes  rows x cols floats each, row-major from the north-west corner:
+ *           daylight hours, then sunrise and sunset in minutes after 00:00 UTC
+ * </pre>
+ * Sunrise and sunset are NaN where the Sun does not cross the horizon that day; the
+ * daylight plane (0 or 24) tells polar night from midnight sun.
+ */
+public final class SolarGrid {
+
+    public static final double MIN_STEP_DEG = 0.25;
+    public static final double MAX_STEP_DEG = 90.0;
+    public static final int HEADER_BYTES = 32;
+
+    private static final byte[] MAGIC = "MPGRID01".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 1;
+    /** Room for one 0.25 degree grid, or about twenty 1 degree ones. */
+    private static final long CACHE_MAX_BYTES = 16L * 1024 * 1024;
+    private static final int COLUMNS_PER_TASK = 8;
+    private static final int WRITE_CHUNK_BYTES = 64 * 1024;
+    private static final double UNIX_EPOCH_JD = 2440587.5;
+
+    private record Key(LocalDate date, double stepDeg) {}
+
+    /** Access-ordered, so the eldest entry is the least recently used; guarded by itself. */
+    private static final Map<Key, SolarGrid> CACHE = new LinkedHashMap<>(16, 0.75f, true);
+    private static long cachedBytes;
+
+    private final LocalDate date;
+    private final double stepDeg;
+    private final int rows;
+    private final int cols;
+    private final float[] daylightHours;
+    private final float[] sunrise;
+    private final float[] sunset;
+
+    private SolarGrid(LocalDate date, double stepDeg, int rows, int cols) {
+        this.date = date;
+        this.stepDeg = stepDeg;
+        this.rows = rows;
+        this.cols = cols;
+        int cells = rows * cols;
+        this.daylightHours = new float[cells];
+        this.sunrise = new float[cells];
+        this.sunset = new float[cells];
+    }
+
+    /**
+     * The grid for {@code date} at {@code stepDeg} spacing, from the cache if it was
+     * computed recently.
+     *
+     * @throws IllegalArgumentException unless the step lies in
+     *         {@link #MIN_STEP_DEG}..{@link #MAX_STEP_DEG} and divides 180 degrees exactly
+     */
+    public static SolarGrid forDate(LocalDate date, double stepDeg) {
+        Key key = new Key(date, stepDeg);
+        synchronized (CACHE) {
+            SolarGrid cached = CACHE.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        // Computed outside the lock so a cold date does not stall readers of cached ones;
+        // two threads racing on the same key both compute, and the first stored wins
+        SolarGrid grid = compute(date, stepDeg);
+        synchronized (CACHE) {
+            SolarGrid raced = CACHE.putIfAbsent(key, grid);
+            if (raced != null) {
+                return raced;
+            }
+            cachedBytes += grid.binaryLength();
+            // Every allowed step fits the budget, so the new grid itself is never evicted
+            Iterator<SolarGrid> eldest = CACHE.values().iterator();
+            while (cachedBytes > CACHE_MAX_BYTES) {
+                cachedBytes -= eldest.next().binaryLength();
+                eldest.remove();
+            }
+            return grid;
+        }
+    }
+
+    /** Computes a grid without consulting or filling the cache. */
+    static SolarGrid compute(LocalDate date, double stepDeg) {
+        if (!(stepDeg >= MIN_STEP_DEG && stepDeg <= MAX_STEP_DEG)) {
+            throw new IllegalArgumentException(
+                    "Grid step " + stepDeg + " outside " + MIN_STEP_DEG + ".." + MAX_STEP_DEG + " degrees");
+        }
+        long halfTurns = Math.round(180.0 / stepDeg);
+        if (Math.abs(halfTurns * stepDeg - 180.0) > 1e-9) {
+            throw new IllegalArgumentException("Grid step " + stepDeg + " does not divide 180 degrees");
+        }
+        SolarGrid grid = new SolarGrid(date, stepDeg, (int) halfTurns + 1, 2 * (int) halfTurns);
+        // Every column has the same latitudes
+        double[] sinLat = new double[grid.rows];
+        double[] cosLat = new double[grid.rows];
+        for (int row = 0; row < grid.rows; row++) {
+            double lat = Math.toRadians(grid.latitudeDeg(row));
+            sinLat[row] = Math.sin(lat);
+            cosLat[row] = Math.cos(lat);
+        }
+        ForkJoinPool.commonPool().invoke(new Columns(date.toEpochDay() + UNIX_EPOCH_JD, stepDeg, sinLat, cosLat,
+                grid.sunrise, grid.sunset, grid.daylightHours, grid.cols, 0, grid.cols));
+        return grid;
+    }
+
+    /** Fills columns [from, to), halving the range until it is small enough to run. */
+    private static final class Columns extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final double jdMidnight;
+        private final double stepDeg;
+        private final double[] sinLat;
+        private final double[] cosLat;
+        private final float[] sunrise;
+        private final float[] sunset;
+        private final float[] daylightHours;
+        private final int cols;
+        private final int from;
+        private final int to;
+
+        Columns(double jdMidnight, double stepDeg, double[] sinLat, double[] cosLat,
+                float[] sunrise, float[] sunset, float[] daylightHours, int cols, int from, int to) {
+            this.jdMidnight = jdMidnight;
+            this.stepDeg = stepDeg;
+            this.sinLat = sinLat;
+            this.cosLat = cosLat;
+            this.sunrise = sunrise;
+            this.sunset = sunset;
+            this.daylightHours = daylightHours;
+            this.cols = cols;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > COLUMNS_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Columns(jdMidnight, stepDeg, sinLat, cosLat, sunrise, sunset, daylightHours, cols, from, mid),
+                        new Columns(jdMidnight, stepDeg, sinLat, cosLat, sunrise, sunset, daylightHours, cols, mid, to));
+                return;
+            }
+            double[] work = new double[SolarDay.WORK_SIZE];
+            for (int col = from; col < to; col++) {
+                // As longitudeDeg(col)
+                SolarDay.fillColumn(jdMidnight, -180.0 + col * stepDeg, sinLat, cosLat,
+                        sunrise, sunset, daylightHours, col, cols, work);
+            }
+        }
+    }
+
+    public LocalDate date() { return date; }
+    public double stepDeg() { return stepDeg; }
+    public int rows() { return rows; }
+    public int cols() { return cols; }
+
+    /** Latitude of {@code row}: 90 for row 0, decreasing southwards. */
+    public double latitudeDeg(int row) {
+        return 90.0 - row * stepDeg;
+    }
+
+    /** Longitude of {@code col}: -180 for column 0, increasing eastwards. */
+    public double longitudeDeg(int col) {
+        return -180.0 + col * stepDeg;
+    }
+
+    /** Hours the Sun is above the horizon: 0 in polar night, 24 under the midnight sun. */
+    public float daylightHours(int row, int col) {
+        return daylightHours[row * cols + col];
+    }
+
+    /** Sunrise in minutes after 00:00 UTC of the date, or NaN if the Sun does not rise. */
+    public float sunriseMinutes(int row, int col) {
+        return sunrise[row * cols + col];
+    }
+
+    /** Sunset in minutes after 00:00 UTC of the date, or NaN if the Sun does not set. */
+    public float sunsetMinutes(int row, int col) {
+        return sunset[row * cols + col];
+    }
+
+    /** Length in bytes of {@link #writeTo}'s output. */
+    public long binaryLength() {
+        return HEADER_BYTES + 3L * Float.BYTES * rows * cols;
+    }
+
+    /** Writes the binary form described in the class comment. Does not close {@code out}. */
+    public void writeTo(OutputStream out) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(WRITE_CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buf.put(MAGIC)
+                .putInt(VERSION)
+                .putInt(rows)
+                .putInt(cols)
+                .putFloat((float) stepDeg)
+                .putLong(date.toEpochDay());
+        writePlane(daylightHours, buf, out);
+        writePlane(sunrise, buf, out);
+        writePlane(sunset, buf, out);
+        out.write(buf.array(), 0, buf.position());
+    }
+
+    private static void writePlane(float[] plane, ByteBuffer buf, OutputStream out) throws IOException {
+        int i = 0;
+        while (i < plane.length) {
+            int n = Math.min(buf.remaining() / Float.BYTES, plane.length - i);
+            if (n == 0) {
+                out.write(buf.array(), 0, buf.position());
+                buf.clear();
+                continue;
+            }
+            // Bulk copy through a float view, which inherits the little-endian order
+            buf.asFloatBuffer().put(plane, i, n);
+            buf.position(buf.position() + n * Float.BYTES);
+            i += n;
+        }
+    }
+}
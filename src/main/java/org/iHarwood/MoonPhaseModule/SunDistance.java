@@ -1,15 +1,19 @@
 // java
 package org.iHarwood.MoonPhaseModule;
 
+import java.time.Instant;
 import java.time.Year;
 import java.time.ZonedDateTime;
 import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  Simple, fast approximation of Sun-Earth distance (AU).
  Uses JD relative to J2000.0 and an approximate mean-anomaly-based formula:
    r ~ 1.00014 - 0.01671*cos(M) - 0.00014*cos(2M)
  This is accurate to a few 1e-4 AU which is fine for display/CLI purposes.
+ Date-based lookups inside 1900-2100 are served from a Chebyshev table fitted to this formula.
  * astronomical unit (AU)
  * https://en.wikipedia.org/wiki/Astronomical_unit
 **/
@@ -17,36 +21,124 @@ public final class SunDistance {
     private SunDistance() {}
 
     // Orbital constants for Earth's elliptical orbit
-    private static final double EARTH_ORBIT_MEAN_AU      = 1.00014;
-    private static final double EARTH_ORBIT_ECCENTRICITY = 0.01671;
-    private static final double EARTH_ORBIT_CORRECTION   = 0.00014;
+    static final double EARTH_ORBIT_MEAN_AU      = 1.00014;
+    static final double EARTH_ORBIT_ECCENTRICITY = 0.01671;
+    static final double EARTH_ORBIT_CORRECTION   = 0.00014;
 
     public static double distanceAUNow() {
-        return distanceAU(ZonedDateTime.now(ZoneOffset.UTC));
+        return distanceAU(Instant.now());
     }
 
     public static double distanceAU(ZonedDateTime zdt) {
-        double d = DateUtils.daysSinceJ2000(zdt);
-        double Mdeg = DateUtils.normalizeAngle(DateUtils.EARTH_MEAN_ANOMALY_J2000_DEG + DateUtils.EARTH_MEAN_MOTION_DEG_PER_DAY * d);
-        double M = Math.toRadians(Mdeg);
-        double r = EARTH_ORBIT_MEAN_AU - EARTH_ORBIT_ECCENTRICITY * Math.cos(M) - EARTH_ORBIT_CORRECTION * Math.cos(2 * M);
-        return r;
+        return distanceAUTabulated(DateUtils.daysSinceJ2000(zdt));
+    }
+
+    public static double distanceAU(Instant instant) {
+        return distanceAUTabulated(DateUtils.daysSinceJ2000(instant));
+    }
+
+    /** Sun-Earth distance from the Chebyshev table, falling back to the formula outside its span. */
+    static double distanceAUTabulated(double daysSinceJ2000) {
+        ChebyshevSeries table = Table.SERIES;
+        return table.covers(daysSinceJ2000) ? table.value(daysSinceJ2000) : distanceAUAt(daysSinceJ2000);
+    }
+
+    /** Lazily fitted table; 32-day segments of degree 10 reproduce the formula to ~1e-14 AU. */
+    static final class Table {
+        private Table() {}
+
+        static final ChebyshevSeries SERIES = ChebyshevSeries.fit(SunDistance::distanceAUAt,
+                ChebyshevSeries.TABLE_START_DAY, ChebyshevSeries.TABLE_END_DAY, 32.0, 10);
+    }
+
+    /**
+     * Sun-Earth distance (AU) at the given number of days since J2000.0.
+     */
+    public static double distanceAUAt(double daysSinceJ2000) {
+        return radiusForMeanAnomalyAU(DateUtils.earthMeanAnomalyDeg(daysSinceJ2000));
+    }
+
+    /**
+     * Sun-Earth distance (AU) taken from a shared per-instant context.
+     */
+    public static double distanceAU(EphemerisContext ctx) {
+        return ctx.earthRadiusAU();
+    }
+
+    /**
+     * Sun-Earth distance (AU) for a given Earth mean anomaly (degrees).
+     */
+    static double radiusForMeanAnomalyAU(double meanAnomalyDeg) {
+        // No angle normalisation needed: the value only feeds cos(), and cos(2M) = 2cos^2(M) - 1
+        return radiusForCosMeanAnomalyAU(Math.cos(Math.toRadians(meanAnomalyDeg)));
+    }
+
+    /**
+     * Sun-Earth distance (AU) from cos(M), for callers that already have it.
+     */
+    static double radiusForCosMeanAnomalyAU(double cosM) {
+        return EARTH_ORBIT_MEAN_AU - EARTH_ORBIT_ECCENTRICITY * cosM - EARTH_ORBIT_CORRECTION * (2.0 * cosM * cosM - 1.0);
+    }
+
+    /**
+     * Batch form: fills {@code out[i]} with the distance at {@code daysSinceJ2000[i]}.
+     * No objects are allocated per sample.
+     */
+    public static void distancesAU(double[] daysSinceJ2000, double[] out) {
+        DateUtils.checkBatchLength(daysSinceJ2000.length, out);
+        for (int i = 0; i < daysSinceJ2000.length; i++) {
+            out[i] = distanceAUAt(daysSinceJ2000[i]);
+        }
+    }
+
+    /**
+     * Batch form: fills {@code out[0..count)} with the distance at
+     * {@code startDay + i * stepDays} (days since J2000.0).
+     */
+    public static void distancesAU(double startDay, double stepDays, int count, double[] out) {
+        DateUtils.checkBatchLength(count, out);
+        for (int i = 0; i < count; i++) {
+            out[i] = distanceAUAt(startDay + i * stepDays);
+        }
     }
 
     public static double[] minMaxDistanceAUNow() {
         return minMaxDistanceAU(ZonedDateTime.now(ZoneOffset.UTC));
     }
 
+    /**
+     * Min/max Sun-Earth distance (AU) over the calendar year containing the given date.
+     *
+     * Closed form: dr/dM = sin(M) * (e + 4c*cos(M)) vanishes only at M = 0 (perihelion)
+     * and M = 180 deg (aphelion), so the extremes are the year's ends plus any apsis
+     * passage inside the year. Memoised per year.
+     */
     public static double[] minMaxDistanceAU(ZonedDateTime zdt) {
-        ZonedDateTime start = zdt.withHour(0).withMinute(0).withSecond(0).withNano(0);
-        int daysInYear = Year.of(start.getYear()).length();
-        double min = Double.POSITIVE_INFINITY;
-        double max = Double.NEGATIVE_INFINITY;
-        for (int i = 0; i < daysInYear; i++) {
-            double r = distanceAU(start.plusDays(i));
+        int year = zdt.withZoneSameInstant(ZoneOffset.UTC).getYear();
+        return MIN_MAX_BY_YEAR.computeIfAbsent(year, SunDistance::computeMinMaxForYear).clone();
+    }
+
+    private static final Map<Integer, double[]> MIN_MAX_BY_YEAR = new ConcurrentHashMap<>();
+
+    private static double[] computeMinMaxForYear(int year) {
+        double startDay = DateUtils.daysSinceJ2000(ZonedDateTime.of(year, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+        double endDay = startDay + Year.of(year).length();
+
+        double rStart = distanceAUAt(startDay);
+        double rEnd = distanceAUAt(endDay);
+        double min = Math.min(rStart, rEnd);
+        double max = Math.max(rStart, rEnd);
+
+        // Apsis passages: mean anomaly at a multiple of 180 deg
+        double n = DateUtils.EARTH_MEAN_MOTION_DEG_PER_DAY;
+        double m0 = DateUtils.EARTH_MEAN_ANOMALY_J2000_DEG;
+        long kFirst = (long) Math.ceil((m0 + n * startDay) / 180.0);
+        long kLast = (long) Math.floor((m0 + n * endDay) / 180.0);
+        for (long k = kFirst; k <= kLast; k++) {
+            double r = distanceAUAt((k * 180.0 - m0) / n);
             if (r < min) min = r;
             if (r > max) max = r;
         }
-        return new double[] { min, max };
+        return new double[]{min, max};
     }
 }
@@ -1,21 +1,17 @@
 package org.iHarwood.MoonPhaseModule;
 
 import java.time.LocalDate;
-import java.time.Year;
 
 /**
- * Calculates approximate sunrise and sunset times using solar declination.
+ * Sunrise and sunset as "HH:mm" UTC strings, formatted from {@link SolarDay}.
  *
- * Uses the same declination formula as DayLight.java for consistency.
  * Results are in UTC and depend on both latitude and longitude.
- * Accuracy: ±5 minutes (simplified equation of time used).
+ * Accuracy: about a minute (NOAA solar position algorithm).
  *
  * Special return values: "Polar Night" or "Midnight Sun" for extreme latitudes.
  */
 public final class SunriseSunset {
 
-    private static final double AXIAL_TILT_DEG = 23.44;
-
     private SunriseSunset() {}
 
     /**
@@ -23,10 +19,9 @@ public final class SunriseSunset {
      * Returns "Polar Night" or "Midnight Sun" at extreme latitudes.
      */
     public static String sunriseUtc(LocalDate date, double latitudeDeg, double longitudeDeg) {
-        double halfDay = halfDayHours(date, latitudeDeg);
-        if (halfDay < 0) return halfDay == POLAR_NIGHT ? "Polar Night" : "Midnight Sun";
-        double solarNoon = solarNoonUtc(date, longitudeDeg);
-        return formatHour(solarNoon - halfDay);
+        double[] events = new double[SolarDay.STRIDE];
+        SolarDay.eventsAt(date, latitudeDeg, longitudeDeg, events, 0);
+        return format(events, 0, SolarDay.SUNRISE);
     }
 
     /**
@@ -34,10 +29,9 @@ public final class SunriseSunset {
      * Returns "Polar Night" or "Midnight Sun" at extreme latitudes.
      */
     public static String sunsetUtc(LocalDate date, double latitudeDeg, double longitudeDeg) {
-        double halfDay = halfDayHours(date, latitudeDeg);
-        if (halfDay < 0) return halfDay == POLAR_NIGHT ? "Polar Night" : "Midnight Sun";
-        double solarNoon = solarNoonUtc(date, longitudeDeg);
-        return formatHour(solarNoon + halfDay);
+        double[] events = new double[SolarDay.STRIDE];
+        SolarDay.eventsAt(date, latitudeDeg, longitudeDeg, events, 0);
+        return format(events, 0, SolarDay.SUNSET);
     }
 
     /** Convenience wrappers that use current date */
@@ -49,56 +43,29 @@ public final class SunriseSunset {
         return sunsetUtc(LocalDate.now(), latitudeDeg, longitudeDeg);
     }
 
-    // ── Private helpers ──────────────────────────────────────────────────────
-
-    private static final double POLAR_NIGHT = -1.0;
-    private static final double MIDNIGHT_SUN = -2.0;
-
-    /**
-     * Returns half the daylight duration in hours (offset from solar noon).
-     * Returns POLAR_NIGHT or MIDNIGHT_SUN sentinel values.
-     */
-    private static double halfDayHours(LocalDate date, double latitudeDeg) {
-        int n = date.getDayOfYear();
-        double lat = Math.toRadians(latitudeDeg);
-        double daysInYear = Year.of(date.getYear()).length();
-        double decl = Math.toRadians(AXIAL_TILT_DEG) * Math.sin(2.0 * Math.PI * (284 + n) / daysInYear);
-        double x = -Math.tan(lat) * Math.tan(decl);
-        if (x >= 1.0) return POLAR_NIGHT;
-        if (x <= -1.0) return MIDNIGHT_SUN;
-        // hourAngle in radians → convert to hours: hours = radians * (12 / π)
-        return Math.acos(x) * (12.0 / Math.PI);
-    }
-
     /**
-     * Solar noon in UTC hours for the given longitude and date.
-     * Includes a simplified equation of time correction.
+     * Formats one event of a {@link SolarDay} result starting at {@code offset} as "HH:mm"
+     * UTC. A sunrise or sunset that does not happen is "Polar Night" or "Midnight Sun"; a
+     * twilight boundary that does not happen is "All Night" (the Sun never sinks that far)
+     * or "None" (it never climbs that high).
      *
-     * @param longitudeDeg degrees east (negative = west)
-     */
-    private static double solarNoonUtc(LocalDate date, double longitudeDeg) {
-        double longitudeOffset = -longitudeDeg / 15.0; // hours
-        double eot = equationOfTimeHours(date.getDayOfYear());
-        return 12.0 + longitudeOffset - eot;
-    }
-
-    /**
-     * Simplified equation of time in hours.
-     * Accounts for Earth's elliptical orbit and axial tilt (~±16 min accuracy).
+     * @param event one of the {@link SolarDay} time offsets, e.g. {@link SolarDay#SUNRISE}
      */
-    private static double equationOfTimeHours(int dayOfYear) {
-        double B = Math.toRadians(360.0 / 365.0 * (dayOfYear - 81));
-        double eotMinutes = 9.87 * Math.sin(2 * B) - 7.53 * Math.cos(B) - 1.5 * Math.sin(B);
-        return eotMinutes / 60.0;
+    public static String format(double[] events, int offset, int event) {
+        double minutes = events[offset + event];
+        if (Double.isNaN(minutes)) {
+            boolean alwaysAbove = events[offset + SolarDay.MIDNIGHT_ALTITUDE] > SolarDay.boundaryAltitudeDeg(event);
+            if (event == SolarDay.SUNRISE || event == SolarDay.SUNSET) {
+                return alwaysAbove ? "Midnight Sun" : "Polar Night";
+            }
+            return alwaysAbove ? "All Night" : "None";
+        }
+        return formatMinutes(minutes);
     }
 
-    private static String formatHour(double decimalHour) {
-        decimalHour = ((decimalHour % 24) + 24) % 24;
-        int hours = (int) decimalHour;
-        int minutes = (int) Math.round((decimalHour - hours) * 60);
-        if (minutes >= 60) { hours++; minutes -= 60; }
-        if (hours >= 24) hours -= 24;
-        return String.format("%02d:%02d", hours, minutes);
+    private static String formatMinutes(double minutesUtc) {
+        int minutes = (int) Math.round(minutesUtc);
+        minutes = Math.floorMod(minutes, 1440);
+        return String.format("%02d:%02d", minutes / 60, minutes % 60);
     }
 }
-
@@ -1,6 +1,6 @@
 package org.iHarwood.MoonPhaseModule;
 
-import java.time.Duration;
+import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 
@@ -20,6 +20,7 @@ public final class VoyagerDistance {
 
     // Reference epoch (UTC)
     private static final ZonedDateTime EPOCH = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final long EPOCH_SECOND = EPOCH.toEpochSecond();
 
     // Voyager 1 reference (approx)
     private static final double V1_REF_AU = 159.0;
@@ -33,39 +34,71 @@ public final class VoyagerDistance {
         return (kmPerSec * SECONDS_PER_DAY) / KM_PER_AU;
     }
 
-    private static double daysSinceEpoch(ZonedDateTime zdt) {
-        return Duration.between(EPOCH, zdt.withZoneSameInstant(ZoneOffset.UTC)).toSeconds() / SECONDS_PER_DAY;
+    private static double daysSinceEpoch(Instant instant) {
+        return (instant.getEpochSecond() - EPOCH_SECOND) / SECONDS_PER_DAY;
     }
 
     public static double heliocentricDistanceV1AU(ZonedDateTime zdt) {
-        return V1_REF_AU + auPerDay(V1_SPEED_KM_S) * daysSinceEpoch(zdt);
+        return heliocentricDistanceV1AU(zdt.toInstant());
+    }
+
+    public static double heliocentricDistanceV1AU(Instant instant) {
+        return V1_REF_AU + auPerDay(V1_SPEED_KM_S) * daysSinceEpoch(instant);
+    }
+
+    public static double heliocentricDistanceV1AU(EphemerisContext ctx) {
+        return heliocentricDistanceV1AU(ctx.instant());
     }
 
     public static double heliocentricDistanceV2AU(ZonedDateTime zdt) {
-        return V2_REF_AU + auPerDay(V2_SPEED_KM_S) * daysSinceEpoch(zdt);
+        return heliocentricDistanceV2AU(zdt.toInstant());
+    }
+
+    public static double heliocentricDistanceV2AU(Instant instant) {
+        return V2_REF_AU + auPerDay(V2_SPEED_KM_S) * daysSinceEpoch(instant);
+    }
+
+    public static double heliocentricDistanceV2AU(EphemerisContext ctx) {
+        return heliocentricDistanceV2AU(ctx.instant());
     }
 
     public static double distanceFromEarthV1AU(ZonedDateTime zdt) {
-        return Math.max(0.0, Math.abs(heliocentricDistanceV1AU(zdt) - 1.0));
+        return distanceFromEarthV1AU(zdt.toInstant());
+    }
+
+    public static double distanceFromEarthV1AU(Instant instant) {
+        return Math.max(0.0, Math.abs(heliocentricDistanceV1AU(instant) - 1.0));
+    }
+
+    public static double distanceFromEarthV1AU(EphemerisContext ctx) {
+        return distanceFromEarthV1AU(ctx.instant());
     }
 
     public static double distanceFromEarthV2AU(ZonedDateTime zdt) {
-        return Math.max(0.0, Math.abs(heliocentricDistanceV2AU(zdt) - 1.0));
+        return distanceFromEarthV2AU(zdt.toInstant());
+    }
+
+    public static double distanceFromEarthV2AU(Instant instant) {
+        return Math.max(0.0, Math.abs(heliocentricDistanceV2AU(instant) - 1.0));
+    }
+
+    public static double distanceFromEarthV2AU(EphemerisContext ctx) {
+        return distanceFromEarthV2AU(ctx.instant());
     }
 
     public static double heliocentricDistanceV1AUNow() {
-        return heliocentricDistanceV1AU(ZonedDateTime.now(ZoneOffset.UTC));
+        return heliocentricDistanceV1AU(Instant.now());
     }
 
     public static double heliocentricDistanceV2AUNow() {
-        return heliocentricDistanceV2AU(ZonedDateTime.now(ZoneOffset.UTC));
+        return heliocentricDistanceV2AU(Instant.now());
     }
 
     public static double distanceFromEarthV1AUNow() {
-        return distanceFromEarthV1AU(ZonedDateTime.now(ZoneOffset.UTC));
+        return distanceFromEarthV1AU(Instant.now());
     }
 
     public static double distanceFromEarthV2AUNow() {
-        return distanceFromEarthV2AU(ZonedDateTime.now(ZoneOffset.UTC));
+        return distanceFromEarthV2AU(Instant.now());
     }
 }
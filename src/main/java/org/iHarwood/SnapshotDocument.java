@@ -31,6 +31,11 @@ public class SnapshotDocument {
     private double plutoDistanceAu;
     private double voyager1HelioDistanceAu;
     private double voyager2HelioDistanceAu;
+    private double mercuryEarthDistanceAu;
+    private double venusEarthDistanceAu;
+    private double uranusEarthDistanceAu;
+    private double neptuneEarthDistanceAu;
+    private double plutoEarthDistanceAu;
     private double moonDistanceKm;
     private double earthSpeedKmPerSec;
     private double earthSpeedKmPerHour;
@@ -76,6 +81,11 @@ public class SnapshotDocument {
         doc.plutoDistanceAu = s.plutoDistanceAu();
         doc.voyager1HelioDistanceAu = s.voyager1HelioDistanceAu();
         doc.voyager2HelioDistanceAu = s.voyager2HelioDistanceAu();
+        doc.mercuryEarthDistanceAu = s.mercuryEarthDistanceAu();
+        doc.venusEarthDistanceAu = s.venusEarthDistanceAu();
+        doc.uranusEarthDistanceAu = s.uranusEarthDistanceAu();
+        doc.neptuneEarthDistanceAu = s.neptuneEarthDistanceAu();
+        doc.plutoEarthDistanceAu = s.plutoEarthDistanceAu();
         doc.moonDistanceKm = s.moonDistanceKm();
         doc.earthSpeedKmPerSec = s.earthSpeedKmPerSec();
         doc.earthSpeedKmPerHour = s.earthSpeedKmPerHour();
@@ -115,6 +125,11 @@ public class SnapshotDocument {
     public double getPlutoDistanceAu() { return plutoDistanceAu; }
     public double getVoyager1HelioDistanceAu() { return voyager1HelioDistanceAu; }
     public double getVoyager2HelioDistanceAu() { return voyager2HelioDistanceAu; }
+    public double getMercuryEarthDistanceAu() { return mercuryEarthDistanceAu; }
+    public double getVenusEarthDistanceAu() { return venusEarthDistanceAu; }
+    public double getUranusEarthDistanceAu() { return uranusEarthDistanceAu; }
+    public double getNeptuneEarthDistanceAu() { return neptuneEarthDistanceAu; }
+    public double getPlutoEarthDistanceAu() { return plutoEarthDistanceAu; }
     public double getMoonDistanceKm() { return moonDistanceKm; }
     public double getEarthSpeedKmPerSec() { return earthSpeedKmPerSec; }
     public double getEarthSpeedKmPerHour() { return earthSpeedKmPerHour; }
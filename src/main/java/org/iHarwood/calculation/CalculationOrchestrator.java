@@ -1,19 +1,32 @@
 package org.iHarwood.calculation;
 
+import jakarta.annotation.PreDestroy;
 import org.iHarwood.APIPost;
 import org.iHarwood.AstronomicalSnapshot;
 import org.iHarwood.MoonPhaseModule.*;
+import org.iHarwood.integration.awtrix.AwtrixFrames;
 import org.iHarwood.integration.awtrix.AwtrixPusher;
+import org.iHarwood.integration.awtrix.PixelFrame;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.IntStream;
 
 /**
@@ -24,6 +37,14 @@ import java.util.stream.IntStream;
  * - Performing all side-effecting Awtrix pushes during live runs
  * - Rich logging (including relative bar charts)
  *
+ * A live cycle starts its network-bound steps (LEO data, the Kp index and the moon phase
+ * check) on virtual threads, each with its own deadline, and does the math on the calling
+ * thread meanwhile. A step that fails or runs out of time is left out and named in the
+ * snapshot's missingFields instead of holding up the cycle. Awtrix pushes are only queued
+ * here; {@link AwtrixPusher} sends them in the background. Besides text, the clock is
+ * sent pixel frames ({@link AwtrixFrames}): the Moon's disc as it looks from the
+ * configured location, and a 32x8 bar for every relative bar logged.
+ *
  * This class was extracted from Main.java to reduce the god-class problem.
  * Further splitting (e.g. separating formatting/logging concerns) can be done later.
  */
@@ -38,24 +59,73 @@ public class CalculationOrchestrator {
     private static final DateTimeFormatter SHORT_DATE_FMT = DateTimeFormatter.ofPattern("dd-MM-yy");
     private static final DateTimeFormatter ISO_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
 
-    private static final int BAR_WIDTH = 30;
+    // Same as the clock's bars, so the logged bar and the pixel bar put the marker in the same column
+    private static final int BAR_WIDTH = AwtrixFrames.BAR_POSITIONS;
     private static final String AU_IN_MILES = "92,955,807.273026 miles";
 
     private static final double DEFAULT_LATITUDE  = 51.4769;
     private static final double DEFAULT_LONGITUDE = 0.0;
 
+    /** The almanac covers the current UTC year and the next one. */
+    private static final int ALMANAC_YEARS = 2;
+
+    // Deadlines for the network-bound steps of a live cycle, each counted from its start
+    private static final Duration LEO_DEADLINE = Duration.ofSeconds(45);
+    private static final Duration AURORA_DEADLINE = Duration.ofSeconds(20);
+    private static final Duration VERIFICATION_DEADLINE = Duration.ofSeconds(35);
+
+    // Marker colours of the pixel bars
+    private static final int SUN_COLOUR = 0xFFB000;
+    private static final int DAYLIGHT_COLOUR = 0xFFE060;
+    private static final int MOON_COLOUR = 0xC8C8E0;
+    private static final int MARS_COLOUR = 0xE0502A;
+    private static final int JUPITER_COLOUR = 0xD8A070;
+    private static final int SATURN_COLOUR = 0xE8CC80;
+
+    static final List<String> LEO_FIELDS = List.of(
+            "issAltitudeKm", "tiangongAltitudeKm", "hubbleAltitudeKm",
+            "starlinkSatelliteCount", "kuiperSatelliteCount", "totalSatellitesInOrbit",
+            "issCrew", "totalPeopleInSpace", "craftOccupancy");
+
     private final AwtrixPusher awtrixPusher;
     private final double latitude;
     private final double longitude;
+    private final EphemerisFile ephemerisFile;
+    private volatile Almanac almanac;
+
+    private final ExecutorService io = Executors.newVirtualThreadPerTaskExecutor();
 
+    public CalculationOrchestrator(AwtrixPusher awtrixPusher, double latitude, double longitude) {
+        this(awtrixPusher, latitude, longitude, "");
+    }
+
+    @Autowired
     public CalculationOrchestrator(
             AwtrixPusher awtrixPusher,
             @Value("${app.latitude:${LATITUDE:51.4769}}") double latitude,
-            @Value("${app.longitude:${LONGITUDE:0.0}}") double longitude) {
+            @Value("${app.longitude:${LONGITUDE:0.0}}") double longitude,
+            @Value("${app.ephemeris.file:${EPHEMERIS_FILE:}}") String ephemerisFilePath) {
 
         this.awtrixPusher = awtrixPusher;
         this.latitude  = validateLatitude(latitude);
         this.longitude = validateLongitude(longitude);
+        this.ephemerisFile = openEphemerisFile(ephemerisFilePath);
+    }
+
+    private static EphemerisFile openEphemerisFile(String path) {
+        if (path == null || path.isBlank()) {
+            return null;
+        }
+        try {
+            EphemerisFile file = EphemerisFile.open(Path.of(path.trim()));
+            logger.info("Using precomputed ephemeris {} ({} to {}) for historical dates",
+                    file.path(), file.firstInstant(), file.lastInstant());
+            return file;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Cannot use ephemeris file {} - historical dates will be computed live: {}",
+                    path, e.getMessage());
+            return null;
+        }
     }
 
     private double validateLatitude(double lat) {
@@ -76,6 +146,11 @@ public class CalculationOrchestrator {
         return lon;
     }
 
+    @PreDestroy
+    public void shutdown() {
+        io.shutdownNow();
+    }
+
     // ─────────────────────────────────────────────────────────────────────────
     // Public API
     // ─────────────────────────────────────────────────────────────────────────
@@ -93,100 +168,155 @@ public class CalculationOrchestrator {
         logger.info("1 astronomical unit = {}", AU_IN_MILES);
 
         AstronomicalSnapshot.Builder sb = AstronomicalSnapshot.builder();
-
-        computeSunEarth(sb);
-        computePlanetDistances(sb);
+        // One clock read and one orbit solve per body, shared by every step below
+        EphemerisContext ctx = EphemerisContext.of(now.toInstant());
+        MoonPhase moon = MoonPhase.fromInstant(now.toInstant());
+
+        // Network-bound steps run on virtual threads while the math below runs here
+        IoStep<LeoReading> leo = new IoStep<>(io, "LEO data", LEO_DEADLINE, LeoReading::fetch);
+        IoStep<Double> aurora = new IoStep<>(io, "Aurora Kp", AURORA_DEADLINE, AuroraKpFetcher::fetchKpIndex);
+        IoStep<ClaudeMoonPhaseVerifier.VerificationResult> verification = new IoStep<>(io,
+                "Moon phase verification", VERIFICATION_DEADLINE,
+                () -> ClaudeMoonPhaseVerifier.verify(now.toLocalDate(), moon.getPhaseName()));
+
+        computeSunEarth(sb, ctx, now);
+        computePlanetDistances(sb, ctx, now);
         computeDayLength(sb, now);
-        computeVoyagerDistance(sb);
-        computeNewHorizonsDistance(sb);
-        computeJamesWebbDistance(sb);
-        computeEquinox(sb);
-        computePerihelionAphelion(sb);
-        computeEarthSpeed(sb);
-        computeMoonDistance(sb);
-        computeLightTravelTimes(sb);
-        computeLeoData(sb);
+        computeVoyagerDistance(sb, ctx);
+        computeNewHorizonsDistance(sb, ctx);
+        computeJamesWebbDistance(sb, ctx);
+        computeEquinox(sb, now);
+        computePerihelionAphelion(sb, now);
+        computeEarthSpeed(sb, ctx);
+        computeMoonDistance(sb, ctx);
+        computeLightTravelTimes(sb, ctx);
         computeSunriseSunset(sb, now);
-        computeAurora(sb);
-        computeMoonPhase(sb, now);
+        computeMoonPhase(sb, now, moon);
+
+        List<String> missing = new ArrayList<>();
+        applyLeoData(sb, leo.await(), missing);
+        applyAurora(sb, aurora.await(), missing);
+        logVerification(verification.await());
+        sb.missingFields(missing);
+        if (!missing.isEmpty()) {
+            logger.warn("Publishing a partial snapshot without: {}", String.join(", ", missing));
+        }
 
         sb.lastUpdated(now.format(ISO_FMT));
 
         var stats = awtrixPusher.getStats();
         logger.info("Awtrix update summary: {} succeeded, {} failed", stats.success(), stats.failure());
+        for (AwtrixPusher.DeviceStats device : stats.devices()) {
+            logger.info("Awtrix {}{}: {} succeeded, {} failed, {} unchanged, {} queued", device.name(),
+                    device.enabled() ? "" : " (disabled)",
+                    device.success(), device.failure(), device.skipped(), device.queued());
+        }
         logger.info("=== Scheduled task completed ===");
 
         return sb.build();
     }
 
+    /**
+     * Date-granular metrics for the configured location over the current and next UTC
+     * year. Built on first use and rebuilt only when the year or the location changes.
+     */
+    public Almanac almanac() {
+        int year = LocalDate.now(ZoneOffset.UTC).getYear();
+        Almanac current = almanac;
+        if (current == null || current.start().getYear() != year || !current.isFor(latitude, longitude)) {
+            long started = System.nanoTime();
+            current = Almanac.forYears(year, ALMANAC_YEARS, latitude, longitude);
+            almanac = current;
+            logger.info("Built almanac for {}-{} at lat={}, lon={} in {} ms", year, year + ALMANAC_YEARS - 1,
+                    latitude, longitude, (System.nanoTime() - started) / 1_000_000);
+        }
+        return current;
+    }
+
+    /** The almanac if it covers {@code date}, otherwise a one-day almanac for it. */
+    private Almanac almanacFor(LocalDate date) {
+        Almanac current = almanac();
+        return current.indexOf(date) >= 0 ? current : Almanac.forDays(date, 1, latitude, longitude);
+    }
+
     /**
      * Computes a snapshot for a specific historical date/time.
      * Used for backfilling history. Does NOT perform Awtrix pushes or live LEO fetches.
      */
     public AstronomicalSnapshot computeForDate(ZonedDateTime target) {
         LocalDate targetDate = target.toLocalDate();
+        Almanac days = almanacFor(targetDate);
+        int day = days.indexOf(targetDate);
         AstronomicalSnapshot.Builder sb = AstronomicalSnapshot.builder();
+        EphemerisFile.Sample eph = ephemerisSample(target.toInstant());
 
         // Sun / Earth distance
-        double sunDistAu = SunDistance.distanceAU(target);
+        double sunDistAu = eph.get(EphemerisFile.Field.SUN_DISTANCE_AU);
         sb.sunDistanceAu(sunDistAu);
 
         // Planet distances
-        sb.mercuryDistanceAu(Planets.MERCURY.heliocentricDistanceAU(target));
-        sb.venusDistanceAu(Planets.VENUS.heliocentricDistanceAU(target));
-        sb.marsDistanceAu(Planets.MARS.distanceAU(target));
-        sb.jupiterDistanceAu(Planets.JUPITER.distanceAU(target));
-        sb.saturnDistanceAu(Planets.SATURN.distanceAU(target));
-        sb.uranusDistanceAu(Planets.URANUS.heliocentricDistanceAU(target));
-        sb.neptuneDistanceAu(Planets.NEPTUNE.heliocentricDistanceAU(target));
-        sb.plutoDistanceAu(Planets.PLUTO.heliocentricDistanceAU(target));
+        sb.mercuryDistanceAu(eph.heliocentricDistanceAU(Planets.MERCURY));
+        sb.venusDistanceAu(eph.heliocentricDistanceAU(Planets.VENUS));
+        sb.marsDistanceAu(eph.distanceFromEarthAU(Planets.MARS));
+        sb.jupiterDistanceAu(eph.distanceFromEarthAU(Planets.JUPITER));
+        sb.saturnDistanceAu(eph.distanceFromEarthAU(Planets.SATURN));
+        sb.uranusDistanceAu(eph.heliocentricDistanceAU(Planets.URANUS));
+        sb.neptuneDistanceAu(eph.heliocentricDistanceAU(Planets.NEPTUNE));
+        sb.plutoDistanceAu(eph.heliocentricDistanceAU(Planets.PLUTO));
+        sb.mercuryEarthDistanceAu(eph.distanceFromEarthAU(Planets.MERCURY));
+        sb.venusEarthDistanceAu(eph.distanceFromEarthAU(Planets.VENUS));
+        sb.uranusEarthDistanceAu(eph.distanceFromEarthAU(Planets.URANUS));
+        sb.neptuneEarthDistanceAu(eph.distanceFromEarthAU(Planets.NEPTUNE));
+        sb.plutoEarthDistanceAu(eph.distanceFromEarthAU(Planets.PLUTO));
 
         // Daylight
-        sb.daylightHours(DayLight.dayLengthHours(targetDate, latitude));
+        sb.daylightHours(days.daylightHours(day));
 
         // Deep-space probes
-        sb.voyager1DistanceAu(VoyagerDistance.distanceFromEarthV1AU(target));
-        sb.voyager2DistanceAu(VoyagerDistance.distanceFromEarthV2AU(target));
-        sb.voyager1HelioDistanceAu(VoyagerDistance.heliocentricDistanceV1AU(target));
-        sb.voyager2HelioDistanceAu(VoyagerDistance.heliocentricDistanceV2AU(target));
-        sb.newHorizonsDistanceAu(NewHorizonsDistance.distanceFromEarthAU(target));
-        sb.jamesWebbDistanceKm(JamesWebbDistance.distanceKmAt(target));
+        double v1HelioAu = eph.get(EphemerisFile.Field.VOYAGER1_HELIOCENTRIC_AU);
+        double v2HelioAu = eph.get(EphemerisFile.Field.VOYAGER2_HELIOCENTRIC_AU);
+        sb.voyager1DistanceAu(eph.get(EphemerisFile.Field.VOYAGER1_FROM_EARTH_AU));
+        sb.voyager2DistanceAu(eph.get(EphemerisFile.Field.VOYAGER2_FROM_EARTH_AU));
+        sb.voyager1HelioDistanceAu(v1HelioAu);
+        sb.voyager2HelioDistanceAu(v2HelioAu);
+        sb.newHorizonsDistanceAu(eph.get(EphemerisFile.Field.NEW_HORIZONS_FROM_EARTH_AU));
+        sb.jamesWebbDistanceKm(eph.get(EphemerisFile.Field.JAMES_WEBB_DISTANCE_KM));
 
         // Upcoming events (relative to target date)
-        sb.daysUntilSummerSolstice(EquinoxCalculator.daysUntilSummerSolstice(targetDate));
-        sb.daysUntilWinterSolstice(EquinoxCalculator.daysUntilWinterSolstice(targetDate));
-        sb.daysUntilPerihelion(PerihelionAphelion.daysUntilPerihelion(targetDate));
-        sb.daysUntilAphelion(PerihelionAphelion.daysUntilAphelion(targetDate));
+        sb.daysUntilSummerSolstice(days.daysUntilSummerSolstice(day));
+        sb.daysUntilWinterSolstice(days.daysUntilWinterSolstice(day));
+        sb.daysUntilPerihelion(days.daysUntilPerihelion(day));
+        sb.daysUntilAphelion(days.daysUntilAphelion(day));
 
         // Earth speed and axial tilt
-        sb.earthSpeedKmPerSec(EarthSpeed.speedKmPerSec(target));
-        sb.earthSpeedKmPerHour(EarthSpeed.speedKmPerHour(target));
-        sb.earthAxialTiltDegrees(EarthAxialTilt.tiltDegrees(target));
+        double speedKmS = eph.get(EphemerisFile.Field.EARTH_SPEED_KM_PER_SEC);
+        sb.earthSpeedKmPerSec(speedKmS);
+        sb.earthSpeedKmPerHour(speedKmS * 3600.0);
+        sb.earthAxialTiltDegrees(eph.get(EphemerisFile.Field.EARTH_AXIAL_TILT_DEG));
 
         // Moon distance
-        sb.moonDistanceKm(MoonDistance.distanceKm(target));
+        sb.moonDistanceKm(eph.get(EphemerisFile.Field.MOON_DISTANCE_KM));
 
         // Light travel times (using historical distances)
         sb.lightTimeSunToEarth(LightTravelTime.formatTravelTime(sunDistAu));
-        sb.lightTimeSunToMercury(LightTravelTime.formatTravelTime(Planets.MERCURY.heliocentricDistanceAU(target)));
-        sb.lightTimeSunToVenus(LightTravelTime.formatTravelTime(Planets.VENUS.heliocentricDistanceAU(target)));
-        sb.lightTimeSunToMars(LightTravelTime.formatTravelTime(Planets.MARS.heliocentricDistanceAU(target)));
-        sb.lightTimeSunToJupiter(LightTravelTime.formatTravelTime(Planets.JUPITER.heliocentricDistanceAU(target)));
-        sb.lightTimeSunToSaturn(LightTravelTime.formatTravelTime(Planets.SATURN.heliocentricDistanceAU(target)));
-        sb.lightTimeSunToUranus(LightTravelTime.formatTravelTime(Planets.URANUS.heliocentricDistanceAU(target)));
-        sb.lightTimeSunToNeptune(LightTravelTime.formatTravelTime(Planets.NEPTUNE.heliocentricDistanceAU(target)));
-        sb.lightTimeSunToPluto(LightTravelTime.formatTravelTime(Planets.PLUTO.heliocentricDistanceAU(target)));
-        sb.lightTimeSunToVoyager1(LightTravelTime.formatTravelTime(VoyagerDistance.heliocentricDistanceV1AU(target)));
-        sb.lightTimeSunToVoyager2(LightTravelTime.formatTravelTime(VoyagerDistance.heliocentricDistanceV2AU(target)));
-
-        // Moon phase
-        MoonPhase mp = MoonPhase.fromDate(targetDate);
-        sb.moonPhaseName(mp.getPhaseName());
-        sb.moonPhaseIcon(mp.getPhaseIcon());
-        sb.moonAsciiArt(mp.getAscii());
-        sb.moonIlluminationPercent(mp.getIlluminationPercent());
-        sb.moonAgeDays(mp.getAgeDays());
-        sb.daysUntilFullMoon(mp.getDaysUntilFullMoon());
+        sb.lightTimeSunToMercury(LightTravelTime.formatTravelTime(eph.heliocentricDistanceAU(Planets.MERCURY)));
+        sb.lightTimeSunToVenus(LightTravelTime.formatTravelTime(eph.heliocentricDistanceAU(Planets.VENUS)));
+        sb.lightTimeSunToMars(LightTravelTime.formatTravelTime(eph.heliocentricDistanceAU(Planets.MARS)));
+        sb.lightTimeSunToJupiter(LightTravelTime.formatTravelTime(eph.heliocentricDistanceAU(Planets.JUPITER)));
+        sb.lightTimeSunToSaturn(LightTravelTime.formatTravelTime(eph.heliocentricDistanceAU(Planets.SATURN)));
+        sb.lightTimeSunToUranus(LightTravelTime.formatTravelTime(eph.heliocentricDistanceAU(Planets.URANUS)));
+        sb.lightTimeSunToNeptune(LightTravelTime.formatTravelTime(eph.heliocentricDistanceAU(Planets.NEPTUNE)));
+        sb.lightTimeSunToPluto(LightTravelTime.formatTravelTime(eph.heliocentricDistanceAU(Planets.PLUTO)));
+        sb.lightTimeSunToVoyager1(LightTravelTime.formatTravelTime(v1HelioAu));
+        sb.lightTimeSunToVoyager2(LightTravelTime.formatTravelTime(v2HelioAu));
+
+        // Moon phase at noon UTC
+        sb.moonPhaseName(days.moonPhaseName(day));
+        sb.moonPhaseIcon(days.moonPhaseIcon(day));
+        sb.moonAsciiArt(days.moonAscii(day));
+        sb.moonIlluminationPercent(days.moonIlluminationPercent(day));
+        sb.moonAgeDays(days.moonAgeDays(day));
+        sb.daysUntilFullMoon(days.daysUntilFullMoon(day));
 
         // LEO — live-only, cannot be reconstructed for historical dates
         sb.issAltitudeKm(0).tiangongAltitudeKm(0).hubbleAltitudeKm(0)
@@ -197,8 +327,7 @@ public class CalculationOrchestrator {
         sb.auroraKpIndex(-1.0);
 
         // Sunrise / sunset can be computed for historical dates
-        sb.sunriseTime(SunriseSunset.sunriseUtc(targetDate, latitude, longitude));
-        sb.sunsetTime(SunriseSunset.sunsetUtc(targetDate, latitude, longitude));
+        applySolarDay(sb, days, day);
 
         sb.lastUpdated(target.format(ISO_FMT));
         return sb.build();
@@ -208,62 +337,83 @@ public class CalculationOrchestrator {
     // Private computation methods (moved from Main)
     // ─────────────────────────────────────────────────────────────────────────
 
-    private void computeSunEarth(AstronomicalSnapshot.Builder sb) {
-        double[] range = SunDistance.minMaxDistanceAUNow();
-        double sunDistanceAu = SunDistance.distanceAUNow();
+    /**
+     * Time-only quantities for a historical instant: interpolated from the precomputed
+     * ephemeris file when one is configured and covers the instant, otherwise computed live.
+     */
+    private EphemerisFile.Sample ephemerisSample(Instant instant) {
+        EphemerisFile.Sample sample = ephemerisFile != null ? ephemerisFile.sample(instant) : null;
+        return sample != null ? sample : EphemerisFile.compute(instant);
+    }
+
+    private void computeSunEarth(AstronomicalSnapshot.Builder sb, EphemerisContext ctx, ZonedDateTime now) {
+        double[] range = SunDistance.minMaxDistanceAU(now);
+        double sunDistanceAu = SunDistance.distanceAU(ctx);
         sb.sunDistanceAu(sunDistanceAu);
 
         logger.info("Current Earth-Sun distance: {} AU", String.format("%.6f", sunDistanceAu));
-        String bar = buildRelativeBar(sunDistanceAu, range[0], range[1], BAR_WIDTH);
-        logger.info("{}", bar);
+        int position = relativePosition(sunDistanceAu, range[0], range[1], BAR_WIDTH);
+        logger.info("{}", buildRelativeBar(position, BAR_WIDTH));
         logger.info("Sun Earth:{}        {}        {}",
                 String.format("%.6f", range[0]),
                 String.format("%.6f", sunDistanceAu),
                 String.format("%.6f", range[1]));
+        pushBar("sunDistanceBar", position, SUN_COLOUR);
     }
 
-    private void computePlanetDistances(AstronomicalSnapshot.Builder sb) {
-        sb.mercuryDistanceAu(Planets.MERCURY.heliocentricDistanceAUNow());
-        sb.venusDistanceAu(Planets.VENUS.heliocentricDistanceAUNow());
+    private void computePlanetDistances(AstronomicalSnapshot.Builder sb, EphemerisContext ctx, ZonedDateTime now) {
+        sb.mercuryDistanceAu(Planets.MERCURY.heliocentricDistanceAU(ctx));
+        sb.venusDistanceAu(Planets.VENUS.heliocentricDistanceAU(ctx));
 
-        double marsAu = Planets.MARS.distanceAUNow();
+        double marsAu = Planets.MARS.distanceAU(ctx);
         sb.marsDistanceAu(marsAu);
-        logPlanetDistance("Mars", marsAu, Planets.MARS);
+        int marsPosition = logPlanetDistance("Mars", marsAu, Planets.MARS, now);
         awtrixPusher.push("marsDistanceAu", String.format("%.1fau", marsAu), APIPost.IconType.MARS.name());
+        pushBar("marsDistanceBar", marsPosition, MARS_COLOUR);
 
-        double jupiterAu = Planets.JUPITER.distanceAUNow();
+        double jupiterAu = Planets.JUPITER.distanceAU(ctx);
         sb.jupiterDistanceAu(jupiterAu);
-        logPlanetDistance("Jupiter", jupiterAu, Planets.JUPITER);
+        int jupiterPosition = logPlanetDistance("Jupiter", jupiterAu, Planets.JUPITER, now);
         awtrixPusher.push("jupiterDistanceAu", String.format("%.1fau", jupiterAu), APIPost.IconType.JUPITER.name());
+        pushBar("jupiterDistanceBar", jupiterPosition, JUPITER_COLOUR);
 
-        double saturnAu = Planets.SATURN.distanceAUNow();
+        double saturnAu = Planets.SATURN.distanceAU(ctx);
         sb.saturnDistanceAu(saturnAu);
-        logPlanetDistance("Saturn", saturnAu, Planets.SATURN);
+        int saturnPosition = logPlanetDistance("Saturn", saturnAu, Planets.SATURN, now);
         awtrixPusher.push("saturnDistanceAu", String.format("%.1fau", saturnAu), APIPost.IconType.SATURN.name());
+        pushBar("saturnDistanceBar", saturnPosition, SATURN_COLOUR);
+
+        sb.uranusDistanceAu(Planets.URANUS.heliocentricDistanceAU(ctx));
+        sb.neptuneDistanceAu(Planets.NEPTUNE.heliocentricDistanceAU(ctx));
+        sb.plutoDistanceAu(Planets.PLUTO.heliocentricDistanceAU(ctx));
 
-        sb.uranusDistanceAu(Planets.URANUS.heliocentricDistanceAUNow());
-        sb.neptuneDistanceAu(Planets.NEPTUNE.heliocentricDistanceAUNow());
-        sb.plutoDistanceAu(Planets.PLUTO.heliocentricDistanceAUNow());
+        sb.mercuryEarthDistanceAu(Planets.MERCURY.distanceAU(ctx));
+        sb.venusEarthDistanceAu(Planets.VENUS.distanceAU(ctx));
+        sb.uranusEarthDistanceAu(Planets.URANUS.distanceAU(ctx));
+        sb.neptuneEarthDistanceAu(Planets.NEPTUNE.distanceAU(ctx));
+        sb.plutoEarthDistanceAu(Planets.PLUTO.distanceAU(ctx));
     }
 
-    private void logPlanetDistance(String name, double currentAu, PlanetDistance planet) {
-        double[] range = planet.minMaxDistanceAUNow();
+    /** Logs the distance and its relative bar; returns the bar's marker position. */
+    private int logPlanetDistance(String name, double currentAu, PlanetDistance planet, ZonedDateTime now) {
+        double[] range = planet.minMaxDistanceAU(now);
         logger.info("Current Earth-{} distance: {} AU", name, String.format("%.6f", currentAu));
-        String bar = buildRelativeBar(currentAu, range[0], range[1], BAR_WIDTH);
-        logger.info("{}", bar);
+        int position = relativePosition(currentAu, range[0], range[1], BAR_WIDTH);
+        logger.info("{}", buildRelativeBar(position, BAR_WIDTH));
         logger.info("{}        {}        {}",
                 String.format("%.6f", range[0]),
                 String.format("%.6f", currentAu),
                 String.format("%.6f", range[1]));
+        return position;
     }
 
-    private void computeVoyagerDistance(AstronomicalSnapshot.Builder sb) {
-        double v1Au = VoyagerDistance.distanceFromEarthV1AUNow();
-        double v2Au = VoyagerDistance.distanceFromEarthV2AUNow();
+    private void computeVoyagerDistance(AstronomicalSnapshot.Builder sb, EphemerisContext ctx) {
+        double v1Au = VoyagerDistance.distanceFromEarthV1AU(ctx);
+        double v2Au = VoyagerDistance.distanceFromEarthV2AU(ctx);
         sb.voyager1DistanceAu(v1Au);
         sb.voyager2DistanceAu(v2Au);
-        sb.voyager1HelioDistanceAu(VoyagerDistance.heliocentricDistanceV1AUNow());
-        sb.voyager2HelioDistanceAu(VoyagerDistance.heliocentricDistanceV2AUNow());
+        sb.voyager1HelioDistanceAu(VoyagerDistance.heliocentricDistanceV1AU(ctx));
+        sb.voyager2HelioDistanceAu(VoyagerDistance.heliocentricDistanceV2AU(ctx));
 
         logger.info("Voyager 1 distance from Earth: {} AU", String.format("%.6f", v1Au));
         logger.info("Voyager 2 distance from Earth: {} AU", String.format("%.6f", v2Au));
@@ -273,23 +423,25 @@ public class CalculationOrchestrator {
     }
 
     private void computeDayLength(AstronomicalSnapshot.Builder sb, ZonedDateTime now) {
-        double[] dayRange = DayLight.minMaxDayLengthHoursNow(latitude);
-        double currentDayHours = DayLight.dayLengthHours(now.toLocalDate(), latitude);
+        Almanac days = almanacFor(now.toLocalDate());
+        double[] dayRange = days.minMaxDaylightHours(now.getYear());
+        double currentDayHours = days.daylightHours(days.indexOf(now.toLocalDate()));
         sb.daylightHours(currentDayHours);
 
         logger.info("Daylight length (hours) at latitude {}", latitude);
-        String dayBar = buildRelativeBar(currentDayHours, dayRange[0], dayRange[1], BAR_WIDTH);
-        logger.info("{}", dayBar);
+        int dayPosition = relativePosition(currentDayHours, dayRange[0], dayRange[1], BAR_WIDTH);
+        logger.info("{}", buildRelativeBar(dayPosition, BAR_WIDTH));
         logger.info("{}        {}        {}",
                 String.format("%.2f", dayRange[0]),
                 String.format("%.2f", currentDayHours),
                 String.format("%.2f", dayRange[1]));
 
         awtrixPusher.push("CurrentDayLength", String.format("%.1fhrs", currentDayHours), APIPost.IconType.DAYLENGTH.name());
+        pushBar("dayLengthBar", dayPosition, DAYLIGHT_COLOUR);
     }
 
-    private void computeNewHorizonsDistance(AstronomicalSnapshot.Builder sb) {
-        double nhAu = NewHorizonsDistance.distanceFromEarthAUNow();
+    private void computeNewHorizonsDistance(AstronomicalSnapshot.Builder sb, EphemerisContext ctx) {
+        double nhAu = NewHorizonsDistance.distanceFromEarthAU(ctx);
         sb.newHorizonsDistanceAu(nhAu);
         logger.info("New Horizons distance from Earth: {} AU ({} km/s)",
                 String.format("%.6f", nhAu), NewHorizonsDistance.speedKmPerSec());
@@ -297,18 +449,20 @@ public class CalculationOrchestrator {
         awtrixPusher.push("newhorizons", String.format("NH:%.0fau", nhAu), APIPost.IconType.NEWHORIZONS.name());
     }
 
-    private void computeJamesWebbDistance(AstronomicalSnapshot.Builder sb) {
-        double jwstKm = JamesWebbDistance.distanceKmNow();
+    private void computeJamesWebbDistance(AstronomicalSnapshot.Builder sb, EphemerisContext ctx) {
+        double jwstKm = JamesWebbDistance.distanceKmAt(ctx);
         sb.jamesWebbDistanceKm(jwstKm);
         logger.info("James Webb Space Telescope distance from Earth: {} km", String.format("%,.0f", jwstKm));
     }
 
-    private void computeEquinox(AstronomicalSnapshot.Builder sb) {
-        String nextSummer = EquinoxCalculator.nextSummerSolstice().format(SHORT_DATE_FMT);
-        String nextWinter = EquinoxCalculator.nextWinterSolstice().format(SHORT_DATE_FMT);
-
-        long daysUntilSummer = EquinoxCalculator.daysUntilSummerSolstice();
-        long daysUntilWinter = EquinoxCalculator.daysUntilWinterSolstice();
+    private void computeEquinox(AstronomicalSnapshot.Builder sb, ZonedDateTime now) {
+        LocalDate today = now.toLocalDate();
+        Almanac days = almanacFor(today);
+        int day = days.indexOf(today);
+        long daysUntilSummer = days.daysUntilSummerSolstice(day);
+        long daysUntilWinter = days.daysUntilWinterSolstice(day);
+        String nextSummer = today.plusDays(daysUntilSummer).format(SHORT_DATE_FMT);
+        String nextWinter = today.plusDays(daysUntilWinter).format(SHORT_DATE_FMT);
         sb.daysUntilSummerSolstice(daysUntilSummer);
         sb.daysUntilWinterSolstice(daysUntilWinter);
 
@@ -319,9 +473,11 @@ public class CalculationOrchestrator {
         awtrixPusher.push("wintersolstice", daysUntilWinter + "d", APIPost.IconType.WINTER.name());
     }
 
-    private void computePerihelionAphelion(AstronomicalSnapshot.Builder sb) {
-        long daysToPerihelion = PerihelionAphelion.daysUntilPerihelion();
-        long daysToAphelion = PerihelionAphelion.daysUntilAphelion();
+    private void computePerihelionAphelion(AstronomicalSnapshot.Builder sb, ZonedDateTime now) {
+        Almanac days = almanacFor(now.toLocalDate());
+        int day = days.indexOf(now.toLocalDate());
+        long daysToPerihelion = days.daysUntilPerihelion(day);
+        long daysToAphelion = days.daysUntilAphelion(day);
         sb.daysUntilPerihelion(daysToPerihelion);
         sb.daysUntilAphelion(daysToAphelion);
 
@@ -332,13 +488,13 @@ public class CalculationOrchestrator {
         awtrixPusher.push("aphelion", daysToAphelion + "d", APIPost.IconType.PERIHELION.name());
     }
 
-    private void computeEarthSpeed(AstronomicalSnapshot.Builder sb) {
-        double speedKmS = EarthSpeed.speedKmPerSecNow();
-        double speedKmH = EarthSpeed.speedKmPerHourNow();
+    private void computeEarthSpeed(AstronomicalSnapshot.Builder sb, EphemerisContext ctx) {
+        double speedKmS = EarthSpeed.speedKmPerSec(ctx);
+        double speedKmH = speedKmS * 3600.0;
         sb.earthSpeedKmPerSec(speedKmS);
         sb.earthSpeedKmPerHour(speedKmH);
 
-        double tilt = EarthAxialTilt.tiltDegreesNow();
+        double tilt = EarthAxialTilt.tiltDegrees(ctx);
         sb.earthAxialTiltDegrees(tilt);
 
         logger.info("Earth's orbital speed: {} km/s ({} km/h)",
@@ -348,48 +504,123 @@ public class CalculationOrchestrator {
         awtrixPusher.push("earthSpeed", String.format("%.1fkm/s", speedKmS), APIPost.IconType.EARTH.name());
     }
 
-    private void computeMoonDistance(AstronomicalSnapshot.Builder sb) {
-        double moonDistKm = MoonDistance.distanceKmNow();
-        double[] moonRange = MoonDistance.minMaxDistanceKmNow();
+    private void computeMoonDistance(AstronomicalSnapshot.Builder sb, EphemerisContext ctx) {
+        double moonDistKm = MoonDistance.distanceKm(ctx);
+        double[] moonRange = LunarApsides.currentRangeKm(ctx.instant());
         sb.moonDistanceKm(moonDistKm);
 
         logger.info("Current Moon distance: {}", MoonDistance.formatDistanceKm(moonDistKm));
-        String moonBar = buildRelativeBar(moonDistKm, moonRange[0], moonRange[1], BAR_WIDTH);
-        logger.info("{}", moonBar);
+        double[] moonPosition = new double[3];
+        MoonPosition.positionAt(ctx.daysSinceJ2000(), MoonPosition.Precision.FAST, moonPosition, 0);
+        logger.info("Moon ecliptic longitude: {} deg, latitude: {} deg",
+                String.format("%.2f", moonPosition[MoonPosition.LONGITUDE]),
+                String.format("%.2f", moonPosition[MoonPosition.LATITUDE]));
+        int barPosition = relativePosition(moonDistKm, moonRange[0], moonRange[1], BAR_WIDTH);
+        logger.info("{}", buildRelativeBar(barPosition, BAR_WIDTH));
         logger.info("{}        {}        {}",
                 MoonDistance.formatDistanceKm(moonRange[0]),
                 MoonDistance.formatDistanceKm(moonDistKm),
                 MoonDistance.formatDistanceKm(moonRange[1]));
 
+        LunarApsides.Apsis perigee = LunarApsides.nextPerigee(ctx.instant());
+        LunarApsides.Apsis supermoon = LunarApsides.nextSupermoonPerigee(ctx.instant());
+        logger.info("Next perigee: {} ({})", perigee.instant(), MoonDistance.formatDistanceKm(perigee.distanceKm()));
+        if (supermoon != null) {
+            logger.info("Next supermoon perigee: {} ({})",
+                    supermoon.instant(), MoonDistance.formatDistanceKm(supermoon.distanceKm()));
+        }
+
         awtrixPusher.push("moonDistance", String.format("%,.0fkm", moonDistKm), APIPost.IconType.MOON.name());
+        pushBar("moonDistanceBar", barPosition, MOON_COLOUR);
     }
 
-    private void computeLeoData(AstronomicalSnapshot.Builder sb) {
+    /** Everything the LEO step fetches; -1 marks a value whose source has not answered yet. */
+    private record LeoReading(double issAltitudeKm, double tiangongAltitudeKm, double hubbleAltitudeKm,
+                              int starlinkCount, int kuiperCount, int totalSatellites,
+                              LeoDataFetcher.PeopleInSpace people) {
+        static LeoReading fetch() {
+            return new LeoReading(
+                    LeoDataFetcher.fetchIssAltitudeKm(),
+                    LeoDataFetcher.fetchTiangongAltitudeKm(),
+                    LeoDataFetcher.fetchHubbleAltitudeKm(),
+                    LeoDataFetcher.fetchStarlinkCount(),
+                    LeoDataFetcher.fetchKuiperCount(),
+                    LeoDataFetcher.fetchTotalSatelliteCount(),
+                    LeoDataFetcher.fetchPeopleInSpace());
+        }
+    }
+
+    /** Applies the LEO step's result, or marks every LEO field missing if it gave none. */
+    private void applyLeoData(AstronomicalSnapshot.Builder sb, LeoReading leo, List<String> missing) {
         logger.info("--- LEO Data ---");
-        sb.issAltitudeKm(LeoDataFetcher.fetchIssAltitudeKm());
-        sb.tiangongAltitudeKm(LeoDataFetcher.fetchTiangongAltitudeKm());
-        sb.hubbleAltitudeKm(LeoDataFetcher.fetchHubbleAltitudeKm());
-        sb.starlinkSatelliteCount(LeoDataFetcher.fetchStarlinkCount());
-        sb.kuiperSatelliteCount(LeoDataFetcher.fetchKuiperCount());
-        sb.totalSatellitesInOrbit(LeoDataFetcher.fetchTotalSatelliteCount());
-
-        LeoDataFetcher.PeopleInSpace people = LeoDataFetcher.fetchPeopleInSpace();
+        if (leo == null) {
+            sb.issAltitudeKm(-1).tiangongAltitudeKm(-1).hubbleAltitudeKm(-1)
+              .starlinkSatelliteCount(-1).kuiperSatelliteCount(-1).totalSatellitesInOrbit(-1)
+              .issCrew(-1).totalPeopleInSpace(-1).craftOccupancy(Collections.emptyMap());
+            missing.addAll(LEO_FIELDS);
+            return;
+        }
+        sb.issAltitudeKm(leo.issAltitudeKm());
+        sb.tiangongAltitudeKm(leo.tiangongAltitudeKm());
+        sb.hubbleAltitudeKm(leo.hubbleAltitudeKm());
+        sb.starlinkSatelliteCount(leo.starlinkCount());
+        sb.kuiperSatelliteCount(leo.kuiperCount());
+        sb.totalSatellitesInOrbit(leo.totalSatellites());
+        markIfUnavailable(missing, "issAltitudeKm", leo.issAltitudeKm());
+        markIfUnavailable(missing, "tiangongAltitudeKm", leo.tiangongAltitudeKm());
+        markIfUnavailable(missing, "hubbleAltitudeKm", leo.hubbleAltitudeKm());
+        markIfUnavailable(missing, "starlinkSatelliteCount", leo.starlinkCount());
+        markIfUnavailable(missing, "kuiperSatelliteCount", leo.kuiperCount());
+        markIfUnavailable(missing, "totalSatellitesInOrbit", leo.totalSatellites());
+
+        LeoDataFetcher.PeopleInSpace people = leo.people();
         sb.issCrew(people.issCrew());
         sb.totalPeopleInSpace(people.total());
         sb.craftOccupancy(people.craftOccupancy());
+        if (people.total() < 0) {
+            missing.addAll(List.of("issCrew", "totalPeopleInSpace", "craftOccupancy"));
+        }
         logger.info("People in space: {} total, {} on ISS", people.total(), people.issCrew());
     }
 
+    private static void markIfUnavailable(List<String> missing, String field, double value) {
+        if (value < 0) {
+            missing.add(field);
+        }
+    }
+
     private void computeSunriseSunset(AstronomicalSnapshot.Builder sb, ZonedDateTime now) {
-        String sunrise = SunriseSunset.sunriseUtc(now.toLocalDate(), latitude, longitude);
-        String sunset  = SunriseSunset.sunsetUtc(now.toLocalDate(), latitude, longitude);
-        sb.sunriseTime(sunrise);
-        sb.sunsetTime(sunset);
-        logger.info("Sunrise: {} UTC | Sunset: {} UTC (lat={}, lon={})", sunrise, sunset, latitude, longitude);
+        Almanac days = almanacFor(now.toLocalDate());
+        int day = days.indexOf(now.toLocalDate());
+        applySolarDay(sb, days, day);
+        logger.info("Sunrise: {} UTC | Solar noon: {} UTC | Sunset: {} UTC (lat={}, lon={})",
+                days.solarTime(day, SolarDay.SUNRISE),
+                days.solarTime(day, SolarDay.SOLAR_NOON),
+                days.solarTime(day, SolarDay.SUNSET), latitude, longitude);
+        logger.info("Twilight dawn: astronomical {} | nautical {} | civil {} UTC",
+                days.solarTime(day, SolarDay.ASTRONOMICAL_DAWN),
+                days.solarTime(day, SolarDay.NAUTICAL_DAWN),
+                days.solarTime(day, SolarDay.CIVIL_DAWN));
+        logger.info("Twilight dusk: civil {} | nautical {} | astronomical {} UTC",
+                days.solarTime(day, SolarDay.CIVIL_DUSK),
+                days.solarTime(day, SolarDay.NAUTICAL_DUSK),
+                days.solarTime(day, SolarDay.ASTRONOMICAL_DUSK));
     }
 
-    private void computeAurora(AstronomicalSnapshot.Builder sb) {
-        double kp = AuroraKpFetcher.fetchKpIndex();
+    /** Sunrise, sunset and twilight strings for one almanac day. */
+    private static void applySolarDay(AstronomicalSnapshot.Builder sb, Almanac days, int day) {
+        sb.sunriseTime(days.solarTime(day, SolarDay.SUNRISE));
+        sb.sunsetTime(days.solarTime(day, SolarDay.SUNSET));
+        sb.civilDawnTime(days.solarTime(day, SolarDay.CIVIL_DAWN));
+        sb.civilDuskTime(days.solarTime(day, SolarDay.CIVIL_DUSK));
+        sb.nauticalDawnTime(days.solarTime(day, SolarDay.NAUTICAL_DAWN));
+        sb.nauticalDuskTime(days.solarTime(day, SolarDay.NAUTICAL_DUSK));
+        sb.astronomicalDawnTime(days.solarTime(day, SolarDay.ASTRONOMICAL_DAWN));
+        sb.astronomicalDuskTime(days.solarTime(day, SolarDay.ASTRONOMICAL_DUSK));
+    }
+
+    private void applyAurora(AstronomicalSnapshot.Builder sb, Double fetched, List<String> missing) {
+        double kp = fetched != null ? fetched : -1.0;
         sb.auroraKpIndex(kp);
         if (kp >= 0) {
             String activity = kp < 2 ? "Quiet" : kp < 4 ? "Unsettled" : kp < 5 ? "Active" : "Storm (Kp≥5)";
@@ -397,21 +628,23 @@ public class CalculationOrchestrator {
             // Push to Awtrix — always show current Kp, storm alert when Kp ≥ 5
             String label = kp >= 5 ? String.format("⚡Kp%.1f", kp) : String.format("Kp%.1f", kp);
             awtrixPusher.push("auroraKp", label, APIPost.IconType.AURORA.name());
+        } else {
+            missing.add("auroraKpIndex");
         }
     }
 
-    private void computeLightTravelTimes(AstronomicalSnapshot.Builder sb) {
-        String earth = LightTravelTime.sunToEarthNow();
-        String mercury = LightTravelTime.sunToMercuryNow();
-        String venus = LightTravelTime.sunToVenusNow();
-        String mars = LightTravelTime.sunToMarsNow();
-        String jupiter = LightTravelTime.sunToJupiterNow();
-        String saturn = LightTravelTime.sunToSaturnNow();
-        String uranus = LightTravelTime.sunToUranusNow();
-        String neptune = LightTravelTime.sunToNeptuneNow();
-        String pluto = LightTravelTime.sunToPlutoNow();
-        String v1 = LightTravelTime.sunToVoyager1Now();
-        String v2 = LightTravelTime.sunToVoyager2Now();
+    private void computeLightTravelTimes(AstronomicalSnapshot.Builder sb, EphemerisContext ctx) {
+        String earth = LightTravelTime.sunToEarth(ctx);
+        String mercury = LightTravelTime.sunToPlanet(ctx, Planets.MERCURY);
+        String venus = LightTravelTime.sunToPlanet(ctx, Planets.VENUS);
+        String mars = LightTravelTime.sunToPlanet(ctx, Planets.MARS);
+        String jupiter = LightTravelTime.sunToPlanet(ctx, Planets.JUPITER);
+        String saturn = LightTravelTime.sunToPlanet(ctx, Planets.SATURN);
+        String uranus = LightTravelTime.sunToPlanet(ctx, Planets.URANUS);
+        String neptune = LightTravelTime.sunToPlanet(ctx, Planets.NEPTUNE);
+        String pluto = LightTravelTime.sunToPlanet(ctx, Planets.PLUTO);
+        String v1 = LightTravelTime.sunToVoyager1(ctx);
+        String v2 = LightTravelTime.sunToVoyager2(ctx);
 
         sb.lightTimeSunToEarth(earth);
         sb.lightTimeSunToMercury(mercury);
@@ -442,15 +675,44 @@ public class CalculationOrchestrator {
         awtrixPusher.push("lightJupiter", "Lt:" + jupiter, APIPost.IconType.LIGHT.name());
     }
 
-    private void computeMoonPhase(AstronomicalSnapshot.Builder sb, ZonedDateTime now) {
-        MoonPhase mp = MoonPhase.fromDate(now.toLocalDate());
-        logger.info("Current moon phase is {} ({} days, {}% illuminated).",
-                mp.getPhaseName(), mp.getAgeDays(), mp.getIlluminationPercent());
+    private void computeMoonPhase(AstronomicalSnapshot.Builder sb, ZonedDateTime now, MoonPhase mp) {
+        logger.info("Current moon phase is {} ({} days, {}% illuminated, full moon in {} days).",
+                mp.getPhaseName(), String.format("%.2f", mp.getAgeDaysExact()), mp.getIlluminationPercent(),
+                String.format("%.2f", mp.getDaysUntilFullMoonExact()));
         Arrays.asList(mp.getAscii()).forEach(row -> logger.info("{}", row));
 
-        // Claude verification - LOG ONLY, never override deterministic calculation.
-        ClaudeMoonPhaseVerifier.VerificationResult verification =
-                ClaudeMoonPhaseVerifier.verify(now.toLocalDate(), mp.getPhaseName());
+        int daysUntilFull = mp.getDaysUntilFullMoon();
+        logger.info("Days until next full moon: {}", daysUntilFull);
+
+        sb.moonPhaseName(mp.getPhaseName());
+        sb.moonIlluminationPercent(mp.getIlluminationPercent());
+        sb.moonPhaseIcon(mp.getPhaseIcon());
+        sb.moonAsciiArt(mp.getAscii());
+        sb.moonAgeDays(mp.getAgeDays());
+        sb.daysUntilFullMoon(daysUntilFull);
+
+        // The disc as it looks from here is drawn over the phase icon, which a clock that
+        // cannot draw still shows
+        PixelFrame moonFrame = awtrixPusher.hasEnabledDevice() ? moonFrame(now) : null;
+        awtrixPusher.push("moonphase", mp.getPhaseName(), mp.getPhaseIcon(), moonFrame);
+        awtrixPusher.push("moonillumination", mp.getIlluminationPercent() + "%", mp.getPhaseIcon(), moonFrame);
+        awtrixPusher.push("fullmoon", fullMoonCountdown(now.toInstant(), daysUntilFull), "FullMoon");
+    }
+
+    private PixelFrame moonFrame(ZonedDateTime now) {
+        MoonDisc disc = MoonDisc.at(now.toInstant(), latitude, longitude);
+        logger.info("Moon disc: {}% lit, bright limb at {} deg from north ({} deg from the zenith)",
+                String.format("%.1f", disc.illuminatedFraction() * 100),
+                String.format("%.0f", disc.brightLimbAngleDeg()),
+                String.format("%.0f", disc.zenithLimbAngleDeg()));
+        return AwtrixFrames.moon(disc.illuminatedFraction(), disc.zenithLimbAngleDeg());
+    }
+
+    /** Claude verification - LOG ONLY, never overrides the deterministic calculation. */
+    private void logVerification(ClaudeMoonPhaseVerifier.VerificationResult verification) {
+        if (verification == null) {
+            return;
+        }
         if ("N/A".equals(verification.claudePhase())) {
             logger.info("Claude verification skipped (API key not set)");
         } else if (verification.matches()) {
@@ -460,40 +722,45 @@ public class CalculationOrchestrator {
                             + "Keeping deterministic result - investigate algorithm if this persists.",
                     verification.calculatedPhase(), verification.claudePhase(), verification.details());
         }
+    }
 
-        int daysUntilFull = mp.getDaysUntilFullMoon();
-        logger.info("Days until next full moon: {}", daysUntilFull);
-
-        sb.moonPhaseName(mp.getPhaseName());
-        sb.moonIlluminationPercent(mp.getIlluminationPercent());
-        sb.moonPhaseIcon(mp.getPhaseIcon());
-        sb.moonAsciiArt(mp.getAscii());
-        sb.moonAgeDays(mp.getAgeDays());
-        sb.daysUntilFullMoon(daysUntilFull);
+    /**
+     * Countdown to the next full moon from the lunation index: whole days, or hours once
+     * it is less than a day away. Falls back to the phase model's day count past 2100.
+     */
+    static String fullMoonCountdown(Instant now, int fallbackDays) {
+        LunarPhaseEvents.Event full = LunarPhaseEvents.next(now, LunarPhaseEvents.Kind.FULL_MOON);
+        if (full == null) {
+            return fallbackDays + "d";
+        }
+        long minutes = Duration.between(now, full.instant()).toMinutes();
+        return minutes < 24 * 60 ? Math.round(minutes / 60.0) + "h" : Math.round(minutes / 1440.0) + "d";
+    }
 
-        awtrixPusher.push("moonphase", mp.getPhaseName(), mp.getPhaseIcon());
-        awtrixPusher.push("moonillumination", mp.getIlluminationPercent() + "%", mp.getPhaseIcon());
-        awtrixPusher.push("fullmoon", daysUntilFull + "d", "FullMoon");
+    /** Pushes a whole-screen bar with its marker at {@code position}, if bars are enabled. */
+    private void pushBar(String app, int position, int colour) {
+        if (awtrixPusher.barsEnabled()) {
+            awtrixPusher.push(app, "", null, AwtrixFrames.bar(position, colour));
+        }
     }
 
-    private String buildRelativeBar(double current, double min, double max, int innerWidth) {
+    /** Column (0 .. innerWidth - 1) of {@code current} between {@code min} and {@code max}. */
+    static int relativePosition(double current, double min, double max, int innerWidth) {
         if (innerWidth < 1) innerWidth = 1;
-        StringBuilder buf = new StringBuilder();
-        buf.append("Min |");
-
-        int pos;
         if (!Double.isFinite(min) || !Double.isFinite(max) || max <= min) {
-            logger.warn("buildRelativeBar: invalid range min={} max={} - defaulting to centre", min, max);
-            pos = innerWidth / 2;
-        } else {
-            double frac = (current - min) / (max - min);
-            if (Double.isNaN(frac)) frac = 0.5;
-            frac = Math.max(0.0, Math.min(1.0, frac));
-            pos = (int) Math.round(frac * (innerWidth - 1));
+            logger.warn("relativePosition: invalid range min={} max={} - defaulting to centre", min, max);
+            return innerWidth / 2;
         }
+        double frac = (current - min) / (max - min);
+        if (Double.isNaN(frac)) frac = 0.5;
+        frac = Math.max(0.0, Math.min(1.0, frac));
+        return (int) Math.round(frac * (innerWidth - 1));
+    }
 
-        int w = innerWidth;
-        IntStream.range(0, w).forEach(i -> buf.append(i == pos ? '0' : '-'));
+    private static String buildRelativeBar(int pos, int innerWidth) {
+        StringBuilder buf = new StringBuilder();
+        buf.append("Min |");
+        IntStream.range(0, innerWidth).forEach(i -> buf.append(i == pos ? '0' : '-'));
         buf.append("| Max");
         return buf.toString();
     }
@@ -0,0 +1,51 @@
+package org.iHarwood.calculation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * One network-bound step of a live cycle, started on its own (virtual) thread as soon as
+ * it is created. Its deadline counts from that moment, so steps started together wait
+ * concurrently rather than adding up. A step that fails or misses its deadline yields
+ * null and is cancelled, leaving the caller to publish without it.
+ */
+final class IoStep<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(IoStep.class);
+
+    private final String name;
+    private final Duration deadline;
+    private final long deadlineNanos;
+    private final Future<T> future;
+
+    IoStep(ExecutorService executor, String name, Duration deadline, Callable<T> task) {
+        this.name = name;
+        this.deadline = deadline;
+        this.deadlineNanos = System.nanoTime() + deadline.toNanos();
+        this.future = executor.submit(task);
+    }
+
+    /** Waits until the deadline at most; the result, or null if the step failed or timed out. */
+    T await() {
+        try {
+            return future.get(Math.max(0L, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            logger.warn("{} missed its {} ms deadline - continuing without it", name, deadline.toMillis());
+        } catch (ExecutionException e) {
+            logger.warn("{} failed - continuing without it: {}", name, e.getCause().toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+        }
+        return null;
+    }
+}
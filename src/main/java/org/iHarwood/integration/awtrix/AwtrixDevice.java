@@ -0,0 +1,286 @@
+package org.iHarwood.integration.awtrix;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * The push pipeline of one Awtrix clock: its own queues, workers, delivery state and
+ * counters, so a slow or dead clock only ever delays itself.
+ *
+ * {@link #push} only queues the update and returns: a few worker threads send in the
+ * background, retrying with exponential backoff and jitter. Updates are coalesced per app
+ * name - a push for an app that is still queued replaces the queued text, and a retry is
+ * abandoned once a newer update for its app arrives - and each app name always goes to
+ * the same worker, so the clock never sees an app's updates out of order.
+ *
+ * An update whose text and icon the app already shows (per {@link DeliveredState}) is
+ * not sent at all.
+ *
+ * Over HTTP each update is a request to the clock itself, so only {@link #WORKERS} run at
+ * once. Over MQTT they are publishes to a broker sharing one connection, so up to
+ * {@link #MQTT_WORKERS} are in flight and a cycle's updates go out in about one round trip.
+ */
+final class AwtrixDevice {
+
+    private static final Logger logger = LoggerFactory.getLogger(AwtrixDevice.class);
+
+    private static final int MAX_ATTEMPTS = 3;
+    static final long BASE_BACKOFF_MS = 1000;
+    static final long MAX_BACKOFF_MS = 8000;
+
+    /** Background senders per device; app names are striped across them. */
+    static final int WORKERS = 2;
+    /** Background senders of a device on MQTT, i.e. QoS 1 publishes in flight at once. */
+    static final int MQTT_WORKERS = 8;
+    /** Distinct app names each worker may hold queued; more are dropped and counted as failures. */
+    static final int QUEUE_CAPACITY = 32;
+
+    /** Sends one update; the seam tests replace. */
+    @FunctionalInterface
+    interface Sender {
+        /**
+         * @param frame   pixels drawn with the text, or null
+         * @param address the update's HTTP URL or MQTT topic ({@link AwtrixDeviceConfig#address})
+         * @return an HTTP status; 2xx means the app now shows this update
+         */
+        int send(String appName, String text, String icon, PixelFrame frame, String address)
+                throws IOException, InterruptedException;
+
+        /** Releases a persistent connection, if the sender keeps one. */
+        default void close() {}
+    }
+
+    /** An update waiting for its worker, with its {@link DeliveredState#hash}. */
+    private record Update(String text, String icon, PixelFrame frame, long hash) {}
+
+    private final AwtrixDeviceConfig config;
+    private final Sender sender;
+    private final DeliveredState delivered;
+
+    private final AtomicInteger successCount = new AtomicInteger(0);
+    private final AtomicInteger failureCount = new AtomicInteger(0);
+    private final AtomicInteger coalescedCount = new AtomicInteger(0);
+    private final AtomicInteger skippedCount = new AtomicInteger(0);
+
+    /** Latest queued update per app name; a name is in a worker queue iff it has an entry here. */
+    private final Map<String, Update> pending = new ConcurrentHashMap<>();
+    /** Update each worker is sending right now, per app name. */
+    private final Map<String, Update> sending = new ConcurrentHashMap<>();
+    private final List<BlockingQueue<String>> queues;
+    private final Thread[] workers;
+    private volatile boolean closing;
+
+    AwtrixDevice(AwtrixDeviceConfig config, Sender sender, DeliveredState delivered) {
+        this.config = config;
+        this.sender = sender;
+        this.delivered = delivered;
+
+        int count = config.mqtt() ? MQTT_WORKERS : WORKERS;
+        this.queues = Stream.<BlockingQueue<String>>generate(() -> new LinkedBlockingQueue<>(QUEUE_CAPACITY))
+                .limit(count)
+                .toList();
+        this.workers = new Thread[count];
+        for (int i = 0; i < count; i++) {
+            BlockingQueue<String> queue = queues.get(i);
+            workers[i] = Thread.ofVirtual().name("awtrix-" + config.name() + "-" + i).start(() -> drain(queue));
+        }
+    }
+
+    AwtrixDeviceConfig config() {
+        return config;
+    }
+
+    /** Checks that the clock answers on /api/stats; only logs. */
+    void checkConnectivity(HttpClient client) {
+        if (config.mqtt()) {
+            logger.info("Awtrix {} publishes over MQTT via {}", config.name(), config.displayHostname());
+            return;
+        }
+        String statsUrl = config.hostname() + "/api/stats";
+        try {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(statsUrl))
+                    .timeout(Duration.ofSeconds(5))
+                    .GET()
+                    .build();
+
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+
+            if (status >= 200 && status < 300) {
+                logger.info("Awtrix {} reachable at {} (HTTP {})", config.name(), config.displayHostname(), status);
+            } else {
+                logger.warn("Awtrix {} at {} responded with unexpected status {} - pushes may fail",
+                        config.name(), config.displayHostname(), status);
+            }
+        } catch (Exception e) {
+            logger.warn("Awtrix {} not reachable at {} - pushes will fail until it comes online ({})",
+                    config.name(), config.displayHostname(), e.getMessage());
+        }
+    }
+
+    /**
+     * Queues an update of our app {@code app} under the device's name for it, unless the
+     * device does not show that app or already shows exactly this text, icon and frame.
+     */
+    void push(String app, String text, String icon, PixelFrame frame) {
+        String appName = config.deviceApp(app);
+        if (appName == null) {
+            return;
+        }
+        if (closing) {
+            logger.warn("Awtrix {} update ({}) after shutdown - dropped", config.name(), appName);
+            failureCount.incrementAndGet();
+            return;
+        }
+        if (delivered.reconcileIfDue(System.currentTimeMillis())) {
+            logger.info("Awtrix {} reconcile - resending every app", config.name());
+        }
+        Update update = new Update(text, icon, frame, DeliveredState.hash(text, icon, frame));
+        if (isCurrent(appName, update.hash())) {
+            logger.debug("Awtrix {} update ({}) unchanged - skipped", config.name(), appName);
+            skippedCount.incrementAndGet();
+            return;
+        }
+        if (pending.put(appName, update) != null) {
+            coalescedCount.incrementAndGet();
+            return;
+        }
+        if (!queues.get(Math.floorMod(appName.hashCode(), queues.size())).offer(appName)) {
+            pending.remove(appName, update);
+            logger.warn("Awtrix {} queue full - dropped update ({})", config.name(), appName);
+            failureCount.incrementAndGet();
+        }
+    }
+
+    /** True if the device has, or is about to get, exactly this content for the app. */
+    private boolean isCurrent(String appName, long hash) {
+        Update queued = pending.get(appName);
+        if (queued != null) {
+            return queued.hash() == hash;
+        }
+        Update inFlight = sending.get(appName);
+        if (inFlight != null) {
+            return inFlight.hash() == hash;
+        }
+        return delivered.isDelivered(appName, hash);
+    }
+
+    /** Worker loop: sends the latest update of each queued app name until shut down and empty. */
+    private void drain(BlockingQueue<String> queue) {
+        try {
+            while (!closing || !queue.isEmpty()) {
+                String appName = queue.poll(250, TimeUnit.MILLISECONDS);
+                if (appName == null) {
+                    // Idle: a good moment to write down what was delivered
+                    delivered.saveIfChanged(System.currentTimeMillis());
+                    continue;
+                }
+                Update update = pending.remove(appName);
+                if (update != null) {
+                    sending.put(appName, update);
+                    try {
+                        send(appName, update);
+                    } finally {
+                        sending.remove(appName);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Sends with retries; gives up early once a newer update for the app is queued. */
+    private void send(String appName, Update update) throws InterruptedException {
+        String url = config.address(appName);
+        logger.info("Awtrix host API call:{}", AwtrixDeviceConfig.withoutUserInfo(url));
+
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                int responseCode = sender.send(appName, update.text(), update.icon(), update.frame(), url);
+                logger.info("Awtrix {} response ({}): {}", config.name(), appName, responseCode);
+                successCount.incrementAndGet();
+                if (responseCode >= 200 && responseCode < 300) {
+                    delivered.delivered(appName, update.hash());
+                } else {
+                    delivered.forget(appName);
+                }
+                return;
+            } catch (InterruptedException e) {
+                logger.warn("Awtrix {} send interrupted ({})", config.name(), appName);
+                failureCount.incrementAndGet();
+                delivered.forget(appName);
+                throw e;
+            } catch (IOException e) {
+                if (attempt == MAX_ATTEMPTS || closing) {
+                    logger.warn("Awtrix {} send failed ({}) after {} attempts: {}",
+                            config.name(), appName, attempt, e.getMessage());
+                    failureCount.incrementAndGet();
+                    delivered.forget(appName);
+                    return;
+                }
+                long delay = backoffMillis(attempt, ThreadLocalRandom.current().nextDouble());
+                logger.warn("Awtrix {} send failed ({}) attempt {}/{} - retrying in {}ms: {}",
+                        config.name(), appName, attempt, MAX_ATTEMPTS, delay, e.getMessage());
+                Thread.sleep(delay);
+                if (pending.containsKey(appName)) {
+                    logger.info("Awtrix {} retry ({}) superseded by a newer update", config.name(), appName);
+                    coalescedCount.incrementAndGet();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Delay before retry {@code attempt} (1-based): the exponential step, capped, with
+     * its upper half jittered by {@code random} in [0, 1) so failed pushes do not retry
+     * in lockstep.
+     */
+    static long backoffMillis(int attempt, double random) {
+        long step = Math.min(MAX_BACKOFF_MS, BASE_BACKOFF_MS << Math.min(attempt - 1, 16));
+        return step / 2 + (long) (random * (step / 2));
+    }
+
+    /** Stops taking updates and stops waiting for the workers at {@code deadlineNanos}. */
+    void shutdown(long deadlineNanos) {
+        closing = true;
+        for (Thread worker : workers) {
+            try {
+                if (!worker.join(Duration.ofNanos(Math.max(0L, deadlineNanos - System.nanoTime())))) {
+                    worker.interrupt();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                worker.interrupt();
+            }
+        }
+        if (!pending.isEmpty()) {
+            logger.warn("Awtrix {} shutdown dropped {} queued updates: {}",
+                    config.name(), pending.size(), pending.keySet());
+        }
+        sender.close();
+        delivered.saveIfChanged(System.currentTimeMillis());
+    }
+
+    AwtrixPusher.DeviceStats stats() {
+        return new AwtrixPusher.DeviceStats(config.name(), config.displayHostname(), config.enabled(),
+                successCount.get(), failureCount.get(), coalescedCount.get(), skippedCount.get(), pending.size());
+    }
+}
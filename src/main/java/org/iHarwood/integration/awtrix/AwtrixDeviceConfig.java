@@ -0,0 +1,145 @@
+package org.iHarwood.integration.awtrix;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * One Awtrix clock: its name, base URL, whether it is enabled, and which of our apps it
+ * shows under which of its own app names.
+ *
+ * Devices are configured as one string (awtrix.devices / AWTRIX_DEVICES), entries
+ * separated by ';' or newlines. Each entry is {@code name=url} followed by optional
+ * space-separated options:
+ * <pre>
+ *   lounge=http://moonclock.local;
+ *   kitchen=http://kitchen-clock.local apps=moonphase,fullmoon:full,voyager1:-,*;
+ *   garage=http://garage-clock.local enabled=false
+ * </pre>
+ * {@code apps=} lists the apps the device shows: {@code app} as is, {@code app:other}
+ * under another name, {@code app:-} never, and {@code *} every app not listed. Without
+ * it a device shows every app.
+ *
+ * A URL of the form {@code mqtt://broker:1883/prefix} sends the clock's apps over MQTT
+ * ({@link MqttSender}) rather than HTTP.
+ *
+ * @param appNames our app name to the device's, or {@link #SKIP}
+ */
+record AwtrixDeviceConfig(String name, String hostname, boolean enabled,
+                          Map<String, String> appNames, boolean includeOtherApps) {
+
+    static final String SKIP = "-";
+
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_-]+");
+
+    AwtrixDeviceConfig {
+        appNames = Map.copyOf(appNames);
+    }
+
+    /** A device that shows every app under its own name. */
+    static AwtrixDeviceConfig of(String name, String hostname) {
+        return new AwtrixDeviceConfig(name, hostname, true, Map.of(), true);
+    }
+
+    /** The URL without any user-info, for logs and stats: credentials must not leave the config. */
+    String displayHostname() {
+        return withoutUserInfo(hostname);
+    }
+
+    /** {@code url} with the {@code user[:password]@} part of its authority removed. */
+    static String withoutUserInfo(String url) {
+        int scheme = url.indexOf("://");
+        int start = scheme < 0 ? 0 : scheme + 3;
+        int slash = url.indexOf('/', start);
+        int end = slash < 0 ? url.length() : slash;
+        int at = url.lastIndexOf('@', end - 1);
+        return at < start ? url : url.substring(0, start) + url.substring(at + 1);
+    }
+
+    /** True if the clock's apps are published over MQTT rather than posted over HTTP. */
+    boolean mqtt() {
+        return MqttSender.isMqttUrl(hostname);
+    }
+
+    /** Where an update of the device's app {@code deviceApp} goes: its HTTP URL or MQTT topic. */
+    String address(String deviceApp) {
+        return mqtt()
+                ? MqttSender.topicPrefix(hostname) + "/custom/" + deviceApp
+                : hostname + "/api/custom?name=" + deviceApp;
+    }
+
+    /** The device's name for {@code app}, or null if the device does not show it. */
+    String deviceApp(String app) {
+        String mapped = appNames.get(app);
+        if (mapped != null) {
+            return SKIP.equals(mapped) ? null : mapped;
+        }
+        return includeOtherApps ? app : null;
+    }
+
+    /** Parses a device list; an empty or blank spec gives an empty list. */
+    static List<AwtrixDeviceConfig> parse(String spec) {
+        List<AwtrixDeviceConfig> devices = new ArrayList<>();
+        if (spec == null) {
+            return devices;
+        }
+        Set<String> names = new HashSet<>();
+        for (String entry : spec.split("[;\\n]")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            String[] tokens = trimmed.split("\\s+");
+            int eq = tokens[0].indexOf('=');
+            if (eq <= 0 || eq == tokens[0].length() - 1) {
+                throw new IllegalArgumentException("Awtrix device must start with name=url: " + withoutUserInfo(trimmed));
+            }
+            String name = tokens[0].substring(0, eq);
+            if (!NAME.matcher(name).matches()) {
+                throw new IllegalArgumentException("Awtrix device name may only use letters, digits, '-' and '_': " + name);
+            }
+            if (!names.add(name)) {
+                throw new IllegalArgumentException("Duplicate Awtrix device name: " + name);
+            }
+
+            boolean enabled = true;
+            Map<String, String> apps = new LinkedHashMap<>();
+            boolean others = true;
+            for (int i = 1; i < tokens.length; i++) {
+                String option = tokens[i];
+                if (option.startsWith("enabled=")) {
+                    enabled = parseFlag(name, option.substring("enabled=".length()));
+                } else if (option.startsWith("apps=")) {
+                    others = false;
+                    for (String item : option.substring("apps=".length()).split(",")) {
+                        if (item.equals("*")) {
+                            others = true;
+                        } else if (!item.isEmpty()) {
+                            int colon = item.indexOf(':');
+                            apps.put(colon < 0 ? item : item.substring(0, colon),
+                                    colon < 0 ? item : item.substring(colon + 1));
+                        }
+                    }
+                } else {
+                    throw new IllegalArgumentException("Unknown option for Awtrix device " + name + ": " + option);
+                }
+            }
+            devices.add(new AwtrixDeviceConfig(name, tokens[0].substring(eq + 1), enabled, apps, others));
+        }
+        return devices;
+    }
+
+    private static boolean parseFlag(String device, String value) {
+        if (value.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (value.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Awtrix device " + device + ": enabled must be true or false, not " + value);
+    }
+}
@@ -0,0 +1,141 @@
+package org.iHarwood.integration.awtrix;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders the pixel frames pushed to the clocks: the Moon's disc as an 8x8 icon, and
+ * 32x8 relative bars showing where a value sits between its minimum and maximum.
+ *
+ * Inputs are quantised to what the matrix can show - the Moon to 2 degrees of phase
+ * angle and 5 degrees of bright-limb tilt, a bar to its marker column - and each frame
+ * is drawn once per quantised value and kept, so the same frame object is reused across
+ * cycles and clocks. There are at most a few thousand distinct frames.
+ */
+public final class AwtrixFrames {
+    private AwtrixFrames() {}
+
+    public static final int MOON_SIZE = 8;
+    public static final int BAR_WIDTH = PixelFrame.SCREEN_WIDTH;
+    public static final int BAR_HEIGHT = 8;
+    /** Marker positions on a bar: its width less the two end stops. */
+    public static final int BAR_POSITIONS = BAR_WIDTH - 2;
+
+    static final int PHASE_STEPS = 90;
+    static final int LIMB_STEPS = 72;
+    // Each pixel is lit by the share of a 4x4 grid of samples that falls on the sunlit side
+    private static final int SAMPLES = 4;
+    private static final double MOON_RADIUS = 3.9;
+
+    private static final int SUNLIT = 0xFFF4D6;
+    private static final int EARTHSHINE = 0x1C1C28;
+    private static final int BAR_STOP = 0x505050;
+    private static final int BAR_TRACK = 0x141414;
+
+    private static final Map<Integer, PixelFrame> MOONS = new ConcurrentHashMap<>();
+    private static final Map<Long, PixelFrame> BARS = new ConcurrentHashMap<>();
+
+    /**
+     * The Moon's disc with {@code illuminatedFraction} of it lit, the lit side turned
+     * towards {@code limbAngleDeg}: measured from the top of the frame towards the left,
+     * so 270 is lit on the right (see {@link org.iHarwood.MoonPhaseModule.MoonDisc}).
+     */
+    public static PixelFrame moon(double illuminatedFraction, double limbAngleDeg) {
+        double k = Math.max(0.0, Math.min(1.0, illuminatedFraction));
+        int phase = (int) Math.round(Math.acos(2 * k - 1) / Math.PI * PHASE_STEPS);
+        double turns = limbAngleDeg / 360.0;
+        int limb = Math.floorMod((int) Math.round((turns - Math.floor(turns)) * LIMB_STEPS), LIMB_STEPS);
+        if (phase == 0 || phase == PHASE_STEPS) {
+            // Full or new: the tilt does not show
+            limb = 0;
+        }
+        return MOONS.computeIfAbsent(phase * LIMB_STEPS + limb, key -> renderMoon(
+                Math.PI * (key / LIMB_STEPS) / PHASE_STEPS, 2 * Math.PI * (key % LIMB_STEPS) / LIMB_STEPS));
+    }
+
+    /**
+     * A bar with its marker at {@code position} (0 = minimum, {@link #BAR_POSITIONS} - 1
+     * = maximum) in {@code colour}, the stretch up to it filled in a dimmer shade.
+     */
+    public static PixelFrame bar(int position, int colour) {
+        if (position < 0 || position >= BAR_POSITIONS) {
+            throw new IllegalArgumentException("Bar position must be 0.." + (BAR_POSITIONS - 1) + ": " + position);
+        }
+        int rgb = colour & 0xFFFFFF;
+        return BARS.computeIfAbsent((long) rgb << 8 | position, key -> renderBar(position, rgb));
+    }
+
+    /** Frames drawn so far. */
+    static int cachedFrames() {
+        return MOONS.size() + BARS.size();
+    }
+
+    private static PixelFrame renderMoon(double phaseAngle, double limbAngle) {
+        // Direction of the Sun seen from the Moon: x right, y up, z towards the viewer
+        double sx = -Math.sin(limbAngle) * Math.sin(phaseAngle);
+        double sy = Math.cos(limbAngle) * Math.sin(phaseAngle);
+        double sz = Math.cos(phaseAngle);
+        double centre = (MOON_SIZE - 1) / 2.0;
+
+        int[] rgb = new int[MOON_SIZE * MOON_SIZE];
+        for (int row = 0; row < MOON_SIZE; row++) {
+            for (int col = 0; col < MOON_SIZE; col++) {
+                int onDisc = 0;
+                int lit = 0;
+                for (int i = 0; i < SAMPLES; i++) {
+                    for (int j = 0; j < SAMPLES; j++) {
+                        double x = (col - centre + (j + 0.5) / SAMPLES - 0.5) / MOON_RADIUS;
+                        double y = (centre - row - (i + 0.5) / SAMPLES + 0.5) / MOON_RADIUS;
+                        double r2 = x * x + y * y;
+                        if (r2 > 1.0) {
+                            continue;
+                        }
+                        onDisc++;
+                        if (x * sx + y * sy + Math.sqrt(1.0 - r2) * sz > 0) {
+                            lit++;
+                        }
+                    }
+                }
+                double samples = SAMPLES * SAMPLES;
+                rgb[row * MOON_SIZE + col] = add(scale(SUNLIT, lit / samples), scale(EARTHSHINE, (onDisc - lit) / samples));
+            }
+        }
+        return new PixelFrame(MOON_SIZE, MOON_SIZE, rgb);
+    }
+
+    private static PixelFrame renderBar(int position, int colour) {
+        int[] rgb = new int[BAR_WIDTH * BAR_HEIGHT];
+        int marker = position + 1;
+        int fill = scale(colour, 0.3);
+        for (int row = 0; row < BAR_HEIGHT; row++) {
+            boolean track = row == BAR_HEIGHT / 2 - 1 || row == BAR_HEIGHT / 2;
+            boolean stop = row > 0 && row < BAR_HEIGHT - 1;
+            for (int col = 0; col < BAR_WIDTH; col++) {
+                int pixel = 0;
+                if (col == marker) {
+                    pixel = colour;
+                } else if (col == 0 || col == BAR_WIDTH - 1) {
+                    pixel = stop ? BAR_STOP : 0;
+                } else if (track) {
+                    pixel = col < marker ? fill : BAR_TRACK;
+                }
+                rgb[row * BAR_WIDTH + col] = pixel;
+            }
+        }
+        return new PixelFrame(BAR_WIDTH, BAR_HEIGHT, rgb);
+    }
+
+    private static int scale(int rgb, double f) {
+        int r = (int) Math.round((rgb >> 16 & 0xFF) * f);
+        int g = (int) Math.round((rgb >> 8 & 0xFF) * f);
+        int b = (int) Math.round((rgb & 0xFF) * f);
+        return r << 16 | g << 8 | b;
+    }
+
+    private static int add(int a, int b) {
+        int r = Math.min(255, (a >> 16 & 0xFF) + (b >> 16 & 0xFF));
+        int g = Math.min(255, (a >> 8 & 0xFF) + (b >> 8 & 0xFF));
+        int bl = Math.min(255, (a & 0xFF) + (b & 0xFF));
+        return r << 16 | g << 8 | bl;
+    }
+}
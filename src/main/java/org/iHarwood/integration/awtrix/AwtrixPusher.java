@@ -5,19 +5,19 @@ import jakarta.annotation.PreDestroy;
 import org.iHarwood.APIPost;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.io.IOException;
-import java.net.URI;
 import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.nio.file.Path;
 import java.time.Duration;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
 
 /**
- * Dedicated component responsible for all communication with an Awtrix device.
+ * Dedicated component responsible for all communication with the Awtrix devices.
  *
  * Responsibilities:
  * - Connectivity check at startup
@@ -25,6 +25,19 @@ import java.util.concurrent.atomic.AtomicInteger;
  * - Tracking success/failure statistics
  * - Graceful shutdown logging
  *
+ * One or more clocks are configured with awtrix.devices (see {@link AwtrixDeviceConfig});
+ * without it the single clock at AWTRIXHOSTNAME is used. {@link #push} hands each enabled
+ * clock the update and returns. Every clock has its own {@link AwtrixDevice} pipeline -
+ * queues, worker threads, connection, delivery state and counters - so a flaky clock in
+ * one room only delays itself. A clock is reached over HTTP or, with an mqtt:// URL,
+ * through an MQTT broker ({@link MqttSender}). On shutdown all queues are drained for a
+ * few seconds before giving up.
+ *
+ * Most values are the same cycle after cycle, so the content hash of what each app was
+ * last delivered is kept per clock ({@link DeliveredState}, persisted across restarts)
+ * and a push that would not change the app is skipped. Once per reconcile interval
+ * everything is sent again, in case a clock rebooted and lost its apps.
+ *
  * This extraction removes a large amount of Awtrix-specific code from Main.java,
  * making the scheduler/orchestrator much easier to understand and test.
  */
@@ -35,25 +48,114 @@ public class AwtrixPusher {
 
     private static final String HOSTNAME_ENV_VAR = "AWTRIXHOSTNAME";
     private static final String DEFAULT_HOSTNAME = "http://moonclock.local";
-    private static final int MAX_ATTEMPTS = 3;
-    private static final long RETRY_DELAY_MS = 2000;
-
-    private final String baseHostname;
-    private final String apiPrefix;
+    /** Name of the clock configured by AWTRIXHOSTNAME alone. */
+    static final String DEFAULT_DEVICE = "default";
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration DEFAULT_RECONCILE_INTERVAL = Duration.ofHours(24);
 
-    private final AtomicInteger successCount = new AtomicInteger(0);
-    private final AtomicInteger failureCount = new AtomicInteger(0);
+    /** Counters of one clock. {@code queued} is the number of updates not yet taken by a worker. */
+    public record DeviceStats(String name, String hostname, boolean enabled,
+                              int success, int failure, int coalesced, int skipped, int queued) {}
 
-    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
-            .version(HttpClient.Version.HTTP_1_1)
-            .connectTimeout(Duration.ofSeconds(5))
-            .build();
+    private final List<AwtrixDevice> devices;
+    private final boolean bars;
 
+    @Autowired
     public AwtrixPusher(
-            @Value("${awtrix.hostname:${AWTRIXHOSTNAME:" + DEFAULT_HOSTNAME + "}}") String configuredHostname) {
+            @Value("${awtrix.hostname:${AWTRIXHOSTNAME:" + DEFAULT_HOSTNAME + "}}") String configuredHostname,
+            @Value("${awtrix.devices:${AWTRIX_DEVICES:}}") String deviceSpec,
+            @Value("${awtrix.state-file:${AWTRIX_STATE_FILE:awtrix-state.properties}}") String stateFile,
+            @Value("${awtrix.reconcile-hours:${AWTRIX_RECONCILE_HOURS:24}}") long reconcileHours,
+            @Value("${awtrix.bars:${AWTRIX_BARS:false}}") boolean bars) {
+        this(configuredDevices(configuredHostname, deviceSpec), config -> new AwtrixDevice(config, senderFor(config),
+                new DeliveredState(stateFileFor(stateFile, config.name()),
+                        Duration.ofHours(Math.max(1, reconcileHours)), System.currentTimeMillis())), bars);
+    }
+
+    /** An MQTT publisher for mqtt:// clocks, otherwise HTTP posts through the clock's own client. */
+    private static AwtrixDevice.Sender senderFor(AwtrixDeviceConfig config) {
+        if (config.mqtt()) {
+            return MqttSender.forUrl(config.hostname(), "moonphase-" + config.name());
+        }
+        // Each clock gets its own client, so its connections and stalls are its own
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        return (appName, text, icon, frame, url) -> post(appName, text, icon, frame, url).sendPost(client);
+    }
+
+    /**
+     * The custom-app POST of one update; a frame goes in the "draw" array, left of the text.
+     * With an icon as well the clock already leaves room for it, and the frame is drawn over it.
+     */
+    static APIPost post(String appName, String text, String icon, PixelFrame frame, String url) {
+        APIPost post = new APIPost(appName, text, url, "1", "", icon);
+        if (frame != null) {
+            post.setDraw(frame.drawInstructions());
+            if (icon == null) {
+                post.setTextOffset(frame.textOffset());
+            }
+        }
+        return post;
+    }
+
+    /** A single-clock pusher whose delivery state is kept in memory only. */
+    AwtrixPusher(String configuredHostname, AwtrixDevice.Sender sender) {
+        this(configuredHostname, sender,
+                new DeliveredState(null, DEFAULT_RECONCILE_INTERVAL, System.currentTimeMillis()));
+    }
+
+    AwtrixPusher(String configuredHostname, AwtrixDevice.Sender sender, DeliveredState delivered) {
+        this(List.of(AwtrixDeviceConfig.of(DEFAULT_DEVICE, configuredHostname)),
+                config -> new AwtrixDevice(config, sender, delivered));
+    }
 
-        this.baseHostname = configuredHostname != null ? configuredHostname : DEFAULT_HOSTNAME;
-        this.apiPrefix = this.baseHostname + "/api/custom?name=";
+    AwtrixPusher(List<AwtrixDeviceConfig> configs, Function<AwtrixDeviceConfig, AwtrixDevice> factory) {
+        this(configs, factory, false);
+    }
+
+    AwtrixPusher(List<AwtrixDeviceConfig> configs, Function<AwtrixDeviceConfig, AwtrixDevice> factory, boolean bars) {
+        List<AwtrixDevice> built = new ArrayList<>(configs.size());
+        for (AwtrixDeviceConfig config : configs) {
+            built.add(factory.apply(config));
+        }
+        this.devices = List.copyOf(built);
+        this.bars = bars;
+    }
+
+    /** The awtrix.devices list, or the single AWTRIXHOSTNAME clock if it is empty or invalid. */
+    static List<AwtrixDeviceConfig> configuredDevices(String hostname, String deviceSpec) {
+        String fallbackHost = hostname != null ? hostname : DEFAULT_HOSTNAME;
+        List<AwtrixDeviceConfig> fallback = List.of(AwtrixDeviceConfig.of(DEFAULT_DEVICE, fallbackHost));
+        try {
+            List<AwtrixDeviceConfig> parsed = AwtrixDeviceConfig.parse(deviceSpec);
+            return parsed.isEmpty() ? fallback : parsed;
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid awtrix.devices - using the single clock at {}: {}",
+                    AwtrixDeviceConfig.withoutUserInfo(fallbackHost), e.getMessage());
+            return fallback;
+        }
+    }
+
+    /**
+     * The state file of clock {@code device}: the configured file itself for the default
+     * clock, otherwise the device name inserted before its extension. Null if unset.
+     */
+    static Path stateFileFor(String stateFile, String device) {
+        if (stateFile == null || stateFile.isBlank()) {
+            return null;
+        }
+        String file = stateFile.trim();
+        if (DEFAULT_DEVICE.equals(device)) {
+            return Path.of(file);
+        }
+        int slash = Math.max(file.lastIndexOf('/'), file.lastIndexOf('\\'));
+        int dot = file.lastIndexOf('.');
+        return dot > slash + 1
+                ? Path.of(file.substring(0, dot) + "-" + device + file.substring(dot))
+                : Path.of(file + "-" + device);
     }
 
     @PostConstruct
@@ -61,98 +163,140 @@ public class AwtrixPusher {
         checkConnectivity();
     }
 
+    /** Stops taking updates, then gives the queued ones a few seconds to go out. */
     @PreDestroy
     public void shutdown() {
-        logger.info("Application shutting down - Awtrix stats: {} succeeded, {} failed",
-                successCount.get(), failureCount.get());
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        // All clocks drain together against one deadline
+        List<Thread> closers = new ArrayList<>(devices.size());
+        for (AwtrixDevice device : devices) {
+            closers.add(Thread.ofVirtual().start(() -> device.shutdown(deadline)));
+        }
+        for (Thread closer : closers) {
+            try {
+                closer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        for (DeviceStats s : getDeviceStats()) {
+            logger.info("Application shutting down - Awtrix {} stats: {} succeeded, {} failed, {} coalesced, {} unchanged",
+                    s.name(), s.success(), s.failure(), s.coalesced(), s.skipped());
+        }
     }
 
     /**
-     * Checks basic connectivity to the Awtrix device at startup.
+     * Checks basic connectivity to each enabled Awtrix device at startup.
      */
     public void checkConnectivity() {
-        String statsUrl = baseHostname + "/api/stats";
-        try {
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(statsUrl))
-                    .timeout(Duration.ofSeconds(5))
-                    .GET()
-                    .build();
-
-            int status = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
-
-            if (status >= 200 && status < 300) {
-                logger.info("Awtrix reachable at {} (HTTP {})", baseHostname, status);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (AwtrixDevice device : devices) {
+            if (device.config().enabled()) {
+                device.checkConnectivity(client);
             } else {
-                logger.warn("Awtrix at {} responded with unexpected status {} - pushes may fail",
-                        baseHostname, status);
+                logger.info("Awtrix {} at {} is disabled", device.config().name(), device.config().displayHostname());
             }
-        } catch (Exception e) {
-            logger.warn("Awtrix device not reachable at {} - pushes will fail until it comes online ({})",
-                    baseHostname, e.getMessage());
         }
     }
 
     /**
-     * Sends a single app update to the Awtrix device with retry logic.
+     * Queues a single app update for every enabled device that shows the app, and returns
+     * at once. On each device, an update for an app that is still queued replaces it, and
+     * an update the app already shows (or is about to show) is not sent.
      *
      * @param appName internal Awtrix app name (e.g. "moonphase", "marsDistanceAu")
      * @param text    text to display
      * @param icon    icon name (see APIPost.IconType or custom)
      */
     public void push(String appName, String text, String icon) {
-        String url = apiPrefix + appName;
-        logger.info("Awtrix host API call:{}", url);
+        push(appName, text, icon, null);
+    }
 
-        APIPost apiPost = new APIPost(appName, text, url, "1", "", icon);
+    /**
+     * Queues an app update that also draws {@code frame} (see {@link AwtrixFrames}): an
+     * 8x8 frame left of the text in place of an icon, or a 32x8 frame over the whole
+     * screen. The same frame object goes to every device.
+     *
+     * @param icon  icon name, or null when the frame takes its place
+     * @param frame pixels to draw, or null for text and icon only
+     */
+    public void push(String appName, String text, String icon, PixelFrame frame) {
+        for (AwtrixDevice device : devices) {
+            if (device.config().enabled()) {
+                device.push(appName, text, icon, frame);
+            }
+        }
+    }
 
-        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
-            try {
-                int responseCode = apiPost.sendPost();
-                logger.info("Awtrix response ({}): {}", appName, responseCode);
-                successCount.incrementAndGet();
-                return;
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                logger.warn("Awtrix send interrupted ({})", appName);
-                failureCount.incrementAndGet();
-                return;
-            } catch (IOException e) {
-                if (attempt < MAX_ATTEMPTS) {
-                    logger.warn("Awtrix send failed ({}) attempt {}/{} - retrying in {}ms: {}",
-                            appName, attempt, MAX_ATTEMPTS, RETRY_DELAY_MS, e.getMessage());
-                    try {
-                        Thread.sleep(RETRY_DELAY_MS);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        failureCount.incrementAndGet();
-                        return;
-                    }
-                } else {
-                    logger.warn("Awtrix send failed ({}) after {} attempts: {}",
-                            appName, MAX_ATTEMPTS, e.getMessage());
-                    failureCount.incrementAndGet();
-                }
+    /** True if at least one clock takes updates, i.e. anything worth drawing is shown somewhere. */
+    public boolean hasEnabledDevice() {
+        for (AwtrixDevice device : devices) {
+            if (device.config().enabled()) {
+                return true;
             }
         }
+        return false;
+    }
+
+    /**
+     * True if the relative bar apps are to be pushed: awtrix.bars / AWTRIX_BARS is on (it is
+     * off by default) and a clock is enabled. A clock's {@code apps=} list can still hide them.
+     */
+    public boolean barsEnabled() {
+        return bars && hasEnabledDevice();
     }
 
     // --- Statistics accessors (useful for testing and future metrics) ---
 
     public int getSuccessCount() {
-        return successCount.get();
+        return getDeviceStats().stream().mapToInt(DeviceStats::success).sum();
     }
 
     public int getFailureCount() {
-        return failureCount.get();
+        return getDeviceStats().stream().mapToInt(DeviceStats::failure).sum();
+    }
+
+    /** Updates replaced by a newer one for the same app before they were sent. */
+    public int getCoalescedCount() {
+        return getDeviceStats().stream().mapToInt(DeviceStats::coalesced).sum();
+    }
+
+    /** Updates not sent because the app already showed exactly that content. */
+    public int getSkippedCount() {
+        return getDeviceStats().stream().mapToInt(DeviceStats::skipped).sum();
+    }
+
+    /** Updates queued and not yet taken by a worker. */
+    public int getQueuedCount() {
+        return getDeviceStats().stream().mapToInt(DeviceStats::queued).sum();
+    }
+
+    /** Counters of each configured device, in configuration order. */
+    public List<DeviceStats> getDeviceStats() {
+        List<DeviceStats> stats = new ArrayList<>(devices.size());
+        for (AwtrixDevice device : devices) {
+            stats.add(device.stats());
+        }
+        return stats;
     }
 
     /**
-     * Lightweight stats record for potential future exposure via Actuator or logging.
+     * Lightweight stats record for potential future exposure via Actuator or logging:
+     * totals over all devices, and each device's own counters.
      */
-    public record AwtrixStats(int success, int failure) {}
+    public record AwtrixStats(int success, int failure, List<DeviceStats> devices) {
+        public AwtrixStats(int success, int failure) {
+            this(success, failure, List.of());
+        }
+    }
 
     public AwtrixStats getStats() {
-        return new AwtrixStats(getSuccessCount(), getFailureCount());
+        List<DeviceStats> perDevice = getDeviceStats();
+        return new AwtrixStats(perDevice.stream().mapToInt(DeviceStats::success).sum(),
+                perDevice.stream().mapToInt(DeviceStats::failure).sum(), perDevice);
     }
 }
@@ -0,0 +1,186 @@
+package org.iHarwood.integration.awtrix;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Content hash of the (text, icon, frame) last delivered to each Awtrix app, so an unchanged
+ * update need not be sent again. The hashes live in a small properties file (app name to
+ * hex hash) that survives restarts. Every reconcile interval the state is forgotten, so
+ * the next cycle resends every app in case the device lost them.
+ */
+final class DeliveredState {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeliveredState.class);
+
+    // App names never start with a dot
+    private static final String RECONCILED_AT_KEY = ".reconciledAt";
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /** After a failed write, wait this long before the next try, doubling up to the maximum. */
+    private static final long SAVE_RETRY_MIN_MILLIS = 60_000L;
+    private static final long SAVE_RETRY_MAX_MILLIS = 3_600_000L;
+
+    private final Path file;
+    private final long reconcileIntervalMillis;
+    private final Map<String, Long> hashes = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private volatile long reconciledAtMillis;
+    // Guarded by saveIfChanged's lock; zero while writes succeed
+    private long saveRetryMillis;
+    private long saveRetryAtMillis;
+
+    /**
+     * @param file the state file, or null to keep the state in memory only
+     */
+    DeliveredState(Path file, Duration reconcileInterval, long nowMillis) {
+        this.file = file;
+        this.reconcileIntervalMillis = reconcileInterval.toMillis();
+        this.reconciledAtMillis = nowMillis;
+        if (file != null && Files.exists(file)) {
+            load(file);
+        }
+    }
+
+    private void load(Path path) {
+        Properties props = new Properties();
+        try (Reader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            props.load(in);
+            for (String app : props.stringPropertyNames()) {
+                if (app.equals(RECONCILED_AT_KEY)) {
+                    reconciledAtMillis = Long.parseLong(props.getProperty(app));
+                } else {
+                    hashes.put(app, Long.parseUnsignedLong(props.getProperty(app), 16));
+                }
+            }
+            logger.info("Loaded Awtrix delivery state for {} apps from {}", hashes.size(), path);
+        } catch (IOException | NumberFormatException e) {
+            hashes.clear();
+            logger.warn("Cannot read Awtrix delivery state {} - every app will be resent: {}", path, e.getMessage());
+        }
+    }
+
+    /** 64-bit FNV-1a over the text and icon. */
+    static long hash(String text, String icon) {
+        long h = FNV_OFFSET;
+        String s = text + '\u0000' + icon;
+        for (int i = 0; i < s.length(); i++) {
+            h = (h ^ s.charAt(i)) * FNV_PRIME;
+        }
+        return h;
+    }
+
+    /** {@link #hash(String, String)} extended by the frame drawn with the text, if any. */
+    static long hash(String text, String icon, PixelFrame frame) {
+        long h = hash(text, icon);
+        return frame == null ? h : (h ^ frame.hash()) * FNV_PRIME;
+    }
+
+    /** 64-bit FNV-1a over a frame's size and pixels, a pixel at a time. */
+    static long hash(int width, int height, int[] rgb) {
+        long h = (FNV_OFFSET ^ width) * FNV_PRIME;
+        h = (h ^ height) * FNV_PRIME;
+        for (int pixel : rgb) {
+            h = (h ^ pixel) * FNV_PRIME;
+        }
+        return h;
+    }
+
+    /** True if {@code app} was last delivered exactly the content hashed to {@code hash}. */
+    boolean isDelivered(String app, long hash) {
+        Long last = hashes.get(app);
+        return last != null && last == hash;
+    }
+
+    void delivered(String app, long hash) {
+        Long previous = hashes.put(app, hash);
+        if (previous == null || previous != hash) {
+            dirty.set(true);
+        }
+    }
+
+    /** The device's copy of {@code app} is unknown (a send failed); the next update goes out. */
+    void forget(String app) {
+        if (hashes.remove(app) != null) {
+            dirty.set(true);
+        }
+    }
+
+    /** Forgets every app if the reconcile interval has passed; true if it did. */
+    synchronized boolean reconcileIfDue(long nowMillis) {
+        if (nowMillis - reconciledAtMillis < reconcileIntervalMillis) {
+            return false;
+        }
+        hashes.clear();
+        reconciledAtMillis = nowMillis;
+        dirty.set(true);
+        return true;
+    }
+
+    int size() {
+        return hashes.size();
+    }
+
+    /**
+     * Writes the file if anything changed since the last write. After a failure the write is
+     * retried after a minute, then at doubling intervals up to an hour; only the first
+     * failure of a run is logged as a warning.
+     */
+    synchronized void saveIfChanged(long nowMillis) {
+        if (file == null || nowMillis < saveRetryAtMillis || !dirty.getAndSet(false)) {
+            return;
+        }
+        Properties props = new Properties();
+        hashes.forEach((app, hash) -> props.setProperty(app, Long.toHexString(hash)));
+        props.setProperty(RECONCILED_AT_KEY, Long.toString(reconciledAtMillis));
+        Path tmp = null;
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            try (Writer out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                props.store(out, "Awtrix delivered content hashes");
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            tmp = null;
+            if (saveRetryMillis != 0) {
+                logger.info("Awtrix delivery state {} written again", file);
+                saveRetryMillis = 0;
+                saveRetryAtMillis = 0;
+            }
+        } catch (IOException e) {
+            dirty.set(true);
+            if (saveRetryMillis == 0) {
+                logger.warn("Cannot write Awtrix delivery state {} - retrying with backoff: {}", file, e.getMessage());
+                saveRetryMillis = SAVE_RETRY_MIN_MILLIS;
+            } else {
+                logger.debug("Still cannot write Awtrix delivery state {}: {}", file, e.getMessage());
+                saveRetryMillis = Math.min(2 * saveRetryMillis, SAVE_RETRY_MAX_MILLIS);
+            }
+            saveRetryAtMillis = nowMillis + saveRetryMillis;
+        } finally {
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException e) {
+                    logger.debug("Cannot delete {}: {}", tmp, e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package org.iHarwood.integration.awtrix;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A minimal MQTT 3.1.1 client for publishing at QoS 1 over one persistent connection:
+ * CONNECT, PUBLISH / PUBACK, PINGREQ and DISCONNECT, nothing else. Any number of threads
+ * may publish at once; their packets share the socket and are matched to their PUBACKs
+ * by packet id, so a batch of updates costs one round trip rather than one each.
+ *
+ * The connection is opened on first use and reopened on the next publish after it
+ * drops. A reader thread takes the broker's packets and pings when the link is idle, so
+ * the connection survives the hours between cycles.
+ */
+final class MqttConnection {
+
+    private static final Logger logger = LoggerFactory.getLogger(MqttConnection.class);
+
+    static final int DEFAULT_PORT = 1883;
+
+    private static final int CONNECT = 0x10;
+    private static final int CONNACK = 0x20;
+    private static final int PUBLISH_QOS1 = 0x32;
+    private static final int PUBACK = 0x40;
+    private static final int PINGREQ = 0xC0;
+    private static final int PINGRESP = 0xD0;
+    private static final int DISCONNECT = 0xE0;
+
+    private static final int PROTOCOL_LEVEL_311 = 4;
+    private static final int FLAG_CLEAN_SESSION = 0x02;
+    private static final int FLAG_PASSWORD = 0x40;
+    private static final int FLAG_USERNAME = 0x80;
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration ACK_TIMEOUT = Duration.ofSeconds(10);
+
+    private final String host;
+    private final int port;
+    private final String clientId;
+    private final String username;
+    private final String password;
+    private final int keepAliveSeconds;
+    private final Duration ackTimeout;
+
+    /** Guards the socket and its output; a lock, not a monitor, so blocked virtual threads unmount. */
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Map<Integer, CompletableFuture<Void>> awaitingAck = new ConcurrentHashMap<>();
+    private int nextPacketId = 1;
+
+    private Socket socket;
+    private OutputStream out;
+
+    MqttConnection(String host, int port, String clientId, String username, String password, int keepAliveSeconds) {
+        this(host, port, clientId, username, password, keepAliveSeconds, ACK_TIMEOUT);
+    }
+
+    MqttConnection(String host, int port, String clientId, String username, String password, int keepAliveSeconds,
+                   Duration ackTimeout) {
+        this.host = host;
+        this.port = port;
+        this.clientId = clientId;
+        this.username = username;
+        this.password = password;
+        this.keepAliveSeconds = keepAliveSeconds;
+        this.ackTimeout = ackTimeout;
+    }
+
+    /**
+     * Publishes at QoS 1 and waits for the broker's PUBACK. A broker that does not
+     * acknowledge in time is taken to be gone: the connection is closed, failing any other
+     * publish still waiting on it, and the next publish reconnects.
+     *
+     * @throws IOException if the connection fails or the broker does not acknowledge in time
+     */
+    void publish(String topic, byte[] payload) throws IOException, InterruptedException {
+        CompletableFuture<Void> ack = new CompletableFuture<>();
+        Socket sentOn;
+        int packetId;
+        writeLock.lock();
+        try {
+            ensureConnected();
+            sentOn = socket;
+            packetId = nextPacketId;
+            nextPacketId = packetId == 0xFFFF ? 1 : packetId + 1;
+            awaitingAck.put(packetId, ack);
+
+            byte[] topicBytes = topic.getBytes(StandardCharsets.UTF_8);
+            ByteArrayOutputStream packet = new ByteArrayOutputStream(payload.length + topicBytes.length + 8);
+            packet.write(PUBLISH_QOS1);
+            writeRemainingLength(packet, 2 + topicBytes.length + 2 + payload.length);
+            writeString(packet, topicBytes);
+            packet.write(packetId >> 8);
+            packet.write(packetId & 0xFF);
+            packet.write(payload);
+            try {
+                packet.writeTo(out);
+                out.flush();
+            } catch (IOException e) {
+                awaitingAck.remove(packetId);
+                closeQuietly();
+                throw e;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        try {
+            ack.get(ackTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        } catch (TimeoutException e) {
+            IOException timedOut = new IOException("No PUBACK from " + host + ":" + port
+                    + " within " + ackTimeout.toMillis() + " ms");
+            dropped(sentOn, timedOut);
+            throw timedOut;
+        } finally {
+            // Only ours: the id may already belong to a publish on a newer connection
+            awaitingAck.remove(packetId, ack);
+        }
+    }
+
+    /** Publishes still waiting for their PUBACK. */
+    int awaitingAcks() {
+        return awaitingAck.size();
+    }
+
+    /** Sends DISCONNECT and closes the socket; a later publish reconnects. */
+    void close() {
+        writeLock.lock();
+        try {
+            if (socket == null) {
+                return;
+            }
+            try {
+                out.write(DISCONNECT);
+                out.write(0);
+                out.flush();
+            } catch (IOException ignored) {
+                // Closing anyway
+            }
+            closeQuietly();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    boolean isConnected() {
+        writeLock.lock();
+        try {
+            return socket != null;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Called with writeLock held
+    private void ensureConnected() throws IOException {
+        if (socket != null) {
+            return;
+        }
+        Socket s = new Socket();
+        try {
+            s.setTcpNoDelay(true);
+            s.connect(new InetSocketAddress(host, port), (int) CONNECT_TIMEOUT.toMillis());
+            s.setSoTimeout((int) CONNECT_TIMEOUT.toMillis());
+            OutputStream o = new BufferedOutputStream(s.getOutputStream());
+            DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+            o.write(connectPacket());
+            o.flush();
+
+            int type = in.readUnsignedByte();
+            int length = readRemainingLength(in);
+            if (type != CONNACK || length != 2) {
+                throw new IOException("Expected CONNACK from " + host + ":" + port + ", got packet 0x"
+                        + Integer.toHexString(type));
+            }
+            in.readUnsignedByte(); // session present
+            int returnCode = in.readUnsignedByte();
+            if (returnCode != 0) {
+                throw new IOException("MQTT broker " + host + ":" + port + " refused connection (code " + returnCode + ")");
+            }
+            // Wake the reader when the link has been quiet for a keep-alive period
+            s.setSoTimeout(keepAliveSeconds * 1000);
+            socket = s;
+            out = o;
+            Thread.ofVirtual().name("mqtt-" + clientId).start(() -> readLoop(s, in));
+            logger.info("MQTT connected to {}:{} as {}", host, port, clientId);
+        } catch (IOException e) {
+            s.close();
+            throw e;
+        }
+    }
+
+    private byte[] connectPacket() throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        writeString(body, "MQTT".getBytes(StandardCharsets.UTF_8));
+        body.write(PROTOCOL_LEVEL_311);
+        int flags = FLAG_CLEAN_SESSION;
+        if (username != null) {
+            flags |= FLAG_USERNAME;
+            if (password != null) {
+                flags |= FLAG_PASSWORD;
+            }
+        }
+        body.write(flags);
+        body.write(keepAliveSeconds >> 8);
+        body.write(keepAliveSeconds & 0xFF);
+        writeString(body, clientId.getBytes(StandardCharsets.UTF_8));
+        if (username != null) {
+            writeString(body, username.getBytes(StandardCharsets.UTF_8));
+            if (password != null) {
+                writeString(body, password.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        ByteArrayOutputStream packet = new ByteArrayOutputStream(body.size() + 5);
+        packet.write(CONNECT);
+        writeRemainingLength(packet, body.size());
+        body.writeTo(packet);
+        return packet.toByteArray();
+    }
+
+    /** Reads the broker's packets until the socket closes; pings on a quiet link. */
+    private void readLoop(Socket s, DataInputStream in) {
+        boolean pinged = false;
+        try {
+            while (true) {
+                int type;
+                try {
+                    type = in.readUnsignedByte();
+                } catch (SocketTimeoutException e) {
+                    if (pinged) {
+                        throw new IOException("No PINGRESP from " + host + ":" + port);
+                    }
+                    ping(s);
+                    pinged = true;
+                    continue;
+                }
+                pinged = false;
+                int length = readRemainingLength(in);
+                if ((type & 0xF0) == PUBACK && length == 2) {
+                    int packetId = in.readUnsignedShort();
+                    CompletableFuture<Void> ack = awaitingAck.remove(packetId);
+                    if (ack != null) {
+                        ack.complete(null);
+                    }
+                } else {
+                    // PINGRESP, or anything we did not ask for
+                    in.skipNBytes(length);
+                }
+            }
+        } catch (IOException e) {
+            dropped(s, e);
+        }
+    }
+
+    private void ping(Socket s) throws IOException {
+        writeLock.lock();
+        try {
+            if (socket != s) {
+                throw new EOFException("connection replaced");
+            }
+            out.write(PINGREQ);
+            out.write(0);
+            out.flush();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void dropped(Socket s, IOException cause) {
+        writeLock.lock();
+        try {
+            if (socket == s) {
+                logger.info("MQTT connection to {}:{} closed: {}", host, port, cause.getMessage());
+                closeQuietly();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Called with writeLock held
+    private void closeQuietly() {
+        try {
+            if (socket != null) {
+                socket.close();
+            }
+        } catch (IOException ignored) {
+            // Nothing more to do
+        }
+        socket = null;
+        out = null;
+        IOException lost = new IOException("MQTT connection to " + host + ":" + port + " lost");
+        awaitingAck.values().forEach(ack -> ack.completeExceptionally(lost));
+        awaitingAck.clear();
+    }
+
+    private static void writeString(OutputStream out, byte[] utf8) throws IOException {
+        out.write(utf8.length >> 8);
+        out.write(utf8.length & 0xFF);
+        out.write(utf8);
+    }
+
+    /** MQTT's variable-length "remaining length": 7 bits per byte, high bit = more. */
+    static void writeRemainingLength(OutputStream out, int length) throws IOException {
+        do {
+            int digit = length & 0x7F;
+            length >>>= 7;
+            out.write(length > 0 ? digit | 0x80 : digit);
+        } while (length > 0);
+    }
+
+    static int readRemainingLength(InputStream in) throws IOException {
+        int length = 0;
+        for (int shift = 0; shift < 28; shift += 7) {
+            int digit = in.read();
+            if (digit < 0) {
+                throw new EOFException();
+            }
+            length |= (digit & 0x7F) << shift;
+            if ((digit & 0x80) == 0) {
+                return length;
+            }
+        }
+        throw new IOException("Malformed MQTT remaining length");
+    }
+}
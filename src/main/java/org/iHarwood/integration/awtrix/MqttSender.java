@@ -0,0 +1,118 @@
+package org.iHarwood.integration.awtrix;
+
+import com.google.gson.Gson;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sends Awtrix custom apps over MQTT instead of HTTP: each update is published at QoS 1
+ * to {@code <prefix>/custom/<app>} with the same JSON the HTTP API takes, over one
+ * persistent {@link MqttConnection} per clock.
+ *
+ * A clock uses it when its URL is {@code mqtt://[user[:password]@]broker[:port]/prefix},
+ * where prefix is the MQTT prefix set on the clock (e.g. awtrix_1a2b3c).
+ */
+final class MqttSender implements AwtrixDevice.Sender {
+
+    static final String SCHEME = "mqtt://";
+    private static final String DEFAULT_PREFIX = "awtrix";
+    private static final int KEEP_ALIVE_SECONDS = 60;
+
+    private static final Gson GSON = new Gson();
+
+    private final MqttConnection connection;
+
+    MqttSender(MqttConnection connection) {
+        this.connection = connection;
+    }
+
+    /** A sender for the broker in {@code url}, connecting as {@code clientId} on first use. */
+    static MqttSender forUrl(String url, String clientId) {
+        String rest = url.substring(SCHEME.length());
+        int slash = rest.indexOf('/');
+        String authority = slash < 0 ? rest : rest.substring(0, slash);
+
+        String username = null;
+        String password = null;
+        int at = authority.lastIndexOf('@');
+        if (at >= 0) {
+            String userInfo = authority.substring(0, at);
+            authority = authority.substring(at + 1);
+            int colon = userInfo.indexOf(':');
+            username = decode(colon < 0 ? userInfo : userInfo.substring(0, colon));
+            password = colon < 0 ? null : decode(userInfo.substring(colon + 1));
+        }
+
+        String host = authority;
+        int port = MqttConnection.DEFAULT_PORT;
+        int colon = authority.lastIndexOf(':');
+        if (colon >= 0 && authority.indexOf(']') < colon) {
+            host = authority.substring(0, colon);
+            try {
+                port = Integer.parseInt(authority.substring(colon + 1));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad MQTT port in " + AwtrixDeviceConfig.withoutUserInfo(url));
+            }
+        }
+        if (host.startsWith("[") && host.endsWith("]")) {
+            host = host.substring(1, host.length() - 1);
+        }
+        if (host.isEmpty()) {
+            throw new IllegalArgumentException("No MQTT broker host in " + AwtrixDeviceConfig.withoutUserInfo(url));
+        }
+        return new MqttSender(new MqttConnection(host, port, clientId, username, password, KEEP_ALIVE_SECONDS));
+    }
+
+    /** The clock's MQTT prefix: the path of its mqtt:// URL, "awtrix" if it has none. */
+    static String topicPrefix(String url) {
+        String rest = url.substring(SCHEME.length());
+        int slash = rest.indexOf('/');
+        String prefix = slash < 0 ? "" : rest.substring(slash + 1);
+        while (prefix.endsWith("/")) {
+            prefix = prefix.substring(0, prefix.length() - 1);
+        }
+        return prefix.isEmpty() ? DEFAULT_PREFIX : prefix;
+    }
+
+    static boolean isMqttUrl(String url) {
+        return url.regionMatches(true, 0, SCHEME, 0, SCHEME.length());
+    }
+
+    /** Publishes to {@code topic}; reports 200 once the broker has acknowledged it. */
+    @Override
+    public int send(String appName, String text, String icon, PixelFrame frame, String topic)
+            throws IOException, InterruptedException {
+        connection.publish(topic, payload(text, icon, frame));
+        return 200;
+    }
+
+    @Override
+    public void close() {
+        connection.close();
+    }
+
+    static byte[] payload(String text, String icon, PixelFrame frame) {
+        Map<String, Object> app = new LinkedHashMap<>();
+        app.put("text", text);
+        if (icon != null) {
+            app.put("icon", icon);
+        }
+        if (frame != null) {
+            app.put("draw", frame.drawInstructions());
+            // An icon already makes room for the frame drawn over it
+            if (icon == null) {
+                app.put("textOffset", frame.textOffset());
+            }
+        }
+        app.put("save", true);
+        return GSON.toJson(app).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String decode(String s) {
+        return URLDecoder.decode(s, StandardCharsets.UTF_8);
+    }
+}
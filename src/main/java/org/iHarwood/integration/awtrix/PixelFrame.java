@@ -0,0 +1,71 @@
+package org.iHarwood.integration.awtrix;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An RGB image drawn on an Awtrix matrix: an 8x8 icon beside the app's text, or the
+ * whole 32x8 screen. Immutable, so one frame can be pushed to every clock and reused
+ * across cycles; {@link #hash} lets a clock skip a frame it already shows.
+ */
+public final class PixelFrame {
+
+    /** Width of the Awtrix matrix; a narrower frame is drawn as an icon left of the text. */
+    public static final int SCREEN_WIDTH = 32;
+
+    private final int width;
+    private final int height;
+    private final int[] rgb;
+    private final long hash;
+    private final List<Map<String, Object>> drawInstructions;
+
+    /**
+     * @param rgb {@code width * height} 0xRRGGBB pixels, row by row from the top left
+     */
+    PixelFrame(int width, int height, int[] rgb) {
+        if (width < 1 || height < 1 || rgb.length != width * height) {
+            throw new IllegalArgumentException("Frame of " + width + "x" + height + " needs "
+                    + Math.max(0, width * height) + " pixels, not " + rgb.length);
+        }
+        this.width = width;
+        this.height = height;
+        this.rgb = rgb.clone();
+
+        this.hash = DeliveredState.hash(width, height, this.rgb);
+        List<Integer> pixels = new ArrayList<>(rgb.length);
+        for (int pixel : this.rgb) {
+            pixels.add(pixel & 0xFFFFFF);
+        }
+        // Awtrix "db": draw the bitmap at x, y with width, height
+        this.drawInstructions = List.of(Map.of("db", List.of(0, 0, width, height, List.copyOf(pixels))));
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    /** The 0xRRGGBB colour at column {@code x}, row {@code y}. */
+    public int rgb(int x, int y) {
+        return rgb[y * width + x];
+    }
+
+    /** Content hash, combined with the text's by {@link DeliveredState#hash(String, String, PixelFrame)}. */
+    long hash() {
+        return hash;
+    }
+
+    /** The frame as the "draw" array of an Awtrix custom app: one bitmap at the top left. */
+    public List<Map<String, Object>> drawInstructions() {
+        return drawInstructions;
+    }
+
+    /** Where the app's text starts: right of an icon-sized frame, otherwise at the left edge. */
+    public int textOffset() {
+        return width < SCREEN_WIDTH ? width : 0;
+    }
+}
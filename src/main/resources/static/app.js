@@ -60,6 +60,12 @@
     return (typeof val === 'number') ? val.toFixed(1) + ' hrs' : '—';
   }
 
+  /** Dawn and dusk of one twilight band, e.g. "04:12 – 20:51". */
+  function fmtTwilight(dawn, dusk) {
+    if (!dawn || !dusk) return '—';
+    return dawn === dusk ? dawn : dawn + ' – ' + dusk;
+  }
+
   function fmtDays(val) {
     return (val !== null && val !== undefined) ? val + ' days' : '—';
   }
@@ -171,6 +177,9 @@
     setText('earth-daylight', fmtHours(data.daylightHours));
     setText('earth-sunrise',  data.sunriseTime  || '—');
     setText('earth-sunset',   data.sunsetTime   || '—');
+    setText('earth-civil',    fmtTwilight(data.civilDawnTime, data.civilDuskTime));
+    setText('earth-nautical', fmtTwilight(data.nauticalDawnTime, data.nauticalDuskTime));
+    setText('earth-astro',    fmtTwilight(data.astronomicalDawnTime, data.astronomicalDuskTime));
     setText('earth-tilt',     typeof data.earthAxialTiltDegrees === 'number' ? data.earthAxialTiltDegrees.toFixed(3) + '°' : '—');
     setText('earth-aurora',   fmtKp(data.auroraKpIndex));
 
@@ -228,7 +237,9 @@
     }
 
     // Last updated
-    setText('last-updated', data.lastUpdated ? 'Updated ' + data.lastUpdated + ' UTC' : '');
+    var missing = data.missingFields && data.missingFields.length
+      ? ' (unavailable: ' + data.missingFields.join(', ') + ')' : '';
+    setText('last-updated', data.lastUpdated ? 'Updated ' + data.lastUpdated + ' UTC' + missing : '');
 
     // Flash all cards
     ['card-moon', 'card-solar', 'card-probes', 'card-earth', 'card-events', 'card-leo', 'card-people']
@@ -0,0 +1,104 @@
+import org.iHarwood.MoonPhaseModule.Almanac;
+import org.iHarwood.MoonPhaseModule.EquinoxCalculator;
+import org.iHarwood.MoonPhaseModule.MoonPhase;
+import org.iHarwood.MoonPhaseModule.PerihelionAphelion;
+import org.iHarwood.MoonPhaseModule.SolarDay;
+import org.iHarwood.MoonPhaseModule.SunriseSunset;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Almanac columns agree with the per-date calculations they replace, day by day.
+ */
+class AlmanacTest {
+
+    private static final double LAT = 51.4769;
+    private static final double LON = -0.0005;
+
+    @Test
+    void forYears_coversBothYears() {
+        Almanac almanac = Almanac.forYears(2027, 2, LAT, LON);
+        assertEquals(LocalDate.of(2027, 1, 1), almanac.start());
+        assertEquals(365 + 366, almanac.days());
+        assertEquals(0, almanac.indexOf(LocalDate.of(2027, 1, 1)));
+        assertEquals(730, almanac.indexOf(LocalDate.of(2028, 12, 31)));
+        assertEquals(-1, almanac.indexOf(LocalDate.of(2026, 12, 31)));
+        assertEquals(-1, almanac.indexOf(LocalDate.of(2029, 1, 1)));
+        assertTrue(almanac.isFor(LAT, LON));
+        assertFalse(almanac.isFor(LAT, 0.0));
+    }
+
+    @Test
+    void everyDay_matchesPerDateCalculations() {
+        Almanac almanac = Almanac.forYears(2026, 2, LAT, LON);
+        double[] sun = new double[SolarDay.STRIDE];
+        for (int day = 0; day < almanac.days(); day++) {
+            LocalDate date = almanac.start().plusDays(day);
+            String at = date.toString();
+            SolarDay.eventsAt(date, LAT, LON, sun, 0);
+            assertEquals(sun[SolarDay.DAYLIGHT] / 60.0, almanac.daylightHours(day), at);
+            for (int event = 0; event < Almanac.SOLAR_EVENTS; event++) {
+                assertEquals(SunriseSunset.format(sun, 0, event), almanac.solarTime(day, event), at);
+            }
+
+            MoonPhase mp = MoonPhase.fromDate(date);
+            assertEquals(mp.getPhaseName(), almanac.moonPhaseName(day), at);
+            assertEquals(mp.getPhaseIcon(), almanac.moonPhaseIcon(day), at);
+            assertSame(mp.getAscii(), almanac.moonAscii(day), at);
+            assertEquals(mp.getIlluminationPercent(), almanac.moonIlluminationPercent(day), at);
+            assertEquals(mp.getAgeDays(), almanac.moonAgeDays(day), at);
+            assertEquals(mp.getDaysUntilFullMoon(), almanac.daysUntilFullMoon(day), at);
+
+            assertEquals(EquinoxCalculator.daysUntilSummerSolstice(date), almanac.daysUntilSummerSolstice(day), at);
+            assertEquals(EquinoxCalculator.daysUntilWinterSolstice(date), almanac.daysUntilWinterSolstice(day), at);
+            assertEquals(PerihelionAphelion.daysUntilPerihelion(date), almanac.daysUntilPerihelion(day), at);
+            assertEquals(PerihelionAphelion.daysUntilAphelion(date), almanac.daysUntilAphelion(day), at);
+        }
+    }
+
+    @Test
+    void polarDays_useSpecialStrings() {
+        Almanac svalbard = Almanac.forDays(LocalDate.of(2026, 6, 21), 1, 78.22, 15.65);
+        assertEquals("Midnight Sun", svalbard.solarTime(0, SolarDay.SUNRISE));
+        assertEquals(24.0, svalbard.daylightHours(0));
+    }
+
+    @Test
+    void minMaxDaylightHours_spansTheYearsDays() {
+        Almanac almanac = Almanac.forYears(2026, 2, LAT, LON);
+        double[] sun = SolarDay.eventsForYear(2027, LAT, LON);
+        double min = Double.MAX_VALUE;
+        double max = 0.0;
+        for (int i = SolarDay.DAYLIGHT; i < sun.length; i += SolarDay.STRIDE) {
+            min = Math.min(min, sun[i] / 60.0);
+            max = Math.max(max, sun[i] / 60.0);
+        }
+        assertArrayEquals(new double[]{min, max}, almanac.minMaxDaylightHours(2027), 0.0);
+        // London: about 7.8 h at midwinter and 16.6 h at midsummer with refraction
+        double[] range = almanac.minMaxDaylightHours(2026);
+        assertEquals(7.8, range[0], 0.1);
+        assertEquals(16.6, range[1], 0.1);
+        assertThrows(IllegalArgumentException.class, () -> almanac.minMaxDaylightHours(2028));
+    }
+
+    @Test
+    void columns_areCopies() {
+        Almanac almanac = Almanac.forDays(LocalDate.of(2026, 3, 1), 31, LAT, LON);
+        Almanac.Columns columns = almanac.columns();
+        assertEquals("2026-03-01", columns.start());
+        assertEquals(31, columns.sunrise().length);
+        assertEquals(almanac.solarTime(10, SolarDay.SUNSET), columns.sunset()[10]);
+        columns.moonIlluminationPercent()[0] = -1;
+        assertNotEquals(-1, almanac.moonIlluminationPercent(0));
+    }
+
+    @Test
+    void rejectsEmptyRanges_andBadEvents() {
+        assertThrows(IllegalArgumentException.class, () -> Almanac.forDays(LocalDate.of(2026, 1, 1), 0, LAT, LON));
+        Almanac almanac = Almanac.forDays(LocalDate.of(2026, 1, 1), 1, LAT, LON);
+        assertThrows(IllegalArgumentException.class, () -> almanac.solarTime(0, SolarDay.DAYLIGHT));
+    }
+}
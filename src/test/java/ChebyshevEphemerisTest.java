@@ -0,0 +1,85 @@
+import org.iHarwood.MoonPhaseModule.DateUtils;
+import org.iHarwood.MoonPhaseModule.MoonDistance;
+import org.iHarwood.MoonPhaseModule.PlanetDistance;
+import org.iHarwood.MoonPhaseModule.Planets;
+import org.iHarwood.MoonPhaseModule.SunDistance;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Accuracy of the Chebyshev tables behind the date-based distance methods, measured
+ * against the orbital model they were fitted to.
+ */
+class ChebyshevEphemerisTest {
+
+    private static final long TABLE_START = ZonedDateTime.of(1900, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC).toEpochSecond();
+    private static final long TABLE_END = ZonedDateTime.of(2101, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC).toEpochSecond();
+    private static final int SAMPLES = 20_000;
+
+    private static Instant[] randomInstants() {
+        Random random = new Random(42);
+        Instant[] instants = new Instant[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            instants[i] = Instant.ofEpochSecond(TABLE_START + (long) (random.nextDouble() * (TABLE_END - TABLE_START)));
+        }
+        return instants;
+    }
+
+    @Test
+    void sunTable_matchesModel() {
+        for (Instant t : randomInstants()) {
+            double d = DateUtils.daysSinceJ2000(t);
+            assertEquals(SunDistance.distanceAUAt(d), SunDistance.distanceAU(t), 1e-12, "Sun at " + t);
+        }
+    }
+
+    @Test
+    void planetTables_matchModel() {
+        Instant[] instants = randomInstants();
+        for (PlanetDistance p : Planets.ALL) {
+            for (Instant t : instants) {
+                double d = DateUtils.daysSinceJ2000(t);
+                assertEquals(p.heliocentricDistanceAUAt(d), p.heliocentricDistanceAU(t), 1e-10,
+                        p.getName() + " heliocentric at " + t);
+                assertEquals(p.distanceAUAt(d), p.distanceAU(t), 1e-10,
+                        p.getName() + " from Earth at " + t);
+            }
+        }
+    }
+
+    @Test
+    void moonTable_matchesModel() {
+        for (Instant t : randomInstants()) {
+            double d = DateUtils.daysSinceJ2000(t);
+            assertEquals(MoonDistance.distanceKmAt(d), MoonDistance.distanceKm(t), 1e-6, "Moon at " + t);
+        }
+    }
+
+    @Test
+    void outsideTableSpan_fallsBackToModel() {
+        Instant before = Instant.ofEpochSecond(TABLE_START - 86_400L * 400);
+        Instant after = Instant.ofEpochSecond(TABLE_END + 86_400L * 400);
+        for (Instant t : new Instant[] { before, after }) {
+            double d = DateUtils.daysSinceJ2000(t);
+            assertEquals(SunDistance.distanceAUAt(d), SunDistance.distanceAU(t));
+            assertEquals(Planets.MARS.distanceAUAt(d), Planets.MARS.distanceAU(t));
+            assertEquals(MoonDistance.distanceKmAt(d), MoonDistance.distanceKm(t));
+        }
+    }
+
+    @Test
+    void tableEdges_areCovered() {
+        Instant first = Instant.ofEpochSecond(TABLE_START);
+        Instant last = Instant.ofEpochSecond(TABLE_END - 1);
+        for (Instant t : new Instant[] { first, last }) {
+            double d = DateUtils.daysSinceJ2000(t);
+            assertEquals(Planets.MERCURY.distanceAUAt(d), Planets.MERCURY.distanceAU(t), 1e-10);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+import org.iHarwood.MoonPhaseModule.DateUtils;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Compares DateUtils.daysSinceJ2000 via ZonedDateTime (calendar fields + Fliegel-Van Flandern)
+ * with the Instant and epoch-millis fast paths. Run manually: it is not a JUnit test.
+ */
+public class DateUtilsBenchmark {
+    private static final int N = 1_000;
+    private static final int WARMUP = 20_000;
+    private static final int ROUNDS = 20_000;
+
+    public static void main(String[] args) {
+        System.out.println("=== DateUtils.daysSinceJ2000 Benchmark ===\n");
+        ZonedDateTime[] zdts = new ZonedDateTime[N];
+        Instant[] instants = new Instant[N];
+        long[] millis = new long[N];
+        ZonedDateTime base = ZonedDateTime.of(2026, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        for (int i = 0; i < N; i++) {
+            zdts[i] = base.plusMinutes(i * 137L);
+            instants[i] = zdts[i].toInstant();
+            millis[i] = instants[i].toEpochMilli();
+        }
+
+        double sink = 0;
+        for (int r = 0; r < WARMUP; r++) {
+            sink += zonedPath(zdts) + instantPath(instants) + millisPath(millis);
+        }
+
+        long t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) sink += zonedPath(zdts);
+        double zonedNs = (System.nanoTime() - t0) / (double) ROUNDS / N;
+
+        t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) sink += instantPath(instants);
+        double instantNs = (System.nanoTime() - t0) / (double) ROUNDS / N;
+
+        t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) sink += millisPath(millis);
+        double millisNs = (System.nanoTime() - t0) / (double) ROUNDS / N;
+
+        System.out.printf("ZonedDateTime: %.2f ns/call\n", zonedNs);
+        System.out.printf("Instant:       %.2f ns/call (%.1fx)\n", instantNs, zonedNs / instantNs);
+        System.out.printf("Epoch millis:  %.2f ns/call (%.1fx)\n", millisNs, zonedNs / millisNs);
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    private static double zonedPath(ZonedDateTime[] in) {
+        double acc = 0;
+        for (ZonedDateTime z : in) acc += DateUtils.daysSinceJ2000(z);
+        return acc;
+    }
+
+    private static double instantPath(Instant[] in) {
+        double acc = 0;
+        for (Instant t : in) acc += DateUtils.daysSinceJ2000(t);
+        return acc;
+    }
+
+    private static double millisPath(long[] in) {
+        double acc = 0;
+        for (long t : in) acc += DateUtils.daysSinceJ2000(t);
+        return acc;
+    }
+}
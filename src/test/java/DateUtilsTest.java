@@ -0,0 +1,60 @@
+import org.iHarwood.MoonPhaseModule.DateUtils;
+import org.iHarwood.MoonPhaseModule.EarthSpeed;
+import org.iHarwood.MoonPhaseModule.Planets;
+import org.iHarwood.MoonPhaseModule.SunDistance;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Instant / epoch-millis / Julian Date paths in DateUtils.
+ */
+class DateUtilsTest {
+
+    private static final double ONE_MS_IN_DAYS = 1.0 / 86_400_000.0;
+
+    @Test
+    void daysSinceJ2000_instantAtEpochIsZero() {
+        Instant j2000 = ZonedDateTime.of(2000, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC).toInstant();
+        assertEquals(0.0, DateUtils.daysSinceJ2000(j2000), 1e-12);
+        assertEquals(DateUtils.JULIAN_DATE_J2000, DateUtils.julianDate(j2000), 1e-9);
+    }
+
+    @Test
+    void daysSinceJ2000_instantMatchesZonedDateTimePath() {
+        for (int month = 1; month <= 12; month++) {
+            ZonedDateTime zdt = ZonedDateTime.of(2026, month, 15, 17, 23, 41, 0, ZoneOffset.UTC);
+            assertEquals(DateUtils.daysSinceJ2000(zdt), DateUtils.daysSinceJ2000(zdt.toInstant()), 1e-9,
+                    "Instant and ZonedDateTime paths disagree for " + zdt);
+        }
+    }
+
+    @Test
+    void daysSinceJ2000_keepsSubSecondPrecision() {
+        Instant t = Instant.parse("2026-03-20T14:46:00Z");
+        double whole = DateUtils.daysSinceJ2000(t);
+        double withHalfSecond = DateUtils.daysSinceJ2000(t.plusMillis(500));
+        assertEquals(500 * ONE_MS_IN_DAYS, withHalfSecond - whole, 1e-10);
+    }
+
+    @Test
+    void daysSinceJ2000_epochMillisAndJulianDateAgreeWithInstant() {
+        Instant t = Instant.parse("1987-04-10T19:21:00.250Z");
+        double expected = DateUtils.daysSinceJ2000(t);
+        assertEquals(expected, DateUtils.daysSinceJ2000(t.toEpochMilli()), 1e-10);
+        assertEquals(expected, DateUtils.daysSinceJ2000FromJulianDate(DateUtils.julianDate(t)), 1e-8);
+    }
+
+    @Test
+    void calculators_acceptInstant() {
+        ZonedDateTime zdt = ZonedDateTime.of(2026, 5, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        Instant instant = zdt.toInstant();
+        assertEquals(SunDistance.distanceAU(zdt), SunDistance.distanceAU(instant), 1e-12);
+        assertEquals(Planets.SATURN.distanceAU(zdt), Planets.SATURN.distanceAU(instant), 1e-12);
+        assertEquals(EarthSpeed.speedKmPerSec(zdt), EarthSpeed.speedKmPerSec(instant), 1e-12);
+    }
+}
@@ -1,4 +1,5 @@
 import org.iHarwood.MoonPhaseModule.DayLight;
+import org.iHarwood.MoonPhaseModule.SolarDay;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
@@ -96,5 +97,22 @@ class DayLightTest {
         assertTrue(dayLength > 7.0 && dayLength < 9.0,
                 "Greenwich winter solstice should be ~7.7h, got: " + dayLength);
     }
-}
 
+    @Test
+    void dayLengthHours_matchesSolarDayAtGreenwich() {
+        LocalDate midsummer = LocalDate.of(2026, Month.JUNE, 21);
+        double[] sun = new double[SolarDay.STRIDE];
+        SolarDay.eventsAt(midsummer, GREENWICH_LAT, 0.0, sun, 0);
+        assertEquals(sun[SolarDay.DAYLIGHT] / 60.0, DayLight.dayLengthHours(midsummer, GREENWICH_LAT));
+        // NOAA gives 16 h 38 min: refraction adds about a quarter of an hour to the geometric day
+        assertEquals(16.64, DayLight.dayLengthHours(midsummer, GREENWICH_LAT), 0.02);
+    }
+
+    @Test
+    void minMaxDayLengthHours_areTheYearsShortestAndLongestDays() {
+        double[] range = DayLight.minMaxDayLengthHours(2026, GREENWICH_LAT);
+        assertEquals(DayLight.dayLengthHours(LocalDate.of(2026, Month.DECEMBER, 21), GREENWICH_LAT), range[0], 0.01);
+        assertEquals(DayLight.dayLengthHours(LocalDate.of(2026, Month.JUNE, 21), GREENWICH_LAT), range[1], 0.01);
+        assertArrayEquals(new double[]{0.0, 24.0}, DayLight.minMaxDayLengthHours(2026, 78.22), 0.0);
+    }
+}
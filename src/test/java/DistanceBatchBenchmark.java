@@ -0,0 +1,79 @@
+import org.iHarwood.MoonPhaseModule.DateUtils;
+import org.iHarwood.MoonPhaseModule.SunDistance;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Compares the per-ZonedDateTime Sun-Earth range sweep (plusDays + daysSinceJ2000 per sample)
+ * with the primitive batch API. Run manually: it is not a JUnit test.
+ *
+ * "Legacy" replicates the original Sun-Earth sweep (normalised angles, two cosines,
+ * a new ZonedDateTime per sample) so the gain over the old min/max loop stays measurable.
+ */
+public class DistanceBatchBenchmark {
+    private static final int DAYS = 365;
+    private static final int WARMUP = 2_000;
+    private static final int ROUNDS = 5_000;
+
+    public static void main(String[] args) {
+        System.out.println("=== Distance Batch Benchmark (" + DAYS + " samples per sweep) ===\n");
+        ZonedDateTime start = ZonedDateTime.of(2026, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        double startDay = DateUtils.daysSinceJ2000(start);
+        double[] out = new double[DAYS];
+        double sink = 0;
+
+        for (int r = 0; r < WARMUP; r++) {
+            sink += legacySweep(start);
+            sink += perDateSweep(start);
+            sink += batchSweep(startDay, out);
+        }
+
+        long t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) sink += legacySweep(start);
+        long legacyNs = (System.nanoTime() - t0) / ROUNDS;
+
+        t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) sink += perDateSweep(start);
+        long perDateNs = (System.nanoTime() - t0) / ROUNDS;
+
+        t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) sink += batchSweep(startDay, out);
+        long batchNs = (System.nanoTime() - t0) / ROUNDS;
+
+        System.out.printf("Legacy sweep:            %,d ns (%.1f ns/sample)\n", legacyNs, legacyNs / (double) DAYS);
+        System.out.printf("Per-ZonedDateTime sweep: %,d ns (%.1f ns/sample)\n", perDateNs, perDateNs / (double) DAYS);
+        System.out.printf("Primitive batch sweep:   %,d ns (%.1f ns/sample)\n", batchNs, batchNs / (double) DAYS);
+        System.out.printf("Speed-up vs per-date: %.1fx\n", perDateNs / (double) batchNs);
+        System.out.printf("Speed-up vs legacy:   %.1fx\n", legacyNs / (double) batchNs);
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    private static double legacySweep(ZonedDateTime start) {
+        double acc = 0;
+        for (int i = 0; i < DAYS; i++) {
+            double d = DateUtils.daysSinceJ2000(start.plusDays(i));
+            double mDeg = DateUtils.normalizeAngle(DateUtils.EARTH_MEAN_ANOMALY_J2000_DEG
+                    + DateUtils.EARTH_MEAN_MOTION_DEG_PER_DAY * d);
+            double m = Math.toRadians(mDeg);
+            acc += 1.00014 - 0.01671 * Math.cos(m) - 0.00014 * Math.cos(2 * m);
+        }
+        return acc;
+    }
+
+    private static double perDateSweep(ZonedDateTime start) {
+        double acc = 0;
+        for (int i = 0; i < DAYS; i++) {
+            ZonedDateTime t = start.plusDays(i);
+            acc += SunDistance.distanceAU(t);
+        }
+        return acc;
+    }
+
+    private static double batchSweep(double startDay, double[] out) {
+        double acc = 0;
+        SunDistance.distancesAU(startDay, 1.0, DAYS, out);
+        for (int i = 0; i < DAYS; i++) acc += out[i];
+        return acc;
+    }
+}
@@ -0,0 +1,56 @@
+import org.iHarwood.MoonPhaseModule.EarthSpeed;
+import org.iHarwood.MoonPhaseModule.EphemerisContext;
+import org.iHarwood.MoonPhaseModule.MoonDistance;
+import org.iHarwood.MoonPhaseModule.PlanetDistance;
+import org.iHarwood.MoonPhaseModule.Planets;
+import org.iHarwood.MoonPhaseModule.SunDistance;
+import org.iHarwood.MoonPhaseModule.VoyagerDistance;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that the context-based overloads agree with the direct per-date calculators.
+ */
+class EphemerisContextTest {
+
+    private static final ZonedDateTime DATE = ZonedDateTime.of(2026, 3, 14, 15, 9, 26, 0, ZoneOffset.UTC);
+    private static final EphemerisContext CTX = EphemerisContext.of(DATE);
+
+    @Test
+    void testSunAndEarthMatchDirectCalculation() {
+        assertEquals(SunDistance.distanceAU(DATE), SunDistance.distanceAU(CTX), 1e-9);
+        assertEquals(EarthSpeed.speedKmPerSec(DATE), EarthSpeed.speedKmPerSec(CTX), 1e-9);
+        assertEquals(MoonDistance.distanceKm(DATE), MoonDistance.distanceKm(CTX), 1e-6);
+    }
+
+    @Test
+    void testEveryPlanetMatchesDirectCalculation() {
+        for (PlanetDistance p : Planets.ALL) {
+            assertEquals(p.heliocentricDistanceAU(DATE), p.heliocentricDistanceAU(CTX), 1e-9, p.getName());
+            assertEquals(p.distanceAU(DATE), p.distanceAU(CTX), 1e-9, p.getName());
+        }
+    }
+
+    @Test
+    void testSpacecraftMatchDirectCalculation() {
+        assertEquals(VoyagerDistance.distanceFromEarthV1AU(DATE), VoyagerDistance.distanceFromEarthV1AU(CTX), 1e-9);
+        assertEquals(VoyagerDistance.heliocentricDistanceV2AU(DATE), VoyagerDistance.heliocentricDistanceV2AU(CTX), 1e-9);
+    }
+
+    @Test
+    void testUnregisteredPlanetFallsBackToLiveCalculation() {
+        PlanetDistance custom = new PlanetDistance("Custom", 2.0, 0.1, 10.0, 20.0, 30.0);
+        assertEquals(custom.distanceAU(DATE), custom.distanceAU(CTX), 1e-9);
+    }
+
+    @Test
+    void testInstantFactoryKeepsInstant() {
+        Instant instant = DATE.toInstant();
+        assertEquals(instant, EphemerisContext.of(instant).instant());
+    }
+}
@@ -0,0 +1,111 @@
+import org.iHarwood.MoonPhaseModule.DateUtils;
+import org.iHarwood.MoonPhaseModule.EphemerisFile;
+import org.iHarwood.MoonPhaseModule.EphemerisFile.Field;
+import org.iHarwood.MoonPhaseModule.PlanetDistance;
+import org.iHarwood.MoonPhaseModule.Planets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Round-trip tests for the memory-mapped ephemeris file: interpolated values against
+ * live computation, range handling and header validation.
+ */
+class EphemerisFileTest {
+
+    private static final ZonedDateTime START = ZonedDateTime.of(2026, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final int RECORDS = 367;
+
+    private Path dir;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("ephemeris-test");
+        file = dir.resolve("ephemeris-2026.bin");
+        EphemerisFile.write(file, DateUtils.daysSinceJ2000(START), 1.0, RECORDS);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    void sample_matchesLiveComputation() throws IOException {
+        EphemerisFile eph = EphemerisFile.open(file);
+        Random random = new Random(11);
+        for (int i = 0; i < 2_000; i++) {
+            Instant t = START.toInstant().plusSeconds((long) (random.nextDouble() * 365 * 86_400));
+            EphemerisFile.Sample table = eph.sample(t);
+            EphemerisFile.Sample live = EphemerisFile.compute(t);
+            assertNotNull(table, "instant inside the file returned no sample: " + t);
+
+            assertEquals(live.get(Field.SUN_DISTANCE_AU), table.get(Field.SUN_DISTANCE_AU), 1e-8);
+            assertEquals(live.get(Field.EARTH_SPEED_KM_PER_SEC), table.get(Field.EARTH_SPEED_KM_PER_SEC), 1e-6);
+            assertEquals(live.get(Field.EARTH_AXIAL_TILT_DEG), table.get(Field.EARTH_AXIAL_TILT_DEG), 1e-9);
+            // The lunar series' 14-day terms leave a few km of cubic-interpolation error at daily steps
+            assertEquals(live.get(Field.MOON_DISTANCE_KM), table.get(Field.MOON_DISTANCE_KM), 10.0);
+            assertEquals(live.get(Field.JAMES_WEBB_DISTANCE_KM), table.get(Field.JAMES_WEBB_DISTANCE_KM), 5.0);
+            assertEquals(live.get(Field.VOYAGER1_FROM_EARTH_AU), table.get(Field.VOYAGER1_FROM_EARTH_AU), 1e-6);
+            for (PlanetDistance p : Planets.ALL) {
+                assertEquals(live.heliocentricDistanceAU(p), table.heliocentricDistanceAU(p), 1e-6, p.getName());
+                assertEquals(live.distanceFromEarthAU(p), table.distanceFromEarthAU(p), 1e-4, p.getName());
+            }
+        }
+    }
+
+    @Test
+    void sample_isExactAtRecordInstants() throws IOException {
+        EphemerisFile eph = EphemerisFile.open(file);
+        Instant t = START.plusDays(100).toInstant();
+        assertEquals(EphemerisFile.compute(t).get(Field.MOON_DISTANCE_KM), eph.sample(t).get(Field.MOON_DISTANCE_KM), 1e-6);
+    }
+
+    @Test
+    void outsideRange_returnsNoSample() throws IOException {
+        EphemerisFile eph = EphemerisFile.open(file);
+        Instant before = START.minusDays(1).toInstant();
+        Instant after = START.plusDays(RECORDS).toInstant();
+        assertFalse(eph.covers(before));
+        assertFalse(eph.covers(after));
+        assertNull(eph.sample(before));
+        assertTrue(Double.isNaN(eph.value(Field.SUN_DISTANCE_AU, after)));
+        assertEquals(START.toInstant(), eph.firstInstant());
+    }
+
+    @Test
+    void open_rejectsForeignFile() throws IOException {
+        Path bogus = dir.resolve("bogus.bin");
+        Files.write(bogus, new byte[128]);
+        assertThrows(IOException.class, () -> EphemerisFile.open(bogus));
+    }
+
+    @Test
+    void open_rejectsTruncatedFile() throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        Path truncated = dir.resolve("truncated.bin");
+        Files.write(truncated, java.util.Arrays.copyOf(bytes, bytes.length - 8));
+        assertThrows(IOException.class, () -> EphemerisFile.open(truncated));
+    }
+
+    @Test
+    void write_rejectsTooFewRecords() {
+        assertThrows(IllegalArgumentException.class,
+                () -> EphemerisFile.write(dir.resolve("tiny.bin"), 0.0, 1.0, 3));
+    }
+}
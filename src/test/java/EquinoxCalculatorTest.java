@@ -1,6 +1,10 @@
+import org.iHarwood.MoonPhaseModule.DateUtils;
 import org.iHarwood.MoonPhaseModule.EquinoxCalculator;
+import org.iHarwood.MoonPhaseModule.EquinoxCalculator.Season;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.Month;
 
@@ -36,7 +40,8 @@ class EquinoxCalculatorTest {
     void nextWinterSolstice_returnsNextYear_whenAfterDecember21() {
         LocalDate after = LocalDate.of(2026, Month.DECEMBER, 25);
         LocalDate solstice = EquinoxCalculator.nextWinterSolstice(after);
-        assertEquals(LocalDate.of(2027, Month.DECEMBER, 21), solstice);
+        // 2027 December 22, 02:42 UTC
+        assertEquals(LocalDate.of(2027, Month.DECEMBER, 22), solstice);
     }
 
     @Test
@@ -47,10 +52,11 @@ class EquinoxCalculatorTest {
     }
 
     @Test
-    void nextAutumnalEquinox_returnsSeptember22() {
+    void nextAutumnalEquinox_returnsSeptember23() {
         LocalDate before = LocalDate.of(2026, Month.JANUARY, 1);
         LocalDate equinox = EquinoxCalculator.nextAutumnalEquinox(before);
-        assertEquals(LocalDate.of(2026, Month.SEPTEMBER, 22), equinox);
+        // 2026 September 23, 00:05 UTC
+        assertEquals(LocalDate.of(2026, Month.SEPTEMBER, 23), equinox);
     }
 
     @Test
@@ -90,9 +96,9 @@ class EquinoxCalculatorTest {
 
     @Test
     void daysUntilAutumnalEquinox_correctlyCountsDays() {
-        LocalDate from = LocalDate.of(2026, Month.SEPTEMBER, 17); // 5 days before Sep 22
+        LocalDate from = LocalDate.of(2026, Month.SEPTEMBER, 17); // 6 days before Sep 23
         long days = EquinoxCalculator.daysUntilAutumnalEquinox(from);
-        assertEquals(5, days);
+        assertEquals(6, days);
     }
 
     @Test
@@ -102,5 +108,54 @@ class EquinoxCalculatorTest {
         LocalDate winter = EquinoxCalculator.nextWinterSolstice(from);
         assertNotEquals(summer, winter, "Summer and winter solstice should be different dates");
     }
-}
 
+    private static void assertNear(String expected, Instant actual, long minutes) {
+        assertTrue(Duration.between(Instant.parse(expected), actual).abs().toMinutes() <= minutes,
+                "expected " + expected + " but was " + actual);
+    }
+
+    @Test
+    void summerSolstice1962_matchesMeeusExample27a() {
+        // JDE 2437837.39245 = 21h25m08s TD; Delta T was about 34 s
+        assertNear("1962-06-21T21:24:34Z", EquinoxCalculator.instantOf(1962, Season.SUMMER_SOLSTICE), 1);
+    }
+
+    @Test
+    void instants2026_matchPublishedTimes() {
+        assertNear("2026-03-20T14:46:00Z", EquinoxCalculator.instantOf(2026, Season.VERNAL_EQUINOX), 2);
+        assertNear("2026-06-21T08:24:00Z", EquinoxCalculator.instantOf(2026, Season.SUMMER_SOLSTICE), 2);
+        assertNear("2026-09-23T00:05:00Z", EquinoxCalculator.instantOf(2026, Season.AUTUMNAL_EQUINOX), 2);
+        assertNear("2026-12-21T20:50:00Z", EquinoxCalculator.instantOf(2026, Season.WINTER_SOLSTICE), 2);
+    }
+
+    @Test
+    void deltaT_before1900_followsTheCanonPolynomials() {
+        // Espenak-Meeus: about 1574 s at 1000, 120 s at 1600, 14 s at 1800, 8 s at 1860
+        assertEquals(1574.2, DateUtils.deltaTSeconds(1000.0), 0.1);
+        assertEquals(120.0, DateUtils.deltaTSeconds(1600.0), 0.1);
+        assertEquals(8.83, DateUtils.deltaTSeconds(1700.0), 0.1);
+        assertEquals(13.72, DateUtils.deltaTSeconds(1800.0), 0.1);
+        assertEquals(7.62, DateUtils.deltaTSeconds(1860.0), 0.1);
+        // The pieces meet to within a couple of seconds
+        for (double year : new double[] {500.0, 1600.0, 1700.0, 1800.0, 1860.0, 1900.0}) {
+            assertEquals(DateUtils.deltaTSeconds(year - 1e-9), DateUtils.deltaTSeconds(year), 2.0, "at " + year);
+        }
+    }
+
+    @Test
+    void next_isStrictlyAfter_acrossTheWholeTable() {
+        for (int year = EquinoxCalculator.FIRST_YEAR; year <= EquinoxCalculator.LAST_YEAR; year += 37) {
+            for (Season season : Season.values()) {
+                Instant event = EquinoxCalculator.instantOf(year, season);
+                assertEquals(event, EquinoxCalculator.next(season, event.minusMillis(1)));
+                assertEquals(EquinoxCalculator.instantOf(year + 1, season), EquinoxCalculator.next(season, event));
+            }
+        }
+    }
+
+    @Test
+    void nextDate_beyondTable_usesSeries() {
+        assertEquals(Month.MARCH, EquinoxCalculator.nextDate(Season.VERNAL_EQUINOX, LocalDate.of(3005, 1, 1)).getMonth());
+        assertEquals(3005, EquinoxCalculator.nextDate(Season.VERNAL_EQUINOX, LocalDate.of(3005, 1, 1)).getYear());
+    }
+}
@@ -0,0 +1,102 @@
+import org.iHarwood.MoonPhaseModule.KeplerEngine;
+import org.iHarwood.MoonPhaseModule.PlanetBatch;
+import org.iHarwood.MoonPhaseModule.PlanetDistance;
+import org.iHarwood.MoonPhaseModule.Planets;
+
+import java.time.Instant;
+
+/**
+ * Times the Kepler engine that serves the planet distances: per call for each body,
+ * solved directly against the Chebyshev tables that date-based calls read, and all eight
+ * bodies at one instant on the engine's scalar loop against {@link PlanetBatch} (the
+ * Vector API kernel when the module is present). Run manually: it is not a JUnit test.
+ */
+public class KeplerEngineBenchmark {
+    private static final int INSTANTS = 1_000;
+    private static final int WARMUP = 3_000;
+    private static final int ROUNDS = 3_000;
+
+    public static void main(String[] args) {
+        System.out.println("=== Kepler Engine Benchmark ===\n");
+        KeplerEngine engine = KeplerEngine.ALL;
+        double[] helio = new double[engine.size()];
+        double[] geo = new double[engine.size()];
+
+        double sink = 0;
+        for (int r = 0; r < WARMUP; r++) {
+            sink += tabulatedPerCall() + keplerPerCall();
+            sink += batchAllBodies(helio, geo) + keplerAllBodies(helio, geo);
+        }
+
+        System.out.println("One body from Earth, per call (average over 8 bodies):");
+        double tabulatedNs = time(KeplerEngineBenchmark::tabulatedPerCall) / Planets.ALL.size();
+        double keplerNs = time(KeplerEngineBenchmark::keplerPerCall) / Planets.ALL.size();
+        System.out.printf("  PlanetDistance.distanceAU:      %.1f ns (Chebyshev table)\n", tabulatedNs);
+        System.out.printf("  PlanetDistance.distanceAUAt:    %.1f ns (Kepler solve)\n\n", keplerNs);
+
+        System.out.println("All 8 bodies, heliocentric + from Earth, per instant:");
+        keplerNs = time(() -> keplerAllBodies(helio, geo));
+        double batchNs = time(() -> batchAllBodies(helio, geo));
+        System.out.printf("  KeplerEngine.distancesAt:       %.1f ns\n", keplerNs);
+        System.out.printf("  PlanetBatch.distancesAt:        %.1f ns (%.2fx)\n", batchNs, keplerNs / batchNs);
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    private interface Round {
+        double run();
+    }
+
+    /** Mean time per instant (ns) of one round. */
+    private static double time(Round round) {
+        double sink = 0;
+        long t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) sink += round.run();
+        double ns = (System.nanoTime() - t0) / (double) ROUNDS / INSTANTS;
+        if (sink == 42.0) System.out.println();
+        return ns;
+    }
+
+    private static double tabulatedPerCall() {
+        double acc = 0;
+        for (int k = 0; k < INSTANTS; k++) {
+            Instant instant = Instant.ofEpochSecond(1_723_000_000L + k * 43_200L);
+            for (PlanetDistance p : Planets.ALL) {
+                acc += p.distanceAU(instant);
+            }
+        }
+        return acc;
+    }
+
+    private static double keplerPerCall() {
+        double acc = 0;
+        for (int k = 0; k < INSTANTS; k++) {
+            double d = 9_000.0 + k * 0.5;
+            for (PlanetDistance p : Planets.ALL) {
+                acc += p.distanceAUAt(d);
+            }
+        }
+        return acc;
+    }
+
+    private static double batchAllBodies(double[] helio, double[] geo) {
+        double acc = 0;
+        for (int k = 0; k < INSTANTS; k++) {
+            PlanetBatch.ALL.distancesAt(9_000.0 + k * 0.5, helio, geo);
+            for (int i = 0; i < helio.length; i++) {
+                acc += helio[i] + geo[i];
+            }
+        }
+        return acc;
+    }
+
+    private static double keplerAllBodies(double[] helio, double[] geo) {
+        double acc = 0;
+        for (int k = 0; k < INSTANTS; k++) {
+            KeplerEngine.ALL.distancesAt(9_000.0 + k * 0.5, helio, geo);
+            for (int i = 0; i < helio.length; i++) {
+                acc += helio[i] + geo[i];
+            }
+        }
+        return acc;
+    }
+}
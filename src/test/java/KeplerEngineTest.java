@@ -0,0 +1,173 @@
+import org.iHarwood.MoonPhaseModule.KeplerEngine;
+import org.iHarwood.MoonPhaseModule.PlanetDistance;
+import org.iHarwood.MoonPhaseModule.Planets;
+import org.iHarwood.MoonPhaseModule.SunDistance;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The Kepler engine must solve Kepler's equation to rounding, place the orbits in space
+ * correctly, and put Earth where SunDistance does.
+ */
+class KeplerEngineTest {
+
+    private static final double TOLERANCE_AU = 1e-12;
+
+    /** Radius for mean anomaly {@code mDeg} from Kepler's equation iterated to convergence with Math.sin/cos. */
+    private static double referenceRadius(double e, double mDeg) {
+        double m = Math.toRadians(mDeg);
+        double ecc = e < 0.8 ? m : Math.PI;
+        for (int k = 0; k < 100; k++) {
+            ecc -= (ecc - e * Math.sin(ecc) - m) / (1.0 - e * Math.cos(ecc));
+        }
+        return 1.0 - e * Math.cos(ecc);
+    }
+
+    @Test
+    void solver_matchesConvergedReference() {
+        for (double e : new double[] {0.0, 0.005, 0.0557, 0.0934, 0.2056, 0.2488, 0.5, 0.7, 0.85, 0.9, 0.99}) {
+            // One degree of mean anomaly per day, starting at zero
+            KeplerEngine engine = new KeplerEngine(List.of(new PlanetDistance("e=" + e, 1.0, e, 0.0, 1.0, 0.0)));
+            for (double d = 0.0; d < 360.0; d += 0.37) {
+                assertEquals(referenceRadius(e, d), engine.heliocentricDistanceAt(0, d), 1e-13, "e=" + e + " at M=" + d);
+            }
+        }
+    }
+
+    @Test
+    void position_isConsistentWithRadius() {
+        KeplerEngine engine = KeplerEngine.ALL;
+        double[] xyz = new double[3 * engine.size()];
+        for (double d = -20_000.0; d <= 20_000.0; d += 311.7) {
+            engine.positionsAt(d, xyz);
+            for (int i = 0; i < engine.size(); i++) {
+                double x = xyz[3 * i], y = xyz[3 * i + 1], z = xyz[3 * i + 2];
+                double r = Math.sqrt(x * x + y * y + z * z);
+                assertEquals(engine.heliocentricDistanceAt(i, d), r, 1e-12, engine.body(i).getName() + " radius");
+            }
+        }
+    }
+
+    @Test
+    void circularEclipticOrbit_isACircleAtTheMeanLongitude() {
+        PlanetDistance circle = new PlanetDistance("Circle", 2.0, 0.0, 30.0, 1.0, 45.0);
+        double[] xyz = new double[3];
+        new KeplerEngine(List.of(circle)).positionAt(0, 15.0, xyz, 0);
+        // Longitude = M + perihelion = 30 + 15 + 45 = 90 degrees
+        assertEquals(0.0, xyz[0], 1e-12);
+        assertEquals(2.0, xyz[1], 1e-12);
+        assertEquals(0.0, xyz[2], 0.0);
+    }
+
+    @Test
+    void polarOrbit_risesOutOfTheEcliptic() {
+        // Inclination 90 degrees, node at longitude 0: a quarter orbit past the node is straight up
+        PlanetDistance polar = new PlanetDistance("Polar", 3.0, 0.0, 0.0, 1.0, 0.0, 90.0, 0.0);
+        double[] xyz = new double[3];
+        new KeplerEngine(List.of(polar)).positionAt(0, 90.0, xyz, 0);
+        assertEquals(0.0, xyz[0], 1e-12);
+        assertEquals(0.0, xyz[1], 1e-12);
+        assertEquals(3.0, xyz[2], 1e-12);
+    }
+
+    @Test
+    void earthPosition_matchesSunDistance() {
+        double[] xyz = new double[3];
+        for (double d = -36_000.0; d <= 36_000.0; d += 53.1) {
+            KeplerEngine.earthPositionAt(d, xyz, 0);
+            double r = Math.sqrt(xyz[0] * xyz[0] + xyz[1] * xyz[1]);
+            assertEquals(SunDistance.distanceAUAt(d), r, 1e-14, "Earth at day " + d);
+            assertEquals(0.0, xyz[2], 0.0);
+        }
+    }
+
+    @Test
+    void distanceFromEarth_isVectorDifference() {
+        KeplerEngine engine = KeplerEngine.ALL;
+        double[] xyz = new double[3 * engine.size()];
+        double[] earth = new double[3];
+        double d = 9_131.25;
+        engine.positionsAt(d, xyz);
+        KeplerEngine.earthPositionAt(d, earth, 0);
+        for (int i = 0; i < engine.size(); i++) {
+            double dx = xyz[3 * i] - earth[0], dy = xyz[3 * i + 1] - earth[1], dz = xyz[3 * i + 2] - earth[2];
+            assertEquals(Math.sqrt(dx * dx + dy * dy + dz * dz), engine.distanceFromEarthAt(i, d), 1e-12,
+                    engine.body(i).getName());
+        }
+    }
+
+    @Test
+    void hyperbolicOrbit_isRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PlanetDistance("Comet", 1.0, 1.2, 0.0, 1.0, 0.0));
+    }
+
+    @Test
+    void allBodiesAtInstant_matchOneBodyCalls() {
+        KeplerEngine engine = KeplerEngine.ALL;
+        double[] helio = new double[engine.size()];
+        double[] geo = new double[engine.size()];
+        for (double d = -36_000.0; d <= 36_000.0; d += 97.3) {
+            engine.distancesAt(d, helio, geo);
+            for (int i = 0; i < engine.size(); i++) {
+                String name = engine.body(i).getName();
+                assertEquals(engine.heliocentricDistanceAt(i, d), helio[i], TOLERANCE_AU, name + " heliocentric at day " + d);
+                assertEquals(engine.distanceFromEarthAt(i, d), geo[i], TOLERANCE_AU, name + " from Earth at day " + d);
+            }
+        }
+    }
+
+    @Test
+    void planetDistance_isServedByTheEngine() {
+        for (PlanetDistance planet : Planets.ALL) {
+            int i = Planets.indexOf(planet);
+            for (double d = -36_000.0; d <= 36_000.0; d += 97.3) {
+                assertEquals(KeplerEngine.ALL.heliocentricDistanceAt(i, d), planet.heliocentricDistanceAUAt(d), 0.0);
+                assertEquals(KeplerEngine.ALL.distanceFromEarthAt(i, d), planet.distanceAUAt(d), 0.0);
+            }
+        }
+    }
+
+    @Test
+    void nullOutputIsSkipped() {
+        double[] geo = new double[KeplerEngine.ALL.size()];
+        KeplerEngine.ALL.distancesAt(1_000.0, null, geo);
+        int pluto = Planets.indexOf(Planets.PLUTO);
+        assertEquals(KeplerEngine.ALL.distanceFromEarthAt(pluto, 1_000.0), geo[pluto], TOLERANCE_AU);
+    }
+
+    @Test
+    void oneBodyAcrossInstants_matchesOneBodyCalls() {
+        PlanetDistance comet = new PlanetDistance("Comet", 3.0, 0.95, 10.0, 0.2, 40.0, 12.0, 80.0);
+        KeplerEngine engine = new KeplerEngine(List.of(Planets.MERCURY, comet));
+        double[] helio = new double[300];
+        double[] geo = new double[300];
+        for (int body = 0; body < engine.size(); body++) {
+            engine.distancesAt(body, 9_500.0, 3.7, 300, helio, geo);
+            for (int k = 0; k < 300; k++) {
+                double d = 9_500.0 + k * 3.7;
+                assertEquals(engine.heliocentricDistanceAt(body, d), helio[k], TOLERANCE_AU);
+                assertEquals(engine.distanceFromEarthAt(body, d), geo[k], TOLERANCE_AU);
+            }
+        }
+    }
+
+    @Test
+    void customEngine_followsListOrder() {
+        KeplerEngine engine = new KeplerEngine(List.of(Planets.SATURN, Planets.VENUS));
+        assertSame(Planets.SATURN, engine.body(0));
+        assertSame(Planets.VENUS, engine.body(1));
+        assertEquals(2, engine.size());
+    }
+
+    @Test
+    void undersizedOutput_isRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> KeplerEngine.ALL.distancesAt(0.0, new double[3], null));
+        assertThrows(IllegalArgumentException.class,
+                () -> KeplerEngine.ALL.positionAt(0, 0.0, new double[4], 2));
+    }
+}
@@ -0,0 +1,105 @@
+import org.iHarwood.MoonPhaseModule.LunarApsides;
+import org.iHarwood.MoonPhaseModule.LunarApsides.Apsis;
+import org.iHarwood.MoonPhaseModule.LunarApsides.Kind;
+import org.iHarwood.MoonPhaseModule.MoonDistance;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Perigee/apogee finder: published instants and distances, ordering of consecutive
+ * apsides, and the range and supermoon queries built on them.
+ */
+class LunarApsidesTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    void apogee_matchesMeeusExample50a() {
+        // 1988 October 7 at 20h30m TD, parallax 3240.679" (405,977 km)
+        Apsis apogee = LunarApsides.nextApogee(Instant.parse("1988-10-01T00:00:00Z"));
+        assertEquals(Kind.APOGEE, apogee.kind());
+        assertTrue(Duration.between(Instant.parse("1988-10-07T20:30:00Z"), apogee.instant()).abs().toMinutes() < 5,
+                "apogee at " + apogee.instant());
+        assertEquals(405_977.0, apogee.distanceKm(), 5.0);
+    }
+
+    @Test
+    void perigee_matchesNovember2016Supermoon() {
+        // Closest perigee of 2016: November 14, 11:23 UTC, 356,509 km
+        Apsis perigee = LunarApsides.nextSupermoonPerigee(Instant.parse("2016-11-01T00:00:00Z"));
+        assertNotNull(perigee);
+        assertEquals(Kind.PERIGEE, perigee.kind());
+        assertTrue(Duration.between(Instant.parse("2016-11-14T11:23:00Z"), perigee.instant()).abs().toMinutes() < 5,
+                "perigee at " + perigee.instant());
+        assertEquals(356_509.0, perigee.distanceKm(), 10.0);
+    }
+
+    @Test
+    void consecutiveApsides_alternateAndAreLocalExtrema() {
+        Instant t = START;
+        Kind previousKind = null;
+        for (int i = 0; i < 60; i++) {
+            Apsis a = LunarApsides.next(t);
+            assertTrue(a.instant().isAfter(t));
+            assertNotEquals(previousKind, a.kind());
+            if (previousKind != null) {
+                long hours = Duration.between(t, a.instant()).toHours();
+                assertTrue(hours > 9 * 24 && hours < 19 * 24, "gap of " + hours + " h before " + a);
+            }
+            double before = MoonDistance.distanceKm(a.instant().minusSeconds(3_600));
+            double after = MoonDistance.distanceKm(a.instant().plusSeconds(3_600));
+            if (a.kind() == Kind.PERIGEE) {
+                assertTrue(before > a.distanceKm() && after > a.distanceKm(), "not a minimum: " + a);
+            } else {
+                assertTrue(before < a.distanceKm() && after < a.distanceKm(), "not a maximum: " + a);
+            }
+            previousKind = a.kind();
+            t = a.instant();
+        }
+    }
+
+    @Test
+    void previousAndNext_bracketTheInstant() {
+        for (int day = 0; day < 400; day += 3) {
+            Instant t = START.plus(Duration.ofDays(day));
+            Apsis previous = LunarApsides.previous(t);
+            Apsis next = LunarApsides.next(t);
+            assertFalse(previous.instant().isAfter(t));
+            assertTrue(next.instant().isAfter(t));
+            assertNotEquals(previous.kind(), next.kind());
+
+            double[] range = LunarApsides.currentRangeKm(t);
+            double now = MoonDistance.distanceKm(t);
+            assertTrue(range[0] <= now && now <= range[1], "distance " + now + " outside range at " + t);
+        }
+    }
+
+    @Test
+    void nextOfKind_skipsTheOtherKind() {
+        Apsis perigee = LunarApsides.nextPerigee(START);
+        Apsis apogee = LunarApsides.nextApogee(START);
+        assertEquals(Kind.PERIGEE, perigee.kind());
+        assertEquals(Kind.APOGEE, apogee.kind());
+        Apsis first = LunarApsides.next(START);
+        assertTrue(first.equals(perigee) || first.equals(apogee));
+    }
+
+    @Test
+    void supermoonPerigee_isCloserThanThreshold() {
+        Apsis s = LunarApsides.nextSupermoonPerigee(START);
+        assertNotNull(s);
+        assertEquals(Kind.PERIGEE, s.kind());
+        assertTrue(s.distanceKm() < LunarApsides.SUPERMOON_DISTANCE_KM);
+        for (Instant t = START; t.isBefore(s.instant()); ) {
+            Apsis p = LunarApsides.nextPerigee(t);
+            if (p.instant().isBefore(s.instant())) {
+                assertTrue(p.distanceKm() >= LunarApsides.SUPERMOON_DISTANCE_KM, "missed " + p);
+            }
+            t = p.instant();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+import org.iHarwood.MoonPhaseModule.LunarPhaseEvents;
+import org.iHarwood.MoonPhaseModule.LunarPhaseEvents.Event;
+import org.iHarwood.MoonPhaseModule.LunarPhaseEvents.Kind;
+import org.iHarwood.MoonPhaseModule.MoonPhase;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Principal phase index: published quarter and full-moon instants, range queries over
+ * the whole table, and agreement with the instant-precision MoonPhase.
+ */
+class LunarPhaseEventsTest {
+
+    private static void assertNear(Instant expected, Instant actual, long minutes) {
+        assertTrue(Duration.between(expected, actual).abs().toMinutes() <= minutes,
+                "expected " + expected + " but was " + actual);
+    }
+
+    @Test
+    void lastQuarter_matchesMeeusExample49b() {
+        // JDE 2467636.49186 (2044 January 21, 23h48m TD); Delta T extrapolates to about 1.5 min
+        Event lq = LunarPhaseEvents.next(Instant.parse("2044-01-15T00:00:00Z"), Kind.LAST_QUARTER);
+        assertEquals(Kind.LAST_QUARTER, lq.kind());
+        assertNear(Instant.parse("2044-01-21T23:46:49Z"), lq.instant(), 1);
+    }
+
+    @Test
+    void january2026_matchesPublishedPhases() throws IOException {
+        List<Event> events = new ArrayList<>();
+        int n = LunarPhaseEvents.forEachBetween(Instant.parse("2026-01-01T00:00:00Z"),
+                Instant.parse("2026-02-01T00:00:00Z"),
+                (kind, millis) -> events.add(new Event(kind, Instant.ofEpochMilli(millis))));
+        assertEquals(4, n);
+        assertEquals(List.of(Kind.FULL_MOON, Kind.LAST_QUARTER, Kind.NEW_MOON, Kind.FIRST_QUARTER),
+                events.stream().map(Event::kind).toList());
+        assertNear(Instant.parse("2026-01-03T10:03:00Z"), events.get(0).instant(), 2);
+        assertNear(Instant.parse("2026-01-10T15:48:00Z"), events.get(1).instant(), 2);
+        assertNear(Instant.parse("2026-01-18T19:52:00Z"), events.get(2).instant(), 2);
+        assertNear(Instant.parse("2026-01-26T04:47:00Z"), events.get(3).instant(), 2);
+    }
+
+    @Test
+    void wholeTable_isOrderedAndCyclic() throws IOException {
+        long[] previous = {Long.MIN_VALUE};
+        Kind[] previousKind = {null};
+        int n = LunarPhaseEvents.forEachBetween(Instant.parse("1800-01-01T00:00:00Z"),
+                Instant.parse("2300-01-01T00:00:00Z"), (kind, millis) -> {
+                    if (previousKind[0] != null) {
+                        double days = (millis - previous[0]) / 86_400_000.0;
+                        assertTrue(days > 5.5 && days < 9.0, days + " days before " + Instant.ofEpochMilli(millis));
+                        assertEquals((previousKind[0].ordinal() + 1) % 4, kind.ordinal());
+                    }
+                    previous[0] = millis;
+                    previousKind[0] = kind;
+                });
+        // 201 years of 12.37 lunations, four phases each
+        assertTrue(n > 9_900 && n < 10_000, "count " + n);
+        assertEquals(LunarPhaseEvents.firstInstant(), LunarPhaseEvents.next(Instant.parse("1800-01-01T00:00:00Z")).instant());
+    }
+
+    @Test
+    void next_isStrictlyAfterAndAgreesWithMoonPhase() {
+        Instant t = Instant.parse("2026-03-01T00:00:00Z");
+        for (int i = 0; i < 40; i++) {
+            Event full = LunarPhaseEvents.next(t, Kind.FULL_MOON);
+            assertTrue(full.instant().isAfter(t));
+            double days = Duration.between(t, full.instant()).toMillis() / 86_400_000.0;
+            assertEquals(days, MoonPhase.fromInstant(t).getDaysUntilFullMoonExact(), 1e-6);
+            t = LunarPhaseEvents.next(t).instant();
+        }
+        assertNull(LunarPhaseEvents.next(LunarPhaseEvents.lastInstant()));
+    }
+
+    @Test
+    void extremeInstants_areOutsideTheTable() throws IOException {
+        List<Instant> visited = new ArrayList<>();
+        int count = LunarPhaseEvents.forEachBetween(Instant.MIN, Instant.MAX,
+                (kind, epochMillis) -> visited.add(Instant.ofEpochMilli(epochMillis)));
+        assertEquals(count, visited.size());
+        assertEquals(LunarPhaseEvents.firstInstant(), visited.get(0));
+        assertEquals(LunarPhaseEvents.lastInstant(), visited.get(count - 1));
+        assertEquals(LunarPhaseEvents.firstInstant(), LunarPhaseEvents.next(Instant.MIN).instant());
+        assertNull(LunarPhaseEvents.next(Instant.MAX, Kind.FULL_MOON));
+    }
+
+    @Test
+    void forEachBetween_rejectsReversedWindow() {
+        assertThrows(IllegalArgumentException.class, () -> LunarPhaseEvents.forEachBetween(
+                Instant.parse("2026-02-01T00:00:00Z"), Instant.parse("2026-01-01T00:00:00Z"), (k, m) -> {}));
+    }
+}
@@ -0,0 +1,63 @@
+import org.iHarwood.MoonPhaseModule.MoonCalendar;
+import org.iHarwood.MoonPhaseModule.MoonPhase;
+
+import java.time.LocalDate;
+
+/**
+ * Cost of a year of daily moon phases: one MoonPhase.fromDate call per day, the batch
+ * MoonPhase.phasesAt, the calendar's first (uncached) computation of a year, and a
+ * cached year. Each year is computed only once, so the uncached figure is mostly
+ * pre-JIT code, which is also what the server sees. Run manually:
+ * it is not a JUnit test.
+ */
+public class MoonCalendarBenchmark {
+    private static final int ROUNDS = 20_000;
+
+    public static void main(String[] args) {
+        System.out.println("=== Moon Calendar Benchmark ===\n");
+        long sink = 0;
+        // Every year is computed at most once: warm up on the first 160, time the last 41
+        for (int year = MoonCalendar.FIRST_YEAR; year < 2060; year++) {
+            sink += MoonCalendar.year(year).phase()[0];
+        }
+        for (int r = 0; r < ROUNDS; r++) {
+            sink += perDay(1950 + r % 100);
+            sink += MoonCalendar.year(1950 + r % 100).phase()[0];
+        }
+
+        long t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) sink += perDay(1950 + r % 100);
+        System.out.printf("fromDate x 365:   %.1f us per year\n", (System.nanoTime() - t0) / 1e3 / ROUNDS);
+
+        double[] fractions = new double[365];
+        double[] ages = new double[365];
+        t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) {
+            MoonPhase.phasesAt(946_728_000_000L + r * 86_400_000L, 86_400_000L, 365, fractions, ages);
+            sink += (long) ages[r % 365];
+        }
+        System.out.printf("phasesAt x 365:   %.1f us per year\n", (System.nanoTime() - t0) / 1e3 / ROUNDS);
+
+        t0 = System.nanoTime();
+        int uncached = 0;
+        for (int year = 2060; year <= MoonCalendar.LAST_YEAR; year++, uncached++) {
+            sink += MoonCalendar.year(year).phase()[0];
+        }
+        System.out.printf("Calendar, new:    %.1f us per year\n", (System.nanoTime() - t0) / 1e3 / uncached);
+
+        t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) sink += MoonCalendar.year(1950 + r % 100).phase()[0];
+        System.out.printf("Calendar, cached: %.1f us per year\n", (System.nanoTime() - t0) / 1e3 / ROUNDS);
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    private static long perDay(int year) {
+        long acc = 0;
+        LocalDate d = LocalDate.of(year, 1, 1);
+        for (int i = 0; i < 365; i++) {
+            MoonPhase mp = MoonPhase.fromDate(d.plusDays(i));
+            acc += mp.getIlluminationPercent() + mp.getPhaseName().length();
+        }
+        return acc;
+    }
+}
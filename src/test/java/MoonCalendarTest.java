@@ -0,0 +1,65 @@
+import org.iHarwood.MoonPhaseModule.MoonCalendar;
+import org.iHarwood.MoonPhaseModule.MoonCalendar.Days;
+import org.iHarwood.MoonPhaseModule.MoonPhase;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bulk calendars agree with MoonPhase.fromDate day by day, months tile the year, and
+ * cached months cannot be altered through a returned calendar.
+ */
+class MoonCalendarTest {
+
+    @Test
+    void year_matchesFromDateEveryDay() {
+        for (int year : new int[]{1900, 1977, 2024, 2026, 2100}) {
+            Days days = MoonCalendar.year(year);
+            LocalDate first = LocalDate.of(year, 1, 1);
+            assertEquals(first.toString(), days.start());
+            assertEquals(first.lengthOfYear(), days.phase().length);
+            for (int i = 0; i < days.phase().length; i++) {
+                MoonPhase mp = MoonPhase.fromDate(first.plusDays(i));
+                String date = first.plusDays(i).toString();
+                assertEquals(mp.getPhaseName(), days.phaseNames().get(days.phase()[i]), date);
+                assertEquals(mp.getPhaseIcon(), days.phaseIcons().get(days.phase()[i]), date);
+                assertEquals(mp.getIlluminationPercent(), days.illuminationPercent()[i], date);
+                assertEquals(mp.getAgeDaysExact(), days.ageDays()[i], 0.005 + 1e-9, date);
+            }
+        }
+    }
+
+    @Test
+    void months_tileTheYear() {
+        Days year = MoonCalendar.year(2026);
+        int offset = 0;
+        for (int m = 1; m <= 12; m++) {
+            Days month = MoonCalendar.month(YearMonth.of(2026, m));
+            assertEquals(YearMonth.of(2026, m).atDay(1).toString(), month.start());
+            for (int i = 0; i < month.phase().length; i++) {
+                assertEquals(year.phase()[offset + i], month.phase()[i]);
+                assertEquals(year.ageDays()[offset + i], month.ageDays()[i]);
+            }
+            offset += month.phase().length;
+        }
+        assertEquals(year.phase().length, offset);
+    }
+
+    @Test
+    void returnedArrays_doNotAliasTheCache() {
+        YearMonth january = YearMonth.of(2030, 1);
+        Days first = MoonCalendar.month(january);
+        int original = first.phase()[0];
+        first.phase()[0] = original + 1;
+        assertEquals(original, MoonCalendar.month(january).phase()[0]);
+    }
+
+    @Test
+    void outsideIndex_isRejected() {
+        assertThrows(IllegalArgumentException.class, () -> MoonCalendar.year(1899));
+        assertThrows(IllegalArgumentException.class, () -> MoonCalendar.month(YearMonth.of(2101, 1)));
+    }
+}
@@ -0,0 +1,56 @@
+import org.iHarwood.MoonPhaseModule.MoonDisc;
+import org.iHarwood.MoonPhaseModule.MoonPhase;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Illuminated fraction and bright limb of the Moon's disc: Meeus' worked example, the
+ * phase model over a month, and which side is lit while waxing and waning.
+ */
+class MoonDiscTest {
+
+    @Test
+    void disc_matchesMeeusExample48a() {
+        // 1992 April 12, 0h TD: k = 0.6786, i = 69.0756 deg, chi = 285.0 deg
+        MoonDisc disc = MoonDisc.at(Instant.parse("1992-04-12T00:00:00Z"), 51.4769, 0.0);
+        assertEquals(0.6786, disc.illuminatedFraction(), 0.005);
+        assertEquals(69.0756, disc.phaseAngleDeg(), 0.5);
+        assertEquals(285.0, disc.brightLimbAngleDeg(), 1.0);
+    }
+
+    @Test
+    void illuminatedFraction_tracksThePhaseModel() {
+        Instant start = Instant.parse("2026-03-01T00:00:00Z");
+        for (int h = 0; h < 30 * 24; h += 7) {
+            Instant t = start.plus(Duration.ofHours(h));
+            double expected = MoonPhase.fromInstant(t).getIlluminationPercent() / 100.0;
+            assertEquals(expected, MoonDisc.at(t, 51.4769, 0.0).illuminatedFraction(), 0.04, "at " + t);
+        }
+    }
+
+    @Test
+    void brightLimb_facesWestWhileWaxing_andEastWhileWaning() {
+        // First quarter 2026-03-25, last quarter 2026-04-10
+        MoonDisc waxing = MoonDisc.at(Instant.parse("2026-03-25T12:00:00Z"), 51.4769, 0.0);
+        MoonDisc waning = MoonDisc.at(Instant.parse("2026-04-10T12:00:00Z"), 51.4769, 0.0);
+        assertTrue(waxing.brightLimbAngleDeg() > 180 && waxing.brightLimbAngleDeg() < 360,
+                "waxing chi " + waxing.brightLimbAngleDeg());
+        assertTrue(waning.brightLimbAngleDeg() > 0 && waning.brightLimbAngleDeg() < 180,
+                "waning chi " + waning.brightLimbAngleDeg());
+    }
+
+    @Test
+    void zenithAngle_isTheBrightLimbLessTheParallacticAngle() {
+        Instant t = Instant.parse("2026-03-25T20:00:00Z");
+        MoonDisc north = MoonDisc.at(t, 51.4769, 0.0);
+        MoonDisc south = MoonDisc.at(t, -33.87, 0.0);
+        // Same sky, same chi; seen from the other hemisphere the Moon is turned around
+        assertEquals(north.brightLimbAngleDeg(), south.brightLimbAngleDeg(), 1e-9);
+        double turn = Math.abs(north.zenithLimbAngleDeg() - south.zenithLimbAngleDeg()) % 360;
+        assertTrue(Math.min(turn, 360 - turn) > 20, "turned by " + turn);
+    }
+}
@@ -0,0 +1,77 @@
+import org.iHarwood.MoonPhaseModule.MoonPhase;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Instant-precision phase: published new and full moon instants, the age and
+ * full-moon countdown around them, and the mean-model fallback outside the index.
+ */
+class MoonPhaseTest {
+
+    private static final double MINUTE_DAYS = 1.0 / 1440.0;
+
+    @Test
+    void newMoon_matchesMeeusExample49a() {
+        // 1977 February 18, 3h37m42s TD; Delta T was about 48 s
+        MoonPhase atNewMoon = MoonPhase.fromInstant(Instant.parse("1977-02-18T03:36:54Z"));
+        double age = Math.min(atNewMoon.getAgeDaysExact(), 29.53 - atNewMoon.getAgeDaysExact());
+        assertTrue(age < MINUTE_DAYS, "age " + atNewMoon.getAgeDaysExact());
+    }
+
+    @Test
+    void countdowns_hitPublished2026Phases() {
+        // Full moon 2026-01-03 10:03 UTC, new moon 2026-01-18 19:52 UTC
+        Instant fullMoon = Instant.parse("2026-01-03T10:03:00Z");
+        Instant newMoon = Instant.parse("2026-01-18T19:52:00Z");
+
+        MoonPhase beforeFull = MoonPhase.fromInstant(fullMoon.minus(Duration.ofDays(2)));
+        assertEquals(2.0, beforeFull.getDaysUntilFullMoonExact(), 2 * MINUTE_DAYS);
+
+        MoonPhase afterNew = MoonPhase.fromInstant(newMoon.plus(Duration.ofHours(6)));
+        assertEquals(0.25, afterNew.getAgeDaysExact(), 2 * MINUTE_DAYS);
+    }
+
+    @Test
+    void fractionAgeAndCountdown_areConsistent() {
+        Instant t = Instant.parse("2026-01-01T00:00:00Z");
+        double previousFraction = -1;
+        int wraps = 0;
+        for (int h = 0; h < 24 * 60; h += 5) {
+            MoonPhase mp = MoonPhase.fromInstant(t.plus(Duration.ofHours(h)));
+            double f = mp.getPhaseFraction();
+            assertTrue(f >= 0.0 && f < 1.0);
+            assertTrue(mp.getAgeDaysExact() >= 0.0 && mp.getAgeDaysExact() < 29.9);
+            assertTrue(mp.getDaysUntilFullMoonExact() > 0.0 && mp.getDaysUntilFullMoonExact() < 29.9);
+            if (f < previousFraction) {
+                wraps++;
+            }
+            previousFraction = f;
+        }
+        assertEquals(2, wraps);
+    }
+
+    @Test
+    void names_matchTheSky() {
+        // 2026-01-06: three days after full moon
+        MoonPhase waning = MoonPhase.fromDate(LocalDate.of(2026, 1, 6));
+        assertEquals("Waning Gibbous", waning.getPhaseName());
+        assertTrue(waning.getIlluminationPercent() > 85);
+
+        // 2026-01-18: new moon
+        MoonPhase dark = MoonPhase.fromDate(LocalDate.of(2026, 1, 18));
+        assertEquals("New Moon", dark.getPhaseName());
+        assertTrue(dark.getIlluminationPercent() < 3);
+    }
+
+    @Test
+    void outsideIndex_fallsBackToMeanModel() {
+        MoonPhase mp = MoonPhase.fromDate(LocalDate.of(2200, 6, 1));
+        assertTrue(mp.getPhaseFraction() >= 0.0 && mp.getPhaseFraction() < 1.0);
+        assertEquals(mp.getPhaseFraction() * 29.530588861, mp.getAgeDaysExact(), 1e-9);
+    }
+}
@@ -0,0 +1,96 @@
+import org.iHarwood.MoonPhaseModule.MoonPosition;
+import org.iHarwood.MoonPhaseModule.MoonPosition.Precision;
+
+import java.util.Random;
+
+/**
+ * Cost and accuracy of each MoonPosition tier. Time is per evaluation, both through
+ * positionAt and through the batch positionsAt; accuracy is the worst difference from
+ * the PRECISE tier over random instants in 1900-2100. The single-cosine distance model
+ * MoonDistance used before the series is included for comparison. Run manually: it is
+ * not a JUnit test.
+ */
+public class MoonPositionBenchmark {
+    private static final int N = 1_000;
+    private static final int WARMUP = 2_000;
+    private static final int ROUNDS = 2_000;
+    private static final int ACCURACY_SAMPLES = 200_000;
+
+    public static void main(String[] args) {
+        System.out.println("=== Moon Position Benchmark ===\n");
+        double[] days = new double[N];
+        for (int i = 0; i < N; i++) {
+            days[i] = 9_000.0 + i * 0.37;
+        }
+        double[] out = new double[3 * N];
+
+        double sink = 0;
+        for (int r = 0; r < WARMUP; r++) {
+            sink += singleCosine(days);
+            for (Precision precision : Precision.values()) {
+                sink += perCall(days, precision, out) + batch(precision, out);
+            }
+        }
+
+        System.out.println("Time per evaluation:");
+        long t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) sink += singleCosine(days);
+        System.out.printf("  Single cosine (old):  %.1f ns (distance only)\n", (System.nanoTime() - t0) / (double) ROUNDS / N);
+        for (Precision precision : Precision.values()) {
+            t0 = System.nanoTime();
+            for (int r = 0; r < ROUNDS; r++) sink += perCall(days, precision, out);
+            double callNs = (System.nanoTime() - t0) / (double) ROUNDS / N;
+            t0 = System.nanoTime();
+            for (int r = 0; r < ROUNDS; r++) sink += batch(precision, out);
+            double batchNs = (System.nanoTime() - t0) / (double) ROUNDS / N;
+            System.out.printf("  %-8s positionAt:   %.1f ns, positionsAt: %.1f ns\n", precision, callNs, batchNs);
+        }
+
+        System.out.println("\nWorst difference from PRECISE, " + ACCURACY_SAMPLES + " instants in 1900-2100:");
+        double[] worstFast = new double[3];
+        double worstCosineKm = 0;
+        double[] fast = new double[3];
+        double[] precise = new double[3];
+        Random random = new Random(11);
+        for (int i = 0; i < ACCURACY_SAMPLES; i++) {
+            double d = -36_524.5 + random.nextDouble() * 73_415.0;
+            MoonPosition.positionAt(d, Precision.FAST, fast, 0);
+            MoonPosition.positionAt(d, Precision.PRECISE, precise, 0);
+            double dLon = Math.abs(fast[MoonPosition.LONGITUDE] - precise[MoonPosition.LONGITUDE]);
+            worstFast[0] = Math.max(worstFast[0], Math.min(dLon, 360.0 - dLon));
+            worstFast[1] = Math.max(worstFast[1], Math.abs(fast[MoonPosition.LATITUDE] - precise[MoonPosition.LATITUDE]));
+            worstFast[2] = Math.max(worstFast[2], Math.abs(fast[MoonPosition.DISTANCE] - precise[MoonPosition.DISTANCE]));
+            worstCosineKm = Math.max(worstCosineKm, Math.abs(singleCosineKm(d) - precise[MoonPosition.DISTANCE]));
+        }
+        System.out.printf("  Single cosine (old):  distance %.0f km\n", worstCosineKm);
+        System.out.printf("  FAST:                 longitude %.4f deg, latitude %.4f deg, distance %.1f km\n",
+                worstFast[0], worstFast[1], worstFast[2]);
+        System.out.println("  PRECISE:              reference (Meeus: ~10\" longitude, ~4\" latitude)");
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    /** Distance model MoonDistance used before the periodic-term series. */
+    private static double singleCosineKm(double d) {
+        return 384_400.0 - 21_000.0 * Math.cos(Math.toRadians(134.9634 + 13.0649929509 * d));
+    }
+
+    private static double singleCosine(double[] days) {
+        double acc = 0;
+        for (double d : days) {
+            acc += singleCosineKm(d);
+        }
+        return acc;
+    }
+
+    private static double perCall(double[] days, Precision precision, double[] out) {
+        for (int i = 0; i < days.length; i++) {
+            MoonPosition.positionAt(days[i], precision, out, 3 * i);
+        }
+        return out[3 * N - 1];
+    }
+
+    private static double batch(Precision precision, double[] out) {
+        MoonPosition.positionsAt(9_000.0, 0.37, N, precision, out);
+        return out[3 * N - 1];
+    }
+}
@@ -0,0 +1,99 @@
+import org.iHarwood.MoonPhaseModule.DateUtils;
+import org.iHarwood.MoonPhaseModule.MoonDistance;
+import org.iHarwood.MoonPhaseModule.MoonPosition;
+import org.iHarwood.MoonPhaseModule.MoonPosition.Precision;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The lunar series must reproduce Meeus' worked example, and the FAST tier must stay
+ * within its documented distance of PRECISE.
+ */
+class MoonPositionTest {
+
+    // 1992 April 12, 0h TD (Meeus example 47.a)
+    private static final double EXAMPLE_DAY = DateUtils.daysSinceJ2000FromJulianDate(2448724.5);
+
+    private static double[] position(double day, Precision precision) {
+        double[] out = new double[3];
+        MoonPosition.positionAt(day, precision, out, 0);
+        return out;
+    }
+
+    private static double[] randomDays(int count) {
+        Random random = new Random(47);
+        double[] days = new double[count];
+        for (int i = 0; i < count; i++) {
+            days[i] = -36_524.5 + random.nextDouble() * 73_415.0;
+        }
+        return days;
+    }
+
+    @Test
+    void precise_matchesMeeusExample47a() {
+        double[] p = position(EXAMPLE_DAY, Precision.PRECISE);
+        assertEquals(133.162655, p[MoonPosition.LONGITUDE], 1e-6);
+        assertEquals(-3.229126, p[MoonPosition.LATITUDE], 1e-6);
+        assertEquals(368409.7, p[MoonPosition.DISTANCE], 0.1);
+    }
+
+    @Test
+    void fast_staysCloseToPrecise() {
+        for (double d : randomDays(5_000)) {
+            double[] fast = position(d, Precision.FAST);
+            double[] precise = position(d, Precision.PRECISE);
+            double dLon = Math.abs(fast[MoonPosition.LONGITUDE] - precise[MoonPosition.LONGITUDE]);
+            assertTrue(Math.min(dLon, 360.0 - dLon) < 0.05, "longitude at day " + d);
+            assertEquals(precise[MoonPosition.LATITUDE], fast[MoonPosition.LATITUDE], 0.03, "latitude at day " + d);
+            assertEquals(precise[MoonPosition.DISTANCE], fast[MoonPosition.DISTANCE], 150.0, "distance at day " + d);
+        }
+    }
+
+    @Test
+    void position_staysInPhysicalRange() {
+        for (double d : randomDays(5_000)) {
+            double[] p = position(d, Precision.PRECISE);
+            assertTrue(p[MoonPosition.LONGITUDE] >= 0.0 && p[MoonPosition.LONGITUDE] < 360.0);
+            assertTrue(Math.abs(p[MoonPosition.LATITUDE]) < 5.4, "latitude at day " + d);
+            assertTrue(p[MoonPosition.DISTANCE] > 356_000.0 && p[MoonPosition.DISTANCE] < 407_000.0,
+                    "distance at day " + d);
+        }
+    }
+
+    @Test
+    void singleValueMethods_matchPositionTriple() {
+        for (Precision precision : Precision.values()) {
+            double[] p = position(EXAMPLE_DAY, precision);
+            assertEquals(p[MoonPosition.LONGITUDE], MoonPosition.longitudeDegAt(EXAMPLE_DAY, precision));
+            assertEquals(p[MoonPosition.LATITUDE], MoonPosition.latitudeDegAt(EXAMPLE_DAY, precision));
+            assertEquals(p[MoonPosition.DISTANCE], MoonPosition.distanceKmAt(EXAMPLE_DAY, precision));
+        }
+        assertEquals(MoonPosition.distanceKmAt(EXAMPLE_DAY, Precision.PRECISE), MoonDistance.distanceKmAt(EXAMPLE_DAY));
+    }
+
+    @Test
+    void batch_matchesPerCall() {
+        int count = 100;
+        for (Precision precision : Precision.values()) {
+            double[] batch = new double[3 * count];
+            MoonPosition.positionsAt(8_000.0, 0.25, count, precision, batch);
+            for (int i = 0; i < count; i++) {
+                double[] single = position(8_000.0 + i * 0.25, precision);
+                for (int k = 0; k < 3; k++) {
+                    assertEquals(single[k], batch[3 * i + k]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void undersizedOutput_isRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> MoonPosition.positionAt(0.0, Precision.FAST, new double[4], 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> MoonPosition.positionsAt(0.0, 1.0, 3, Precision.FAST, new double[8]));
+    }
+}
@@ -10,11 +10,11 @@ public class OptimizationTest {
         System.out.println("✓ DateUtils class exists and can be imported");
 
         // Test 2: DayLight optimization
-        System.out.println("\nTest 2: DayLight Analytical Calculation");
+        System.out.println("\nTest 2: DayLight Year Range");
         double[] dayLightRange = DayLight.minMaxDayLengthHoursNow(51.4769);
         System.out.printf("Min daylight: %.2f hours\n", dayLightRange[0]);
         System.out.printf("Max daylight: %.2f hours\n", dayLightRange[1]);
-        System.out.println("✓ Analytical calculation works (no 365-day loop)");
+        System.out.println("✓ One SolarDay pass over the year, memoised per year and latitude");
 
         // Test 3: Sun distance
         System.out.println("\nTest 3: Sun Distance Calculation");
@@ -36,7 +36,7 @@ public class OptimizationTest {
 
         System.out.println("\n=== All Tests Passed ===");
         System.out.println("Optimizations verified:");
-        System.out.println("✓ 365-day loop eliminated (80-90x faster)");
+        System.out.println("✓ Day-length range memoised per year and latitude");
         System.out.println("✓ Duplicate JD calculations consolidated");
         System.out.println("✓ Code is cleaner and more maintainable");
     }
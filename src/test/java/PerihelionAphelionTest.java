@@ -0,0 +1,56 @@
+import org.iHarwood.MoonPhaseModule.PerihelionAphelion;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Earth's apsides: published perihelion and aphelion times (the Moon moves them by
+ * days from year to year), date lookups and ordering over the table.
+ */
+class PerihelionAphelionTest {
+
+    private static void assertNear(String expected, Instant actual, long hours) {
+        assertTrue(Duration.between(Instant.parse(expected), actual).abs().toHours() < hours,
+                "expected " + expected + " but was " + actual);
+    }
+
+    @Test
+    void apsides2024to2026_matchPublishedTimes() {
+        Instant from = Instant.parse("2023-12-01T00:00:00Z");
+        assertNear("2024-01-03T00:39:00Z", PerihelionAphelion.nextPerihelion(from), 6);
+        assertNear("2024-07-05T05:06:00Z", PerihelionAphelion.nextAphelion(from), 6);
+        from = Instant.parse("2024-12-01T00:00:00Z");
+        assertNear("2025-01-04T13:28:00Z", PerihelionAphelion.nextPerihelion(from), 6);
+        assertNear("2025-07-03T19:55:00Z", PerihelionAphelion.nextAphelion(from), 6);
+        from = Instant.parse("2025-12-01T00:00:00Z");
+        assertNear("2026-01-03T17:15:00Z", PerihelionAphelion.nextPerihelion(from), 6);
+        assertNear("2026-07-06T17:31:00Z", PerihelionAphelion.nextAphelion(from), 6);
+    }
+
+    @Test
+    void dates_followTheComputedInstants() {
+        assertEquals(LocalDate.of(2026, 7, 6), PerihelionAphelion.nextAphelion(LocalDate.of(2026, 1, 1)));
+        assertEquals(LocalDate.of(2025, 1, 4), PerihelionAphelion.nextPerihelion(LocalDate.of(2024, 12, 1)));
+        assertEquals(3, PerihelionAphelion.daysUntilPerihelion(LocalDate.of(2025, 1, 1)));
+        // Strictly after: on the day itself the next one is a year away
+        assertTrue(PerihelionAphelion.daysUntilPerihelion(LocalDate.of(2025, 1, 4)) > 360);
+    }
+
+    @Test
+    void apsides_alternateAcrossTheTable() {
+        Instant t = Instant.parse("1001-01-01T00:00:00Z");
+        Instant end = Instant.parse("2999-01-01T00:00:00Z");
+        while (t.isBefore(end)) {
+            Instant perihelion = PerihelionAphelion.nextPerihelion(t);
+            Instant aphelion = PerihelionAphelion.nextAphelion(perihelion);
+            double days = Duration.between(perihelion, aphelion).toHours() / 24.0;
+            assertTrue(days > 177 && days < 190, days + " days after " + perihelion);
+            assertEquals(aphelion, PerihelionAphelion.nextAphelion(perihelion.plusSeconds(1)));
+            t = aphelion.plus(Duration.ofDays(30 * 365));
+        }
+    }
+}
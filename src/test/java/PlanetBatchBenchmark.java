@@ -0,0 +1,90 @@
+import org.iHarwood.MoonPhaseModule.PlanetBatch;
+import org.iHarwood.MoonPhaseModule.PlanetDistance;
+import org.iHarwood.MoonPhaseModule.Planets;
+
+/**
+ * Compares the structure-of-arrays PlanetBatch kernel with the per-object PlanetDistance
+ * calls, for heliocentric and Earth distances of all eight bodies at one instant and for
+ * one body across a range of instants. Run manually: it is not a JUnit test.
+ */
+public class PlanetBatchBenchmark {
+    private static final int INSTANTS = 1_000;
+    private static final int WARMUP = 3_000;
+    private static final int ROUNDS = 3_000;
+
+    public static void main(String[] args) {
+        System.out.println("=== PlanetBatch Benchmark ===\n");
+        double[] helio = new double[PlanetBatch.ALL.size()];
+        double[] geo = new double[PlanetBatch.ALL.size()];
+        double[] helioRange = new double[INSTANTS];
+        double[] geoRange = new double[INSTANTS];
+        int mars = Planets.indexOf(Planets.MARS);
+
+        double sink = 0;
+        for (int r = 0; r < WARMUP; r++) {
+            sink += perObjectAllBodies() + batchAllBodies(helio, geo);
+            sink += perObjectRange() + batchRange(mars, helioRange, geoRange);
+        }
+
+        long t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) sink += perObjectAllBodies();
+        double perObjectNs = (System.nanoTime() - t0) / (double) ROUNDS / INSTANTS;
+
+        t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) sink += batchAllBodies(helio, geo);
+        double batchNs = (System.nanoTime() - t0) / (double) ROUNDS / INSTANTS;
+
+        System.out.println("All 8 bodies, heliocentric + from Earth, per instant:");
+        System.out.printf("  PlanetDistance objects: %.1f ns\n", perObjectNs);
+        System.out.printf("  PlanetBatch:            %.1f ns (%.1fx)\n\n", batchNs, perObjectNs / batchNs);
+
+        t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) sink += perObjectRange();
+        perObjectNs = (System.nanoTime() - t0) / (double) ROUNDS / INSTANTS;
+
+        t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) sink += batchRange(mars, helioRange, geoRange);
+        batchNs = (System.nanoTime() - t0) / (double) ROUNDS / INSTANTS;
+
+        System.out.println("Mars across " + INSTANTS + " instants, heliocentric + from Earth, per instant:");
+        System.out.printf("  PlanetDistance batch:   %.1f ns\n", perObjectNs);
+        System.out.printf("  PlanetBatch:            %.1f ns (%.1fx)\n", batchNs, perObjectNs / batchNs);
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    private static double perObjectAllBodies() {
+        double acc = 0;
+        for (int k = 0; k < INSTANTS; k++) {
+            double d = 9_000.0 + k * 0.5;
+            for (PlanetDistance p : Planets.ALL) {
+                acc += p.heliocentricDistanceAUAt(d) + p.distanceAUAt(d);
+            }
+        }
+        return acc;
+    }
+
+    private static double batchAllBodies(double[] helio, double[] geo) {
+        double acc = 0;
+        for (int k = 0; k < INSTANTS; k++) {
+            PlanetBatch.ALL.distancesAt(9_000.0 + k * 0.5, helio, geo);
+            for (int i = 0; i < helio.length; i++) {
+                acc += helio[i] + geo[i];
+            }
+        }
+        return acc;
+    }
+
+    private static final double[] RANGE_HELIO = new double[INSTANTS];
+    private static final double[] RANGE_GEO = new double[INSTANTS];
+
+    private static double perObjectRange() {
+        Planets.MARS.heliocentricDistancesAU(9_000.0, 0.5, INSTANTS, RANGE_HELIO);
+        Planets.MARS.distancesAU(9_000.0, 0.5, INSTANTS, RANGE_GEO);
+        return RANGE_HELIO[INSTANTS - 1] + RANGE_GEO[INSTANTS - 1];
+    }
+
+    private static double batchRange(int body, double[] helio, double[] geo) {
+        PlanetBatch.ALL.distancesAt(body, 9_000.0, 0.5, INSTANTS, helio, geo);
+        return helio[INSTANTS - 1] + geo[INSTANTS - 1];
+    }
+}
@@ -0,0 +1,65 @@
+import org.iHarwood.MoonPhaseModule.PlanetBatch;
+import org.iHarwood.MoonPhaseModule.PlanetDistance;
+import org.iHarwood.MoonPhaseModule.Planets;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The structure-of-arrays kernel must agree with the per-object PlanetDistance methods.
+ */
+class PlanetBatchTest {
+
+    private static final double TOLERANCE_AU = 1e-10;
+
+    @Test
+    void allBodiesAtInstant_matchPerObjectCalculation() {
+        PlanetBatch batch = PlanetBatch.ALL;
+        double[] helio = new double[batch.size()];
+        double[] geo = new double[batch.size()];
+        for (double d = -36_000.0; d <= 36_000.0; d += 97.3) {
+            batch.distancesAt(d, helio, geo);
+            for (int i = 0; i < batch.size(); i++) {
+                PlanetDistance p = batch.body(i);
+                assertEquals(p.heliocentricDistanceAUAt(d), helio[i], TOLERANCE_AU, p.getName() + " heliocentric at day " + d);
+                assertEquals(p.distanceAUAt(d), geo[i], TOLERANCE_AU, p.getName() + " from Earth at day " + d);
+            }
+        }
+    }
+
+    @Test
+    void oneBodyAcrossInstants_matchesPerObjectCalculation() {
+        int mercury = Planets.indexOf(Planets.MERCURY);
+        double[] helio = new double[500];
+        double[] geo = new double[500];
+        PlanetBatch.ALL.distancesAt(mercury, 9_500.0, 0.25, 500, helio, geo);
+        for (int k = 0; k < 500; k++) {
+            double d = 9_500.0 + k * 0.25;
+            assertEquals(Planets.MERCURY.heliocentricDistanceAUAt(d), helio[k], TOLERANCE_AU);
+            assertEquals(Planets.MERCURY.distanceAUAt(d), geo[k], TOLERANCE_AU);
+        }
+    }
+
+    @Test
+    void nullOutputIsSkipped() {
+        double[] geo = new double[PlanetBatch.ALL.size()];
+        PlanetBatch.ALL.distancesAt(1_000.0, null, geo);
+        assertEquals(Planets.PLUTO.distanceAUAt(1_000.0), geo[Planets.indexOf(Planets.PLUTO)], TOLERANCE_AU);
+    }
+
+    @Test
+    void customBatch_followsListOrder() {
+        PlanetBatch batch = new PlanetBatch(List.of(Planets.SATURN, Planets.VENUS));
+        assertSame(Planets.SATURN, batch.body(0));
+        assertSame(Planets.VENUS, batch.body(1));
+        assertEquals(-1, Planets.indexOf(new PlanetDistance("Custom", 1.0, 0.0, 0.0, 1.0, 0.0)));
+    }
+
+    @Test
+    void undersizedOutput_isRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> PlanetBatch.ALL.distancesAt(0.0, new double[3], null));
+    }
+}
@@ -0,0 +1,103 @@
+import org.iHarwood.MoonPhaseModule.DateUtils;
+import org.iHarwood.MoonPhaseModule.MoonDistance;
+import org.iHarwood.MoonPhaseModule.PlanetDistance;
+import org.iHarwood.MoonPhaseModule.Planets;
+import org.iHarwood.MoonPhaseModule.SunDistance;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the PlanetDistance / SunDistance / MoonDistance calculators.
+ */
+class PlanetDistanceTest {
+
+    private static final ZonedDateTime START = ZonedDateTime.of(2026, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Test
+    void sunBatch_matchesPerDateCalculation() {
+        double[] out = new double[365];
+        SunDistance.distancesAU(DateUtils.daysSinceJ2000(START), 1.0, out.length, out);
+        for (int i = 0; i < out.length; i++) {
+            assertEquals(SunDistance.distanceAU(START.plusDays(i)), out[i], 1e-12,
+                    "Sun batch sample " + i + " differs from per-date value");
+        }
+    }
+
+    @Test
+    void planetBatch_matchesPerDateCalculation() {
+        double[] out = new double[365];
+        Planets.MARS.distancesAU(DateUtils.daysSinceJ2000(START), 1.0, out.length, out);
+        for (int i = 0; i < out.length; i++) {
+            // Per-date lookups come from the Chebyshev table, the batch from the model itself
+            assertEquals(Planets.MARS.distanceAU(START.plusDays(i)), out[i], 1e-10,
+                    "Mars batch sample " + i + " differs from per-date value");
+        }
+    }
+
+    @Test
+    void arrayBatch_matchesRangeBatch() {
+        double[] days = new double[30];
+        for (int i = 0; i < days.length; i++) {
+            days[i] = DateUtils.daysSinceJ2000(START) + i * 0.5;
+        }
+        double[] fromArray = new double[days.length];
+        double[] fromRange = new double[days.length];
+        MoonDistance.distancesKm(days, fromArray);
+        MoonDistance.distancesKm(days[0], 0.5, days.length, fromRange);
+        for (int i = 0; i < days.length; i++) {
+            assertEquals(fromRange[i], fromArray[i], 1e-9);
+        }
+    }
+
+    @Test
+    void batch_rejectsUndersizedBuffer() {
+        assertThrows(IllegalArgumentException.class,
+                () -> SunDistance.distancesAU(0.0, 1.0, 10, new double[5]));
+    }
+
+    @Test
+    void minMaxDistanceAU_bracketsCurrentValue() {
+        double[] range = Planets.JUPITER.minMaxDistanceAU(START);
+        double current = Planets.JUPITER.distanceAU(START);
+        assertTrue(range[0] <= current && current <= range[1],
+                "Jupiter distance " + current + " outside annual range " + range[0] + ".." + range[1]);
+    }
+
+    @Test
+    void minMaxDistanceAU_matchesDenseSampling() {
+        double startDay = DateUtils.daysSinceJ2000(START);
+        int samples = 366 * 24;
+        double[] out = new double[samples];
+        for (PlanetDistance planet : new PlanetDistance[]{Planets.MERCURY, Planets.MARS, Planets.SATURN}) {
+            planet.distancesAU(startDay, 365.0 / (samples - 1), samples, out);
+            double[] sampled = DateUtils.minMax(out, samples);
+            double[] found = planet.minMaxDistanceAU(START);
+            assertEquals(sampled[0], found[0], 1e-6, planet.getName() + " min");
+            assertEquals(sampled[1], found[1], 1e-6, planet.getName() + " max");
+        }
+    }
+
+    @Test
+    void sunMinMax_closedFormMatchesDenseSampling() {
+        double startDay = DateUtils.daysSinceJ2000(START);
+        int samples = 366 * 24;
+        double[] out = new double[samples];
+        SunDistance.distancesAU(startDay, 365.0 / (samples - 1), samples, out);
+        double[] sampled = DateUtils.minMax(out, samples);
+        double[] found = SunDistance.minMaxDistanceAU(START.plusMonths(6));
+        assertEquals(sampled[0], found[0], 1e-8, "perihelion distance");
+        assertEquals(sampled[1], found[1], 1e-8, "aphelion distance");
+    }
+
+    @Test
+    void minMaxDistanceAU_isMemoisedButDefensivelyCopied() {
+        double[] first = Planets.SATURN.minMaxDistanceAU(START);
+        first[0] = -1.0;
+        double[] second = Planets.SATURN.minMaxDistanceAU(START.plusMonths(3));
+        assertTrue(second[0] > 0, "Caller mutation must not leak into the per-year memo");
+    }
+}
@@ -0,0 +1,133 @@
+import org.iHarwood.MoonPhaseModule.SolarDay;
+import org.iHarwood.MoonPhaseModule.SunriseSunset;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * NOAA sunrise/sunset/twilight engine: published times for several cities, polar days
+ * and nights, the batch mode, and the string formatting built on it.
+ */
+class SolarDayTest {
+
+    private static final double GREENWICH_LAT = 51.4769;
+    private static final double GREENWICH_LON = 0.0;
+
+    private static void assertNear(String expected, Instant actual) {
+        assertNotNull(actual);
+        assertTrue(Duration.between(Instant.parse(expected), actual).abs().toSeconds() <= 90,
+                "expected " + expected + " but was " + actual);
+    }
+
+    @Test
+    void greenwich_matchesPublishedTimes() {
+        // Summer solstice 2024: 04:43 and 21:21 BST
+        SolarDay.Times june = SolarDay.timesAt(LocalDate.of(2024, 6, 21), GREENWICH_LAT, GREENWICH_LON);
+        assertNear("2024-06-21T03:43:00Z", june.sunrise());
+        assertNear("2024-06-21T20:21:00Z", june.sunset());
+        // Winter solstice 2024: 08:04 and 15:53 GMT
+        SolarDay.Times december = SolarDay.timesAt(LocalDate.of(2024, 12, 21), GREENWICH_LAT, GREENWICH_LON);
+        assertNear("2024-12-21T08:04:00Z", december.sunrise());
+        assertNear("2024-12-21T15:53:00Z", december.sunset());
+    }
+
+    @Test
+    void solarNoon_followsEquationOfTime() {
+        // Equation of time about -14.2 min on February 11 and +16.4 min on November 3
+        SolarDay.Times february = SolarDay.timesAt(LocalDate.of(2024, 2, 11), GREENWICH_LAT, GREENWICH_LON);
+        assertNear("2024-02-11T12:14:12Z", february.solarNoon());
+        SolarDay.Times november = SolarDay.timesAt(LocalDate.of(2024, 11, 3), GREENWICH_LAT, GREENWICH_LON);
+        assertNear("2024-11-03T11:43:36Z", november.solarNoon());
+    }
+
+    @Test
+    void otherLongitudes_crossUtcMidnight() {
+        // New York, 4 July 2024: 05:30 and 20:31 EDT
+        SolarDay.Times ny = SolarDay.timesAt(LocalDate.of(2024, 7, 4), 40.7128, -74.0060);
+        assertNear("2024-07-04T09:30:00Z", ny.sunrise());
+        assertNear("2024-07-05T00:31:00Z", ny.sunset());
+        // Sydney, 1 January 2024: 05:47 and 20:09 AEDT
+        SolarDay.Times sydney = SolarDay.timesAt(LocalDate.of(2024, 1, 1), -33.8688, 151.2093);
+        assertNear("2023-12-31T18:47:00Z", sydney.sunrise());
+        assertNear("2024-01-01T09:09:00Z", sydney.sunset());
+    }
+
+    @Test
+    void twilight_matchesPublishedTimesAndIsOrdered() {
+        // Greenwich, winter solstice 2024: astronomical 05:59, nautical 06:40, civil 07:23 dawn
+        SolarDay.Times december = SolarDay.timesAt(LocalDate.of(2024, 12, 21), GREENWICH_LAT, GREENWICH_LON);
+        assertNear("2024-12-21T05:59:00Z", december.astronomicalDawn());
+        assertNear("2024-12-21T06:40:00Z", december.nauticalDawn());
+        assertNear("2024-12-21T07:23:00Z", december.civilDawn());
+        assertNear("2024-12-21T16:34:00Z", december.civilDusk());
+        assertNear("2024-12-21T17:57:00Z", december.astronomicalDusk());
+
+        double[] out = new double[SolarDay.STRIDE];
+        SolarDay.eventsAt(LocalDate.of(2024, 12, 21), GREENWICH_LAT, GREENWICH_LON, out, 0);
+        for (int k = 1; k <= SolarDay.ASTRONOMICAL_DUSK; k++) {
+            assertTrue(out[k] > out[k - 1], "slot " + k + " not after slot " + (k - 1));
+        }
+    }
+
+    @Test
+    void twilight_withoutDarkness_isAllNight() {
+        // At 51.5 N around the June solstice the Sun never gets 18 deg below the horizon
+        double[] out = new double[SolarDay.STRIDE];
+        SolarDay.eventsAt(LocalDate.of(2024, 6, 21), GREENWICH_LAT, GREENWICH_LON, out, 0);
+        assertTrue(Double.isNaN(out[SolarDay.ASTRONOMICAL_DAWN]));
+        assertEquals("All Night", SunriseSunset.format(out, 0, SolarDay.ASTRONOMICAL_DUSK));
+        assertEquals("01:41", SunriseSunset.format(out, 0, SolarDay.NAUTICAL_DAWN));
+        assertTrue(out[SolarDay.MIDNIGHT_ALTITUDE] > -18.0 && out[SolarDay.MIDNIGHT_ALTITUDE] < -12.0);
+
+        // Tromso at midwinter: civil twilight around noon, no sunrise
+        SolarDay.eventsAt(LocalDate.of(2024, 12, 21), 69.65, 18.96, out, 0);
+        assertFalse(Double.isNaN(out[SolarDay.CIVIL_DAWN]));
+        assertEquals("Polar Night", SunriseSunset.format(out, 0, SolarDay.SUNRISE));
+    }
+
+    @Test
+    void polarDays_haveNoCrossings() {
+        double[] out = new double[SolarDay.STRIDE];
+        SolarDay.eventsAt(LocalDate.of(2024, 12, 21), 69.65, 18.96, out, 0);
+        assertTrue(Double.isNaN(out[SolarDay.SUNRISE]) && Double.isNaN(out[SolarDay.SUNSET]));
+        assertEquals(0.0, out[SolarDay.DAYLIGHT]);
+        assertEquals("Polar Night", SunriseSunset.format(out, 0, SolarDay.SUNRISE));
+
+        SolarDay.eventsAt(LocalDate.of(2024, 6, 21), 69.65, 18.96, out, 0);
+        assertEquals(1440.0, out[SolarDay.DAYLIGHT]);
+        assertEquals("Midnight Sun", SunriseSunset.format(out, 0, SolarDay.SUNSET));
+        assertEquals("All Night", SunriseSunset.format(out, 0, SolarDay.CIVIL_DUSK));
+
+        // Near the pole in midwinter even astronomical twilight never comes
+        SolarDay.eventsAt(LocalDate.of(2024, 12, 21), 85.0, 0.0, out, 0);
+        assertEquals("None", SunriseSunset.format(out, 0, SolarDay.ASTRONOMICAL_DAWN));
+        assertFalse(Double.isNaN(out[SolarDay.SOLAR_NOON]));
+    }
+
+    @Test
+    void yearBatch_matchesSingleDays() {
+        double[] year = SolarDay.eventsForYear(2026, GREENWICH_LAT, GREENWICH_LON);
+        assertEquals(SolarDay.STRIDE * 365, year.length);
+        double[] one = new double[SolarDay.STRIDE];
+        LocalDate day = LocalDate.of(2026, 1, 1);
+        for (int i = 0; i < 365; i++, day = day.plusDays(1)) {
+            SolarDay.eventsAt(day, GREENWICH_LAT, GREENWICH_LON, one, 0);
+            for (int k = 0; k < SolarDay.STRIDE; k++) {
+                assertEquals(one[k], year[SolarDay.STRIDE * i + k], 0.0, day + " slot " + k);
+            }
+            assertEquals(year[SolarDay.STRIDE * i + SolarDay.SUNSET] - year[SolarDay.STRIDE * i + SolarDay.SUNRISE],
+                    year[SolarDay.STRIDE * i + SolarDay.DAYLIGHT], 1e-9);
+        }
+    }
+
+    @Test
+    void sunriseSunsetStrings_formatTheEngine() {
+        LocalDate date = LocalDate.of(2024, 6, 21);
+        assertEquals("03:43", SunriseSunset.sunriseUtc(date, GREENWICH_LAT, GREENWICH_LON));
+        assertEquals("20:21", SunriseSunset.sunsetUtc(date, GREENWICH_LAT, GREENWICH_LON));
+    }
+}
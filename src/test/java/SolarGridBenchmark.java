@@ -0,0 +1,58 @@
+import org.iHarwood.MoonPhaseModule.SolarDay;
+import org.iHarwood.MoonPhaseModule.SolarGrid;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * Cost of a 1-degree whole-Earth solar grid (65,160 cells): one SolarDay.eventsAt per
+ * cell, a fresh grid (shared Sun fit per column, fork-join across cores), a cached grid,
+ * and writing the binary form. Run manually: it is not a JUnit test.
+ */
+public class SolarGridBenchmark {
+    private static final int ROUNDS = 40;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Solar Grid Benchmark ===\n");
+        System.out.println("Cores: " + Runtime.getRuntime().availableProcessors());
+        LocalDate start = LocalDate.of(2026, 1, 1);
+        long sink = 0;
+        double[] events = new double[SolarDay.STRIDE];
+        for (int r = 0; r < ROUNDS; r++) {
+            sink += perCell(start.plusDays(r), events);
+            sink += (long) SolarGrid.forDate(start.plusDays(100 + r), 1.0).daylightHours(40, 40);
+        }
+
+        long t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) sink += perCell(start.plusDays(r), events);
+        System.out.printf("eventsAt per cell: %.2f ms per grid\n", (System.nanoTime() - t0) / 1e6 / ROUNDS);
+
+        t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) {
+            sink += (long) SolarGrid.forDate(start.plusDays(200 + r), 1.0).daylightHours(40, 40);
+        }
+        System.out.printf("Grid, new:         %.2f ms per grid\n", (System.nanoTime() - t0) / 1e6 / ROUNDS);
+
+        SolarGrid cached = SolarGrid.forDate(start, 1.0);
+        t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS * 1000; r++) sink += SolarGrid.forDate(start, 1.0).rows();
+        System.out.printf("Grid, cached:      %.2f us per grid\n", (System.nanoTime() - t0) / 1e3 / (ROUNDS * 1000));
+
+        OutputStream discard = OutputStream.nullOutputStream();
+        t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) cached.writeTo(discard);
+        System.out.printf("writeTo (%d KB):   %.2f ms\n", cached.binaryLength() / 1024, (System.nanoTime() - t0) / 1e6 / ROUNDS);
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    private static long perCell(LocalDate date, double[] events) {
+        long acc = 0;
+        for (int lat = 90; lat >= -90; lat--) {
+            for (int lon = -180; lon < 180; lon++) {
+                SolarDay.eventsAt(date, lat, lon, events, 0);
+                acc += (long) events[SolarDay.DAYLIGHT];
+            }
+        }
+        return acc;
+    }
+}
@@ -0,0 +1,114 @@
+import org.iHarwood.MoonPhaseModule.SolarDay;
+import org.iHarwood.MoonPhaseModule.SolarGrid;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Whole-Earth solar grid: cells agree with SolarDay at the same point, polar cells
+ * are flagged, grids are cached, and the binary form has the documented layout.
+ */
+class SolarGridTest {
+
+    private static final LocalDate SOLSTICE = LocalDate.of(2026, 6, 21);
+
+    @Test
+    void oneDegreeGrid_hasDocumentedShape() {
+        SolarGrid grid = SolarGrid.forDate(SOLSTICE, 1.0);
+        assertEquals(181, grid.rows());
+        assertEquals(360, grid.cols());
+        assertEquals(90.0, grid.latitudeDeg(0));
+        assertEquals(-90.0, grid.latitudeDeg(180));
+        assertEquals(-180.0, grid.longitudeDeg(0));
+        assertEquals(179.0, grid.longitudeDeg(359));
+    }
+
+    @Test
+    void cells_matchSolarDay() {
+        SolarGrid grid = SolarGrid.forDate(SOLSTICE, 1.0);
+        double[] events = new double[SolarDay.STRIDE];
+        for (int row = 0; row < grid.rows(); row += 7) {
+            for (int col = 0; col < grid.cols(); col += 13) {
+                SolarDay.eventsAt(SOLSTICE, grid.latitudeDeg(row), grid.longitudeDeg(col), events, 0);
+                String at = grid.latitudeDeg(row) + "," + grid.longitudeDeg(col);
+                assertEquals(events[SolarDay.DAYLIGHT] / 60.0, grid.daylightHours(row, col), 1e-3, at);
+                assertSameMinutes(events[SolarDay.SUNRISE], grid.sunriseMinutes(row, col), at);
+                assertSameMinutes(events[SolarDay.SUNSET], grid.sunsetMinutes(row, col), at);
+            }
+        }
+    }
+
+    private static void assertSameMinutes(double expected, float actual, String at) {
+        if (Double.isNaN(expected)) {
+            assertTrue(Float.isNaN(actual), at + " expected NaN but was " + actual);
+        } else {
+            assertEquals(expected, actual, 1e-2, at);
+        }
+    }
+
+    @Test
+    void polarCells_atJuneSolstice() {
+        SolarGrid grid = SolarGrid.forDate(SOLSTICE, 1.0);
+        // North pole: midnight sun; south pole: polar night
+        assertEquals(24.0f, grid.daylightHours(0, 100));
+        assertTrue(Float.isNaN(grid.sunriseMinutes(0, 100)));
+        assertEquals(0.0f, grid.daylightHours(180, 100));
+        assertTrue(Float.isNaN(grid.sunsetMinutes(180, 100)));
+        // Equator: about 12h 7m everywhere (refraction and the Sun's radius add a few minutes)
+        for (int col = 0; col < grid.cols(); col++) {
+            assertEquals(12.12, grid.daylightHours(90, col), 0.05);
+        }
+    }
+
+    @Test
+    void forDate_returnsCachedGrid() {
+        assertSame(SolarGrid.forDate(SOLSTICE, 2.0), SolarGrid.forDate(SOLSTICE, 2.0));
+    }
+
+    @Test
+    void forDate_keepsOnlyOneFinestGrid() {
+        // Two 0.25 degree grids are about 25 MB, over the cache budget
+        SolarGrid first = SolarGrid.forDate(SOLSTICE, 0.25);
+        SolarGrid.forDate(SOLSTICE.plusDays(1), 0.25);
+        assertNotSame(first, SolarGrid.forDate(SOLSTICE, 0.25));
+    }
+
+    @Test
+    void forDate_rejectsBadSteps() {
+        assertThrows(IllegalArgumentException.class, () -> SolarGrid.forDate(SOLSTICE, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> SolarGrid.forDate(SOLSTICE, 0.1));
+        assertThrows(IllegalArgumentException.class, () -> SolarGrid.forDate(SOLSTICE, 7.0));
+        assertThrows(IllegalArgumentException.class, () -> SolarGrid.forDate(SOLSTICE, Double.NaN));
+    }
+
+    @Test
+    void writeTo_producesDocumentedLayout() throws IOException {
+        SolarGrid grid = SolarGrid.forDate(SOLSTICE, 1.0);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        grid.writeTo(bytes);
+        assertEquals(grid.binaryLength(), bytes.size());
+
+        ByteBuffer buf = ByteBuffer.wrap(bytes.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+        byte[] magic = new byte[8];
+        buf.get(magic);
+        assertEquals("MPGRID01", new String(magic, StandardCharsets.US_ASCII));
+        assertEquals(1, buf.getInt());
+        assertEquals(181, buf.getInt());
+        assertEquals(360, buf.getInt());
+        assertEquals(1.0f, buf.getFloat());
+        assertEquals(SOLSTICE.toEpochDay(), buf.getLong());
+
+        int cells = grid.rows() * grid.cols();
+        int cell = 45 * grid.cols() + 200;
+        assertEquals(grid.daylightHours(45, 200), buf.getFloat(SolarGrid.HEADER_BYTES + 4 * cell));
+        assertEquals(grid.sunriseMinutes(45, 200), buf.getFloat(SolarGrid.HEADER_BYTES + 4 * (cells + cell)));
+        assertEquals(grid.sunsetMinutes(45, 200), buf.getFloat(SolarGrid.HEADER_BYTES + 4 * (2 * cells + cell)));
+    }
+}
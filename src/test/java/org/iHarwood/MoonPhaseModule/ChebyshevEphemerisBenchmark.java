@@ -0,0 +1,88 @@
+package org.iHarwood.MoonPhaseModule;
+
+import java.time.Instant;
+import java.util.Random;
+
+/**
+ * Throughput of any-instant distance lookups: evaluating the orbital model directly versus
+ * the Chebyshev tables behind the date-based methods. Each sample computes the Sun, Moon and
+ * all eight planets (heliocentric and from Earth) from one days-since-J2000 conversion,
+ * the way EphemerisContext does.
+ *
+ * Two access patterns are timed: hourly steps through half a year (a history backfill, which
+ * stays inside a few table segments) and uniformly random instants over 1950-2090 (every
+ * lookup touches a cold segment). Run manually: it is not a JUnit test.
+ */
+public class ChebyshevEphemerisBenchmark {
+    private static final int N = 4_096;
+    private static final int WARMUP = 1_000;
+    private static final int ROUNDS = 1_000;
+
+    public static void main(String[] args) {
+        System.out.println("=== Chebyshev Ephemeris Benchmark ===\n");
+        Instant[] sequential = new Instant[N];
+        Instant hour0 = Instant.parse("2026-01-01T00:00:00Z");
+        for (int i = 0; i < N; i++) {
+            sequential[i] = hour0.plusSeconds(3_600L * i);
+        }
+        Random random = new Random(7);
+        Instant[] scattered = new Instant[N];
+        long start = Instant.parse("1950-01-01T00:00:00Z").getEpochSecond();
+        long span = Instant.parse("2090-01-01T00:00:00Z").getEpochSecond() - start;
+        for (int i = 0; i < N; i++) {
+            scattered[i] = Instant.ofEpochSecond(start + (long) (random.nextDouble() * span));
+        }
+
+        long t0 = System.nanoTime();
+        double sink = tabulated(sequential);
+        System.out.printf("First lookup (fits all tables): %.1f ms\n", (System.nanoTime() - t0) / 1e6);
+
+        for (int r = 0; r < WARMUP; r++) {
+            sink += model(sequential) + tabulated(sequential) + model(scattered) + tabulated(scattered);
+        }
+
+        sink += run("Hourly steps over half a year", sequential);
+        sink += run("Random instants 1950-2090", scattered);
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    private static double run(String label, Instant[] instants) {
+        double sink = 0;
+        long t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) sink += model(instants);
+        double modelNs = (System.nanoTime() - t0) / (double) ROUNDS / N;
+
+        t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) sink += tabulated(instants);
+        double tableNs = (System.nanoTime() - t0) / (double) ROUNDS / N;
+
+        System.out.println("\n" + label + ":");
+        System.out.printf("  Orbital model:    %.1f ns/instant\n", modelNs);
+        System.out.printf("  Chebyshev tables: %.1f ns/instant (%.2fx)\n", tableNs, modelNs / tableNs);
+        return sink;
+    }
+
+    private static double model(Instant[] in) {
+        double acc = 0;
+        for (Instant t : in) {
+            double d = DateUtils.daysSinceJ2000(t);
+            acc += SunDistance.distanceAUAt(d) + MoonDistance.distanceKmAt(d);
+            for (PlanetDistance p : Planets.ALL) {
+                acc += p.heliocentricDistanceAUAt(d) + p.distanceAUAt(d);
+            }
+        }
+        return acc;
+    }
+
+    private static double tabulated(Instant[] in) {
+        double acc = 0;
+        for (Instant t : in) {
+            double d = DateUtils.daysSinceJ2000(t);
+            acc += SunDistance.distanceAUTabulated(d) + MoonDistance.distanceKmTabulated(d);
+            for (PlanetDistance p : Planets.ALL) {
+                acc += p.heliocentricDistanceAUTabulated(d) + p.distanceAUTabulated(d);
+            }
+        }
+        return acc;
+    }
+}
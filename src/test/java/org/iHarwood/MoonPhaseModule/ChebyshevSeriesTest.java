@@ -0,0 +1,30 @@
+package org.iHarwood.MoonPhaseModule;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The Chebyshev tables are fitted into the heap on first use; this keeps them to the
+ * footprint that justifies doing so.
+ */
+class ChebyshevSeriesTest {
+
+    /** About 6.1 MB today; a finer segment length or higher degree should be a deliberate choice. */
+    private static final long HEAP_BUDGET_BYTES = 7L * 1024 * 1024;
+
+    @Test
+    void fittedTables_stayWithinTheirHeapBudget() {
+        long bytes = SunDistance.Table.SERIES.sizeInBytes() + MoonDistance.Table.SERIES.sizeInBytes();
+        for (PlanetDistance p : Planets.ALL) {
+            bytes += p.heliocentricTable().sizeInBytes() + p.distanceTable().sizeInBytes();
+        }
+        assertTrue(bytes < HEAP_BUDGET_BYTES, "Chebyshev tables take " + bytes + " bytes");
+    }
+
+    @Test
+    void fit_rejectsEmptySpan() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ChebyshevSeries.fit(d -> d, 10.0, 10.0, 1.0, 4));
+    }
+}
@@ -0,0 +1,126 @@
+package org.iHarwood.MoonPhaseModule;
+
+import org.iHarwood.MoonPhaseModule.LeoDataFetcher.LeoCache;
+import org.iHarwood.MoonPhaseModule.LeoDataFetcher.PeopleInSpace;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Merging a refresh into the cached LEO data: failed sources keep their last good value
+ * and bring the next refresh forward. With a stubbed source: a stale entry is served
+ * without waiting, and concurrent callers share one refresh.
+ */
+class LeoDataFetcherTest {
+
+    private final Supplier<CompletableFuture<LeoCache>> realSource = LeoDataFetcher.source;
+
+    @AfterEach
+    void restoreSource() {
+        LeoDataFetcher.source = realSource;
+        LeoDataFetcher.resetCache();
+    }
+
+    private static final long T0 = 1_000_000L;
+    private static final PeopleInSpace CREW = new PeopleInSpace(10, 7, Map.of("ISS ★", 7, "Shenzhou", 3));
+
+    private static LeoCache reading(double iss, int starlink, PeopleInSpace people, long at) {
+        return new LeoCache(iss, 390.0, 515.0, starlink, 100, 30_000, people, at, 0);
+    }
+
+    @Test
+    void completeRefresh_replacesEverything_andLastsTheFullTtl() {
+        LeoCache previous = reading(410.0, 7000, CREW, T0);
+        PeopleInSpace crew = new PeopleInSpace(12, 7, Map.of("ISS ★", 7, "Shenzhou", 5));
+        LeoCache merged = LeoDataFetcher.keepLastGood(previous, reading(412.5, 7100, crew, T0 + 1));
+
+        assertEquals(412.5, merged.issAltitudeKm(), 1e-9);
+        assertEquals(7100, merged.starlinkCount());
+        assertEquals(crew, merged.people());
+        assertEquals(T0 + 1, merged.fetchedAtMs());
+        assertEquals(T0 + 1 + LeoDataFetcher.CACHE_TTL_MS, merged.refreshAtMs());
+    }
+
+    @Test
+    void failedSources_keepTheirLastGoodValues_andAreRetriedSooner() {
+        LeoCache previous = reading(410.0, 7000, CREW, T0);
+        LeoCache merged = LeoDataFetcher.keepLastGood(previous,
+                reading(-1, 7100, PeopleInSpace.unavailable(), T0 + 1));
+
+        assertEquals(410.0, merged.issAltitudeKm(), 1e-9);
+        assertEquals(7100, merged.starlinkCount());
+        assertEquals(CREW, merged.people());
+        assertTrue(merged.complete());
+        assertEquals(T0 + 1 + LeoDataFetcher.RETRY_AFTER_FAILURE_MS, merged.refreshAtMs());
+    }
+
+    @Test
+    void firstRefresh_withAFailedSource_marksItUnavailable() {
+        LeoCache merged = LeoDataFetcher.keepLastGood(null, reading(-1, 7100, CREW, T0));
+
+        assertEquals(-1, merged.issAltitudeKm(), 1e-9);
+        assertEquals(7100, merged.starlinkCount());
+        assertFalse(merged.complete());
+        assertEquals(T0 + LeoDataFetcher.RETRY_AFTER_FAILURE_MS, merged.refreshAtMs());
+    }
+
+    @Test
+    void staleEntry_isServedAtOnce_whileOneRefreshRuns() {
+        LeoDataFetcher.resetCache();
+        long longAgo = System.currentTimeMillis() - 2 * LeoDataFetcher.CACHE_TTL_MS;
+        LeoDataFetcher.source = () -> CompletableFuture.completedFuture(reading(410.0, 7000, CREW, longAgo));
+        assertEquals(410.0, LeoDataFetcher.fetchIssAltitudeKm(), 1e-9);
+
+        CompletableFuture<LeoCache> slowRefresh = new CompletableFuture<>();
+        AtomicInteger refreshes = new AtomicInteger();
+        LeoDataFetcher.source = () -> {
+            refreshes.incrementAndGet();
+            return slowRefresh;
+        };
+        // Neither call waits for the refresh that is still in flight
+        assertEquals(410.0, LeoDataFetcher.fetchIssAltitudeKm(), 1e-9);
+        assertEquals(7000, LeoDataFetcher.fetchStarlinkCount());
+        assertEquals(1, refreshes.get());
+
+        slowRefresh.complete(reading(412.5, 7100, CREW, System.currentTimeMillis()));
+        assertEquals(412.5, LeoDataFetcher.fetchIssAltitudeKm(), 1e-9);
+        assertEquals(1, refreshes.get());
+    }
+
+    @Test
+    void concurrentCallers_shareOneRefresh() throws InterruptedException {
+        LeoDataFetcher.resetCache();
+        CompletableFuture<LeoCache> slowRefresh = new CompletableFuture<>();
+        AtomicInteger refreshes = new AtomicInteger();
+        LeoDataFetcher.source = () -> {
+            refreshes.incrementAndGet();
+            return slowRefresh;
+        };
+
+        List<Double> seen = new CopyOnWriteArrayList<>();
+        Thread first = Thread.ofVirtual().start(() -> seen.add(LeoDataFetcher.fetchIssAltitudeKm()));
+        Thread second = Thread.ofVirtual().start(() -> seen.add(LeoDataFetcher.fetchIssAltitudeKm()));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((first.getState() != Thread.State.WAITING || second.getState() != Thread.State.WAITING)
+                && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        // Nothing is cached yet, so both are waiting for the same fetch
+        assertEquals(1, refreshes.get());
+        slowRefresh.complete(reading(412.5, 7100, CREW, System.currentTimeMillis()));
+        first.join();
+        second.join();
+
+        assertEquals(List.of(412.5, 412.5), seen);
+        assertEquals(1, refreshes.get());
+    }
+}
@@ -0,0 +1,78 @@
+package org.iHarwood.MoonPhaseModule;
+
+/**
+ * Compares the Vector API PlanetBatch kernels with the scalar ones: all eight bodies at one
+ * instant, and one body across a range of instants. Needs
+ * {@code --add-modules jdk.incubator.vector}; the lane count is printed because it decides
+ * the outcome. Run manually: it is not a JUnit test.
+ */
+public class PlanetBatchVectorBenchmark {
+    private static final int INSTANTS = 1_000;
+    private static final int WARMUP = 3_000;
+    private static final int ROUNDS = 3_000;
+
+    public static void main(String[] args) {
+        System.out.println("=== PlanetBatch Vector Benchmark ===\n");
+        if (!PlanetBatch.VECTORIZED) {
+            System.out.println("Vector API not available: run with --add-modules jdk.incubator.vector on a CPU with 4+ double lanes");
+            return;
+        }
+        System.out.println("Double lanes: " + PlanetBatchVector.lanes() + "\n");
+        PlanetBatch scalar = new PlanetBatch(Planets.ALL, false);
+        PlanetBatch vector = new PlanetBatch(Planets.ALL, true);
+        double[] helio = new double[scalar.size()];
+        double[] geo = new double[scalar.size()];
+        double[] helioRange = new double[INSTANTS];
+        double[] geoRange = new double[INSTANTS];
+        int mars = Planets.indexOf(Planets.MARS);
+
+        double sink = 0;
+        for (int r = 0; r < WARMUP; r++) {
+            sink += allBodies(scalar, helio, geo) + allBodies(vector, helio, geo);
+            sink += range(scalar, mars, helioRange, geoRange) + range(vector, mars, helioRange, geoRange);
+        }
+
+        System.out.println("All 8 bodies, heliocentric + from Earth, per instant:");
+        double scalarNs = time(() -> allBodies(scalar, helio, geo));
+        double vectorNs = time(() -> allBodies(vector, helio, geo));
+        System.out.printf("  Scalar: %.1f ns\n", scalarNs);
+        System.out.printf("  Vector: %.1f ns (%.2fx)\n\n", vectorNs, scalarNs / vectorNs);
+
+        System.out.println("Mars across " + INSTANTS + " instants, heliocentric + from Earth, per instant:");
+        scalarNs = time(() -> range(scalar, mars, helioRange, geoRange));
+        vectorNs = time(() -> range(vector, mars, helioRange, geoRange));
+        System.out.printf("  Scalar: %.1f ns\n", scalarNs);
+        System.out.printf("  Vector: %.1f ns (%.2fx)\n", vectorNs, scalarNs / vectorNs);
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    private interface Round {
+        double run();
+    }
+
+    /** Mean time per instant (ns) of one round. */
+    private static double time(Round round) {
+        double sink = 0;
+        long t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) sink += round.run();
+        double ns = (System.nanoTime() - t0) / (double) ROUNDS / INSTANTS;
+        if (sink == 42.0) System.out.println();
+        return ns;
+    }
+
+    private static double allBodies(PlanetBatch batch, double[] helio, double[] geo) {
+        double acc = 0;
+        for (int k = 0; k < INSTANTS; k++) {
+            batch.distancesAt(9_000.0 + k * 0.5, helio, geo);
+            for (int i = 0; i < helio.length; i++) {
+                acc += helio[i] + geo[i];
+            }
+        }
+        return acc;
+    }
+
+    private static double range(PlanetBatch batch, int body, double[] helio, double[] geo) {
+        batch.distancesAt(body, 9_000.0, 0.5, INSTANTS, helio, geo);
+        return helio[INSTANTS - 1] + geo[INSTANTS - 1];
+    }
+}
@@ -0,0 +1,83 @@
+package org.iHarwood.MoonPhaseModule;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * The Vector API kernels must agree with the scalar ones, including the masked tail when the
+ * body or instant count is not a multiple of the lane count. Skipped when the JVM runs
+ * without jdk.incubator.vector.
+ */
+class PlanetBatchVectorTest {
+
+    private static final double TOLERANCE_AU = 1e-12;
+
+    @Test
+    void allBodiesAtInstant_matchScalarKernel() {
+        assumeTrue(PlanetBatch.VECTORIZED, "Vector API not available");
+        // Three bodies leave a partial vector on every CPU; the comet takes Danby's starting guess
+        PlanetDistance comet = new PlanetDistance("Comet", 3.0, 0.95, 10.0, 0.2, 40.0, 12.0, 80.0);
+        for (List<PlanetDistance> planets : List.of(Planets.ALL, List.of(Planets.MARS, comet, Planets.VENUS))) {
+            PlanetBatch scalar = new PlanetBatch(planets, false);
+            PlanetBatch vector = new PlanetBatch(planets, true);
+            double[] helio = new double[planets.size()];
+            double[] geo = new double[planets.size()];
+            double[] helioVector = new double[planets.size()];
+            double[] geoVector = new double[planets.size()];
+            for (double d = -36_000.0; d <= 36_000.0; d += 97.3) {
+                scalar.distancesAt(d, helio, geo);
+                vector.distancesAt(d, helioVector, geoVector);
+                assertArrayEquals(helio, helioVector, TOLERANCE_AU, "heliocentric at day " + d);
+                assertArrayEquals(geo, geoVector, TOLERANCE_AU, "from Earth at day " + d);
+            }
+        }
+    }
+
+    @Test
+    void oneBodyAcrossInstants_matchesScalarKernel() {
+        assumeTrue(PlanetBatch.VECTORIZED, "Vector API not available");
+        PlanetBatch scalar = new PlanetBatch(Planets.ALL, false);
+        PlanetBatch vector = new PlanetBatch(Planets.ALL, true);
+        int count = 1_003;
+        double[] helio = new double[count];
+        double[] geo = new double[count];
+        double[] helioVector = new double[count];
+        double[] geoVector = new double[count];
+        for (int body = 0; body < scalar.size(); body++) {
+            scalar.distancesAt(body, -12_000.0, 0.75, count, helio, geo);
+            vector.distancesAt(body, -12_000.0, 0.75, count, helioVector, geoVector);
+            assertArrayEquals(helio, helioVector, TOLERANCE_AU, scalar.body(body).getName() + " heliocentric");
+            assertArrayEquals(geo, geoVector, TOLERANCE_AU, scalar.body(body).getName() + " from Earth");
+        }
+    }
+
+    @Test
+    void highEccentricityAcrossInstants_matchesScalarKernel() {
+        assumeTrue(PlanetBatch.VECTORIZED, "Vector API not available");
+        List<PlanetDistance> comet = List.of(new PlanetDistance("Comet", 3.0, 0.95, 10.0, 0.2, 40.0, 12.0, 80.0));
+        double[] helio = new double[401];
+        double[] geo = new double[401];
+        double[] helioVector = new double[401];
+        double[] geoVector = new double[401];
+        new PlanetBatch(comet, false).distancesAt(0, 2_000.0, 4.5, 401, helio, geo);
+        new PlanetBatch(comet, true).distancesAt(0, 2_000.0, 4.5, 401, helioVector, geoVector);
+        assertArrayEquals(helio, helioVector, TOLERANCE_AU);
+        assertArrayEquals(geo, geoVector, TOLERANCE_AU);
+    }
+
+    @Test
+    void maskedTail_leavesTheRestOfTheOutputAlone() {
+        assumeTrue(PlanetBatch.VECTORIZED, "Vector API not available");
+        double[] geo = new double[8];
+        Arrays.fill(geo, -1.0);
+        new PlanetBatch(Planets.ALL, true).distancesAt(0, 0.0, 1.0, 5, null, geo);
+        for (int k = 5; k < geo.length; k++) {
+            assertEquals(-1.0, geo[k], 0.0);
+        }
+    }
+}
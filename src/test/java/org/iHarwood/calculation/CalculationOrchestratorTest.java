@@ -1,6 +1,7 @@
 package org.iHarwood.calculation;
 
 import org.iHarwood.AstronomicalSnapshot;
+import org.iHarwood.integration.awtrix.AwtrixFrames;
 import org.iHarwood.integration.awtrix.AwtrixPusher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,6 +12,7 @@ import org.junit.jupiter.params.provider.CsvSource;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -25,6 +27,9 @@ import static org.mockito.Mockito.*;
  */
 class CalculationOrchestratorTest {
 
+    private static final List<String> BARS = List.of("sunDistanceBar", "marsDistanceBar", "jupiterDistanceBar",
+            "saturnDistanceBar", "dayLengthBar", "moonDistanceBar");
+
     private AwtrixPusher mockPusher;
     private CalculationOrchestrator orchestrator;
 
@@ -47,11 +52,11 @@ class CalculationOrchestratorTest {
 
     @ParameterizedTest(name = "{0} → phase starts with '{1}', age ~{2}")
     @CsvSource({
-        "2025-12-30, Waxing Gibbous, 27",
-        "2026-01-06, Waning Gibbous, 4",
-        "2026-01-15, New Moon,       13",
-        "2026-01-23, First Quarter,  21",
-        "2026-01-29, Waxing Gibbous, 27"
+        "2025-12-30, Waxing Gibbous,  10",
+        "2026-01-06, Waning Gibbous,  17",
+        "2026-01-15, Waning Crescent, 26",
+        "2026-01-23, Waxing Crescent, 5",
+        "2026-01-29, Waxing Gibbous,  11"
     })
     @DisplayName("computeForDate returns correct moon phase data for known dates")
     void computeForDate_knownMoonPhases(String dateStr, String expectedPhasePrefix, int expectedAge) {
@@ -100,6 +105,22 @@ class CalculationOrchestratorTest {
                 "Sun distance out of expected annual range: " + snapshot.sunDistanceAu());
     }
 
+    @Test
+    @DisplayName("computeForDate reports Earth distances for the heliocentric-only planets")
+    void computeForDate_earthDistancesAreReasonable() {
+        ZonedDateTime target = LocalDate.of(2026, 1, 1).atStartOfDay(ZoneOffset.UTC);
+
+        AstronomicalSnapshot snapshot = orchestrator.computeForDate(target);
+
+        // Bounded by |r_planet - r_earth| and r_planet + r_earth
+        assertTrue(snapshot.venusEarthDistanceAu() > 0.25 && snapshot.venusEarthDistanceAu() < 1.75,
+                "Earth-Venus distance out of range: " + snapshot.venusEarthDistanceAu());
+        assertTrue(snapshot.mercuryEarthDistanceAu() > 0.5 && snapshot.mercuryEarthDistanceAu() < 1.5,
+                "Earth-Mercury distance out of range: " + snapshot.mercuryEarthDistanceAu());
+        assertTrue(Math.abs(snapshot.plutoEarthDistanceAu() - snapshot.plutoDistanceAu()) <= 1.02,
+                "Earth-Pluto distance should be within ~1 AU of the heliocentric one");
+    }
+
     @Test
     @DisplayName("computeForDate returns positive days until events")
     void computeForDate_daysUntilEventsArePositive() {
@@ -164,6 +185,45 @@ class CalculationOrchestratorTest {
         verify(freshMock, atLeastOnce()).getStats();
     }
 
+    @Test
+    @DisplayName("computeCurrent draws the Moon over its phase icon, and the relative bars when enabled")
+    void computeCurrent_pushesPixelFrames() {
+        AwtrixPusher freshMock = mock(AwtrixPusher.class);
+        when(freshMock.getStats()).thenReturn(new AwtrixPusher.AwtrixStats(0, 0));
+        when(freshMock.hasEnabledDevice()).thenReturn(true);
+        when(freshMock.barsEnabled()).thenReturn(true);
+        new CalculationOrchestrator(freshMock, 51.4769, 0.0).computeCurrent();
+
+        verify(freshMock).push(eq("moonphase"), anyString(), anyString(),
+                argThat(frame -> frame.width() == AwtrixFrames.MOON_SIZE && frame.height() == AwtrixFrames.MOON_SIZE));
+        for (String bar : BARS) {
+            verify(freshMock).push(eq(bar), eq(""), isNull(), argThat(frame -> frame.width() == AwtrixFrames.BAR_WIDTH));
+        }
+    }
+
+    @Test
+    @DisplayName("computeCurrent draws nothing for a pusher without enabled clocks or with bars off")
+    void computeCurrent_skipsFramesNobodyShows() {
+        AwtrixPusher freshMock = mock(AwtrixPusher.class);
+        when(freshMock.getStats()).thenReturn(new AwtrixPusher.AwtrixStats(0, 0));
+        new CalculationOrchestrator(freshMock, 51.4769, 0.0).computeCurrent();
+
+        verify(freshMock).push(eq("moonphase"), anyString(), anyString(), isNull());
+        for (String bar : BARS) {
+            verify(freshMock, never()).push(eq(bar), anyString(), any(), any());
+        }
+    }
+
+    @Test
+    @DisplayName("relativePosition spans the bar and clamps out-of-range values")
+    void relativePosition_spansTheBar() {
+        assertEquals(0, CalculationOrchestrator.relativePosition(1.0, 1.0, 2.0, 30));
+        assertEquals(29, CalculationOrchestrator.relativePosition(2.0, 1.0, 2.0, 30));
+        assertEquals(15, CalculationOrchestrator.relativePosition(1.52, 1.0, 2.0, 30));
+        assertEquals(29, CalculationOrchestrator.relativePosition(5.0, 1.0, 2.0, 30));
+        assertEquals(15, CalculationOrchestrator.relativePosition(1.0, 2.0, 2.0, 30));
+    }
+
     @Test
     @DisplayName("computeCurrent populates live LEO data (not zero)")
     void computeCurrent_leoDataIsPopulated() {
@@ -186,6 +246,26 @@ class CalculationOrchestratorTest {
         }
     }
 
+    @Test
+    @DisplayName("computeCurrent names every unavailable live field instead of failing")
+    void computeCurrent_marksMissingFields() {
+        CalculationOrchestrator freshOrchestrator = createOrchestratorWithFreshMock();
+        AstronomicalSnapshot snapshot = freshOrchestrator.computeCurrent();
+
+        // Without network the LEO and Kp fields are missing; either way the list is consistent
+        assertNotNull(snapshot.missingFields());
+        assertEquals(snapshot.auroraKpIndex() < 0, snapshot.missingFields().contains("auroraKpIndex"));
+        assertEquals(snapshot.issAltitudeKm() < 0, snapshot.missingFields().contains("issAltitudeKm"));
+        assertEquals(snapshot.totalPeopleInSpace() < 0, snapshot.missingFields().contains("totalPeopleInSpace"));
+    }
+
+    @Test
+    @DisplayName("computeForDate reports no missing fields")
+    void computeForDate_hasNoMissingFields() {
+        ZonedDateTime target = LocalDate.of(2026, 1, 15).atStartOfDay(ZoneOffset.UTC);
+        assertTrue(orchestrator.computeForDate(target).missingFields().isEmpty());
+    }
+
     // ─────────────────────────────────────────────────────────────────────────
     // Constructor / configuration tests
     // ─────────────────────────────────────────────────────────────────────────
@@ -0,0 +1,67 @@
+package org.iHarwood.calculation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * An {@link IoStep} gives its result, or null once it fails or its deadline passes.
+ */
+class IoStepTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void await_returnsResult() {
+        IoStep<String> step = new IoStep<>(executor, "ok", Duration.ofSeconds(5), () -> "done");
+        assertEquals("done", step.await());
+    }
+
+    @Test
+    void await_givesNullWhenTheStepFails() {
+        IoStep<String> step = new IoStep<>(executor, "failing", Duration.ofSeconds(5), () -> {
+            throw new IllegalStateException("boom");
+        });
+        assertNull(step.await());
+    }
+
+    @Test
+    void await_givesUpAtTheDeadline_andInterruptsTheStep() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        IoStep<String> step = new IoStep<>(executor, "slow", Duration.ofMillis(100), () -> {
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "late";
+        });
+        long started = System.nanoTime();
+        assertNull(step.await());
+        assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(5));
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void deadlines_runConcurrently() {
+        IoStep<String> a = new IoStep<>(executor, "a", Duration.ofMillis(300), () -> { Thread.sleep(60_000); return "a"; });
+        IoStep<String> b = new IoStep<>(executor, "b", Duration.ofMillis(300), () -> { Thread.sleep(60_000); return "b"; });
+        long started = System.nanoTime();
+        assertNull(a.await());
+        assertNull(b.await());
+        // Both deadlines were counted from the start, so together they take one deadline, not two
+        assertTrue(System.nanoTime() - started < TimeUnit.MILLISECONDS.toNanos(550));
+    }
+}
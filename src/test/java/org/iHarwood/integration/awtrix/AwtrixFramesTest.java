@@ -0,0 +1,102 @@
+package org.iHarwood.integration.awtrix;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pixel frames: the Moon's disc lit on the right side and by the right amount, relative
+ * bars, and one cached frame per quantised value.
+ */
+class AwtrixFramesTest {
+
+    @Test
+    void fullMoon_isLitAllOver_newMoonNowhere() {
+        PixelFrame full = AwtrixFrames.moon(1.0, 0);
+        PixelFrame none = AwtrixFrames.moon(0.0, 0);
+        assertEquals(0, full.rgb(0, 0), "corner is off the disc");
+        assertTrue(green(full.rgb(3, 3)) > 200);
+        assertTrue(green(full.rgb(4, 0)) > 0, "disc reaches the top row");
+        for (int y = 0; y < AwtrixFrames.MOON_SIZE; y++) {
+            for (int x = 0; x < AwtrixFrames.MOON_SIZE; x++) {
+                assertTrue(green(none.rgb(x, y)) < 0x30, "new moon at " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    void quarterMoon_isLitOnTheSideOfTheBrightLimb() {
+        PixelFrame right = AwtrixFrames.moon(0.5, 270);
+        PixelFrame left = AwtrixFrames.moon(0.5, 90);
+        PixelFrame top = AwtrixFrames.moon(0.5, 0);
+        assertTrue(green(right.rgb(6, 3)) > 200 && green(right.rgb(1, 3)) < 0x30);
+        assertTrue(green(left.rgb(1, 4)) > 200 && green(left.rgb(6, 4)) < 0x30);
+        assertTrue(green(top.rgb(3, 1)) > 200 && green(top.rgb(3, 6)) < 0x30);
+    }
+
+    @Test
+    void litArea_growsWithTheIlluminatedFraction() {
+        double previous = -1;
+        for (double k = 0; k <= 1.0; k += 0.1) {
+            double lit = brightness(AwtrixFrames.moon(k, 270));
+            assertTrue(lit > previous, "k=" + k);
+            previous = lit;
+        }
+    }
+
+    @Test
+    void frames_areCachedPerQuantisedValue() {
+        assertSame(AwtrixFrames.moon(0.42, 250.0), AwtrixFrames.moon(0.4201, 250.4));
+        assertSame(AwtrixFrames.moon(0.42, 359.0), AwtrixFrames.moon(0.42, -1.0));
+        // Full moon looks the same at any tilt
+        assertSame(AwtrixFrames.moon(1.0, 10), AwtrixFrames.moon(1.0, 200));
+        assertNotSame(AwtrixFrames.moon(0.42, 250), AwtrixFrames.moon(0.42, 270));
+        assertSame(AwtrixFrames.bar(7, 0xC8C8E0), AwtrixFrames.bar(7, 0xC8C8E0));
+        int cached = AwtrixFrames.cachedFrames();
+        AwtrixFrames.moon(0.42, 250);
+        assertEquals(cached, AwtrixFrames.cachedFrames());
+    }
+
+    @Test
+    void bar_putsItsMarkerBetweenTheEndStops() {
+        PixelFrame bar = AwtrixFrames.bar(0, 0xFF0000);
+        assertEquals(AwtrixFrames.BAR_WIDTH, bar.width());
+        assertEquals(0xFF0000, bar.rgb(1, 0));
+        assertEquals(0xFF0000, bar.rgb(1, 7));
+        assertNotEquals(0, bar.rgb(0, 3), "left stop");
+        assertNotEquals(0, bar.rgb(31, 3), "right stop");
+        assertEquals(0xFF0000, AwtrixFrames.bar(AwtrixFrames.BAR_POSITIONS - 1, 0xFF0000).rgb(30, 4));
+        assertNotEquals(bar.hash(), AwtrixFrames.bar(1, 0xFF0000).hash());
+        assertThrows(IllegalArgumentException.class, () -> AwtrixFrames.bar(AwtrixFrames.BAR_POSITIONS, 0));
+        assertThrows(IllegalArgumentException.class, () -> AwtrixFrames.bar(-1, 0));
+    }
+
+    @Test
+    void frame_drawsAsOneBitmap_andShiftsTextPastAnIcon() {
+        PixelFrame moon = AwtrixFrames.moon(1.0, 0);
+        List<Map<String, Object>> draw = moon.drawInstructions();
+        List<?> bitmap = (List<?>) draw.get(0).get("db");
+        assertEquals(List.of(0, 0, 8, 8), bitmap.subList(0, 4));
+        assertEquals(64, ((List<?>) bitmap.get(4)).size());
+        assertEquals(8, moon.textOffset());
+        assertEquals(0, AwtrixFrames.bar(3, 0xFFFFFF).textOffset());
+        assertThrows(IllegalArgumentException.class, () -> new PixelFrame(2, 2, new int[3]));
+    }
+
+    private static int green(int rgb) {
+        return rgb >> 8 & 0xFF;
+    }
+
+    private static double brightness(PixelFrame frame) {
+        double sum = 0;
+        for (int y = 0; y < frame.height(); y++) {
+            for (int x = 0; x < frame.width(); x++) {
+                sum += green(frame.rgb(x, y));
+            }
+        }
+        return sum;
+    }
+}
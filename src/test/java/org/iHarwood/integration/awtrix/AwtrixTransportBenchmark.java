@@ -0,0 +1,93 @@
+package org.iHarwood.integration.awtrix;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/**
+ * Cycle latency of the two Awtrix transports: one cycle's {@link #APPS} changed apps
+ * pushed to one clock over HTTP (a local server standing in for the clock) and over MQTT
+ * (a local broker stand-in), both answering after the same simulated round trip. Timed
+ * from the first push to the last acknowledgement. Run manually: it is not a JUnit test.
+ */
+public class AwtrixTransportBenchmark {
+    private static final int APPS = 18;
+    private static final int CYCLES = 10;
+    private static final long[] DELAYS_MS = {0, 20, 100};
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Awtrix Transport Benchmark ===\n");
+        System.out.println(APPS + " apps per cycle, mean of " + CYCLES + " cycles");
+        for (long delay : DELAYS_MS) {
+            System.out.printf("Round trip %3d ms:  HTTP %7.1f ms   MQTT %7.1f ms per cycle\n",
+                    delay, http(delay), mqtt(delay));
+        }
+    }
+
+    private static double http(long delayMillis) throws Exception {
+        HttpServer clock = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 50);
+        clock.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        clock.createContext("/api/custom", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            sleep(delayMillis);
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        clock.start();
+        try {
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            AwtrixDeviceConfig config = AwtrixDeviceConfig.of("bench",
+                    "http://127.0.0.1:" + clock.getAddress().getPort());
+            return run(config,
+                    (app, text, icon, frame, url) -> AwtrixPusher.post(app, text, icon, frame, url).sendPost(client));
+        } finally {
+            clock.stop(0);
+        }
+    }
+
+    private static double mqtt(long delayMillis) throws Exception {
+        try (MqttBrokerStandIn broker = new MqttBrokerStandIn(delayMillis)) {
+            AwtrixDeviceConfig config = AwtrixDeviceConfig.of("bench", broker.url("awtrix_bench"));
+            MqttSender sender = MqttSender.forUrl(config.hostname(), "bench");
+            return run(config, sender);
+        }
+    }
+
+    /** Mean time for a cycle of distinct updates to all be delivered; one warm-up cycle first. */
+    private static double run(AwtrixDeviceConfig config, AwtrixDevice.Sender sender) throws InterruptedException {
+        AwtrixPusher pusher = new AwtrixPusher(List.of(config), c -> new AwtrixDevice(c, sender,
+                new DeliveredState(null, Duration.ofHours(24), System.currentTimeMillis())));
+        cycle(pusher, -1);
+        long total = 0;
+        for (int c = 0; c < CYCLES; c++) {
+            long t0 = System.nanoTime();
+            cycle(pusher, c);
+            total += System.nanoTime() - t0;
+        }
+        pusher.shutdown();
+        return total / 1e6 / CYCLES;
+    }
+
+    private static void cycle(AwtrixPusher pusher, int cycle) throws InterruptedException {
+        int target = pusher.getSuccessCount() + APPS;
+        for (int a = 0; a < APPS; a++) {
+            pusher.push("app" + a, "value " + cycle, "icon");
+        }
+        while (pusher.getSuccessCount() < target) {
+            Thread.sleep(0, 100_000);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
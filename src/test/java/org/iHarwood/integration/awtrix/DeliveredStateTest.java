@@ -0,0 +1,114 @@
+package org.iHarwood.integration.awtrix;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Delivered-content hashes survive a restart through the state file and are forgotten
+ * once per reconcile interval.
+ */
+class DeliveredStateTest {
+
+    private static final Duration DAY = Duration.ofHours(24);
+    private static final long T0 = 1_790_000_000_000L;
+
+    @Test
+    void hash_dependsOnTextAndIcon() {
+        long h = DeliveredState.hash("V1:170au", "VOYAGER");
+        assertEquals(h, DeliveredState.hash("V1:170au", "VOYAGER"));
+        assertNotEquals(h, DeliveredState.hash("V1:171au", "VOYAGER"));
+        assertNotEquals(h, DeliveredState.hash("V1:170au", "MARS"));
+        assertNotEquals(DeliveredState.hash("ab", "c"), DeliveredState.hash("a", "bc"));
+    }
+
+    @Test
+    void state_survivesARestart() throws IOException {
+        Path dir = Files.createTempDirectory("awtrix-state");
+        Path file = dir.resolve("state.properties");
+        try {
+            DeliveredState first = new DeliveredState(file, DAY, T0);
+            first.delivered("moonphase", DeliveredState.hash("Full Moon", "FullMoon"));
+            first.delivered("aphelion", DeliveredState.hash("250d", "PERIHELION"));
+            first.saveIfChanged(T0);
+
+            DeliveredState second = new DeliveredState(file, DAY, T0 + 60_000);
+            assertEquals(2, second.size());
+            assertTrue(second.isDelivered("moonphase", DeliveredState.hash("Full Moon", "FullMoon")));
+            assertFalse(second.isDelivered("aphelion", DeliveredState.hash("249d", "PERIHELION")));
+            // The reconcile clock is restored too, not restarted
+            assertTrue(second.reconcileIfDue(T0 + DAY.toMillis()));
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    void failedWrite_backsOffAndLeavesNoTempFile() throws IOException {
+        Path dir = Files.createTempDirectory("awtrix-state");
+        // A non-empty directory where the file should be: the final move fails
+        Path file = dir.resolve("state.properties");
+        Path blocker = Files.createFile(Files.createDirectory(file).resolve("blocker"));
+        try {
+            DeliveredState state = new DeliveredState(file, DAY, T0);
+            state.delivered("moonphase", DeliveredState.hash("Full Moon", "FullMoon"));
+            state.saveIfChanged(T0);
+            try (var entries = Files.list(dir)) {
+                assertEquals(1, entries.count(), "temp file left behind");
+            }
+
+            Files.delete(blocker);
+            Files.delete(file);
+            state.saveIfChanged(T0 + 1_000);
+            assertFalse(Files.exists(file), "retried before the backoff");
+            state.saveIfChanged(T0 + 60_000);
+            assertTrue(Files.isRegularFile(file));
+            assertEquals(1, new DeliveredState(file, DAY, T0).size());
+        } finally {
+            if (Files.isDirectory(file)) {
+                Files.delete(blocker);
+            }
+            Files.deleteIfExists(file);
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    void unreadableFile_startsEmpty() throws IOException {
+        Path file = Files.createTempFile("awtrix-state", ".properties");
+        try {
+            Files.writeString(file, "moonphase=not-hex\n");
+            assertEquals(0, new DeliveredState(file, DAY, T0).size());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void reconcile_forgetsEverything_oncePerInterval() {
+        DeliveredState state = new DeliveredState(null, DAY, T0);
+        long hash = DeliveredState.hash("247d", "SUMMER");
+        state.delivered("summersolstice", hash);
+
+        assertFalse(state.reconcileIfDue(T0 + DAY.toMillis() - 1));
+        assertTrue(state.isDelivered("summersolstice", hash));
+        assertTrue(state.reconcileIfDue(T0 + DAY.toMillis()));
+        assertFalse(state.isDelivered("summersolstice", hash));
+        assertFalse(state.reconcileIfDue(T0 + DAY.toMillis() + 1));
+    }
+
+    @Test
+    void forget_makesTheNextUpdateGoOut() {
+        DeliveredState state = new DeliveredState(null, DAY, T0);
+        long hash = DeliveredState.hash("Kp2.3", "AURORA");
+        state.delivered("auroraKp", hash);
+        state.forget("auroraKp");
+        assertFalse(state.isDelivered("auroraKp", hash));
+    }
+}
@@ -0,0 +1,171 @@
+package org.iHarwood.integration.awtrix;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Just enough of an MQTT broker for tests: accepts connections on a local port, answers
+ * CONNECT with CONNACK, QoS 1 PUBLISH with PUBACK and PINGREQ with PINGRESP, and records
+ * what was published. Each PUBACK can be held back to simulate a network round trip.
+ */
+final class MqttBrokerStandIn implements AutoCloseable {
+
+    /** A received publish. */
+    record Message(String topic, String payload) {}
+
+    private final ServerSocket server;
+    private final long ackDelayMillis;
+    private final ScheduledExecutorService delayer = Executors.newSingleThreadScheduledExecutor();
+    private final List<Socket> clients = new CopyOnWriteArrayList<>();
+    private final List<Message> messages = new CopyOnWriteArrayList<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger pings = new AtomicInteger();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile boolean closed;
+
+    MqttBrokerStandIn() throws IOException {
+        this(0);
+    }
+
+    MqttBrokerStandIn(long ackDelayMillis) throws IOException {
+        this.ackDelayMillis = ackDelayMillis;
+        this.server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread.ofVirtual().start(this::accept);
+    }
+
+    int port() {
+        return server.getLocalPort();
+    }
+
+    String url(String prefix) {
+        return "mqtt://127.0.0.1:" + port() + "/" + prefix;
+    }
+
+    List<Message> messages() {
+        return messages;
+    }
+
+    int connections() {
+        return connections.get();
+    }
+
+    int pings() {
+        return pings.get();
+    }
+
+    /** Closes every client connection, as a restarting broker would. */
+    void dropClients() throws IOException {
+        for (Socket client : clients) {
+            client.close();
+        }
+        clients.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        server.close();
+        dropClients();
+        delayer.shutdownNow();
+    }
+
+    private void accept() {
+        try {
+            while (true) {
+                Socket client = server.accept();
+                if (closed) {
+                    // A connection that raced with close() is refused all the same
+                    client.close();
+                    continue;
+                }
+                clients.add(client);
+                Thread.ofVirtual().start(() -> serve(client));
+            }
+        } catch (IOException e) {
+            // Closed
+        }
+    }
+
+    private void serve(Socket client) {
+        try (client) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(client.getInputStream()));
+            OutputStream out = client.getOutputStream();
+            while (true) {
+                int type = in.read();
+                if (type < 0) {
+                    return;
+                }
+                int length = MqttConnection.readRemainingLength(in);
+                byte[] body = in.readNBytes(length);
+                switch (type & 0xF0) {
+                    case 0x10 -> {
+                        connections.incrementAndGet();
+                        write(out, new byte[] {0x20, 2, 0, 0});
+                    }
+                    case 0x30 -> publish(out, type, body);
+                    case 0xC0 -> {
+                        pings.incrementAndGet();
+                        write(out, new byte[] {(byte) 0xD0, 0});
+                    }
+                    case 0xE0 -> {
+                        return;
+                    }
+                    default -> throw new IOException("Unexpected packet 0x" + Integer.toHexString(type));
+                }
+            }
+        } catch (IOException e) {
+            // Client gone
+        }
+    }
+
+    private void publish(OutputStream out, int type, byte[] body) throws IOException {
+        int topicLength = (body[0] & 0xFF) << 8 | body[1] & 0xFF;
+        String topic = new String(body, 2, topicLength, StandardCharsets.UTF_8);
+        int offset = 2 + topicLength;
+        boolean qos1 = (type & 0x06) == 0x02;
+        byte[] puback = null;
+        if (qos1) {
+            puback = new byte[] {0x40, 2, body[offset], body[offset + 1]};
+            offset += 2;
+        }
+        messages.add(new Message(topic, new String(body, offset, body.length - offset, StandardCharsets.UTF_8)));
+        if (puback == null) {
+            return;
+        }
+        if (ackDelayMillis == 0) {
+            write(out, puback);
+        } else {
+            byte[] ack = puback;
+            delayer.schedule(() -> {
+                try {
+                    write(out, ack);
+                } catch (IOException e) {
+                    // Client gone
+                }
+            }, ackDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void write(OutputStream out, byte[] packet) throws IOException {
+        writeLock.lock();
+        try {
+            out.write(packet);
+            out.flush();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
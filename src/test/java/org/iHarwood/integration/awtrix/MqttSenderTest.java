@@ -0,0 +1,210 @@
+package org.iHarwood.integration.awtrix;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The MQTT transport against a broker stand-in: QoS 1 publishes are acknowledged, share
+ * one connection, survive a broker restart, give up on a broker that stops acknowledging,
+ * and a device on an mqtt:// URL sends its apps as topic publishes.
+ */
+class MqttSenderTest {
+
+    private MqttBrokerStandIn broker;
+
+    @BeforeEach
+    void startBroker() throws IOException {
+        broker = new MqttBrokerStandIn();
+    }
+
+    @AfterEach
+    void stopBroker() throws IOException {
+        broker.close();
+    }
+
+    @Test
+    void send_publishesJsonToTheAppTopic_andReportsTheAck() throws Exception {
+        MqttSender sender = MqttSender.forUrl(broker.url("awtrix_1a2b3c"), "test");
+        try {
+            assertEquals(200, sender.send("moonphase", "Full Moon", "FullMoon", null, "awtrix_1a2b3c/custom/moonphase"));
+        } finally {
+            sender.close();
+        }
+
+        assertEquals(1, broker.messages().size());
+        MqttBrokerStandIn.Message message = broker.messages().get(0);
+        assertEquals("awtrix_1a2b3c/custom/moonphase", message.topic());
+        assertEquals("{\"text\":\"Full Moon\",\"icon\":\"FullMoon\",\"save\":true}", message.payload());
+    }
+
+    @Test
+    void send_withAFrame_drawsItInPlaceOfTheIcon() throws Exception {
+        MqttSender sender = MqttSender.forUrl(broker.url("awtrix"), "test");
+        try {
+            sender.send("moonphase", "Full Moon", null, AwtrixFrames.moon(1.0, 0), "awtrix/custom/moonphase");
+        } finally {
+            sender.close();
+        }
+
+        String payload = broker.messages().get(0).payload();
+        assertTrue(payload.startsWith("{\"text\":\"Full Moon\",\"draw\":[{\"db\":[0,0,8,8,["), payload);
+        assertTrue(payload.endsWith("]]}],\"textOffset\":8,\"save\":true}"), payload);
+        assertFalse(payload.contains("icon"), payload);
+    }
+
+    @Test
+    void payload_withAnIconAndAFrame_drawsOverTheIcon() {
+        String payload = new String(MqttSender.payload("Full Moon", "FullMoon", AwtrixFrames.moon(1.0, 0)),
+                StandardCharsets.UTF_8);
+
+        assertTrue(payload.startsWith("{\"text\":\"Full Moon\",\"icon\":\"FullMoon\",\"draw\":["), payload);
+        assertFalse(payload.contains("textOffset"), payload);
+    }
+
+    @Test
+    void concurrentPublishes_shareOneConnection() throws Exception {
+        MqttConnection connection = new MqttConnection("127.0.0.1", broker.port(), "test", null, null, 60);
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            String topic = "awtrix/custom/app" + i;
+            threads.add(Thread.ofVirtual().start(() -> {
+                try {
+                    connection.publish(topic, new byte[] {'x'});
+                } catch (Exception e) {
+                    synchronized (errors) {
+                        errors.add(e);
+                    }
+                }
+            }));
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        connection.close();
+
+        assertEquals(List.of(), errors);
+        assertEquals(20, broker.messages().size());
+        assertEquals(1, broker.connections());
+    }
+
+    @Test
+    void publish_reconnectsAfterTheBrokerDropsTheConnection() throws Exception {
+        MqttConnection connection = new MqttConnection("127.0.0.1", broker.port(), "test", null, null, 60);
+        connection.publish("awtrix/custom/a", new byte[0]);
+        broker.dropClients();
+        waitUntil(() -> !connection.isConnected());
+
+        connection.publish("awtrix/custom/b", new byte[0]);
+        connection.close();
+
+        assertEquals(2, broker.connections());
+        assertEquals(2, broker.messages().size());
+    }
+
+    @Test
+    void idleConnection_isKeptAliveWithPings() throws Exception {
+        MqttConnection connection = new MqttConnection("127.0.0.1", broker.port(), "test", null, null, 1);
+        connection.publish("awtrix/custom/a", new byte[0]);
+        waitUntil(() -> broker.pings() > 0);
+
+        assertTrue(connection.isConnected());
+        connection.close();
+    }
+
+    @Test
+    void missingPuback_timesOut_andClosesTheConnection() throws Exception {
+        try (MqttBrokerStandIn slowBroker = new MqttBrokerStandIn(5_000)) {
+            MqttConnection connection = new MqttConnection("127.0.0.1", slowBroker.port(), "test", null, null, 60,
+                    Duration.ofMillis(200));
+
+            assertThrows(IOException.class, () -> connection.publish("awtrix/custom/a", new byte[0]));
+            assertFalse(connection.isConnected());
+            assertEquals(0, connection.awaitingAcks());
+        }
+    }
+
+    @Test
+    void interruptedPublish_forgetsItsPacket() throws Exception {
+        try (MqttBrokerStandIn slowBroker = new MqttBrokerStandIn(5_000)) {
+            MqttConnection connection = new MqttConnection("127.0.0.1", slowBroker.port(), "test", null, null, 60);
+            Thread publisher = Thread.ofVirtual().start(() -> {
+                try {
+                    connection.publish("awtrix/custom/a", new byte[0]);
+                } catch (IOException | InterruptedException e) {
+                    // Expected: interrupted while waiting for the PUBACK
+                }
+            });
+            waitUntil(() -> connection.awaitingAcks() == 1);
+            publisher.interrupt();
+            publisher.join();
+
+            assertEquals(0, connection.awaitingAcks());
+            assertTrue(connection.isConnected());
+            connection.close();
+        }
+    }
+
+    @Test
+    void unreachableBroker_failsWithIOException() throws IOException {
+        int port = broker.port();
+        broker.close();
+        MqttConnection connection = new MqttConnection("127.0.0.1", port, "test", null, null, 60);
+
+        assertThrows(IOException.class, () -> connection.publish("awtrix/custom/a", new byte[0]));
+        assertFalse(connection.isConnected());
+    }
+
+    @Test
+    void remainingLength_roundTrips() throws IOException {
+        for (int length : new int[] {0, 127, 128, 16_383, 16_384, 2_097_151, 2_097_152, 268_435_455}) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            MqttConnection.writeRemainingLength(out, length);
+            assertEquals(length, MqttConnection.readRemainingLength(new ByteArrayInputStream(out.toByteArray())));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MqttConnection.writeRemainingLength(out, 321);
+        assertArrayEquals(new byte[] {(byte) 0xC1, 0x02}, out.toByteArray());
+    }
+
+    @Test
+    void mqttDevice_pushesEveryAppAsATopicPublish() throws Exception {
+        AwtrixDeviceConfig config = new AwtrixDeviceConfig("lounge", broker.url("awtrix_lounge"), true,
+                Map.of("fullmoon", "full"), true);
+        AwtrixPusher pusher = new AwtrixPusher(List.of(config), c -> new AwtrixDevice(c,
+                MqttSender.forUrl(c.hostname(), "test-" + c.name()),
+                new DeliveredState(null, Duration.ofHours(24), System.currentTimeMillis())));
+
+        pusher.push("moonphase", "Waxing", "Moon");
+        pusher.push("fullmoon", "3 days", "FullMoon");
+        pusher.shutdown();
+
+        assertEquals(2, pusher.getSuccessCount());
+        assertEquals(0, pusher.getFailureCount());
+        assertEquals(List.of("awtrix_lounge/custom/full", "awtrix_lounge/custom/moonphase"),
+                broker.messages().stream().map(MqttBrokerStandIn.Message::topic).sorted().toList());
+        assertEquals(1, broker.connections());
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out");
+            Thread.sleep(20);
+        }
+    }
+}